@@ -20,16 +20,6 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.GdxRuntimeException;
-import com.badlogic.gdx.utils.JsonReader;
-import com.badlogic.gdx.utils.JsonValue;
-import com.badlogic.gdx.utils.StreamUtils;
-import com.badlogic.gdx.utils.UBJsonReader;
-import com.badlogic.gdx.utils.compression.Lzma;
-
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.util.ArrayList;
 
 import static com.badlogic.gdx.math.MathUtils.round;
 
@@ -138,49 +128,10 @@ public final class BitmapFontSupport {
             try {
                 name = jsonFont.nameWithoutExtension();
 
-                JsonValue fnt;
-                if (jsonFont.exists()) {
-                    String ext = jsonFont.extension();
-                    if("json".equalsIgnoreCase(ext)) {
-                        fnt = new JsonReader().parse(jsonFont);
-                    } else if("dat".equalsIgnoreCase(ext)) {
-                        fnt = new JsonReader().parse(decompressFromBytes(jsonFont.readBytes()));
-                    } else if("ubj".equalsIgnoreCase(ext)) {
-                        fnt = new UBJsonReader().parse(jsonFont);
-                    } else if("lzma".equalsIgnoreCase(ext)) {
-                        BufferedInputStream bais = jsonFont.read(4096);
-                        StreamUtils.OptimizedByteArrayOutputStream baos = new StreamUtils.OptimizedByteArrayOutputStream(4096);
-                        try {
-                            Lzma.decompress(bais, baos);
-                            if (jsonFont.name().length() > 10 && ".json.lzma".equalsIgnoreCase(jsonFont.name().substring(jsonFont.name().length() - 10)))
-                                fnt = new JsonReader().parse(baos.toString("UTF-8"));
-                            else if (jsonFont.name().length() > 9 && ".ubj.lzma".equalsIgnoreCase(jsonFont.name().substring(jsonFont.name().length() - 9))) {
-                                StreamUtils.closeQuietly(bais);
-                                bais = new BufferedInputStream(new ByteArrayInputStream(baos.toByteArray()));
-                                fnt = new UBJsonReader().parse(bais);
-                            } else {
-                                throw new GdxRuntimeException("Unsupported file type inside compressed file: " + jsonFont.path());
-                            }
-                        } catch (IOException e) {
-                            throw new GdxRuntimeException("Error reading compressed file: " + jsonFont.path() + "\n" + e);
-                        } finally {
-                            StreamUtils.closeQuietly(bais);
-                            StreamUtils.closeQuietly(baos);
-                        }
-                    }
-                    else {
-                        throw new GdxRuntimeException("Not a .json, .dat, .ubj, .json.lzma, or .ubj.lzma font file: " + jsonFont.path());
-                    }
-                } else {
-                    throw new GdxRuntimeException("Missing font file: " + jsonFont.path());
-                }
-                if (fnt.isEmpty()) throw new GdxRuntimeException("File is empty: " + jsonFont.path());
-
-                JsonValue atlas = fnt.get("atlas");
+                StructuredFontData data = StructuredFontData.obtain(jsonFont);
 
-                float size = atlas.getFloat("size", 16f);
-                int width = atlas.getInt("width", 2048);
-                int height = atlas.getInt("height", 2048);
+                float size = data.size;
+                int height = data.height;
 
                 padTop = 1;
                 padRight = 1;
@@ -188,24 +139,20 @@ public final class BitmapFontSupport {
                 padLeft = 1;
                 float padY = padTop + padBottom;
 
-//                JsonValue metrics = fnt.get("metrics");
+                descent = size * -0.25f;//data.descender;
 
-                descent = size * -0.25f;//metrics.getFloat("descender", -0.25f);
-
-//                size *= metrics.getFloat("emSize", 1f);
+//                size *= data.emSize;
                 lineHeight = size - descent;// * metrics.getFloat("lineHeight", 1f);
-//                ascent = size * metrics.getFloat("ascender", 0.8f) - lineHeight;
+//                ascent = size * data.ascender - lineHeight;
 //                float baseLine = lineHeight + descent;
 
                 if (path != null)
                     imagePaths = new String[]{jsonFont.sibling(path).path().replaceAll("\\\\", "/")};
 
-                JsonValue glyphs = fnt.get("glyphs"), planeBounds, atlasBounds;
-
-                for (JsonValue.JsonIterator it = glyphs.iterator(); it.hasNext(); ) {
-                    JsonValue current = it.next();
+                float[] planeBounds = data.planeBounds, atlasBounds = data.atlasBounds;
+                for (int i = 0, b = 0; i < data.glyphCount; i++, b += 4) {
                     BitmapFont.Glyph glyph = new BitmapFont.Glyph();
-                    int ch = current.getInt("unicode", -1);
+                    int ch = data.codepoints[i];
                     if (ch <= 0)
                         missingGlyph = glyph;
                     else if (ch <= Character.MAX_VALUE)
@@ -213,41 +160,34 @@ public final class BitmapFontSupport {
                     else
                         continue;
                     glyph.id = ch;
-                    glyph.xadvance = round(current.getFloat("advance", 1f) * size);
-                    planeBounds = current.get("planeBounds");
-                    atlasBounds = current.get("atlasBounds");
-                    if (atlasBounds != null) {
+                    glyph.xadvance = round(data.advances[i] * size);
+                    if (data.hasAtlasBounds[i]) {
                         float x, y;
-                        glyph.srcX = (int) (x = atlasBounds.getFloat("left", 0f));
-                        glyph.width = (int) (atlasBounds.getFloat("right", 0f) - x);
-                        glyph.srcY = (int) (y = height - atlasBounds.getFloat("top", 0f));
-                        glyph.height = (int) (height - atlasBounds.getFloat("bottom", 0f) - y);
+                        glyph.srcX = (int) (x = atlasBounds[b]);
+                        glyph.width = (int) (atlasBounds[b + 2] - x);
+                        glyph.srcY = (int) (y = height - atlasBounds[b + 3]);
+                        glyph.height = (int) (height - atlasBounds[b + 1] - y);
                     } else {
                         glyph.srcX = glyph.srcY = glyph.width = glyph.height = 0;
                     }
-                    if (planeBounds != null) {
-                        glyph.xoffset = round(planeBounds.getFloat("left", 0f) * size);
+                    if (data.hasPlaneBounds[i]) {
+                        glyph.xoffset = round(planeBounds[b] * size);
                         glyph.yoffset = flip
-                                ? round(-size - planeBounds.getFloat("top", 0f) * size)
-                                : round(-size + planeBounds.getFloat("bottom", 0f) * size);
+                                ? round(-size - planeBounds[b + 3] * size)
+                                : round(-size + planeBounds[b + 1] * size);
                     } else {
                         glyph.xoffset = glyph.yoffset = 0;
                     }
                 }
 
-                JsonValue kern = fnt.get("kerning");
-                if (kern != null && !kern.isEmpty()) {
-                    for (JsonValue.JsonIterator it = kern.iterator(); it.hasNext(); ) {
-                        JsonValue current = it.next();
-                        int first = current.getInt("unicode1", -1);
-                        int second = current.getInt("unicode2", -1);
-                        if (first < 0 || first > Character.MAX_VALUE || second < 0 || second > Character.MAX_VALUE)
-                            continue;
-                        BitmapFont.Glyph glyph = getGlyph((char) first);
-                        float amount = current.getFloat("advance", 0f);
-                        if (glyph != null)
-                            glyph.setKerning(second, round(amount));
-                    }
+                for (int i = 0; i < data.kerningCount; i++) {
+                    int first = data.kerningFirst[i];
+                    int second = data.kerningSecond[i];
+                    if (first < 0 || first > Character.MAX_VALUE || second < 0 || second > Character.MAX_VALUE)
+                        continue;
+                    BitmapFont.Glyph glyph = getGlyph((char) first);
+                    if (glyph != null)
+                        glyph.setKerning(second, round(data.kerningAmount[i]));
                 }
 
                 BitmapFont.Glyph spaceGlyph = getGlyph(' ');
@@ -302,170 +242,4 @@ public final class BitmapFontSupport {
             }
         }
     }
-
-    /**
-     * Decompresses a byte array compressed with LZB, getting the original
-     * String back that was given to a compression method.
-     * <br>
-     * This is private because a preferred version is present in
-     * {@code com.github.tommyettinger.textra.utils.LZBDecompression}; this method is only present here to
-     * make copying this class easier on its own.
-     * @param compressedBytes a byte array compressed with LZB
-     * @return the String that was originally given to be compressed
-     */
-    private static String decompressFromBytes(byte[] compressedBytes) {
-        if(compressedBytes == null)
-            return null;
-        final int length = compressedBytes.length;
-        if(length == 0)
-            return "";
-        final int resetValue = 128;
-        ArrayList<String> dictionary = new ArrayList<>(256);
-        int enlargeIn = 4, dictSize = 4, numBits = 3, position = resetValue, index = 1, resb, maxpower, power;
-        String entry, w, c;
-        StringBuilder res = new StringBuilder(length);
-        char bits;
-        int val = compressedBytes[0];
-
-        for (char i = 0; i < 3; i++) {
-            dictionary.add(String.valueOf(i));
-        }
-
-        bits = 0;
-        maxpower = 2;
-        power = 0;
-        while (power != maxpower) {
-            resb = val & position;
-            position >>>= 1;
-            if (position == 0) {
-                position = resetValue;
-                val = compressedBytes[index++];
-            }
-            bits |= (resb != 0 ? 1 : 0) << power++;
-        }
-
-        switch (bits) {
-            case 0:
-                bits = 0;
-                maxpower = 8;
-                power = 0;
-                while (power != maxpower) {
-                    resb = val & position;
-                    position >>>= 1;
-                    if (position == 0) {
-                        position = resetValue;
-                        val = compressedBytes[index++];
-                    }
-                    bits |= (resb != 0 ? 1 : 0) << power++;
-                }
-                c = String.valueOf(bits);
-                break;
-            case 1:
-                bits = 0;
-                maxpower = 16;
-                power = 0;
-                while (power != maxpower) {
-                    resb = val & position;
-                    position >>>= 1;
-                    if (position == 0) {
-                        position = resetValue;
-                        val = compressedBytes[index++];
-                    }
-                    bits |= (resb != 0 ? 1 : 0) << power++;
-                }
-                c = String.valueOf(bits);
-                break;
-            default:
-                return "";
-        }
-        dictionary.add(c);
-        w = c;
-        res.append(w);
-        while (true) {
-            if (index > length) {
-                return "";
-            }
-            int cc = 0;
-            maxpower = numBits;
-            power = 0;
-            while (power != maxpower) {
-                resb = val & position;
-                position >>>= 1;
-                if (position == 0) {
-                    position = resetValue;
-                    val = compressedBytes[index++];
-                }
-                cc |= (resb != 0 ? 1 : 0) << power++;
-            }
-            switch (cc) {
-                case 0:
-                    bits = 0;
-                    maxpower = 8;
-                    power = 0;
-                    while (power != maxpower) {
-                        resb = val & position;
-                        position >>>= 1;
-                        if (position == 0) {
-                            position = resetValue;
-                            val = compressedBytes[index++];
-                        }
-                        bits |= (resb != 0 ? 1 : 0) << power++;
-                    }
-
-                    dictionary.add(String.valueOf(bits));
-                    cc = dictSize++;
-                    enlargeIn--;
-                    break;
-                case 1:
-                    bits = 0;
-                    maxpower = 16;
-                    power = 0;
-                    while (power != maxpower) {
-                        resb = val & position;
-                        position >>>= 1;
-                        if (position == 0) {
-                            position = resetValue;
-                            val = compressedBytes[index++];
-                        }
-                        bits |= (resb != 0 ? 1 : 0) << power++;
-                    }
-                    dictionary.add(String.valueOf(bits));
-                    cc = dictSize++;
-                    enlargeIn--;
-                    break;
-                case 2:
-                    return res.toString();
-            }
-
-            if (enlargeIn == 0) {
-                enlargeIn = 1 << numBits;
-                numBits++;
-            }
-
-            if (cc < dictionary.size() && dictionary.get(cc) != null) {
-                entry = dictionary.get(cc);
-            } else {
-                if (cc == dictSize) {
-                    entry = w + w.charAt(0);
-                } else {
-                    return "";
-                }
-            }
-            res.append(entry);
-
-            // Add w+entry[0] to the dictionary.
-            dictionary.add(w + entry.charAt(0));
-            dictSize++;
-            enlargeIn--;
-
-            w = entry;
-
-            if (enlargeIn == 0) {
-                enlargeIn = 1 << numBits;
-                numBits++;
-            }
-
-        }
-    }
-
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.NumberUtils;
+
+import java.util.Arrays;
+
+/**
+ * A grid of int colors (typically RGBA) drawn as solid blocks, like {@link Font#drawBlocks(Batch, int[][], float, float)}
+ * draws, but meant for large grids that are drawn every frame, such as the backgrounds of a roguelike map. The colors
+ * are stored row-major in {@link #colors}, with row 0 at the bottom (the same way drawBlocks treats y). Colors with
+ * an alpha of 0 (or 1, since the lowest bit of alpha is ignored) are not drawn.
+ * <br>
+ * This draws less than drawBlocks does, and does less work to draw it:
+ * <ul>
+ *     <li>Each horizontal run of cells with the same color is drawn as one stretched quad, so a row of one color is
+ *     one quad no matter how wide it is.</li>
+ *     <li>The vertices for each row are kept between frames. Only rows that changed (through {@link #set(int, int, int)}
+ *     and the other methods here, or {@link #markDirty(int)} after changing {@link #colors} directly) are made again.
+ *     Drawing with a different Font, block char, position, or cell size remakes every row.</li>
+ *     <li>Only rows and runs that overlap the area the Batch can show are sent to the Batch, as long as the Batch's
+ *     projection and transform don't rotate. Each row's visible runs are sent to the Batch with one call.</li>
+ * </ul>
+ * Like drawBlocks, this is only useful for monospace fonts, and needs the Font to have a full-block character at
+ * {@link Font#solidBlock} (or another char passed to {@link #draw(Batch, Font, char, float, float)}). The colors are
+ * given to the Batch as vertex colors, so the batch color doesn't affect them. Unlike drawBlocks, this doesn't use
+ * {@link Font#drawVertices(Batch, Texture, float[])}, so overriding that in a Font subclass has no effect here.
+ */
+public class BlockGrid {
+    private static final int QUAD = 20;
+
+    /**
+     * The width and height of the grid, in cells.
+     */
+    public final int width, height;
+    /**
+     * The colors of every cell, row-major, with row 0 at the bottom: the cell at x,y is at index
+     * {@code y * width + x}. If you change items here directly, call {@link #markDirty(int)} with each changed row, or
+     * {@link #markAllDirty()}, before the next time this is drawn.
+     */
+    public final int[] colors;
+
+    private final boolean[] dirty;
+    private final int[] runs;
+    private final float[] vertices;
+    private final Matrix4 combined = new Matrix4();
+    private Font font;
+    private TextureRegion block;
+    private float lastX, lastY, lastCellWidth, lastCellHeight;
+    private int quadsDrawn;
+
+    /**
+     * Creates a BlockGrid with the given size in cells, with every cell transparent.
+     * @param width how many cells wide the grid is
+     * @param height how many cells tall the grid is
+     */
+    public BlockGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        colors = new int[width * height];
+        dirty = new boolean[height];
+        runs = new int[height];
+        vertices = new float[width * height * QUAD];
+        markAllDirty();
+    }
+
+    /**
+     * Creates a BlockGrid with the same size and colors as a 2D array of colors, indexed [x][y] as
+     * {@link Font#drawBlocks(Batch, int[][], float, float)} uses them.
+     * @param colors a rectangular 2D array of int colors (typically RGBA), indexed [x][y]
+     */
+    public BlockGrid(int[][] colors) {
+        this(colors.length, colors.length == 0 ? 0 : colors[0].length);
+        set(colors);
+    }
+
+    /**
+     * Gets the color of the cell at x,y.
+     * @param x the x position, from 0 on the left to {@link #width} - 1 on the right
+     * @param y the y position, from 0 at the bottom to {@link #height} - 1 at the top
+     * @return the int color (typically RGBA) at that cell
+     */
+    public int get(int x, int y) {
+        return colors[y * width + x];
+    }
+
+    /**
+     * Sets the color of the cell at x,y, and marks its row as needing to be made again if the color changed.
+     * @param x the x position, from 0 on the left to {@link #width} - 1 on the right
+     * @param y the y position, from 0 at the bottom to {@link #height} - 1 at the top
+     * @param color an int color (typically RGBA); if its alpha is 0 or 1, the cell is not drawn
+     */
+    public void set(int x, int y, int color) {
+        int i = y * width + x;
+        if (colors[i] != color) {
+            colors[i] = color;
+            dirty[y] = true;
+        }
+    }
+
+    /**
+     * Copies every color from a 2D array indexed [x][y], as {@link Font#drawBlocks(Batch, int[][], float, float)} uses
+     * them, into this grid. Only rows with a changed color need to be made again. The array must be at least as large
+     * as this grid in both dimensions.
+     * @param colors a rectangular 2D array of int colors (typically RGBA), indexed [x][y]
+     */
+    public void set(int[][] colors) {
+        for (int x = 0; x < width; x++) {
+            final int[] column = colors[x];
+            for (int y = 0, i = x; y < height; y++, i += width) {
+                if (this.colors[i] != column[y]) {
+                    this.colors[i] = column[y];
+                    dirty[y] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets every cell to the same color.
+     * @param color an int color (typically RGBA); if its alpha is 0 or 1, nothing is drawn
+     */
+    public void fill(int color) {
+        Arrays.fill(colors, color);
+        markAllDirty();
+    }
+
+    /**
+     * Marks one row as needing its vertices to be made again the next time this is drawn. This only needs to be
+     * called after changing {@link #colors} directly.
+     * @param y the row that changed, from 0 at the bottom to {@link #height} - 1 at the top
+     */
+    public void markDirty(int y) {
+        dirty[y] = true;
+    }
+
+    /**
+     * Marks every row as needing its vertices to be made again the next time this is drawn.
+     */
+    public void markAllDirty() {
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * Gets how many quads (each a run of one or more cells) were sent to the Batch the last time this was drawn.
+     * @return how many quads the last draw() call drew
+     */
+    public int getQuadsDrawn() {
+        return quadsDrawn;
+    }
+
+    /**
+     * Draws this grid using {@code font}'s {@link Font#solidBlock} and cell size, with the lower left corner at x,y in
+     * world space. This is usually called before drawing foreground text.
+     * @param batch typically a SpriteBatch, which must have been started with {@link Batch#begin()}
+     * @param font a monospace Font with a full-block character at its {@link Font#solidBlock}
+     * @param x the x position in world space of the lower left corner
+     * @param y the y position in world space of the lower left corner
+     */
+    public void draw(Batch batch, Font font, float x, float y) {
+        draw(batch, font, font.solidBlock, x, y);
+    }
+
+    /**
+     * Draws this grid using {@code blockChar} from {@code font} and that Font's cell size, with the lower left corner
+     * at x,y in world space. This is usually called before drawing foreground text.
+     * @param batch typically a SpriteBatch, which must have been started with {@link Batch#begin()}
+     * @param font a monospace Font
+     * @param blockChar a char that renders as a full block in {@code font}, occupying an entire cell
+     * @param x the x position in world space of the lower left corner
+     * @param y the y position in world space of the lower left corner
+     */
+    public void draw(Batch batch, Font font, char blockChar, float x, float y) {
+        quadsDrawn = 0;
+        final TextureRegion block = font.mapping.get(blockChar);
+        if (block == null || width == 0 || height == 0) return;
+        final float cellWidth = font.cellWidth, cellHeight = font.cellHeight;
+        if (font != this.font || block != this.block || x != lastX || y != lastY
+                || cellWidth != lastCellWidth || cellHeight != lastCellHeight) {
+            this.font = font;
+            this.block = block;
+            lastX = x;
+            lastY = y;
+            lastCellWidth = cellWidth;
+            lastCellHeight = cellHeight;
+            markAllDirty();
+        }
+
+        int firstRow = 0, lastRow = height - 1;
+        float left = Float.NEGATIVE_INFINITY, right = Float.POSITIVE_INFINITY;
+        final float[] m = combined.set(batch.getProjectionMatrix()).mul(batch.getTransformMatrix()).val;
+        if (m[Matrix4.M01] == 0f && m[Matrix4.M10] == 0f && m[Matrix4.M00] != 0f && m[Matrix4.M11] != 0f) {
+            // Without rotation, the area the Batch can show is where both clip-space coordinates are from -1 to 1.
+            float a = (-1f - m[Matrix4.M03]) / m[Matrix4.M00], b = (1f - m[Matrix4.M03]) / m[Matrix4.M00];
+            float c = (-1f - m[Matrix4.M13]) / m[Matrix4.M11], d = (1f - m[Matrix4.M13]) / m[Matrix4.M11];
+            left = Math.min(a, b);
+            right = Math.max(a, b);
+            firstRow = Math.max(firstRow, (int) Math.floor((Math.min(c, d) - y) / cellHeight));
+            lastRow = Math.min(lastRow, (int) Math.floor((Math.max(c, d) - y) / cellHeight));
+        }
+
+        final Texture parent = block.getTexture();
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (dirty[row]) build(row, parent);
+            final int count = runs[row];
+            if (count == 0) continue;
+            final int base = row * width * QUAD;
+            int first = 0, last = count;
+            // Runs in a row are sorted by x, so the visible ones are found by binary searches on their edges.
+            for (int hi = count; first < hi; ) {
+                int mid = first + hi >>> 1;
+                if (vertices[base + mid * QUAD + 10] <= left) first = mid + 1;
+                else hi = mid;
+            }
+            for (int lo = first; lo < last; ) {
+                int mid = lo + last >>> 1;
+                if (vertices[base + mid * QUAD] < right) lo = mid + 1;
+                else last = mid;
+            }
+            if (first < last) {
+                batch.draw(parent, vertices, base + first * QUAD, (last - first) * QUAD);
+                quadsDrawn += last - first;
+            }
+        }
+    }
+
+    /**
+     * Makes the vertices for one row, merging each run of cells with the same color into one quad.
+     */
+    private void build(int row, Texture parent) {
+        dirty[row] = false;
+        final float u = block.getU(), v = block.getV(),
+                u2 = u + 1f / parent.getWidth(), v2 = v + 1f / parent.getHeight();
+        // Offset the same way Font.drawBlocks() does, to avoid line artifacts between rows.
+        final float x = lastX + 0x1p-8f, y0 = lastY + 0x1p-8f + row * lastCellHeight, y1 = y0 + lastCellHeight;
+        final int start = row * width;
+        int q = start * QUAD;
+        for (int xi = 0; xi < width; ) {
+            final int color = colors[start + xi];
+            int end = xi + 1;
+            // The lowest bit is ignored when drawing, so colors that only differ there can share a run.
+            while (end < width && ((colors[start + end] ^ color) & -2) == 0) end++;
+            if ((color & 254) != 0) {
+                final float c = NumberUtils.intBitsToFloat(Integer.reverseBytes(color & -2));
+                final float x0 = x + xi * lastCellWidth, x1 = x + end * lastCellWidth;
+                vertices[q] = x0;
+                vertices[q + 1] = y0;
+                vertices[q + 2] = c;
+                vertices[q + 3] = u;
+                vertices[q + 4] = v;
+
+                vertices[q + 5] = x0;
+                vertices[q + 6] = y1;
+                vertices[q + 7] = c;
+                vertices[q + 8] = u;
+                vertices[q + 9] = v2;
+
+                vertices[q + 10] = x1;
+                vertices[q + 11] = y1;
+                vertices[q + 12] = c;
+                vertices[q + 13] = u2;
+                vertices[q + 14] = v2;
+
+                vertices[q + 15] = x1;
+                vertices[q + 16] = y0;
+                vertices[q + 17] = c;
+                vertices[q + 18] = u2;
+                vertices[q + 19] = v;
+                q += QUAD;
+            }
+            xi = end;
+        }
+        runs[row] = q / QUAD - start;
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.github.tommyettinger.textra.utils.SkylinePacker;
+
+/**
+ * Holds the glyphs of a Font that are drawn on demand by a {@link GlyphRasterizer}, packing them into texture pages as
+ * they are first needed. A Font made with {@link Font#Font(DynamicFontAtlas)} starts with printable ASCII, and any
+ * other char is added the first time markup or drawing reaches it. This is meant for fonts with too many glyphs to
+ * bake ahead of time, such as CJK fonts, where any one screen only uses a small fraction of them.
+ * <br>
+ * Each page is packed with a {@link SkylinePacker}. When every page is full, the page that was drawn from least
+ * recently is cleared and reused; the glyphs on it are drawn again by the rasterizer if they are needed later. A
+ * page that has been drawn from in the current frame (by {@link Gdx#graphics}' frame ID) is never cleared, so
+ * glyphs already sent to a Batch stay correct; if every page is in use, a new page is added even past
+ * {@link #maxPages}. Only pixels are evicted. The metrics of every glyph stay in each Font's
+ * {@link Font#mapping}, so measuring and wrapping text never needs the rasterizer again.
+ * <br>
+ * One DynamicFontAtlas can be shared by a Font and its copies; glyphs added or moved by one are seen by all of them.
+ * Disposing the atlas disposes its page Textures.
+ */
+public class DynamicFontAtlas implements Disposable {
+    /**
+     * Draws glyphs for this atlas.
+     */
+    public final GlyphRasterizer rasterizer;
+    /**
+     * The width of each page Texture, in pixels.
+     */
+    public final int pageWidth;
+    /**
+     * The height of each page Texture, in pixels.
+     */
+    public final int pageHeight;
+    /**
+     * How many pages this tries to stay within. Once this many pages are full, the least recently used page is
+     * cleared instead of adding another one, unless every page was used in the current frame.
+     */
+    public final int maxPages;
+    /**
+     * How many empty pixels are left between glyphs on a page.
+     */
+    public final int padding;
+
+    private final Array<Page> pages = new Array<>(true, 4);
+    private final Array<Font> fonts = new Array<>(true, 4);
+    private final IntMap<Slot> slots = new IntMap<>(256);
+    private final IntSet missing = new IntSet(16);
+    private final Font.GlyphRegion scratch = new Font.GlyphRegion(new TextureRegion(), 0f, 0f, 0f);
+    private Pixmap blank;
+    private int rasterizeCount, evictionCount;
+
+    private static final class Page {
+        final Texture texture;
+        final TextureRegion region;
+        final SkylinePacker packer;
+        final IntArray chars = new IntArray(64);
+        long lastUsed = Long.MIN_VALUE;
+
+        Page(int width, int height, int padding) {
+            texture = new Texture(width, height, Pixmap.Format.RGBA8888);
+            region = new TextureRegion(texture);
+            packer = new SkylinePacker(width, height, padding);
+        }
+    }
+
+    /**
+     * Where a glyph's pixels are, and the metrics it was first drawn with. A page of -1 means the pixels were
+     * evicted. Blank glyphs have a width of 0 and always use an empty region on the first page.
+     */
+    private static final class Slot {
+        final int width, height;
+        final float offsetX, offsetY, xAdvance;
+        int page = -1, x, y;
+
+        Slot(int width, int height, Font.GlyphRegion metrics) {
+            this.width = width;
+            this.height = height;
+            offsetX = metrics.offsetX;
+            offsetY = metrics.offsetY;
+            xAdvance = metrics.xAdvance;
+        }
+    }
+
+    /**
+     * Creates a DynamicFontAtlas with up to 4 pages of 1024x1024 pixels each, and 1 pixel of padding between glyphs.
+     * @param rasterizer draws each glyph as it is needed
+     */
+    public DynamicFontAtlas(GlyphRasterizer rasterizer) {
+        this(rasterizer, 1024, 1024, 4, 1);
+    }
+
+    /**
+     * Creates a DynamicFontAtlas with the given page size and page count.
+     * @param rasterizer draws each glyph as it is needed
+     * @param pageWidth the width of each page Texture, in pixels
+     * @param pageHeight the height of each page Texture, in pixels
+     * @param maxPages how many pages to use before clearing old ones; at least 1
+     * @param padding how many empty pixels to leave between glyphs
+     */
+    public DynamicFontAtlas(GlyphRasterizer rasterizer, int pageWidth, int pageHeight, int maxPages, int padding) {
+        if (rasterizer == null) throw new IllegalArgumentException("A DynamicFontAtlas needs a GlyphRasterizer.");
+        this.rasterizer = rasterizer;
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.maxPages = Math.max(maxPages, 1);
+        this.padding = Math.max(padding, 0);
+    }
+
+    /**
+     * Makes {@code font} use this atlas and receive its glyphs. This is called by the Font constructors; it shouldn't
+     * usually be needed otherwise.
+     */
+    void attach(Font font) {
+        font.dynamicAtlas = this;
+        if (fonts.contains(font, true)) return;
+        fonts.add(font);
+        if (pages.isEmpty()) addPage();
+        for (int i = 0; i < pages.size; i++) {
+            TextureRegion region = pages.get(i).region;
+            if (!font.parents.contains(region, true)) font.parents.add(region);
+        }
+        for (IntMap.Entry<Slot> e : slots) {
+            if (!font.mapping.containsKey(e.key)) font.mapping.put(e.key, regionFor(e.value));
+        }
+    }
+
+    /**
+     * Stops sending glyph changes to {@code font}. Called when a Font is disposed.
+     */
+    void detach(Font font) {
+        fonts.removeValue(font, true);
+        if (font.dynamicAtlas == this) font.dynamicAtlas = null;
+    }
+
+    /**
+     * Makes sure {@code c} has been asked of the rasterizer, adding it to every Font using this atlas if the rasterizer
+     * can draw it. Chars that are already loaded, or that the rasterizer can't draw, return immediately. Control chars
+     * (except the char 2, which Font uses for an escaped '[') and chars that the Fonts already have from somewhere
+     * else, like the solid block, are never loaded.
+     *
+     * @param c the char to load
+     * @return true if this atlas has a glyph for c
+     */
+    public boolean load(int c) {
+        if (slots.containsKey(c)) return true;
+        if (missing.contains(c) || fonts.isEmpty()) return false;
+        int source = c == 2 ? '[' : c;
+        if ((c < 32 && c != 2) || fonts.first().mapping.containsKey(c) || !rasterizer.hasGlyph(source)) {
+            missing.add(c);
+            return false;
+        }
+        Pixmap pixmap = rasterize(source);
+        Slot slot;
+        if (pixmap == null || pixmap.getWidth() <= 0 || pixmap.getHeight() <= 0) {
+            slot = new Slot(0, 0, scratch);
+            slot.page = 0;
+        } else {
+            slot = new Slot(pixmap.getWidth(), pixmap.getHeight(), scratch);
+            if (!place(c, slot, pixmap)) {
+                missing.add(c);
+                return false;
+            }
+        }
+        slots.put(c, slot);
+        for (int i = 0; i < fonts.size; i++) {
+            fonts.get(i).mapping.put(c, regionFor(slot));
+        }
+        return true;
+    }
+
+    /**
+     * Calls {@link #load(int)} for each char in {@code chars}.
+     * @param chars the chars to load
+     * @return this, for chaining
+     */
+    public DynamicFontAtlas preload(CharSequence chars) {
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            load(chars.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Called by Font just before drawing {@code c}. If the glyph's pixels were evicted, this draws them again; either
+     * way, the page they are on is marked as used in the current frame. Chars that haven't been loaded yet are loaded.
+     *
+     * @param font the Font that is drawing c
+     * @param c the char being drawn
+     * @param region what {@code font.mapping} has for c, which may be null
+     * @return the GlyphRegion to draw, or null if there isn't one
+     */
+    public Font.GlyphRegion use(Font font, int c, Font.GlyphRegion region) {
+        Slot slot = slots.get(c);
+        if (slot == null) {
+            if (region != null || !load(c)) return region;
+            return font.mapping.get(c);
+        }
+        if (slot.page < 0) {
+            Pixmap pixmap = rasterize(c == 2 ? '[' : c);
+            if (pixmap == null || !place(c, slot, pixmap)) return null;
+            Texture texture = pages.get(slot.page).texture;
+            for (int i = 0; i < fonts.size; i++) {
+                Font.GlyphRegion gr = fonts.get(i).mapping.get(c);
+                if (gr == null) continue;
+                gr.setTexture(texture);
+                gr.setRegion(slot.x, slot.y, slot.width, slot.height);
+            }
+        }
+        pages.get(slot.page).lastUsed = currentFrame();
+        return region == null ? font.mapping.get(c) : region;
+    }
+
+    /**
+     * Returns true if {@code c} has been loaded and its pixels are currently on a page.
+     * @param c a char
+     * @return true if c can be drawn without asking the rasterizer
+     */
+    public boolean isResident(int c) {
+        Slot slot = slots.get(c);
+        return slot != null && slot.page >= 0;
+    }
+
+    /**
+     * Gets how many chars have been loaded, whether or not their pixels are currently on a page.
+     * @return the number of loaded chars
+     */
+    public int getGlyphCount() {
+        return slots.size;
+    }
+
+    /**
+     * Gets how many page Textures this has. This can be more than {@link #maxPages} if one frame needed more glyphs
+     * than fit in that many pages.
+     * @return the number of pages
+     */
+    public int getPageCount() {
+        return pages.size;
+    }
+
+    /**
+     * Gets the Texture for the given page.
+     * @param index which page, from 0 to {@link #getPageCount()} - 1
+     * @return the page's Texture
+     */
+    public Texture getPage(int index) {
+        return pages.get(index).texture;
+    }
+
+    /**
+     * Gets how many times a glyph has been drawn by the rasterizer, including drawing evicted glyphs again.
+     * @return the total number of calls to {@link GlyphRasterizer#rasterize(int, Font.GlyphRegion)}
+     */
+    public int getRasterizeCount() {
+        return rasterizeCount;
+    }
+
+    /**
+     * Gets how many times a full page has been cleared to make room for other glyphs.
+     * @return the total number of page evictions
+     */
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the current frame, used to tell which pages are in use. This returns {@link Gdx#graphics}' frame ID, or 0
+     * if there is no graphics context. Subclasses can override this to track frames some other way.
+     * @return a number that increases each frame
+     */
+    protected long currentFrame() {
+        return Gdx.graphics == null ? 0L : Gdx.graphics.getFrameId();
+    }
+
+    private Pixmap rasterize(int c) {
+        scratch.offsetX = scratch.offsetY = scratch.xAdvance = 0f;
+        rasterizeCount++;
+        return rasterizer.rasterize(c, scratch);
+    }
+
+    private Font.GlyphRegion regionFor(Slot slot) {
+        Font.GlyphRegion gr = new Font.GlyphRegion(new TextureRegion(), slot.offsetX, slot.offsetY, slot.xAdvance);
+        gr.setTexture(pages.get(Math.max(slot.page, 0)).texture);
+        if (slot.page >= 0) gr.setRegion(slot.x, slot.y, slot.width, slot.height);
+        else gr.setRegion(0, 0, slot.width, slot.height);
+        return gr;
+    }
+
+    private Page addPage() {
+        Page page = new Page(pageWidth, pageHeight, padding);
+        pages.add(page);
+        for (int i = 0; i < fonts.size; i++) {
+            fonts.get(i).parents.add(page.region);
+        }
+        return page;
+    }
+
+    /**
+     * Finds room for a glyph, evicting the least recently used page if needed, and copies its pixels there.
+     */
+    private boolean place(int c, Slot slot, Pixmap pixmap) {
+        if (slot.width + padding > pageWidth || slot.height + padding > pageHeight) return false;
+        final long frame = currentFrame();
+        int index = -1, packed = -1;
+        for (int i = pages.size - 1; i >= 0; i--) {
+            if ((packed = pages.get(i).packer.pack(slot.width, slot.height)) != -1) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            if (pages.size < maxPages) {
+                index = pages.size;
+                addPage();
+            } else {
+                long oldest = frame;
+                for (int i = 0; i < pages.size; i++) {
+                    Page p = pages.get(i);
+                    if (p.lastUsed < oldest) {
+                        oldest = p.lastUsed;
+                        index = i;
+                    }
+                }
+                if (index >= 0) evict(index);
+                else {
+                    index = pages.size;
+                    addPage();
+                }
+            }
+            packed = pages.get(index).packer.pack(slot.width, slot.height);
+            if (packed == -1) return false;
+        }
+        Page page = pages.get(index);
+        slot.page = index;
+        slot.x = SkylinePacker.x(packed);
+        slot.y = SkylinePacker.y(packed);
+        page.chars.add(c);
+        page.lastUsed = frame;
+        if (pixmap.getFormat() != Pixmap.Format.RGBA8888) {
+            Pixmap converted = new Pixmap(slot.width, slot.height, Pixmap.Format.RGBA8888);
+            converted.setBlending(Pixmap.Blending.None);
+            converted.drawPixmap(pixmap, 0, 0);
+            page.texture.draw(converted, slot.x, slot.y);
+            converted.dispose();
+        } else {
+            page.texture.draw(pixmap, slot.x, slot.y);
+        }
+        return true;
+    }
+
+    private void evict(int index) {
+        Page page = pages.get(index);
+        for (int i = 0; i < page.chars.size; i++) {
+            Slot slot = slots.get(page.chars.get(i));
+            if (slot != null && slot.page == index && slot.width > 0) slot.page = -1;
+        }
+        page.chars.clear();
+        page.packer.reset();
+        if (blank == null) blank = new Pixmap(pageWidth, pageHeight, Pixmap.Format.RGBA8888);
+        page.texture.draw(blank, 0, 0);
+        evictionCount++;
+    }
+
+    /**
+     * Disposes every page Texture and the Pixmap used to clear pages. Fonts using this atlas can't draw its glyphs afterward.
+     */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < pages.size; i++) {
+            pages.get(i).texture.dispose();
+        }
+        pages.clear();
+        slots.clear();
+        missing.clear();
+        if (blank != null) {
+            blank.dispose();
+            blank = null;
+        }
+    }
+}
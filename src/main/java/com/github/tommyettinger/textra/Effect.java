@@ -24,18 +24,64 @@ import com.badlogic.gdx.math.MathUtils;
  */
 public abstract class Effect {
     private static final float FADEOUT_SPLIT = 0.25f;
+
+    /**
+     * A value for {@link #channels} that indicates this Effect doesn't write to any per-glyph data.
+     */
+    public static final int NO_CHANNELS = 0;
+    /**
+     * A bit flag for {@link #channels}; indicates this Effect writes to {@link TypingLabel#getOffsets()}.
+     */
+    public static final int OFFSETS = 1;
+    /**
+     * A bit flag for {@link #channels}; indicates this Effect writes to {@link TypingLabel#getSizing()}.
+     */
+    public static final int SIZING = 2;
+    /**
+     * A bit flag for {@link #channels}; indicates this Effect writes to {@link TypingLabel#getRotations()}.
+     */
+    public static final int ROTATIONS = 4;
+    /**
+     * A bit flag for {@link #channels}; indicates this Effect writes to {@link TypingLabel#getAdvances()}.
+     */
+    public static final int ADVANCES = 8;
+    /**
+     * A bit flag for {@link #channels}; indicates this Effect changes glyphs in the working layout, such as by
+     * {@link TypingLabel#setInWorkingLayout(int, long)} to change their color.
+     */
+    public static final int GLYPHS = 16;
+    /**
+     * A value for {@link #channels} that indicates this Effect could write to any per-glyph data.
+     */
+    public static final int ALL_CHANNELS = OFFSETS | SIZING | ROTATIONS | ADVANCES | GLYPHS;
+
     protected final TypingLabel label;
     public int indexStart = -1;
     public int indexEnd = -1;
     public float duration = Float.POSITIVE_INFINITY;
     protected float totalTime;
 
+    /**
+     * Which per-glyph data this Effect writes to, as a bitwise OR of {@link #OFFSETS}, {@link #SIZING},
+     * {@link #ROTATIONS}, {@link #ADVANCES}, and/or {@link #GLYPHS}. A TypingLabel only resets the channels written to
+     * by its effects on the previous frame, so this should be assigned in an Effect's constructor if it only changes
+     * some of them. This defaults to {@link #ALL_CHANNELS}, which is always safe, but is slower than necessary.
+     */
+    public int channels = ALL_CHANNELS;
+
     /**
      * A unique identifier to be used by the start token for this Effect.
      * This is expected to be assigned by {@link TypingConfig#registerEffect(String, EffectBuilder)}, not manually.
      */
     public String name;
 
+    /**
+     * Identifies a group of Effects that always produce the same per-glyph curve, such as two {@code WAVE} effects with
+     * the same parameters in different labels. This is assigned by {@link Parser} as the token name, an equals sign,
+     * and the parameters as written, and is only used if {@link #isShareable()} returns true. It may be null.
+     */
+    public String groupKey;
+
     public Effect(TypingLabel label) {
         this.label = label;
     }
@@ -62,6 +108,58 @@ public abstract class Effect {
      */
     protected abstract void onApply(long glyph, int localIndex, int globalIndex, float delta);
 
+    /**
+     * Returns true if this type of Effect can be evaluated by {@link EffectSystem}, that is, if it overrides
+     * {@link #evaluate(float, float[], int, int)} and {@link #applyEvaluated(long, int, int, float, float)}, and if
+     * its curve only depends on time, local glyph index, and the parameters it was given. This returns false by
+     * default.
+     * @return true if this can be grouped with identical effects and evaluated by {@link EffectSystem}
+     */
+    public boolean isShareable() {
+        return false;
+    }
+
+    /**
+     * Only used if {@link #isShareable()} returns true. Fills {@code values} from index {@code start} (inclusive) to
+     * {@code end} (exclusive) with the result of this effect's per-glyph curve at the given shared {@code time}, for
+     * each local index. Implementations should not read {@link #totalTime} or depend on the label, since the results
+     * are shared with every Effect that has the same {@link #groupKey}.
+     * @param time the time of the shared clock, from {@link EffectSystem#getTime()}
+     * @param values the array to fill; its contents from 0 to start are already evaluated
+     * @param start the first local index to evaluate, inclusive
+     * @param end the last local index to evaluate, exclusive
+     */
+    protected void evaluate(float time, float[] values, int start, int end) {
+    }
+
+    /**
+     * Only used if {@link #isShareable()} returns true. Applies a value produced by
+     * {@link #evaluate(float, float[], int, int)} to the given glyph, in place of {@link #onApply(long, int, int, float)}.
+     * @param glyph the glyph to affect, as in the working layout
+     * @param localIndex the index of the glyph relative to {@link #indexStart}
+     * @param globalIndex the index of the glyph in the working layout
+     * @param value the evaluated curve value for localIndex
+     * @param fadeout the result of {@link #calculateFadeout()}, calculated once per frame
+     */
+    protected void applyEvaluated(long glyph, int localIndex, int globalIndex, float value, float fadeout) {
+    }
+
+    /**
+     * Only used by {@link ShaderEffectMesh}. If this Effect can be evaluated by the vertex shader from
+     * {@link ShaderEffects}, this writes {@link ShaderEffects#PARAMS_PER_GLYPH} floats to {@code params} starting at
+     * {@code offset}, describing how to animate the glyph at {@code localIndex}, and returns true. The layout of those
+     * floats is described in {@link ShaderEffects}. This returns false by default, which means this Effect can only
+     * be evaluated on the CPU.
+     * @param localIndex the index of the glyph relative to {@link #indexStart}
+     * @param lineHeight the height of the line containing the glyph, as {@link TypingLabel#getLineHeight(int)} would return
+     * @param params the array to write to
+     * @param offset the first index in params to write to
+     * @return true if params were written, or false if this Effect can't be evaluated by a shader
+     */
+    public boolean encodeShaderParams(int localIndex, float lineHeight, float[] params, int offset) {
+        return false;
+    }
+
     /**
      * Returns whether this effect is finished and should be removed. Note that effects are infinite by default.
      */
@@ -105,7 +203,15 @@ public abstract class Effect {
      * Calculates a linear progress dividing the total time by the given modifier. Returns a value between 0 and 1.
      */
     protected float calculateProgress(float modifier, float offset, boolean pingpong) {
-        float progress = totalTime / modifier + offset;
+        return calculateProgress(totalTime, modifier, offset, pingpong);
+    }
+
+    /**
+     * Calculates a linear progress dividing the given time by the given modifier. Returns a value between 0 and 1.
+     * This is mostly useful when implementing {@link #evaluate(float, float[], int, int)}, which uses a shared time.
+     */
+    protected static float calculateProgress(float time, float modifier, float offset, boolean pingpong) {
+        float progress = time / modifier + offset;
         while (progress < 0f) {
             progress += 2f;
         }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A shared clock and curve cache for {@link Effect}s, used by every {@link TypingLabel} when
+ * {@link TypingConfig#USE_EFFECT_SYSTEM} is true. The clock is advanced once per frame, no matter how many
+ * TypingLabels call {@link #advance(float)} during that frame. Effects that can be shared (see
+ * {@link Effect#isShareable()}) are grouped by their {@link Effect#groupKey}, which is the same for two effects with
+ * the same token name and parameters, even if they are in different labels. Each group evaluates its per-glyph curve
+ * at most once per frame, in one pass over a float array, and every label using that group only needs to read the
+ * already-computed values. This means a screen full of labels using the same {@code WAVE} or {@code RAINBOW}
+ * calculates each curve value once, instead of once per label.
+ * <br>
+ * Because all shared effects read the same clock, identical effects in different labels will be in sync with each
+ * other. Their durations and fadeouts still use their own elapsed time.
+ * <br>
+ * This is a static utility class; there is only one clock. You can call {@link #clear()} to remove all cached curves
+ * and reset the clock.
+ */
+public final class EffectSystem {
+    /**
+     * The values of one group's per-glyph curve, for one frame.
+     */
+    private static final class Curve {
+        float[] values = new float[16];
+        int size;
+        long frame = -1L;
+    }
+
+    private static final ObjectMap<String, Curve> curves = new ObjectMap<>(32);
+    private static float time;
+    private static long frame;
+    private static long lastFrameId = Long.MIN_VALUE;
+
+    private EffectSystem() {
+    }
+
+    /**
+     * Gets the current time of the shared clock, in seconds.
+     * @return the shared time, in seconds
+     */
+    public static float getTime() {
+        return time;
+    }
+
+    /**
+     * Gets how many times the shared clock has advanced.
+     * @return how many frames the shared clock has advanced by
+     */
+    public static long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Advances the shared clock by {@code delta} seconds, but only if it hasn't already advanced during the current
+     * frame (as reported by {@link com.badlogic.gdx.Graphics#getFrameId()}). This is called by
+     * {@link TypingLabel#act(float)}, so you don't usually need to call it yourself.
+     * @param delta the amount of time, in seconds, since the last frame
+     */
+    public static void advance(float delta) {
+        long id = Gdx.graphics == null ? lastFrameId + 1L : Gdx.graphics.getFrameId();
+        if (id != lastFrameId) {
+            lastFrameId = id;
+            update(delta);
+        }
+    }
+
+    /**
+     * Unconditionally advances the shared clock by {@code delta} seconds, and drops any cached curves that weren't
+     * used during the previous frame. You usually want {@link #advance(float)} instead, which only updates once per
+     * frame.
+     * @param delta the amount of time, in seconds, to advance the clock by
+     */
+    public static void update(float delta) {
+        time += delta;
+        frame++;
+        ObjectMap.Values<Curve> vs = curves.values();
+        while (vs.hasNext()) {
+            if (vs.next().frame < frame - 1L)
+                vs.remove();
+        }
+    }
+
+    /**
+     * Removes all cached curves and resets the shared clock to 0.
+     */
+    public static void clear() {
+        curves.clear();
+        time = 0f;
+        frame = 0L;
+        lastFrameId = Long.MIN_VALUE;
+    }
+
+    /**
+     * Gets the per-glyph curve for the group {@code effect} belongs to, making sure it has been evaluated for at
+     * least {@code count} local indices during the current frame. If another effect in the same group already
+     * evaluated enough of the curve this frame, this doesn't evaluate anything. The returned array must not be
+     * modified, and is only valid until the next call to this method.
+     * @param effect an Effect where {@link Effect#isShareable()} is true and {@link Effect#groupKey} is non-null
+     * @param count how many local indices, starting at 0, need to be evaluated
+     * @return an array with at least {@code count} evaluated items, shared by every effect in the same group
+     */
+    public static float[] evaluate(Effect effect, int count) {
+        Curve curve = curves.get(effect.groupKey);
+        if (curve == null) {
+            curve = new Curve();
+            curves.put(effect.groupKey, curve);
+        }
+        if (curve.frame != frame) {
+            curve.frame = frame;
+            curve.size = 0;
+        }
+        if (curve.size < count) {
+            if (curve.values.length < count) {
+                float[] next = new float[Math.max(count, curve.values.length << 1)];
+                System.arraycopy(curve.values, 0, next, 0, curve.size);
+                curve.values = next;
+            }
+            effect.evaluate(time, curve.values, curve.size, count);
+            curve.size = count;
+        }
+        return curve.values;
+    }
+}
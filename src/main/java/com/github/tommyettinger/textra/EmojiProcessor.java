@@ -25,6 +25,10 @@
  */
 package com.github.tommyettinger.textra;
 
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.github.tommyettinger.textra.utils.CaseInsensitiveIntMap;
 import regexodus.*;
 
 /**
@@ -35,6 +39,10 @@ import regexodus.*;
  * It probably can't parse every emoji in Noto Color Emoji at this point, and might not handle all of OpenMoji, either.
  * <br>
  * Taken mostly from <a href="https://github.com/mathiasbynens/emoji-regex/">emoji-regex</a>, which is MIT-licensed.
+ * <br>
+ * If you only need to replace emoji that a Font can actually show, {@link #process(Font, CharSequence, StringBuilder)}
+ * is much faster than a Replacer, and doesn't allocate anything except to grow the destination. It uses a {@link Trie}
+ * built from the emoji names in the Font's {@link Font#nameLookup}, and doesn't need the regex at all.
  */
 public final class EmojiProcessor {
     private static EmojiProcessor instance;
@@ -58,7 +66,9 @@ public final class EmojiProcessor {
      * Gets a RegExodus {@link Replacer} that will replace any standard Unicode 14 or lower emoji that can be displayed
      * by the given Font with the special Unicode PUA char used by that Font to show that emoji. The given Font must
      * have a {@link Font#nameLookup}, typically by adding an atlas with {@link KnownFonts#addEmoji(Font)}. If there is
-     * no nameLookup in the given Font, this will replace any recognized emoji with the char {@code '?'}.
+     * no nameLookup in the given Font, this will replace any recognized emoji with the char {@code '?'}. Emoji that are
+     * on one of the Font's {@link Font#imagePages} can't be shown by a single char, so they are replaced with
+     * {@code [+name]} markup instead, which the Font can parse.
      *
      * @param font a Font that already has emoji added to it, typically Twemoji via {@link KnownFonts#addEmoji(Font)}
      * @return a Replacer that can be used to replace any readable Unicode emoji in text with their Font-specific char representations
@@ -67,6 +77,164 @@ public final class EmojiProcessor {
         initialize();
         if(font.nameLookup == null)
             return new Replacer(instance.emojiRegex, "?", false);
-        return new Replacer(instance.emojiRegex, (match, dest) -> dest.append((char) font.nameLookup.get(match.group(), '?')));
+        return new Replacer(instance.emojiRegex, (match, dest) -> {
+            int c = font.nameLookup.get(match.group(), '?');
+            if (c > 0xFFFF) {
+                dest.append("[+");
+                dest.append(match.group());
+                dest.append(']');
+            }
+            else dest.append((char) c);
+        });
+    }
+
+    /**
+     * Gets a {@link Trie} that recognizes every emoji in the given Font's {@link Font#nameLookup}. The Trie is cached
+     * in the Font, and is rebuilt if nameLookup is replaced or has changed since the Trie was built. If the Font has no
+     * nameLookup, this returns null.
+     *
+     * @param font a Font that already has emoji added to it, typically Twemoji via {@link KnownFonts#addEmoji(Font)}
+     * @return a Trie that matches emoji in the given Font, or null if the Font has no nameLookup
+     */
+    public static Trie getTrie(final Font font) {
+        final CaseInsensitiveIntMap lookup = font.nameLookup;
+        if (lookup == null) return null;
+        if (font.emojiTrie == null || font.emojiTrieLookup != lookup || font.emojiTrieVersion != lookup.getVersion()) {
+            font.emojiTrie = new Trie(lookup);
+            font.emojiTrieLookup = lookup;
+            font.emojiTrieVersion = lookup.getVersion();
+        }
+        return font.emojiTrie;
+    }
+
+    /**
+     * Appends {@code text} to {@code dest}, replacing any emoji that the given Font can display with the PUA char
+     * that Font uses for it. Unlike {@link #getReplacer(Font)}, this only recognizes emoji that are actually in the Font,
+     * and leaves any others unchanged instead of replacing them with {@code '?'}. When more than one emoji sequence
+     * could match at the same place, the longest one is used, so a family or a skin-toned emoji isn't split up.
+     * Emoji on one of the Font's {@link Font#imagePages} are replaced with {@code [+name]} markup instead of a char.
+     * If the Font has no {@link Font#nameLookup}, text is appended unchanged.
+     *
+     * @param font a Font that already has emoji added to it, typically Twemoji via {@link KnownFonts#addEmoji(Font)}
+     * @param text the text to process; will not be modified
+     * @param dest the StringBuilder to append to
+     * @return dest, after appending
+     */
+    public static StringBuilder process(final Font font, final CharSequence text, final StringBuilder dest) {
+        final Trie trie = getTrie(font);
+        if (trie == null) return dest.append(text);
+        return trie.replace(text, dest);
+    }
+
+    /**
+     * Returns {@code text} with any emoji that the given Font can display replaced by the PUA char that Font uses for
+     * it. This is a convenience method for {@link #process(Font, CharSequence, StringBuilder)}.
+     *
+     * @param font a Font that already has emoji added to it, typically Twemoji via {@link KnownFonts#addEmoji(Font)}
+     * @param text the text to process
+     * @return a new String with emoji replaced
+     */
+    public static String process(final Font font, final CharSequence text) {
+        return process(font, text, new StringBuilder(text.length())).toString();
+    }
+
+    /**
+     * A trie over chars that maps each emoji sequence in a Font's {@link Font#nameLookup} to the char that Font uses
+     * to show it. Only names that have at least one non-ASCII char, and no ASCII letters or spaces, are treated as
+     * emoji; this skips the plain-text names (such as "smiling face") that nameLookup also has. Variation selector 16
+     * ({@code U+FE0F}) is ignored both in names and in matched text, since it is optional in most emoji.
+     * <br>
+     * Nodes are numbered, and each edge is stored in one {@link IntIntMap} keyed by the node number and char, so
+     * matching doesn't allocate. This is limited to 65536 nodes, which is far more than any emoji set needs. Emoji that
+     * are on one of a Font's {@link Font#imagePages} are written as {@code [+name]} markup, since they have no single
+     * char that can show them.
+     */
+    public static final class Trie {
+        private static final char VS16 = '\uFE0F';
+
+        private final IntIntMap edges;
+        private final IntArray values = new IntArray(4096);
+        private final IntMap<String> pagedNames = new IntMap<>();
+
+        /**
+         * Builds a Trie from the emoji names in the given lookup map, which is usually a {@link Font#nameLookup}.
+         * @param lookup a map from names to the chars that show them
+         */
+        public Trie(CaseInsensitiveIntMap lookup) {
+            edges = new IntIntMap(lookup.size * 2);
+            values.add(-1);
+            for (CaseInsensitiveIntMap.Entry e : new CaseInsensitiveIntMap.Entries(lookup)) {
+                if (isEmojiName(e.key)) add(e.key, e.value);
+            }
+        }
+
+        private static boolean isEmojiName(String name) {
+            boolean nonAscii = false;
+            for (int i = 0, n = name.length(); i < n; i++) {
+                char c = name.charAt(i);
+                if (c == ' ' || (c < 128 && Character.isLetter(c))) return false;
+                if (c >= 128) nonAscii = true;
+            }
+            return nonAscii;
+        }
+
+        private void add(String name, int value) {
+            int node = 0;
+            for (int i = 0, n = name.length(); i < n; i++) {
+                char c = name.charAt(i);
+                if (c == VS16) continue;
+                int key = node << 16 | c;
+                int next = edges.get(key, -1);
+                if (next == -1) {
+                    if (values.size > 0xFFFF) return;
+                    next = values.size;
+                    values.add(-1);
+                    edges.put(key, next);
+                }
+                node = next;
+            }
+            if (node != 0 && values.get(node) == -1) {
+                values.set(node, value);
+                if (value > 0xFFFF) pagedNames.put(node, name);
+            }
+        }
+
+        /**
+         * Appends {@code text} to {@code dest}, replacing each longest emoji sequence this knows with its char.
+         * @param text the text to process; will not be modified
+         * @param dest the StringBuilder to append to
+         * @return dest, after appending
+         */
+        public StringBuilder replace(final CharSequence text, final StringBuilder dest) {
+            final int n = text.length();
+            dest.ensureCapacity(dest.length() + n);
+            int i = 0;
+            while (i < n) {
+                int node = 0, found = -1, foundNode = 0, end = i;
+                for (int j = i; j < n; j++) {
+                    char c = text.charAt(j);
+                    if (c == VS16) {
+                        if (j == i) break;
+                        if (found != -1 && end == j) end = j + 1;
+                        continue;
+                    }
+                    node = edges.get(node << 16 | c, -1);
+                    if (node == -1) break;
+                    if (values.get(node) != -1) {
+                        found = values.get(node);
+                        foundNode = node;
+                        end = j + 1;
+                    }
+                }
+                if (found == -1) {
+                    dest.append(text.charAt(i++));
+                } else {
+                    if (found > 0xFFFF) dest.append("[+").append(pagedNames.get(foundNode)).append(']');
+                    else dest.append((char) found);
+                    i = end;
+                }
+            }
+            return dest;
+        }
     }
 }
@@ -35,8 +35,16 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextTooltip;
 import com.badlogic.gdx.scenes.scene2d.ui.Window;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 /**
@@ -62,6 +70,13 @@ import com.badlogic.gdx.utils.viewport.Viewport;
  * jagged or aliased. It only works on Font objects that use a distance field (SDF, MSDF, or SDF_OUTLINE). If you are
  * using a Viewport (which is strongly recommended for any production code in libGDX), then you should prefer
  * {@link #resizeDistanceFields(float, float, Viewport)} to give more information to the Font items being resized.
+ * <br>
+ * When a skin JSON has several Font or BitmapFont items that use the same font file with the same adjustments (often
+ * just with different {@code scaledSize} values), the file is only loaded into a Font once; the other items are
+ * copies made with {@link Font#setSharing(boolean) sharing} enabled, so they share one {@link Font#mapping} and its
+ * related data. Call {@code setSharing(false)} on one of those Fonts before changing its glyphs if the others shouldn't
+ * change too. Structured JSON Font files are also parsed on several threads (where threads are available) before the
+ * rest of the skin is read.
  */
 
 public class FWSkin extends Skin {
@@ -96,6 +111,108 @@ public class FWSkin extends Skin {
         super(atlas);
     }
     
+    /**
+     * Adds all resources in the specified skin JSON file, first parsing any Structured JSON Font files it uses in
+     * parallel (see {@link #loadFontData(FileHandle, JsonValue)}). The skin JSON is only parsed once, and the same
+     * JsonValue is used to find the font files and to read the skin. The {@link StructuredFontData} cache is held while
+     * the skin is read, so each font file is parsed once, and is released afterward, so nothing parsed here stays in
+     * memory.
+     * @param skinFile The JSON file to be read.
+     */
+    @Override
+    public void load(FileHandle skinFile) {
+        JsonValue root;
+        try {
+            root = new JsonReader().parse(skinFile);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Error reading file: " + skinFile, ex);
+        }
+        StructuredFontData.holdCache();
+        try {
+            loadFontData(skinFile, root);
+            getJsonLoader(skinFile).readValue(Skin.class, null, root);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Error reading file: " + skinFile, ex);
+        } finally {
+            StructuredFontData.releaseCache();
+        }
+    }
+
+    /**
+     * Finds every Structured JSON Font file that a Font or BitmapFont item in the given skin JSON uses, and parses
+     * them on up to 4 threads with {@link StructuredFontData#obtain(FileHandle)}, so the Font and BitmapFont
+     * serializers can get them from its cache instead of parsing them one at a time. This does nothing if fewer than
+     * two such files are used. Errors are ignored here; they will be reported when the skin itself is read.
+     * @param skinFile The JSON file that will be read, used to find font files relative to it.
+     * @param root The already-parsed contents of {@code skinFile}.
+     */
+    protected void loadFontData(FileHandle skinFile, JsonValue root) {
+        ObjectSet<String> seen = new ObjectSet<>();
+        Array<FileHandle> files = new Array<>();
+        for (JsonValue entry = root.child; entry != null; entry = entry.next) {
+            Class<?> type = getJsonClassTags().get(entry.name);
+            if (type == null) {
+                try {
+                    type = ClassReflection.forName(entry.name);
+                } catch (ReflectionException ex) {
+                    continue;
+                }
+            }
+            if (!ClassReflection.isAssignableFrom(Font.class, type) && !ClassReflection.isAssignableFrom(BitmapFont.class, type))
+                continue;
+            for (JsonValue item = entry.child; item != null; item = item.next) {
+                String path = item.getString("file", null);
+                if (path == null) continue;
+                FileHandle fontFile = skinFile.sibling(path);
+                if (!fontFile.exists()) fontFile = Gdx.files.internal(path);
+                if (fontFile.exists() && isStructuredJson(fontFile) && seen.add(fontFile.type() + ":" + fontFile.path()))
+                    files.add(fontFile);
+            }
+        }
+        int count = files.size;
+        if (count < 2) return;
+        AsyncExecutor executor = new AsyncExecutor(Math.min(count, 4), "FWSkin");
+        try {
+            Array<AsyncResult<StructuredFontData>> results = new Array<>(count);
+            for (int i = 0; i < count; i++) {
+                final FileHandle fontFile = files.get(i);
+                results.add(executor.submit(() -> StructuredFontData.obtain(fontFile)));
+            }
+            for (AsyncResult<StructuredFontData> result : results) {
+                try {
+                    result.get();
+                } catch (GdxRuntimeException ignored) {
+                }
+            }
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    /**
+     * Returns true if {@code fontFile} has one of the extensions a Structured JSON Font can have: .json, .dat, .ubj,
+     * .json.lzma, or .ubj.lzma .
+     * @param fontFile a font file handle; doesn't need to exist
+     * @return true if fontFile should be loaded as a Structured JSON Font, or false if it should be a .fnt file
+     */
+    protected static boolean isStructuredJson(FileHandle fontFile) {
+        String ext = fontFile.extension(), name = fontFile.name();
+        return "dat".equalsIgnoreCase(ext) || "json".equalsIgnoreCase(ext) || "ubj".equalsIgnoreCase(ext)
+                || name.length() > 10 && ".json.lzma".equalsIgnoreCase(name.substring(name.length() - 10))
+                || name.length() > 9 && ".ubj.lzma".equalsIgnoreCase(name.substring(name.length() - 9));
+    }
+
+    /**
+     * If a Font was already loaded with the given key, this makes it share its data structures and returns a copy of
+     * it at its original scale; otherwise, this returns null.
+     */
+    private static Font copyLoaded(ObjectMap<String, Font> loaded, String key) {
+        Font base = loaded.get(key);
+        if (base == null) return null;
+        base.setSharing(true);
+        return new Font(base).scaleTo(base.originalCellWidth, base.originalCellHeight);
+    }
+
     /**
      * Overrides the default JSON loader to process Structured JSON Fonts from a Skin JSON.
      * This allows Font and BitmapFont items to be loaded from either .fnt or .json files.
@@ -108,6 +225,8 @@ public class FWSkin extends Skin {
     protected Json getJsonLoader(final FileHandle skinFile) {
         Json json = super.getJsonLoader(skinFile);
         final Skin skin = this;
+        // Fonts loaded by this Json, by file, distance field, and adjustments; later items with the same key copy these.
+        final ObjectMap<String, Font> loaded = new ObjectMap<>();
 
         json.setSerializer(Font.class, new Json.ReadOnlySerializer<Font>() {
             @Override
@@ -120,12 +239,7 @@ public class FWSkin extends Skin {
 
                 path = fontFile.path();
 
-                boolean lzb = "dat".equalsIgnoreCase(fontFile.extension());
-                boolean js = "json".equalsIgnoreCase(fontFile.extension());
-                boolean ubj = "ubj".equalsIgnoreCase(fontFile.extension());
-                boolean jslzma = fontFile.name().length() > 10 && ".json.lzma".equalsIgnoreCase(fontFile.name().substring(fontFile.name().length() - 10));
-                boolean ublzma = fontFile.name().length() > 9 && ".ubj.lzma".equalsIgnoreCase(fontFile.name().substring(fontFile.name().length() - 9));
-                boolean fw = lzb || js || ubj || jslzma || ublzma;
+                boolean fw = isStructuredJson(fontFile);
 
                 float scaledSize = json.readValue("scaledSize", float.class, -1f, jsonData);
                 float xAdjust = json.readValue("xAdjust", float.class, 0f, jsonData);
@@ -142,37 +256,42 @@ public class FWSkin extends Skin {
                 // Use a region with the same name as the font, else use a PNG file in the same directory as the font file.
                 int nameStart = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'))+1;
                 String regionName = path.substring(nameStart, Math.max(0, path.indexOf('.', nameStart)));
+                String key = fontFile.type() + ":" + fontFile.path() + (fw ? "|file|" : "|STANDARD|")
+                        + xAdjust + "," + yAdjust + "," + widthAdjust + "," + heightAdjust + "," + makeGridGlyphs;
                 try {
-                    Font font;
-                    Array<TextureRegion> regions = skin.getRegions(regionName);
-                    if (regions != null && regions.notEmpty()) {
-                        if(fw)
-                            font = new Font(fontFile, regions.first(), xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
-                        else
-                            font = new Font(path, regions, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
-                    } else {
-                        TextureRegion region = skin.optional(regionName, TextureRegion.class);
-                        if (region != null)
-                        {
+                    Font font = copyLoaded(loaded, key);
+                    if (font == null) {
+                        Array<TextureRegion> regions = skin.getRegions(regionName);
+                        if (regions != null && regions.notEmpty()) {
                             if(fw)
-                                font = new Font(fontFile, region, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
+                                font = new Font(fontFile, regions.first(), xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
                             else
-                                font = new Font(path, region, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
-                        }
-                        else {
-                            FileHandle imageFile = Gdx.files.internal(path).sibling(regionName + ".png");
-                            if (imageFile.exists()) {
+                                font = new Font(path, regions, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
+                        } else {
+                            TextureRegion region = skin.optional(regionName, TextureRegion.class);
+                            if (region != null)
+                            {
                                 if(fw)
-                                    font = new Font(fontFile, new TextureRegion(new Texture(imageFile)), xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
-                                else
-                                    font = new Font(path, new TextureRegion(new Texture(imageFile)), Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
-                            } else {
-                                if(fw)
-                                    throw new RuntimeException("Missing image file or TextureRegion.");
+                                    font = new Font(fontFile, region, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
                                 else
-                                    font = new Font(path);
+                                    font = new Font(path, region, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
+                            }
+                            else {
+                                FileHandle imageFile = Gdx.files.internal(path).sibling(regionName + ".png");
+                                if (imageFile.exists()) {
+                                    if(fw)
+                                        font = new Font(fontFile, new TextureRegion(new Texture(imageFile)), xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
+                                    else
+                                        font = new Font(path, new TextureRegion(new Texture(imageFile)), Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
+                                } else {
+                                    if(fw)
+                                        throw new RuntimeException("Missing image file or TextureRegion.");
+                                    else
+                                        font = new Font(path);
+                                }
                             }
                         }
+                        loaded.put(key, font);
                     }
                     font.useIntegerPositions(useIntegerPositions);
                     // Scaled size is the desired line height to scale the font to.
@@ -193,12 +312,7 @@ public class FWSkin extends Skin {
                 if (!fontFile.exists()) fontFile = Gdx.files.internal(path);
                 if (!fontFile.exists()) throw new SerializationException("Font file not found: " + fontFile);
 
-                boolean lzb = "dat".equalsIgnoreCase(fontFile.extension());
-                boolean js = "json".equalsIgnoreCase(fontFile.extension());
-                boolean ubj = "ubj".equalsIgnoreCase(fontFile.extension());
-                boolean jslzma = fontFile.name().length() > 10 && ".json.lzma".equalsIgnoreCase(fontFile.name().substring(fontFile.name().length() - 10));
-                boolean ublzma = fontFile.name().length() > 9 && ".ubj.lzma".equalsIgnoreCase(fontFile.name().substring(fontFile.name().length() - 9));
-                boolean fw = lzb || js || ubj || jslzma || ublzma;
+                boolean fw = isStructuredJson(fontFile);
 
                 float scaledSize = json.readValue("scaledSize", float.class, -1f, jsonData);
                 Boolean flip = json.readValue("flip", Boolean.class, false, jsonData);
@@ -217,18 +331,20 @@ public class FWSkin extends Skin {
                 // Use a region with the same name as the font, else use a PNG file in the same directory as the font file.
                 int nameStart = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'))+1;
                 String regionName = path.substring(nameStart, Math.max(0, path.indexOf('.', nameStart)));
+                String key = fontFile.type() + ":" + fontFile.path() + (fw ? "|file|" : "|STANDARD|")
+                        + xAdjust + "," + yAdjust + "," + widthAdjust + "," + heightAdjust + "," + makeGridGlyphs;
                 try {
                     BitmapFont bitmapFont;
-                    Font font;
+                    Font font = copyLoaded(loaded, key);
                     Array<TextureRegion> regions = skin.getRegions(regionName);
                     if (regions != null && regions.notEmpty()) {
                         if(fw) {
                             bitmapFont = BitmapFontSupport.loadStructuredJson(fontFile, regions.first(), flip);
-                            font = new Font(fontFile, regions.first(), xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
+                            if (font == null) font = new Font(fontFile, regions.first(), xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
                         }
                         else {
                             bitmapFont = new BitmapFont(new BitmapFont.BitmapFontData(fontFile, flip), regions, true);
-                            font = new Font(fontFile, regions, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
+                            if (font == null) font = new Font(fontFile, regions, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
                         }
                     } else {
                         TextureRegion region = skin.optional(regionName, TextureRegion.class);
@@ -236,11 +352,11 @@ public class FWSkin extends Skin {
                         {
                             if(fw) {
                                 bitmapFont = BitmapFontSupport.loadStructuredJson(fontFile, region, flip);
-                                font = new Font(fontFile, region, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
+                                if (font == null) font = new Font(fontFile, region, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
                             }
                             else {
                                 bitmapFont = new BitmapFont(fontFile, region, flip);
-                                font = new Font(fontFile, region, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
+                                if (font == null) font = new Font(fontFile, region, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
                             }
                         }
                         else {
@@ -249,21 +365,22 @@ public class FWSkin extends Skin {
                                 region = new TextureRegion(new Texture(imageFile));
                                 if(fw) {
                                     bitmapFont = BitmapFontSupport.loadStructuredJson(fontFile, region, flip);
-                                    font = new Font(fontFile, region, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
+                                    if (font == null) font = new Font(fontFile, region, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs, true);
                                 } else {
                                     bitmapFont = new BitmapFont(fontFile, region, flip);
-                                    font = new Font(path, region, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
+                                    if (font == null) font = new Font(path, region, Font.DistanceFieldType.STANDARD, xAdjust, yAdjust, widthAdjust, heightAdjust, makeGridGlyphs);
                                 }
                             } else {
                                 if(fw)
                                     throw new RuntimeException("Missing image file or TextureRegion.");
                                 else {
                                     bitmapFont = new BitmapFont(fontFile, flip);
-                                    font = new Font(path);
+                                    if (font == null) font = new Font(path);
                                 }
                             }
                         }
                     }
+                    if (!loaded.containsKey(key)) loaded.put(key, font);
                     bitmapFont.getData().markupEnabled = markupEnabled;
                     bitmapFont.setUseIntegerPositions(useIntegerPositions);
                     font.useIntegerPositions(useIntegerPositions);
@@ -553,9 +670,7 @@ public class FWSkin extends Skin {
      * @param height should match the height in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
      */
     public void resizeDistanceFields(float width, float height) {
-        for(Font font : getAll(Font.class).values()){
-            font.resizeDistanceField(width, height);
-        }
+        resizeDistanceFields(width, height, null);
     }
 
     /**
@@ -571,8 +686,25 @@ public class FWSkin extends Skin {
      * @param height should match the height in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
      */
     public void resizeDistanceFields(float width, float height, Viewport viewport) {
-        for(Font font : getAll(Font.class).values()){
-            font.resizeDistanceField(width, height, viewport);
+        ObjectMap<String, Font> fonts = getAll(Font.class);
+        if (fonts != null) Font.resizeDistanceFields(fonts.values(), width, height, viewport);
+    }
+
+    /**
+     * Disposes the atlas and all Disposable resources in this skin, as {@link Skin#dispose()} does. Fonts copied from
+     * another Font (as this does for several items using the same font file) use the same {@link Font#shader} and
+     * {@link Font#whiteBlock}, so this makes sure each of those is only disposed once.
+     */
+    @Override
+    public void dispose() {
+        ObjectMap<String, Font> fonts = getAll(Font.class);
+        if (fonts != null) {
+            ObjectSet<Object> owned = new ObjectSet<>();
+            for (Font font : fonts.values()) {
+                if (font.shader != null && !owned.add(font.shader)) font.shader = null;
+                if (font.whiteBlock != null && !owned.add(font.whiteBlock)) font.whiteBlock = null;
+            }
         }
+        super.dispose();
     }
-}
\ No newline at end of file
+}
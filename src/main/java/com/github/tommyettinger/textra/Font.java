@@ -30,6 +30,9 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
@@ -37,6 +40,7 @@ import com.badlogic.gdx.utils.CharArray;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IdentityMap;
 import com.badlogic.gdx.utils.IntFloatMap;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.JsonReader;
@@ -46,23 +50,22 @@ import com.badlogic.gdx.utils.NumberUtils;
 import com.badlogic.gdx.utils.ObjectFloatMap;
 import com.badlogic.gdx.utils.ObjectLongMap;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.badlogic.gdx.utils.OrderedMap;
-import com.badlogic.gdx.utils.StreamUtils;
-import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.SnapshotArray;
 import com.badlogic.gdx.utils.compression.Lzma;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.github.tommyettinger.textra.utils.BlockUtils;
 import com.github.tommyettinger.textra.utils.CaseInsensitiveIntMap;
 import com.github.tommyettinger.textra.utils.ColorUtils;
+import com.github.tommyettinger.textra.utils.GlyphCoverage;
+import com.github.tommyettinger.textra.utils.KerningMap;
+import com.github.tommyettinger.textra.utils.KerningTable;
 import com.github.tommyettinger.textra.utils.LZBCompression;
-import com.github.tommyettinger.textra.utils.LZBDecompression;
 import com.github.tommyettinger.textra.utils.NoiseUtils;
 import com.github.tommyettinger.textra.utils.StringUtils;
 import regexodus.Category;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.Arrays;
 
 /**
@@ -494,21 +497,33 @@ public class Font implements Disposable {
     }
 
     /**
-     * Holds up to 16 Font values, accessible by index or by name, that markup can switch between while rendering.
+     * Holds up to 32 Font values, accessible by index or by name, that markup can switch between while rendering.
      * This uses the [@Name] syntax. It is suggested that multiple Font objects share the same FontFamily so users can
      * have the same names mean the same fonts reliably.
+     * <br>
+     * Each glyph stores the index of its Font in the family, using bits 16-19 for the low 4 bits of the index and bit
+     * 31 for the fifth bit; {@link Font#familyIndex(long)} and {@link Font#withFamilyIndex(long, int)} read and write
+     * it. Families with more than 16 members are useful for localized text that needs fallbacks for several scripts,
+     * such as CJK, Arabic, Devanagari, and emoji, in one family.
      */
     public static class FontFamily {
         /**
-         * Stores this Font and up to 15 other connected Fonts that can be switched between using [@Name] syntax.
+         * The most Fonts a FontFamily can hold, which is the length of {@link #connected}.
+         */
+        public static final int MAX_MEMBERS = 32;
+
+        /**
+         * Stores this Font and up to 31 other connected Fonts that can be switched between using [@Name] syntax.
          * If an item is null and this tries to switch to it, the font does not change.
          */
-        public final Font[] connected = new Font[16];
+        public final Font[] connected = new Font[MAX_MEMBERS];
 
         /**
-         * Stores the names of Fonts (or aliases for those Fonts) as keys, mapped to ints between 0 and 15 inclusive.
+         * Stores the names of Fonts (or aliases for those Fonts) as keys, mapped to ints between 0 and 31 inclusive.
          * The int values that this map keeps are stored in long glyphs and looked up as indices in {@link #connected}.
-         * This map is case-insensitive when comparing keys or getting their values.
+         * This map is case-insensitive when comparing keys or getting their values. Markup looks up names here with
+         * {@link CaseInsensitiveIntMap#get(CharSequence, int, int, int)}, which doesn't need a substring and remembers
+         * where recently-used names are, so repeated [@Name] tags are fast.
          */
         public final CaseInsensitiveIntMap fontAliases = new CaseInsensitiveIntMap(48);
 
@@ -521,8 +536,8 @@ public class Font implements Disposable {
         /**
          * Creates a FontFamily given an array of Font values, using the {@link Font#name} of each Font as its alias.
          * This allows switching to different fonts using the [@Name] syntax. This also registers aliases for the
-         * Strings "0" through up to "15" to refer to the Font values with the same indices (it can register fewer
-         * aliases than up to "15" if there are fewer than 16 Fonts). You should avoid using more than 16 fonts here.
+         * Strings "0" through up to "31" to refer to the Font values with the same indices (it can register fewer
+         * aliases than up to "31" if there are fewer than 32 Fonts). You should avoid using more than 32 fonts here.
          *
          * @param fonts a non-null array of Font values that should each have their name set (as by {@link #setName(String)}
          */
@@ -534,10 +549,10 @@ public class Font implements Disposable {
          * Creates a FontFamily given an array of Font values that and offset/length values for those arrays (allowing
          * {@link Array} to sometimes be used to get the items for fonts). This uses the {@link Font#name} of each Font
          * as its alias. This allows switching to different fonts using the [@Name] syntax. This registers aliases for
-         * the Strings "0" through up to "15" to refer to the Font values with the same indices (it can register fewer
-         * aliases than up to "15" if there are fewer than 16 Fonts). You should avoid using more than 16 fonts here.
+         * the Strings "0" through up to "31" to refer to the Font values with the same indices (it can register fewer
+         * aliases than up to "31" if there are fewer than 32 Fonts). You should avoid using more than 32 fonts here.
          *
-         * @param fonts  an array of Font values that should have the same length as aliases (no more than 16)
+         * @param fonts  an array of Font values that should have the same length as aliases (no more than 32)
          * @param offset where to start accessing fonts, as a non-negative index
          * @param length how many items to use from fonts, if that many are provided
          */
@@ -545,23 +560,23 @@ public class Font implements Disposable {
             if (fonts == null || fonts.length == 0) return;
             for (int i = offset, a = 0; i < length && i < fonts.length; i++, a++) {
                 if (fonts[i] == null) continue;
-                connected[a & 15] = fonts[i];
+                connected[a & 31] = fonts[i];
                 if (fonts[i].name != null)
-                    fontAliases.put(fonts[i].name, a & 15);
-                fontAliases.put(String.valueOf(a & 15), a & 15);
+                    fontAliases.put(fonts[i].name, a & 31);
+                fontAliases.put(String.valueOf(a & 31), a & 31);
             }
         }
 
         /**
          * Creates a FontFamily given an array of String names and a (almost-always same-sized) array of Font values
          * that those names will refer to. This allows switching to different fonts using the [@Name] syntax. This
-         * registers aliases for the Strings "0" through up to "15" to refer to the Font values with the same indices
-         * (it can register fewer aliases than up to "15" if there are fewer than 16 Fonts). It also registers the
-         * {@link Font#name} of each Font as an alias. You should avoid using more than 16 fonts here. You should avoid
-         * using more than 16 fonts with this.
+         * registers aliases for the Strings "0" through up to "31" to refer to the Font values with the same indices
+         * (it can register fewer aliases than up to "31" if there are fewer than 32 Fonts). It also registers the
+         * {@link Font#name} of each Font as an alias. You should avoid using more than 32 fonts here. You should avoid
+         * using more than 32 fonts with this.
          *
-         * @param aliases a non-null array of up to 16 String names to use for fonts (individual items may be null)
-         * @param fonts   a non-null array of Font values that should have the same length as aliases (no more than 16)
+         * @param aliases a non-null array of up to 32 String names to use for fonts (individual items may be null)
+         * @param fonts   a non-null array of Font values that should have the same length as aliases (no more than 32)
          */
         public FontFamily(String[] aliases, Font[] fonts) {
             this(aliases, fonts, 0, Math.min(aliases.length, fonts.length));
@@ -571,12 +586,12 @@ public class Font implements Disposable {
          * Creates a FontFamily given an array of String names, a (almost-always same-sized) array of Font values that
          * those names will refer to, and offset/length values for those arrays (allowing {@link Array} to sometimes be
          * used to get the items for aliases and fonts). This allows switching to different fonts using the [@Name]
-         * syntax. This registers aliases for the Strings "0" through up to "15" to refer to the Font values with the
-         * same indices (it can register fewer aliases than up to "15" if there are fewer than 16 Fonts). It also
-         * registers the {@link Font#name} of each Font as an alias. You should avoid using more than 16 fonts here.
+         * syntax. This registers aliases for the Strings "0" through up to "31" to refer to the Font values with the
+         * same indices (it can register fewer aliases than up to "31" if there are fewer than 32 Fonts). It also
+         * registers the {@link Font#name} of each Font as an alias. You should avoid using more than 32 fonts here.
          *
-         * @param aliases an array of up to 16 String names to use for fonts (individual items may be null)
-         * @param fonts   an array of Font values that should have the same length as aliases (no more than 16)
+         * @param aliases an array of up to 32 String names to use for fonts (individual items may be null)
+         * @param fonts   an array of Font values that should have the same length as aliases (no more than 32)
          * @param offset  where to start accessing aliases and fonts, as a non-negative index
          * @param length  how many items to use from aliases and fonts, if that many are provided
          */
@@ -584,25 +599,25 @@ public class Font implements Disposable {
             if (aliases == null || fonts == null || (aliases.length & fonts.length) == 0) return;
             for (int i = offset, a = 0; i < length && i < aliases.length && i < fonts.length; i++, a++) {
                 if (fonts[i] == null) continue;
-                connected[a & 15] = fonts[i];
-                fontAliases.put(aliases[i], a & 15);
+                connected[a & 31] = fonts[i];
+                fontAliases.put(aliases[i], a & 31);
                 if (fonts[i].name != null)
-                    fontAliases.put(fonts[i].name, a & 15);
-                fontAliases.put(String.valueOf(a & 15), a & 15);
+                    fontAliases.put(fonts[i].name, a & 31);
+                fontAliases.put(String.valueOf(a & 31), a & 31);
             }
         }
 
         /**
          * Constructs a FontFamily given an OrderedMap of String keys (names of Fonts) to Font values (the Fonts that
-         * can be switched between). This registers the Strings "0" up to "15" to be aliases for the Fonts with those
+         * can be switched between). This registers the Strings "0" up to "31" to be aliases for the Fonts with those
          * indices in the map. It also registers the {@link Font#name} of each Font as an alias. This only uses up to
-         * the first 16 keys of map.
+         * the first 32 keys of map.
          *
          * @param map an OrderedMap of String keys to Font values
          */
         public FontFamily(OrderedMap<String, Font> map) {
             Array<String> ks = map.orderedKeys();
-            for (int i = 0; i < map.size && i < 16; i++) {
+            for (int i = 0; i < map.size && i < MAX_MEMBERS; i++) {
                 String name = ks.get(i);
                 if ((connected[i] = map.get(name)) == null) continue;
                 fontAliases.put(name, i);
@@ -629,7 +644,7 @@ public class Font implements Disposable {
         private void initBitmapFonts(Skin skin) {
             ObjectMap<String, BitmapFont> map = skin.getAll(BitmapFont.class);
             Array<String> keys = map.keys().toArray();
-            for (int i = 0; i < map.size && i < 16; i++) {
+            for (int i = 0; i < map.size && i < MAX_MEMBERS; i++) {
                 String name = keys.get(i);
                 BitmapFont bmf = map.get(name);
                 if(bmf == null) continue;
@@ -661,7 +676,7 @@ public class Font implements Disposable {
                 return;
             }
             Array<String> keys = map.keys().toArray();
-            for (int i = 0; i < map.size && i < 16; i++) {
+            for (int i = 0; i < map.size && i < MAX_MEMBERS; i++) {
                 String name = keys.get(i);
                 Font font = map.get(name);
                 if(font == null) continue;
@@ -682,7 +697,7 @@ public class Font implements Disposable {
          * @param other another, non-null, FontFamily to copy into this.
          */
         public FontFamily(FontFamily other) {
-            System.arraycopy(other.connected, 0, connected, 0, 16);
+            System.arraycopy(other.connected, 0, connected, 0, MAX_MEMBERS);
             fontAliases.putAll(other.fontAliases);
         }
 
@@ -694,7 +709,7 @@ public class Font implements Disposable {
          */
         public Font get(String name) {
             if (name == null) return null;
-            return connected[fontAliases.get(name, 0) & 15];
+            return connected[fontAliases.get(name, 0) & 31];
         }
 
         /**
@@ -703,9 +718,7 @@ public class Font implements Disposable {
          * @param height the new window height; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
          */
         public void resizeDistanceFields(float width, float height) {
-            for(Font f : connected){
-                if(f != null) f.resizeDistanceField(width, height);
-            }
+            resizeDistanceFields(width, height, null);
         }
 
         /**
@@ -715,8 +728,9 @@ public class Font implements Disposable {
          * @param viewport the current Viewport, after it has been updated using {@link Viewport#update(int, int)}
          */
         public void resizeDistanceFields(float width, float height, Viewport viewport) {
+            float zoom = distanceFieldZoom(width, height, viewport);
             for(Font f : connected){
-                if(f != null) f.resizeDistanceField(width, height, viewport);
+                if(f != null) f.applyDistanceFieldZoom(zoom);
             }
         }
     }
@@ -809,6 +823,19 @@ public class Font implements Disposable {
      */
     public boolean sharing = false;
 
+    /**
+     * True if the GlyphRegion values in {@link #mapping} may also be in the mapping of another Font, because one of
+     * them was copied from the other with {@link #Font(Font)}. Copies get their own mapping but reuse the same
+     * GlyphRegion objects until {@link #unshareGlyphs()} is called, which methods that change glyphs in place do.
+     * Image pages track this separately, so only the pages that change are copied.
+     */
+    private boolean glyphsShared = false;
+    /**
+     * While {@link #glyphsShared} is true, the GlyphRegions in {@link #mapping} that {@link #unshareGlyph(int)} has
+     * already copied, so they aren't copied again; null if there are none.
+     */
+    private ObjectSet<GlyphRegion> ownedGlyphs;
+
     /**
      * Maps char keys (stored as ints) to their corresponding {@link GlyphRegion} values. You can add arbitrary images
      * to this mapping if you create appropriate GlyphRegion values (as with
@@ -817,6 +844,12 @@ public class Font implements Disposable {
      * mapping will affect all Fonts that share that mapping. {@link #addAtlas(TextureAtlas)},
      * {@link #addImage(String, TextureRegion)}, {@link #addSpacingGlyph(char, float)}, and
      * {@link #fitCell(float, float, boolean)} all modify this field, and it can also be modified directly.
+     * <br>
+     * Even if sharing is false, a Font made with {@link #Font(Font)} starts out using the same GlyphRegion objects as
+     * the Font it copied (in its own mapping), and so do Fonts from {@link KnownFonts}, which are copies of one cached
+     * Font. Putting new GlyphRegions in this mapping only affects this Font, but to change the fields of a GlyphRegion
+     * already in it, get it with {@link #unshareGlyph(int)} instead of {@code mapping.get()}, or call
+     * {@link #unshareGlyphs()} first. Changing a GlyphRegion that is still shared changes every Font that uses it.
      */
     public IntMap<GlyphRegion> mapping;
 
@@ -842,6 +875,20 @@ public class Font implements Disposable {
      * this field, and it can also be modified directly.
      */
     public IntMap<String> namesByCharCode;
+
+    /**
+     * Extra Fonts that hold inline images once the private use area of this Font (from {@code 0xE000} up to, but not
+     * including, {@code 0xF800}) is full; null until {@link #addAtlas(TextureAtlas)} runs out of room. Each page is
+     * placed in an empty slot of this Font's {@link #family} (creating a family if this has none), and can hold another
+     * 6144 images in the same char range. Names in {@link #nameLookup} that refer to an image on a page have the
+     * page's family index shifted left by 16, above the char, so a glyph can be made from one with
+     * {@code withFamilyIndex(glyph, value >>> 16) | (value & 0xFFFF)}. Drawing and measuring such a glyph only needs the
+     * family index to find the page, so it stays a constant-time lookup.
+     * <br>
+     * Pages copy this Font's metrics when they are made, and {@link #syncImagePages()} copies them again; the methods
+     * here that scale or resize this Font call that automatically. Pages don't have their own {@link #nameLookup}.
+     */
+    public Array<Font> imagePages;
     /**
      * Which GlyphRegion to display if a char isn't found in {@link #mapping}. May be null to show a space by default.
      */
@@ -966,9 +1013,56 @@ public class Font implements Disposable {
      * <br>
      * If {@link #sharing} is true, then this reference may be shared with one or more other Fonts, and changes to this
      * variable will affect all Fonts that share references with this Font. While kerning is usually only assigned when
-     * a Font is loaded from a file or a BitmapFont, it can also be modified directly.
+     * a Font is loaded from a file or a BitmapFont, it can also be modified directly. Fonts loaded here use a
+     * {@link KerningMap}, so {@link #kerningTable} is rebuilt automatically the next time kerning is looked up after
+     * this is changed. If you assign some other IntFloatMap here, kerning is looked up in it directly.
      */
     public IntFloatMap kerning;
+    /**
+     * A class-based, read-only copy of {@link #kerning} that can be looked up faster, or null if this Font has no
+     * kerning or if its kerning is too irregular to compress well. {@link #kerning} is always what decides the amounts;
+     * this is only a cache of it. {@link #kerningAmount(int)} uses this only if it was built from the current kerning
+     * map and that map hasn't changed since, and otherwise rebuilds it (if kerning is a {@link KerningMap}) or looks
+     * the pair up in {@link #kerning} directly.
+     * <br>
+     * Because a KerningTable can't be modified, copies of this Font share it until their kerning changes.
+     */
+    public KerningTable kerningTable;
+    /**
+     * The kerning map {@link #kerningTable} was built from, and its {@link KerningMap#getVersion()} at that time.
+     */
+    private transient IntFloatMap kerningSource;
+    private transient int kerningVersion;
+
+    /**
+     * Indices in {@link #family} of Fonts to try, in order, when text given to {@link #markup(String, Layout)} uses a
+     * char that the current Font doesn't have. The first Font in the chain that has the char is used for that glyph
+     * only, by storing its family index in the glyph, so mixed-script text can show up correctly without any
+     * [@Name] markup. Each Font's {@link #getCoverage()} is checked, so finding a fallback doesn't hash anything.
+     * This is null by default, which means no fallback is attempted; set it with {@link #setFallbackChain(String...)}
+     * or {@link #setFallbackChain(int...)}. This has no effect if {@link #family} is null.
+     */
+    public int[] fallbackChain;
+
+    /**
+     * If non-null, glyphs this Font doesn't have yet are drawn on demand by this atlas's {@link GlyphRasterizer} and
+     * packed into its texture pages, instead of all coming from a pre-made texture. Markup loads each char the first
+     * time it sees it, and drawing makes sure the glyph's pixels are still on a page, drawing them again if they were
+     * evicted. This is set by {@link #Font(DynamicFontAtlas)} and is shared with copies of that Font; it is null for
+     * any other Font.
+     */
+    public DynamicFontAtlas dynamicAtlas;
+
+    private GlyphCoverage coverage;
+    private IntMap<GlyphRegion> coverageMapping;
+    private int coverageSize = -1;
+    /**
+     * Cached by {@link EmojiProcessor#getTrie(Font)}, along with the {@link #nameLookup} it was built from and that
+     * map's version, so it can be rebuilt when nameLookup is replaced or changed.
+     */
+    EmojiProcessor.Trie emojiTrie;
+    CaseInsensitiveIntMap emojiTrieLookup;
+    int emojiTrieVersion;
     /**
      * When {@link #distanceField} is {@link DistanceFieldType#SDF}, {@link DistanceFieldType#MSDF}, or
      * {@link DistanceFieldType#SDF_OUTLINE}, this determines how much the edges of the glyphs should be aliased sharply
@@ -1152,6 +1246,12 @@ public class Font implements Disposable {
      */
     public Texture whiteBlock = null;
 
+    /**
+     * The bits of a glyph that hold the index of its Font in a {@link FontFamily}: bits 16-19 hold the low 4 bits of
+     * the index, and bit 31 holds the fifth bit. Use {@link #familyIndex(long)} and {@link #withFamilyIndex(long, int)}
+     * rather than reading or writing these bits directly.
+     */
+    public static final long FAMILY_MASK = 0x800F0000L;
     /**
      * Bit flag for bold mode, as a long.
      */
@@ -1946,7 +2046,8 @@ public class Font implements Disposable {
 
     /**
      * Copy constructor; does not copy the font's {@link #shader} or {@link #colorLookup}, if it has them (it uses the
-     * same reference for the new Font), but will fully copy everything else.
+     * same reference for the new Font), but will fully copy everything else. The GlyphRegion objects in
+     * {@link #mapping} are not copied until either Font needs to change them in place; see {@link #unshareGlyphs()}.
      *
      * @param toCopy another Font to copy
      */
@@ -1991,24 +2092,33 @@ public class Font implements Disposable {
         inlineImageStretch = toCopy.inlineImageStretch;
 
         parents = new Array<>(toCopy.parents);
-        mapping = new IntMap<>(toCopy.mapping.size);
         if(toCopy.sharing){
             sharing = true;
             mapping = toCopy.mapping;
+            glyphsShared = toCopy.glyphsShared;
+            ownedGlyphs = toCopy.ownedGlyphs;
             nameLookup = toCopy.nameLookup;
             namesByCharCode = toCopy.namesByCharCode;
             kerning = toCopy.kerning;
         } else {
-            for (IntMap.Entry<GlyphRegion> e : toCopy.mapping) {
-                if (e.value == null) continue;
-                mapping.put(e.key, new GlyphRegion(e.value));
-            }
+            // Only the table is copied here; both Fonts copy the GlyphRegions themselves before changing them.
+            mapping = new IntMap<>(toCopy.mapping);
+            glyphsShared = toCopy.glyphsShared = true;
+            toCopy.ownedGlyphs = null;
             if(toCopy.nameLookup != null)
                 nameLookup = new CaseInsensitiveIntMap(toCopy.nameLookup);
             if(toCopy.namesByCharCode != null)
                 namesByCharCode = new IntMap<>(toCopy.namesByCharCode);
-            kerning = toCopy.kerning == null ? null : new IntFloatMap(toCopy.kerning);
+            kerning = toCopy.kerning == null ? null : new KerningMap(toCopy.kerning);
+        }
+        // The copied map has the same contents, so it can use the same table if that table is up to date.
+        if (toCopy.kerningTableCurrent()) {
+            kerningTable = toCopy.kerningTable;
+            kerningSource = kerning;
+            kerningVersion = kerning instanceof KerningMap ? ((KerningMap) kerning).getVersion() : 0;
         }
+        fallbackChain = toCopy.fallbackChain == null ? null : Arrays.copyOf(toCopy.fallbackChain, toCopy.fallbackChain.length);
+        if (toCopy.dynamicAtlas != null) toCopy.dynamicAtlas.attach(this);
         defaultValue = toCopy.defaultValue;
         solidBlock = toCopy.solidBlock;
         name = toCopy.name;
@@ -2054,6 +2164,87 @@ public class Font implements Disposable {
             shader = toCopy.shader;
         if (toCopy.colorLookup != null)
             colorLookup = toCopy.colorLookup;
+        // Image pages are copied last, since each one is made by copying this Font.
+        if (toCopy.imagePages != null && family != null) {
+            imagePages = new Array<>(toCopy.imagePages.size);
+            for (int p = 0; p < toCopy.imagePages.size; p++) {
+                Font page = toCopy.imagePages.get(p);
+                int slot = toCopy.imagePageSlot(page);
+                if (slot < 0) continue;
+                Font copy = makeImagePage(toCopy.sharing ? page.mapping : new IntMap<>(page.mapping),
+                        toCopy.sharing ? page.namesByCharCode : new IntMap<>(page.namesByCharCode));
+                copy.glyphsShared = page.glyphsShared = toCopy.sharing ? page.glyphsShared : true;
+                if (toCopy.sharing) copy.ownedGlyphs = page.ownedGlyphs;
+                else page.ownedGlyphs = null;
+                family.connected[slot] = copy;
+                imagePages.add(copy);
+            }
+        }
+    }
+
+    /**
+     * Constructs a new Font that gets its glyphs on demand from {@code atlas}, instead of from a pre-made texture.
+     * Printable ASCII is loaded right away, which determines {@link #cellWidth} and whether this is monospaced; any
+     * other char is drawn by the atlas's {@link GlyphRasterizer} the first time markup or drawing needs it, and packed
+     * into one of the atlas's texture pages. The line height and descent come from the rasterizer. This uses
+     * {@link DistanceFieldType#STANDARD}, has no kerning, and uses a white block Texture for underline, strikethrough,
+     * and the solid block, so those never depend on glyphs that might be evicted.
+     * <br>
+     * The atlas can be shared by copies of this Font made with {@link #Font(Font)}. It isn't disposed by
+     * {@link #dispose()}; dispose it separately when no Font needs it.
+     *
+     * @param atlas a DynamicFontAtlas with a rasterizer that can draw at least the space char
+     */
+    public Font(DynamicFontAtlas atlas) {
+        this.setDistanceField(DistanceFieldType.STANDARD);
+        parents = new Array<>(true, atlas.maxPages);
+        mapping = new IntMap<>(128);
+        descent = atlas.rasterizer.getDescent();
+        cellHeight = atlas.rasterizer.getLineHeight();
+        underY = 0.05f;
+        strikeY = 0.15f;
+        strikeBreadth = underBreadth = -0.375f;
+        underLength = strikeLength = 0.0f;
+        underX = strikeX = 0.0f;
+        fancyY = 2f;
+        inlineImageStretch = 1f;
+
+        atlas.attach(this);
+        float minWidth = Float.MAX_VALUE;
+        for (char c = ' '; c <= '~'; c++) {
+            if (!atlas.load(c)) continue;
+            float a = mapping.get(c).xAdvance;
+            minWidth = Math.min(minWidth, a);
+            cellWidth = Math.max(a, cellWidth);
+        }
+        GlyphRegion space = mapping.get(' ', null);
+        if (space == null)
+            throw new RuntimeException("Cannot create a font without a space character; the GlyphRasterizer must draw ' '.");
+        mapping.put('\r', space);
+        // U+200B is the zero-width space
+        GlyphRegion zwSpace = new Font.GlyphRegion(space, 0f, 0f, 0f);
+        zwSpace.setRegionWidth(0);
+        zwSpace.setRegionHeight(0);
+        mapping.put('\u200B', zwSpace);
+        // Newlines should be equivalent to zero-width spaces in terms of rendering.
+        GlyphRegion newline = new GlyphRegion(zwSpace);
+        newline.xAdvance = 0;
+        mapping.put('\n', newline);
+
+        Pixmap temp = new Pixmap(3, 3, Pixmap.Format.RGBA8888);
+        temp.setColor(Color.WHITE);
+        temp.fill();
+        whiteBlock = new Texture(3, 3, Pixmap.Format.RGBA8888);
+        whiteBlock.draw(temp, 0, 0);
+        solidBlock = '\u2588';
+        mapping.put(solidBlock, new GlyphRegion(new TextureRegion(whiteBlock, 1, 1, 1, 1)));
+        temp.dispose();
+
+        defaultValue = space;
+        originalCellWidth = cellWidth;
+        originalCellHeight = cellHeight;
+        isMono = minWidth == cellWidth;
+        updateKerningTable();
     }
 
     /**
@@ -2686,7 +2877,7 @@ public class Font implements Disposable {
                     gr.xAdvance = a + widthAdjust;
                     mapping.put(glyph.id & 0xFFFF, gr);
                     if (glyph.kerning != null) {
-                        if (kerning == null) kerning = new IntFloatMap(128);
+                        if (kerning == null) kerning = new KerningMap(128);
                         for (int b = 0; b < glyph.kerning.length; b++) {
                             byte[] kern = glyph.kerning[b];
                             if (kern != null) {
@@ -2785,6 +2976,7 @@ public class Font implements Disposable {
         originalCellWidth = cellWidth;
         originalCellHeight = cellHeight;
         isMono = minWidth == cellWidth && kerning == null;
+        updateKerningTable();
         integerPosition = bmFont.usesIntegerPositions();
 
         inlineImageOffsetX = 0f;
@@ -2919,7 +3111,7 @@ public class Font implements Disposable {
         if (idx < fnt.length()) {
             int kernings = StringUtils.intFromDec(fnt, idx, idx = StringUtils.indexAfter(fnt, "\nkerning first=", idx));
             if(kernings >= 1) {
-                kerning = new IntFloatMap(kernings);
+                kerning = new KerningMap(kernings);
                 for (int i = 0; i < kernings; i++) {
                     int first = StringUtils.intFromDec(fnt, idx, idx = StringUtils.indexAfter(fnt, " second=", idx));
                     int second = StringUtils.intFromDec(fnt, idx, idx = StringUtils.indexAfter(fnt, " amount=", idx));
@@ -3009,6 +3201,7 @@ public class Font implements Disposable {
         originalCellWidth = cellWidth;
         originalCellHeight = cellHeight -= descent * 0.25f;
         isMono = minWidth == cellWidth && kerning == null;
+        updateKerningTable();
 
 //        underY = 0.05f;
 //        strikeY = 0.15f;
@@ -3319,64 +3512,34 @@ public class Font implements Disposable {
         this.widthAdjust = widthAdjust;
         this.heightAdjust = heightAdjust;
 
-        JsonValue fnt;
-        if("lzma".equalsIgnoreCase(jsonHandle.extension())) {
-            BufferedInputStream bais = jsonHandle.read(4096);
-            StreamUtils.OptimizedByteArrayOutputStream baos = new StreamUtils.OptimizedByteArrayOutputStream(4096);
-            try {
-                Lzma.decompress(bais, baos);
-                if (jsonHandle.name().length() > 10 && ".json.lzma".equalsIgnoreCase(jsonHandle.name().substring(jsonHandle.name().length() - 10)))
-                    fnt = new JsonReader().parse(baos.toString("UTF-8"));
-                else if (jsonHandle.name().length() > 9 && ".ubj.lzma".equalsIgnoreCase(jsonHandle.name().substring(jsonHandle.name().length() - 9))) {
-                    StreamUtils.closeQuietly(bais);
-                    bais = new BufferedInputStream(new ByteArrayInputStream(baos.toByteArray()));
-                    fnt = new UBJsonReader().parse(bais);
-                } else {
-                    throw new UnsupportedOperationException("Unsupported file type inside compressed file: " + jsonHandle.path());
-                }
-            } catch (IOException e) {
-                throw new RuntimeException("Error reading compressed file: " + jsonHandle.path() + "\n" + e);
-            } finally {
-                StreamUtils.closeQuietly(bais);
-                StreamUtils.closeQuietly(baos);
-            }
-        } else if ("ubj".equalsIgnoreCase(jsonHandle.extension())) {
-            fnt = new UBJsonReader().parse(jsonHandle.read());
-        } else if("dat".equalsIgnoreCase(jsonHandle.extension())) {
-            fnt = new JsonReader().parse(LZBDecompression.decompressFromBytes(jsonHandle.readBytes()));
-        } else {
-            fnt = new JsonReader().parse(jsonHandle);
-        }
+        StructuredFontData data = StructuredFontData.obtain(jsonHandle);
 
         name = jsonHandle.name().substring(0, jsonHandle.name().indexOf('.'));
 
-        JsonValue atlas = fnt.get("atlas");
-        String dfType = atlas.getString("type", "");
+        String dfType = data.type;
         if("msdf".equals(dfType) || "mtsdf".equals(dfType)) {
             this.setDistanceField(DistanceFieldType.MSDF);
-            setCrispness(atlas.getFloat("distanceRange", 8f) * 0.2f);
+            setCrispness(data.distanceRange * 0.2f);
             // fallback setting that works if resizeDistanceField is not called, for x1 zoom only
             actualCrispness = distanceFieldCrispness;
         }
         else if("sdf".equals(dfType) || "psdf".equals(dfType)) {
             this.setDistanceField(DistanceFieldType.SDF);
-            setCrispness(atlas.getFloat("distanceRange", 8f) * 0.2f);
+            setCrispness(data.distanceRange * 0.2f);
             // fallback setting that works if resizeDistanceField is not called, for x1 zoom only
             actualCrispness = distanceFieldCrispness;
         }
         else // softmask, hardmask
             this.setDistanceField(DistanceFieldType.STANDARD);
 
-        float size = atlas.getFloat("size", 16f);
-
-        JsonValue metrics = fnt.get("metrics");
+        float size = data.size;
 
         // We should record what metrics are loaded from a font so they could be used, potentially.
-        sizeInFile       = metrics.getFloat("emSize", 1f);
-        ascenderInFile   = metrics.getFloat("ascender", 0.8f);
-        descenderInFile  = metrics.getFloat("descender", -0.25f);
-        underlineYInFile = metrics.getFloat("underlineY", -0.05f);
-        strikeYInFile    = metrics.getFloat("strikeY", 0.15f);
+        sizeInFile       = data.emSize;
+        ascenderInFile   = data.ascender;
+        descenderInFile  = data.descender;
+        underlineYInFile = data.underlineY;
+        strikeYInFile    = data.strikeY;
 
         descent = size * -0.25f;
         originalCellHeight = cellHeight = heightAdjust - descent + size;// * metrics.getFloat("lineHeight", 1f);
@@ -3393,29 +3556,26 @@ public class Font implements Disposable {
         }
         fancyY = 2f;
 
-        JsonValue glyphs = fnt.get("glyphs"), planeBounds, atlasBounds;
-        int count = glyphs.size;
+        int count = data.glyphCount;
+        float[] planeBounds = data.planeBounds, atlasBounds = data.atlasBounds;
 
         mapping = new IntMap<>(count + 1);
         float minWidth = Integer.MAX_VALUE;
-        for (JsonValue.JsonIterator it = glyphs.iterator(); it.hasNext(); ) {
-            JsonValue current = it.next();
-            int c =    current.getInt("unicode", 65535);
-            float a =  current.getFloat("advance", 1f) * size;
-            planeBounds = current.get("planeBounds");
-            atlasBounds = current.get("atlasBounds");
+        for (int i = 0, b = 0; i < count; i++, b += 4) {
+            int c =    data.codepoints[i] < 0 ? 65535 : data.codepoints[i];
+            float a =  data.advances[i] * size;
             float x, y, w, h, xo, yo;
-            if(atlasBounds != null) {
-                x = atlasBounds.getFloat("left", 0f);
-                w = atlasBounds.getFloat("right", 0f) - x;
-                y = textureRegion.getRegionHeight() - atlasBounds.getFloat("top", 0f);
-                h = textureRegion.getRegionHeight() - atlasBounds.getFloat("bottom", 0f) - y;
+            if(data.hasAtlasBounds[i]) {
+                x = atlasBounds[b];
+                w = atlasBounds[b + 2] - x;
+                y = textureRegion.getRegionHeight() - atlasBounds[b + 3];
+                h = textureRegion.getRegionHeight() - atlasBounds[b + 1] - y;
             } else {
                 x = y = w = h = 0f;
             }
-            if(planeBounds != null) {
-                xo = planeBounds.getFloat("left", 0f) * size;
-                yo = size - planeBounds.getFloat("top", 0f) * size;
+            if(data.hasPlaneBounds[i]) {
+                xo = planeBounds[b] * size;
+                yo = size - planeBounds[b + 3] * size;
             } else {
                 xo = yo = 0f;
             }
@@ -3440,16 +3600,14 @@ public class Font implements Disposable {
             }
         }
 
-        JsonValue kern = fnt.get("kerning");
-        if(kern == null || kern.isEmpty())
+        if(data.kerningCount == 0)
             kerning = null;
         else {
-            kerning = new IntFloatMap(kern.size);
-            for (JsonValue.JsonIterator it = kern.iterator(); it.hasNext(); ) {
-                JsonValue current = it.next();
-                int first = current.getInt("unicode1", 65535);
-                int second = current.getInt("unicode2", 65535);
-                float amount = current.getFloat("advance", 0f);
+            kerning = new KerningMap(data.kerningCount);
+            for (int i = 0; i < data.kerningCount; i++) {
+                int first = data.kerningFirst[i] < 0 ? 65535 : data.kerningFirst[i];
+                int second = data.kerningSecond[i] < 0 ? 65535 : data.kerningSecond[i];
+                float amount = data.kerningAmount[i];
                 kerning.put(first << 16 | second, amount);
                 if (first == '[') {
                     kerning.put(2 << 16 | second, amount);
@@ -3526,6 +3684,7 @@ public class Font implements Disposable {
             textureRegion.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
 
         isMono = minWidth == cellWidth && kerning == null;
+        updateKerningTable();
         integerPosition = false;
 
 //        underY =  -descent / originalCellHeight;
@@ -3558,21 +3717,102 @@ public class Font implements Disposable {
      */
     public Font setSharing(boolean share) {
         if(sharing && !share) {
-            IntMap<GlyphRegion> sharedMapping = mapping;
-            mapping = new IntMap<>(sharedMapping.size);
-            for (IntMap.Entry<GlyphRegion> e : sharedMapping) {
-                if (e.value == null) continue;
-                mapping.put(e.key, new GlyphRegion(e.value));
-            }
+            // Other Fonts keep using the old mapping, so every GlyphRegion in it is copied now.
+            mapping = new IntMap<>(mapping);
+            glyphsShared = true;
+            ownedGlyphs = null;
+            unsharePage();
             if(nameLookup != null)
                 nameLookup = new CaseInsensitiveIntMap(nameLookup);
             if(namesByCharCode != null)
                 namesByCharCode = new IntMap<>(namesByCharCode);
-            kerning = kerning == null ? null : new IntFloatMap(kerning);
+            kerning = kerning == null ? null : new KerningMap(kerning);
+            if(imagePages != null) {
+                for (int p = 0; p < imagePages.size; p++) {
+                    Font page = imagePages.get(p);
+                    page.mapping = new IntMap<>(page.mapping);
+                    page.glyphsShared = true;
+                    page.ownedGlyphs = null;
+                    page.unsharePage();
+                    page.namesByCharCode = new IntMap<>(page.namesByCharCode);
+                }
+            }
         }
         sharing = share;
         return this;
     }
+
+    /**
+     * Makes sure no other Font uses the same GlyphRegion objects as this Font's {@link #mapping} (and the mappings of
+     * its {@link #imagePages}), copying each GlyphRegion if this Font was copied from another with {@link #Font(Font)}
+     * or another was copied from this. Copies start out using the same GlyphRegions, since most copies only change
+     * their scale or color and never change a glyph, so this is what lets copying a Font skip copying every glyph.
+     * Methods here that change glyphs in place, like {@link #fitCell(float, float, boolean)}, call this first, so it
+     * only needs to be called directly before changing the fields of many GlyphRegions you got from mapping; to change
+     * just a few, {@link #unshareGlyph(int)} copies only those. If this is {@link #sharing} its mapping with other
+     * Fonts, they will see the copied GlyphRegions too, and will still share changes with this. This does nothing if no
+     * other Font could be using these GlyphRegions.
+     *
+     * @return this Font, for chaining
+     */
+    public Font unshareGlyphs() {
+        unsharePage();
+        if (imagePages != null) {
+            for (int p = 0; p < imagePages.size; p++) {
+                imagePages.get(p).unsharePage();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets the GlyphRegion for {@code c} so its fields can be changed without changing any other Font. If another Font
+     * could be using the same GlyphRegion object (because one was copied from the other with {@link #Font(Font)}, as
+     * {@link KnownFonts} does), this copies just that GlyphRegion first, and puts the copy everywhere the original was
+     * in {@link #mapping}, such as for both {@code ' '} and {@code '\r'}. Use this instead of {@code mapping.get(c)}
+     * whenever you want to change a glyph's offsets, advance, or region. If {@code c} is above {@code 0xFFFF}, as
+     * {@link #atlasLookup(String)} returns for images on {@link #imagePages}, the bits above the lowest 16 choose the
+     * page in {@link #family}.
+     *
+     * @param c a char, or a result of {@link #atlasLookup(String)}
+     * @return the GlyphRegion for c, which only this Font (and any Fonts {@link #sharing} its mapping) uses, or null if c isn't present
+     */
+    public GlyphRegion unshareGlyph(int c) {
+        if (c > 0xFFFF) {
+            Font page = family == null ? null : family.connected[c >>> 16 & 31];
+            return page == null ? null : page.unshareGlyph(c & 0xFFFF);
+        }
+        GlyphRegion g = mapping.get(c);
+        if (g == null || !glyphsShared || (ownedGlyphs != null && ownedGlyphs.contains(g))) return g;
+        GlyphRegion copy = new GlyphRegion(g);
+        for (IntMap.Entry<GlyphRegion> e : mapping) {
+            if (e.value == g) mapping.put(e.key, copy);
+        }
+        if (defaultValue == g) defaultValue = copy;
+        if (ownedGlyphs == null) ownedGlyphs = new ObjectSet<>(16);
+        ownedGlyphs.add(copy);
+        return copy;
+    }
+
+    /**
+     * Copies the GlyphRegions in this Font's own mapping, but not those of its image pages, if another Font could be
+     * using them. GlyphRegions already copied by {@link #unshareGlyph(int)} are kept.
+     */
+    private void unsharePage() {
+        if (!glyphsShared) return;
+        // Some GlyphRegions are in the mapping more than once, like the space used for '\r', and stay that way.
+        IdentityMap<GlyphRegion, GlyphRegion> copies = new IdentityMap<>(mapping.size);
+        for (IntMap.Entry<GlyphRegion> e : mapping) {
+            if (e.value == null || (ownedGlyphs != null && ownedGlyphs.contains(e.value))) continue;
+            GlyphRegion copy = copies.get(e.value);
+            if (copy == null) copies.put(e.value, copy = new GlyphRegion(e.value));
+            mapping.put(e.key, copy);
+        }
+        if (defaultValue != null) defaultValue = copies.get(defaultValue, defaultValue);
+        glyphsShared = false;
+        ownedGlyphs = null;
+    }
+
     /**
      * A {@link DistanceFieldType} that should be {@link DistanceFieldType#STANDARD} for most fonts, and can be
      * {@link DistanceFieldType#SDF}, {@link DistanceFieldType#MSDF}, or {@link DistanceFieldType#SDF_OUTLINE} if you
@@ -3606,6 +3846,7 @@ public class Font implements Disposable {
         } else {
             shader = KnownFonts.getStandardShader(); // typically null, unless customized
         }
+        syncImagePages();
         return this;
     }
 
@@ -3623,6 +3864,54 @@ public class Font implements Disposable {
         return first << 16 | (second & 0xFFFF);
     }
 
+    /**
+     * Gets the amount of extra space (in the same unit the font uses) this will insert between the two chars in the
+     * given kerning pair, or 0 if the pair isn't kerned or this Font has no kerning. The pair can be obtained from
+     * {@link #kerningPair(char, char)}. This uses {@link #kerningTable} if it is available, which avoids hashing, and
+     * otherwise looks the pair up in {@link #kerning}. If kerning was changed since the table was built, the table is
+     * rebuilt first, so changes to kerning are always seen.
+     *
+     * @param pair a kerning pair, as produced by {@link #kerningPair(char, char)}
+     * @return the kerning amount for that pair, in the font's units
+     */
+    public float kerningAmount(int pair) {
+        final IntFloatMap k = kerning;
+        if (k == null) return 0f;
+        if (!kerningTableCurrent()) {
+            if (!(k instanceof KerningMap)) return k.get(pair, 0f);
+            updateKerningTable();
+        }
+        if (kerningTable != null) return kerningTable.get(pair);
+        return k.get(pair, 0f);
+    }
+
+    /**
+     * Returns true if {@link #kerningTable} (even if it is null) was built from the current {@link #kerning} map, and
+     * that map is a {@link KerningMap} that hasn't changed since.
+     */
+    private boolean kerningTableCurrent() {
+        final IntFloatMap k = kerning;
+        return k != null && k == kerningSource && k instanceof KerningMap
+                && ((KerningMap) k).getVersion() == kerningVersion;
+    }
+
+    /**
+     * Rebuilds {@link #kerningTable} from the current contents of {@link #kerning}. This is called when a Font is
+     * loaded, and {@link #kerningAmount(int)} calls it when kerning has changed since the table was built, so it only
+     * needs to be called directly to do that work ahead of time. If the kerning can't be compressed into classes
+     * efficiently, or if there is no kerning, this sets {@link #kerningTable} to null, and kerning will be looked up
+     * in {@link #kerning} instead.
+     *
+     * @return this Font, for chaining
+     */
+    public Font updateKerningTable() {
+        kerningTable = KerningTable.of(kerning);
+        kerningSource = kerning;
+        // Building the table iterates over the map, which counts as a possible change, so read the version after.
+        kerningVersion = kerning instanceof KerningMap ? ((KerningMap) kerning).getVersion() : 0;
+        return this;
+    }
+
     /**
      * Scales the font by the given multiplier, applying it both horizontally and vertically.
      *
@@ -3634,6 +3923,7 @@ public class Font implements Disposable {
         scaleY *= both;
         cellWidth *= both;
         cellHeight *= both;
+        syncImagePages();
         return this;
     }
 
@@ -3649,6 +3939,7 @@ public class Font implements Disposable {
         scaleY *= vertical;
         cellWidth *= horizontal;
         cellHeight *= vertical;
+        syncImagePages();
         return this;
     }
 
@@ -3664,6 +3955,7 @@ public class Font implements Disposable {
         scaleY = height / originalCellHeight;
         cellWidth = width;
         cellHeight = height;
+        syncImagePages();
         return this;
     }
 
@@ -3689,6 +3981,7 @@ public class Font implements Disposable {
         originalCellHeight *= multiplier;
         descent *= multiplier; // I'm not sure if this would help or not.
 //        underY *= multiplier; strikeY *= multiplier; // Very unsure about this.
+        syncImagePages();
         return this;
     }
 
@@ -3703,6 +3996,7 @@ public class Font implements Disposable {
         cellWidth *= multiplier;
         originalCellWidth *= multiplier;
 //        underX *= multiplier; strikeX *= multiplier; // Unsure about this.
+        syncImagePages();
         return this;
     }
 
@@ -3723,6 +4017,7 @@ public class Font implements Disposable {
 //        float vRatio = height / cellHeight;
 //        underX *= hRatio; strikeX *= hRatio;
 //        underY *= vRatio; strikeY *= vRatio;
+        unshareGlyphs();
         cellWidth = width;
         cellHeight = height;
         float wsx = width / scaleX;
@@ -3749,8 +4044,17 @@ public class Font implements Disposable {
                 }
             }
         }
+        if (imagePages != null) {
+            for (int p = 0; p < imagePages.size; p++) {
+                for (IntMap.Entry<GlyphRegion> ent : imagePages.get(p).mapping) {
+                    ent.value.xAdvance = ent.value.getMaxDimension();
+                }
+            }
+        }
         isMono = true;
         kerning = null;
+        kerningTable = null;
+        syncImagePages();
         return this;
     }
 
@@ -3870,6 +4174,7 @@ public class Font implements Disposable {
 
     public Font setInlineImageStretch(float inlineImageStretch) {
         this.inlineImageStretch = inlineImageStretch;
+        syncImagePages();
         return this;
     }
 
@@ -3890,6 +4195,7 @@ public class Font implements Disposable {
         inlineImageOffsetX = offsetX;
         inlineImageOffsetY = offsetY;
         inlineImageXAdvance = xAdvance;
+        syncImagePages();
         return this;
     }
 
@@ -3914,6 +4220,7 @@ public class Font implements Disposable {
         inlineImageOffsetY = offsetY;
         inlineImageXAdvance = xAdvance;
         inlineImageStretch = stretch;
+        syncImagePages();
         return this;
     }
 
@@ -3964,6 +4271,7 @@ public class Font implements Disposable {
      */
     public Font useIntegerPositions(boolean integer) {
         integerPosition = integer;
+        syncImagePages();
         return this;
     }
 
@@ -4061,6 +4369,82 @@ public class Font implements Disposable {
         return this;
     }
 
+    /**
+     * Sets the {@link #fallbackChain} using the names or aliases of Fonts in this Font's {@link #family}, which must be
+     * set first. Names that aren't in the family are skipped. Passing an empty array removes the fallback chain, as
+     * does setting {@link #fallbackChain} to null.
+     * When markup produces a glyph for a char that the current Font doesn't have, each Font in the chain is checked in
+     * order, and the first one that has the char is used for that glyph.
+     *
+     * @param names names or aliases of Fonts in {@link #family}, in the order they should be tried
+     * @return this Font, for chaining
+     */
+    public Font setFallbackChain(String... names) {
+        if (family == null || names == null || names.length == 0) {
+            fallbackChain = null;
+            return this;
+        }
+        int[] chain = new int[names.length];
+        int count = 0;
+        for (String name : names) {
+            if (name == null) continue;
+            int index = family.fontAliases.get(name, -1);
+            if (index >= 0 && index < FontFamily.MAX_MEMBERS && family.connected[index] != null)
+                chain[count++] = index;
+        }
+        fallbackChain = count == 0 ? null : Arrays.copyOf(chain, count);
+        return this;
+    }
+
+    /**
+     * Sets the {@link #fallbackChain} using indices into this Font's {@link #family}. Passing an empty array removes
+     * the fallback chain. When markup produces a glyph for a char that the current Font doesn't have, each
+     * Font in the chain is checked in order, and the first one that has the char is used for that glyph.
+     *
+     * @param familyIndices indices in {@link FontFamily#connected}, from 0 to 31, in the order they should be tried
+     * @return this Font, for chaining
+     */
+    public Font setFallbackChain(int... familyIndices) {
+        fallbackChain = familyIndices == null || familyIndices.length == 0 ? null
+                : Arrays.copyOf(familyIndices, familyIndices.length);
+        return this;
+    }
+
+    /**
+     * Gets the set of chars this Font has a glyph for, as a compact bitset. This is built the first time it is
+     * needed, and is rebuilt if {@link #mapping} is replaced or changes size, such as after
+     * {@link #addAtlas(TextureAtlas)}. If you replace a GlyphRegion in mapping without changing its size, coverage
+     * doesn't change, so it doesn't need to be rebuilt.
+     *
+     * @return a GlyphCoverage with a bit set for each char in {@link #mapping}
+     */
+    public GlyphCoverage getCoverage() {
+        if (coverage == null || coverageMapping != mapping || coverageSize != mapping.size) {
+            coverage = GlyphCoverage.of(mapping);
+            coverageMapping = mapping;
+            coverageSize = mapping.size;
+        }
+        return coverage;
+    }
+
+    /**
+     * Finds the family index of the Font that should show {@code ch} when the current Font in markup is
+     * {@code current}, or returns -1 if current should be used. This only returns an index when current doesn't have
+     * ch and some Font in {@link #fallbackChain} does. Control chars never fall back.
+     */
+    private int fallbackIndex(Font current, char ch) {
+        if (ch < ' ' || current.getCoverage().contains(ch)) return -1;
+        final int[] chain = fallbackChain;
+        final Font[] connected = family.connected;
+        for (int i = 0; i < chain.length; i++) {
+            Font f = connected[chain[i] & 31];
+            if (f == null || f == current) continue;
+            if (f.dynamicAtlas != null) f.dynamicAtlas.load(ch);
+            if (f.getCoverage().contains(ch)) return chain[i] & 31;
+        }
+        return -1;
+    }
+
     /**
      * Gets the "crispness" multiplier for distance field fonts (SDF and MSDF). There is no default value, because this
      * depends on how an individual distance field font was created. Typical values range from 1.5 to 4.5 . Lower values
@@ -4168,9 +4552,15 @@ public class Font implements Disposable {
      * This may be useful if you have your own atlas, but for Twemoji in particular, you can use
      * {@link KnownFonts#addEmoji(Font)} and the Twemoji files in the knownFonts folder.
      * <br>
+     * The private use area only has room for 6144 images. Once it is full, more images are placed on
+     * {@link #imagePages}, each of which takes an empty slot in this Font's {@link #family} (creating a family if there
+     * isn't one). If all 31 slots other than this Font's are taken, any remaining images are not added. Because image
+     * pages live in the family, you should add any other Fonts to the family before adding large atlases, and shouldn't
+     * replace the family afterward.
+     * <br>
      * If {@link #sharing} is true, then calling this makes the same changes to Fonts that share references with this.
      *
-     * @param atlas a TextureAtlas that shouldn't have more than 6144 names; all of it will be used
+     * @param atlas a TextureAtlas; all of it will be used, with any images past 6144 placed on {@link #imagePages}
      * @return this Font, for chaining
      */
     public Font addAtlas(TextureAtlas atlas) {
@@ -4196,7 +4586,7 @@ public class Font implements Disposable {
      * <br>
      * If {@link #sharing} is true, then calling this makes the same changes to Fonts that share references with this.
      *
-     * @param atlas a TextureAtlas that shouldn't have more than 6144 names; all of it will be used
+     * @param atlas a TextureAtlas; all of it will be used, with any images past 6144 placed on {@link #imagePages}
      * @param offsetXChange will be added to the {@link GlyphRegion#offsetX} of each added glyph; positive change moves a GlyphRegion to the right
      * @param offsetYChange will be added to the {@link GlyphRegion#offsetY} of each added glyph; positive change moves a GlyphRegion up
      * @param xAdvanceChange will be added to the {@link GlyphRegion#xAdvance} of each added glyph; positive values make images push later glyphs away more
@@ -4227,7 +4617,7 @@ public class Font implements Disposable {
      * <br>
      * If {@link #sharing} is true, then calling this makes the same changes to Fonts that share references with this.
      *
-     * @param atlas a TextureAtlas that shouldn't have more than 6144 names; all of it will be used
+     * @param atlas a TextureAtlas; all of it will be used, with any images past 6144 placed on {@link #imagePages}
      * @param prepend will be prepended before each name in the atlas; if null, will be treated as ""
      * @param append will be appended after each name in the atlas; if null, will be treated as ""
      * @param offsetXChange will be added to the {@link GlyphRegion#offsetX} of each added glyph; positive change moves a GlyphRegion to the right
@@ -4252,22 +4642,22 @@ public class Font implements Disposable {
         offsetYChange += inlineImageOffsetY;
         xAdvanceChange += inlineImageXAdvance;
 
-        int start = 0xE000 + namesByCharCode.size;
-
-        TextureAtlas.AtlasRegion previous = regions.first();
-        GlyphRegion gr = new GlyphRegion(previous,
-                previous.offsetX + offsetXChange, previous.offsetY - offsetYChange, previous.originalWidth + xAdvanceChange);
+        Font target = this;
+        int pageBits = 0;
+        if (imagePages != null && imagePages.notEmpty()) {
+            target = imagePages.peek();
+            pageBits = imagePageSlot(target) << 16;
+        }
+        int i = 0xE000 + target.namesByCharCode.size - 1;
 
-        mapping.put(start, gr);
-        String name = prepend + previous.name + append;
-        nameLookup.put(name, start);
-        namesByCharCode.put(start, name);
-        for (int i = start, a = 1; i < 0xF800 && a < regions.size; a++) {
+        TextureAtlas.AtlasRegion previous = null;
+        String name;
+        for (int a = 0; a < regions.size; a++) {
             TextureAtlas.AtlasRegion region = regions.get(a);
-            if (previous.getRegionX() == region.getRegionX() && previous.getRegionY() == region.getRegionY()
+            if (previous != null && previous.getRegionX() == region.getRegionX() && previous.getRegionY() == region.getRegionY()
                     && previous.getTexture() == region.getTexture()) {
                 name = prepend + region.name + append;
-                nameLookup.put(name, i);
+                nameLookup.put(name, pageBits | i);
                 char f = previous.name.charAt(0);
                 // If the previous name didn't start with an emoji char, use this name. This means if there is only one
                 // name that refers to a region, that name will be used in namesByCharCode, but if there is more than
@@ -4277,16 +4667,26 @@ public class Font implements Disposable {
                 // (such as all Chinese characters, which this identifies as emoji). That shouldn't come up often, since
                 // this requires both later-in-Unicode names and earlier-in-Unicode names to refer to the same region.
                 if(f < 0x2000)
-                    namesByCharCode.put(i, name);
+                    target.namesByCharCode.put(i, name);
             } else {
-                ++i;
+                if (++i >= 0xF800) {
+                    // The private use area of target is full, so continue on a new page in an empty family slot.
+                    int slot = freeImagePageSlot();
+                    if (slot < 0) break;
+                    target = makeImagePage(new IntMap<>(regions.size - a), new IntMap<>(regions.size - a >> 1, 0.5f));
+                    family.connected[slot] = target;
+                    if (imagePages == null) imagePages = new Array<>(true, 4);
+                    imagePages.add(target);
+                    pageBits = slot << 16;
+                    i = 0xE000;
+                }
                 previous = region;
-                gr = new GlyphRegion(region,
+                GlyphRegion gr = new GlyphRegion(region,
                         region.offsetX + offsetXChange, region.offsetY - offsetYChange, region.originalWidth + xAdvanceChange);
-                mapping.put(i, gr);
+                target.mapping.put(i, gr);
                 name = prepend + region.name + append;
-                nameLookup.put(name, i);
-                namesByCharCode.put(i, name);
+                nameLookup.put(name, pageBits | i);
+                target.namesByCharCode.put(i, name);
             }
         }
         return this;
@@ -4296,16 +4696,126 @@ public class Font implements Disposable {
      * Gets the char that might be associated with {@code name} in at Atlas added to this (see
      * {@link #addAtlas(TextureAtlas)}, or returns the int -1 if the name could not be found. This will only return a
      * negative result if the name was not found. This can be useful to look up complex names, such as emoji entered by
-     * a user, and get the char that can be used to render such an emoji. The name is treated as case-insensitive. If
-     * you are certain a name is present, you can cast the result immediately to a char to use it normally.
+     * a user, and get the char that can be used to render such an emoji. The name is treated as case-insensitive.
+     * <br>
+     * If the image is on one of the {@link #imagePages}, the result is greater than {@code 0xFFFF}; the bits above the
+     * lowest 16 hold the family index of the page, and the lower 16 bits hold the char. To make a glyph from such a
+     * result, use {@code withFamilyIndex(glyph, result >>> 16) | (result & 0xFFFF)}. If this Font has no image pages,
+     * every result is in the char range, and you can cast it immediately to a char if you are certain the name is
+     * present.
      * @param name a name from a TextureAtlas added to this Font, looked up as case-insensitive
-     * @return the char that the given name is associated with, as an int in the char range if found, or -1 otherwise
+     * @return the char that the given name is associated with, possibly with a page's family index above it, or -1 if not found
      */
     public int atlasLookup(String name) {
         if(nameLookup == null) return -1;
         return nameLookup.get(name, -1);
     }
 
+    /**
+     * Gets the name of the inline image that {@code glyph} shows, if it shows one from an atlas added with
+     * {@link #addAtlas(TextureAtlas)}, or null otherwise. This checks the Font in {@link #family} that the glyph uses,
+     * which is where images on one of the {@link #imagePages} are named, and then this Font.
+     * @param glyph a glyph as produced by {@link #markup(String, Layout)} or {@link #markupGlyph(String)}
+     * @return the name of the image glyph shows, or null if it doesn't show a named image
+     */
+    public String imageName(long glyph) {
+        char c = (char) glyph;
+        if (family != null) {
+            Font f = family.connected[familyIndex(glyph)];
+            if (f != null && f != this && f.namesByCharCode != null) {
+                String name = f.namesByCharCode.get(c);
+                if (name != null) return name;
+            }
+        }
+        return namesByCharCode == null ? null : namesByCharCode.get(c);
+    }
+
+    /**
+     * Copies the metrics that affect how inline images are measured and drawn from this Font to each of its
+     * {@link #imagePages}, if it has any. This is called automatically by the methods here that scale or resize this
+     * Font, such as {@link #scale(float, float)}, {@link #scaleTo(float, float)}, {@link #fitCell(float, float, boolean)},
+     * and {@link #setInlineImageMetrics(float, float, float, float)}. You only need to call this yourself if you change
+     * fields like {@link #cellHeight} or {@link #inlineImageStretch} directly on a Font that has image pages.
+     * @return this Font, for chaining
+     */
+    public Font syncImagePages() {
+        if (imagePages == null) return this;
+        for (int p = 0; p < imagePages.size; p++) {
+            Font page = imagePages.get(p);
+            page.cellWidth = cellWidth;
+            page.cellHeight = cellHeight;
+            page.scaleX = scaleX;
+            page.scaleY = scaleY;
+            page.originalCellWidth = originalCellWidth;
+            page.originalCellHeight = originalCellHeight;
+            page.descent = descent;
+            page.isMono = isMono;
+            page.integerPosition = integerPosition;
+            page.distanceField = distanceField;
+            page.shader = shader;
+            page.inlineImageOffsetX = inlineImageOffsetX;
+            page.inlineImageOffsetY = inlineImageOffsetY;
+            page.inlineImageXAdvance = inlineImageXAdvance;
+            page.inlineImageStretch = inlineImageStretch;
+        }
+        return this;
+    }
+
+    /**
+     * Makes a new Font for {@link #imagePages} that copies this Font's metrics but uses the given mapping and
+     * namesByCharCode. It doesn't add the page to {@link #family} or to imagePages; the caller does that.
+     */
+    private Font makeImagePage(IntMap<GlyphRegion> pageMapping, IntMap<String> pageNames) {
+        if (family == null) {
+            family = new FontFamily();
+            family.connected[0] = this;
+            if (name != null)
+                family.fontAliases.put(name, 0);
+            family.fontAliases.put("0", 0);
+        }
+        boolean wasSharing = sharing;
+        Array<Font> pages = imagePages;
+        FontFamily fam = family;
+        sharing = true;
+        imagePages = null;
+        family = null;
+        Font page = new Font(this);
+        sharing = wasSharing;
+        imagePages = pages;
+        family = fam;
+        page.sharing = false;
+        page.mapping = pageMapping;
+        page.namesByCharCode = pageNames;
+        page.nameLookup = null;
+        page.kerning = null;
+        page.kerningTable = null;
+        page.family = fam;
+        return page;
+    }
+
+    /**
+     * Finds the index in {@link #family} of the given page from {@link #imagePages}, or -1 if it isn't there.
+     */
+    private int imagePageSlot(Font page) {
+        if (family == null) return -1;
+        for (int i = 1; i < FontFamily.MAX_MEMBERS; i++) {
+            if (family.connected[i] == page) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first empty index in {@link #family} other than 0, or returns -1 if all 31 are used. If this has no
+     * family, this returns 1, since {@link #makeImagePage(IntMap, IntMap)} will create one.
+     */
+    private int freeImagePageSlot() {
+        if (family == null) return 1;
+        for (int i = 1; i < FontFamily.MAX_MEMBERS; i++) {
+            if (family.connected[i] == null) return i;
+        }
+        return -1;
+    }
+
     /**
      * Adds a new glyph to this Font that has no visible representation (like space) but advances the cursor by a
      * specified amount, either positive to move right or negative to move left. This can be useful to manually move
@@ -4396,7 +4906,7 @@ public class Font implements Disposable {
      * @param batch a Batch that should be running (between {@link Batch#begin()} and {@link Batch#end()})
      */
     public void resumeDistanceFieldShader(Batch batch) {
-        if (batch.getShader() == shader) {
+        if (shader != null && batch.getShader() == shader) {
             if (distanceField == DistanceFieldType.MSDF) {
                 float smoothing = 8f * actualCrispness * Math.max(cellHeight / originalCellHeight, cellWidth / originalCellWidth);
                 batch.flush();
@@ -4411,7 +4921,7 @@ public class Font implements Disposable {
             }
         } else if(shader == null) {
             batch.flush();
-            if(batch.getShader().hasUniform("u_smoothing"))
+            if(batch.getShader() != null && batch.getShader().hasUniform("u_smoothing"))
                 batch.getShader().setUniformf("u_smoothing", 0f);
             smoothingValues.put(batch, 0f);
         } else {
@@ -4481,7 +4991,10 @@ public class Font implements Disposable {
         batch.setPackedColor(NumberUtils.intToFloatColor(Integer.reverseBytes(color)));
         GlyphRegion current;
         for (int i = 0, n = text.length(); i < n; i++) {
-            batch.draw(current = mapping.get(text.charAt(i)), x + current.offsetX * scaleX, y + current.offsetY * scaleY,
+            current = mapping.get(text.charAt(i));
+            if (dynamicAtlas != null) current = dynamicAtlas.use(this, text.charAt(i), current);
+            if (current == null) continue;
+            batch.draw(current, x + current.offsetX * scaleX, y + current.offsetY * scaleY,
                     current.getRegionWidth() * scaleX, current.getRegionHeight() * scaleY);
             x += current.getRegionWidth() * scaleX;
         }
@@ -4502,7 +5015,8 @@ public class Font implements Disposable {
      * attribute, the same as if it was passed via the batch color.
      * <br>
      * If you want to change the alpha of the colors array, you can use
-     * {@link ColorUtils#multiplyAllAlpha(int[][], float)}.
+     * {@link ColorUtils#multiplyAllAlpha(int[][], float)}. If you draw a large grid every frame, {@link BlockGrid}
+     * draws the same blocks with fewer quads, and only remakes the rows that changed.
      *
      * @param batch  typically a SpriteBatch
      * @param colors a 2D rectangular array of int colors (typically RGBA)
@@ -4528,7 +5042,8 @@ public class Font implements Disposable {
      * attribute, the same as if it was passed via the batch color.
      * <br>
      * If you want to change the alpha of the colors array, you can use
-     * {@link ColorUtils#multiplyAllAlpha(int[][], float)}.
+     * {@link ColorUtils#multiplyAllAlpha(int[][], float)}. If you draw a large grid every frame, {@link BlockGrid}
+     * draws the same blocks with fewer quads, and only remakes the rows that changed.
      *
      * @param batch     typically a SpriteBatch
      * @param blockChar a char that renders as a full block, occupying an entire monospaced cell with a color
@@ -5015,12 +5530,12 @@ public class Font implements Disposable {
                     }
                 }
                 Font font = null;
-                if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+                if (family != null) font = family.connected[familyIndex(glyph)];
                 if (font == null) font = this;
 
                 if (font.kerning != null) {
                     kern = kern << 16 | (int) (glyph & 0xFFFF);
-                    float amt = font.kerning.get(kern, 0)
+                    float amt = font.kerningAmount(kern)
                             * font.scaleX * advance;
                     xChange += cs * amt;
                     yChange += sn * amt;
@@ -5095,10 +5610,18 @@ public class Font implements Disposable {
      * the values in layout if they are incorrect. This returns the total width of the measured Layout. Most usage will
      * not necessarily need the return value; either this is called to fix incorrect size information on a Layout, or
      * the Layout this modifies will be queried for its {@link Layout#getWidth()} and/or {@link Layout#getHeight()}.
+     * <br>
+     * If the Layout hasn't changed since this Font last measured it (according to {@link Layout#getVersion()}), and this
+     * Font (and its family, if it has one) hasn't been scaled or resized since then, this only restores the width and
+     * height of each Line from that measurement, without walking through every glyph again. If you change
+     * {@link Layout#advances} or the glyphs in a Line directly, call {@link Layout#bumpVersion()} so the change is seen.
      * @param layout a Layout object that may have the width and height of its lines modified (its content won't change)
      * @return the total width of the measured Layout, as a float
      */
     public float calculateSize(Layout layout) {
+        final int stamp = measurementStamp();
+        if (layout.restoreMeasurement(this, stamp))
+            return layout.getWidth();
         float w = 0f;
         float currentHeight = 0f;
         int a = 0;
@@ -5107,7 +5630,6 @@ public class Font implements Disposable {
             float scaleX;
             float advance;
             Line line = layout.getLine(ln);
-            line.glyphs.shrink();
             LongArray glyphs = line.glyphs;
             boolean curly = false, initial = true;
             int kern = -1;
@@ -5133,7 +5655,7 @@ public class Font implements Disposable {
                     }
                 }
                 Font font = null;
-                if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+                if (family != null) font = family.connected[familyIndex(glyph)];
                 if (font == null) font = this;
                 GlyphRegion tr = font.mapping.get(ch);
                 if (tr == null) continue;
@@ -5145,7 +5667,7 @@ public class Font implements Disposable {
                         scaleX = font.scaleX * advance * (1f + 0.5f * (-(glyph & SUPERSCRIPT) >> 63));
                     if(ch != ' ')
                         line.height = Math.max(line.height, (currentHeight = font.cellHeight * advance));
-                    amt = font.kerning.get(kern, 0) * scaleX;
+                    amt = font.kerningAmount(kern) * scaleX;
                     float changedW = tr.xAdvance * scaleX;
                     if(Float.isNaN(tr.offsetX))
                         changedW = font.cellWidth * advance;
@@ -5176,9 +5698,38 @@ public class Font implements Disposable {
             line.width = drawn;
             w = Math.max(w, drawn);
         }
+        layout.storeMeasurement(this, stamp);
         return layout.getWidth();
     }
 
+    /**
+     * Combines the metrics that {@link #calculateSize(Layout)} depends on, for this Font and any Fonts in its
+     * {@link #family}, into one int. If this changes, any measurement a Layout stored is out of date.
+     * @return an int that changes when this Font or its family is scaled, resized, or changes how it measures glyphs
+     */
+    private int measurementStamp() {
+        int stamp = metricsHash(this);
+        if (family != null) {
+            for (Font f : family.connected) {
+                stamp = stamp * 0x9E3779B9 + (f == null || f == this ? 0 : metricsHash(f));
+            }
+        }
+        return stamp;
+    }
+
+    private static int metricsHash(Font font) {
+        int h = NumberUtils.floatToRawIntBits(font.scaleX);
+        h = h * 31 + NumberUtils.floatToRawIntBits(font.cellWidth);
+        h = h * 31 + NumberUtils.floatToRawIntBits(font.cellHeight);
+        h = h * 31 + NumberUtils.floatToRawIntBits(font.inlineImageStretch);
+        h = h * 31 + (font.isMono ? 1 : 0) + (font.omitCurlyBraces ? 2 : 0) + (font.kerning == null ? 4 : 0);
+        // A KerningMap counts its own edits; any other map can only be told apart by identity and size.
+        final IntFloatMap k = font.kerning;
+        if (k != null)
+            h = h * 31 + (System.identityHashCode(k) ^ (k instanceof KerningMap ? ((KerningMap) k).getVersion() : k.size));
+        return h;
+    }
+
     /**
      * Uses the given Layout's {@link Layout#getJustification()} setting to justify all applicable Lines.
      * This is not called automatically. It uses the justification setting on the Layout to determine how it works.
@@ -5191,6 +5742,7 @@ public class Font implements Disposable {
      */
     public float justify(Layout layout) {
         if(layout.justification == Justify.NONE) return layout.getWidth();
+        layout.bumpVersion();
         int lineCount = layout.lines();
         PER_LINE:
         for (int l = 0; l < lineCount; l++) {
@@ -5208,7 +5760,7 @@ public class Font implements Disposable {
                     if(lastIndex < 0) continue PER_LINE;
                     glyph = currentLine.glyphs.get(lastIndex);
                 }
-                if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+                if (family != null) font = family.connected[familyIndex(glyph)];
                 if (font == null) font = this;
                 float lastAdvance = xAdvance(font, font.scaleX * layout.advances.get(start + lastIndex), glyph);
                 float multiplier = (layout.targetWidth - lastAdvance) / (currentLine.width - lastAdvance);
@@ -5230,7 +5782,7 @@ public class Font implements Disposable {
                     char ch = (char) glyph;
                     if (ch == ' ') {
                         Font font = null;
-                        if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+                        if (family != null) font = family.connected[familyIndex(glyph)];
                         if (font == null) font = this;
                         GlyphRegion tr = font.mapping.get(ch);
                         if (tr == null) continue; // if space cannot be rendered, don't use it!
@@ -5301,7 +5853,7 @@ public class Font implements Disposable {
                     }
                 }
                 Font font = null;
-                if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+                if (family != null) font = family.connected[familyIndex(glyph)];
                 if (font == null) font = this;
                 GlyphRegion tr = font.mapping.get(ch);
                 if (tr == null) {
@@ -5316,7 +5868,7 @@ public class Font implements Disposable {
                     else
                         scaleX = font.scaleX * scale * (1f + 0.5f * (-(glyph & SUPERSCRIPT) >> 63));
                     line.height = Math.max(line.height, (font.cellHeight /* - font.descent * font.scaleY */) * scale);
-                    amt = font.kerning.get(kern, 0) * scaleX;
+                    amt = font.kerningAmount(kern) * scaleX;
                     float changedW = xAdvance(font, scaleX, glyph);
                     if(initial && !font.isMono) {
                         if (!(ch >= '\uE000' && ch < '\uF800')) {
@@ -5452,7 +6004,7 @@ public class Font implements Disposable {
         final float cos = MathUtils.cosDeg(rotation);
 
         Font font = null;
-        if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+        if (family != null) font = family.connected[familyIndex(glyph)];
         if (font == null) font = this;
         char c = (char) glyph;
         boolean squashed = false, jostled = false;
@@ -5464,6 +6016,7 @@ public class Font implements Disposable {
         }
 
         GlyphRegion tr = font.mapping.get(c);
+        if (font.dynamicAtlas != null) tr = font.dynamicAtlas.use(font, c, tr);
         if (tr == null) return 0f;
 
 
@@ -5631,8 +6184,11 @@ public class Font implements Disposable {
         // They might actually be 1.5 or 2 pixels; it's hard to tell when a texture with alpha is drawn over an area.
 
         // This is used in 1.0.0, and it might be more correct... I'm not sure.
-        float xPx = 2f / (Gdx.graphics.getBackBufferWidth()  * batch.getProjectionMatrix().val[0]);
-        float yPx = 2f / (Gdx.graphics.getBackBufferHeight() * batch.getProjectionMatrix().val[5]);
+        // A SoftwareBatch draws into its own pixels, which is also the only size available on a headless backend.
+        int pixelsWide = batch instanceof SoftwareBatch ? ((SoftwareBatch) batch).width : Gdx.graphics.getBackBufferWidth();
+        int pixelsHigh = batch instanceof SoftwareBatch ? ((SoftwareBatch) batch).height : Gdx.graphics.getBackBufferHeight();
+        float xPx = 2f / (pixelsWide * batch.getProjectionMatrix().val[0]);
+        float yPx = 2f / (pixelsHigh * batch.getProjectionMatrix().val[5]);
 
         // This uses height to calculate both, so that the outline has even thickness.
         float xOutline = (outlineStrength * cellHeight / 32f);
@@ -5932,6 +6488,7 @@ public class Font implements Disposable {
                         font.cellHeight * sizingY * (1f + font.underBreadth), rotation);
             } else {
                 under = font.mapping.get('_');
+                if (font.dynamicAtlas != null) under = font.dynamicAtlas.use(font, '_', under);
                 if (under != null) {
                     trrh = under.getRegionHeight();
                     h = trrh * osy * sizingY + cellHeight * font.underBreadth * sizingY;
@@ -6014,6 +6571,7 @@ public class Font implements Disposable {
                         font.cellHeight * sizingY * (1f + font.strikeBreadth), rotation);
             } else {
                 dash = font.mapping.get('-');
+                if (font.dynamicAtlas != null) dash = font.dynamicAtlas.use(font, '-', dash);
                 if (dash != null) {
                     trrh = dash.getRegionHeight();
                     h = trrh * osy * sizingY * (1f + font.strikeBreadth);
@@ -6156,6 +6714,7 @@ public class Font implements Disposable {
      * @return appendTo, for chaining
      */
     public Layout markup(String text, Layout appendTo) {
+        appendTo.bumpVersion();
         boolean capitalize = false, previousWasLetter = false,
                 capsLock = false, lowerCase = false, initial = true;
         int c, fontIndex = -1;
@@ -6202,7 +6761,10 @@ public class Font implements Disposable {
                                 c = '\u200B';
                             }
                             innerSquareStart = -1;
-                            appendTo.add(current | c, scale, scale, 0f, 0f, rotation);
+                            if (c > 0xFFFF)
+                                appendTo.add(withFamilyIndex(current, c >>> 16) | (c & 0xFFFF), scale, scale, 0f, 0f, rotation);
+                            else
+                                appendTo.add(current | c, scale, scale, 0f, 0f, rotation);
                         }
                     }
                     // meaningful chars:
@@ -6242,7 +6804,7 @@ public class Font implements Disposable {
                             break;
                     }
                 } else if (fontChange >= 0 && family != null) {
-                    fontIndex = family.fontAliases.get(StringUtils.safeSubstring(text, fontChange + 1, end), -1);
+                    fontIndex = family.fontAliases.get(text, fontChange + 1, end, -1);
                     if (fontIndex == -1) {
                         font = this;
                         fontIndex = 0;
@@ -6264,7 +6826,7 @@ public class Font implements Disposable {
                         scale = StringUtils.floatFromDec(text, sizeChange + 1, end) * 0.01f;
                     }
                 }
-                long next = (current & 0xFFFFFFFFFFF0FFFFL) | (fontIndex & 15) << 16;
+                long next = withFamilyIndex(current, fontIndex);
                 if(current != next) historyBuffer.add(current);
                 current = next;
                 i--;
@@ -6288,8 +6850,8 @@ public class Font implements Disposable {
                                 fontIndex = 0;
                             }
                             else {
-                                fontIndex = (int) ((current & 0xF0000L) >>> 16);
-                                font = family.connected[fontIndex & 15];
+                                fontIndex = familyIndex(current);
+                                font = family.connected[fontIndex];
                                 if (font == null) font = this;
                             }
                         }
@@ -6501,9 +7063,9 @@ public class Font implements Disposable {
                                 fontIndex = 0;
                                 break;
                             }
-                            fontIndex = family.fontAliases.get(StringUtils.safeSubstring(text, i + 1, i + len), 0);
-                            current = (current & 0xFFFFFFFFFFF0FFFFL) | (fontIndex & 15L) << 16;
-                            font = family.connected[fontIndex & 15];
+                            fontIndex = family.fontAliases.get(text, i + 1, i + len, 0);
+                            current = withFamilyIndex(current, fontIndex);
+                            font = family.connected[fontIndex & 31];
                             if (font == null) font = this;
                             break;
                         case '(':
@@ -6528,7 +7090,7 @@ public class Font implements Disposable {
                                 // jump to labeled state
                                 current = labeledStates.get(StringUtils.safeSubstring(text, i + 1, i + len), current);
                                 if(family != null){
-                                    font = family.connected[(int)(current >>> 16 & 15)];
+                                    font = family.connected[familyIndex(current)];
                                     if(font == null) font = this;
                                 }
                             } else {
@@ -6553,22 +7115,30 @@ public class Font implements Disposable {
 
                 else {
                     float w;
+                    // Images on one of font's imagePages are looked up in that page, and have its family index.
+                    Font imageFont = font;
+                    long glyphBits = current;
                     if(c == '+' && font.nameLookup != null) {
                         int len = text.indexOf(']', i) - i;
                         if (len >= 0) {
                             c = font.nameLookup.get(StringUtils.safeSubstring(text, i + 1, i + len), '\u200B'); // zero-width space
                             i += len;
-                            sclX = scale * font.cellHeight / Math.max(font.mapping.get(c, font.defaultValue).getMaxDimension(), font.originalCellHeight) * font.inlineImageStretch;
+                            if (c > 0xFFFF) {
+                                imageFont = font.family.connected[c >>> 16 & 31];
+                                glyphBits = withFamilyIndex(current, c >>> 16);
+                                c &= 0xFFFF;
+                            }
+                            sclX = scale * imageFont.cellHeight / Math.max(imageFont.mapping.get(c, imageFont.defaultValue).getMaxDimension(), imageFont.originalCellHeight) * imageFont.inlineImageStretch;
                         } else {
                             c = '\u200B';
                             sclX = scale * font.cellHeight / Math.max(font.mapping.get(c, font.defaultValue).getMaxDimension(), font.originalCellHeight) * font.inlineImageStretch;
                         }
                     }
                     if (font.kerning == null) {
-                        w = (appendTo.peekLine().width += xAdvance(font, sclX, current | c));
+                        w = (appendTo.peekLine().width += xAdvance(imageFont, sclX, glyphBits | c));
                     } else {
                         kern = kern << 16 | c;
-                        w = (appendTo.peekLine().width += xAdvance(font, sclX, current | c) + font.kerning.get(kern, 0) * sclX * (1f + 0.5f * (-(current & SUPERSCRIPT) >> 63)));
+                        w = (appendTo.peekLine().width += xAdvance(imageFont, sclX, glyphBits | c) + font.kerningAmount(kern) * sclX * (1f + 0.5f * (-(current & SUPERSCRIPT) >> 63)));
                     }
                     if(initial && !isMono && !(c >= '\uE000' && c < '\uF800')){
                         float ox = font.mapping.get(c, font.defaultValue).offsetX;
@@ -6581,7 +7151,7 @@ public class Font implements Disposable {
                     if(c == '[')
                         appendTo.add(current | 2, scale, scale, 0f, 0f, rotation);
                     else
-                        appendTo.add(current | c, scale, scale, 0f, 0f, rotation);
+                        appendTo.add(glyphBits | c, scale, scale, 0f, 0f, rotation);
 
                     if ((targetWidth > 0 && w > targetWidth) || appendTo.atLimit) {
                         Line earlier = appendTo.peekLine();
@@ -6682,10 +7252,10 @@ public class Font implements Disposable {
                                             }
                                             k2 = k2 << 16 | showCh;
                                             float adv = xAdvance(font, sclX, curr);
-                                            change += adv + font.kerning.get(k2, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                            change += adv + font.kerningAmount(k2) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                                             if (--leading < 0) {
                                                 kern = kern << 16 | showCh;
-                                                changeNext += adv + font.kerning.get(kern, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                                changeNext += adv + font.kerningAmount(kern) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                                                 glyphBuffer.add(curr);
                                                 if(glyphBuffer.size == 1){
                                                     if(!isMono && !(showCh >= '\uE000' && showCh < '\uF800')) {
@@ -6767,7 +7337,7 @@ public class Font implements Disposable {
                                             }
                                             k2 = k2 << 16 | showCh;
                                             float adv = xAdvance(font, sclX, curr);
-                                            change += adv + font.kerning.get(k2, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                            change += adv + font.kerningAmount(k2) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                                         }
                                     }
                                     if (earlier.width - change > targetWidth)
@@ -6808,30 +7378,48 @@ public class Font implements Disposable {
                     previousWasLetter = false;
                 }
                 showCh = (current & ALTERNATE_MODES_MASK) == SMALL_CAPS ? Category.caseUp(ch) : ch;
+                if (font.dynamicAtlas != null) font.dynamicAtlas.load(showCh);
+                // If the current font can't show this char, a font from the fallback chain may be used for it alone.
+                Font glyphFont = font;
+                long glyphBits = current;
+                boolean glyphMono = isMono;
+                float scriptScale = (1f + 0.5f * (-(current & SUPERSCRIPT) >> 63));
+                if (fallbackChain != null && family != null) {
+                    int fallback = fallbackIndex(font, showCh);
+                    if (fallback >= 0) {
+                        glyphFont = family.connected[fallback];
+                        glyphBits = withFamilyIndex(current, fallback);
+                        sclX = glyphFont.scaleX * scale;
+                        // Sub-, mid-, and superscript halve everything but monospaced glyphs, as xAdvance() does.
+                        glyphMono = glyphFont.isMono;
+                        scriptScale = glyphMono || (current & SUPERSCRIPT) == 0L ? 1f : 0.5f;
+                        appendTo.peekLine().height = Math.max(appendTo.peekLine().height, glyphFont.cellHeight * scale);
+                    }
+                }
                 if(ch >= 0xE000 && ch < 0xF800){
-                    sclX = scale * font.cellHeight / font.mapping.get(ch, font.defaultValue).getMaxDimension() * font.inlineImageStretch;
+                    sclX = scale * glyphFont.cellHeight / glyphFont.mapping.get(ch, glyphFont.defaultValue).getMaxDimension() * glyphFont.inlineImageStretch;
                 }
                 float w;
-                if (font.kerning == null) {
-                    w = (appendTo.peekLine().width += xAdvance(font, sclX, current | showCh));
+                if (glyphFont.kerning == null) {
+                    w = (appendTo.peekLine().width += xAdvance(glyphFont, sclX, glyphBits | showCh));
                 } else {
                     kern = kern << 16 | showCh;
-                    w = (appendTo.peekLine().width += xAdvance(font, sclX, current | showCh) + font.kerning.get(kern, 0) * sclX * (1f + 0.5f * (-((current | showCh) & SUPERSCRIPT) >> 63)));
+                    w = (appendTo.peekLine().width += xAdvance(glyphFont, sclX, glyphBits | showCh) + glyphFont.kerningAmount(kern) * sclX * scriptScale);
                 }
-                if(initial && !isMono && !(showCh >= '\uE000' && showCh < '\uF800')) {
-                    float ox = font.mapping.get(showCh, font.defaultValue).offsetX;
+                if(initial && !glyphMono && !(showCh >= '\uE000' && showCh < '\uF800')) {
+                    float ox = glyphFont.mapping.get(showCh, glyphFont.defaultValue).offsetX;
                     if (Float.isNaN(ox)) ox = 0;
                     else ox *= sclX;
-                    ox *= (1f + 0.5f * (-(current & SUPERSCRIPT) >> 63));
+                    ox *= scriptScale;
                     if (ox < 0) w = (appendTo.peekLine().width -= ox);
                 }
                 initial = false;
                 if (ch == '\n')
                 {
-                    appendTo.peekLine().height = Math.max(appendTo.peekLine().height, font.cellHeight * scale);
+                    appendTo.peekLine().height = Math.max(appendTo.peekLine().height, glyphFont.cellHeight * scale);
                     initial = true;
                 }
-                appendTo.add(current | ch, scale, scale, 0f, 0f, rotation);
+                appendTo.add(glyphBits | ch, scale, scale, 0f, 0f, rotation);
                 if ((targetWidth > 0 && w > targetWidth) || appendTo.atLimit) {
                     Line earlier = appendTo.peekLine();
                     Line later;
@@ -6936,10 +7524,10 @@ public class Font implements Disposable {
                                         }
                                         k2 = k2 << 16 | showCh;
                                         float adv = xAdvance(font, sclX, curr);
-                                        change += adv + font.kerning.get(k2, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                        change += adv + font.kerningAmount(k2) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                                         if (--leading < 0) {
                                             kern = kern << 16 | showCh;
-                                            changeNext += adv + font.kerning.get(kern, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                            changeNext += adv + font.kerningAmount(kern) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                                             glyphBuffer.add(curr);
                                             if(glyphBuffer.size == 1){
                                                 if(!isMono && !(showCh >= '\uE000' && showCh < '\uF800')) {
@@ -7036,10 +7624,10 @@ public class Font implements Disposable {
                                         }
                                         k2 = k2 << 16 | showCh;
                                         float adv = xAdvance(font, sclX, curr);
-                                        change += adv + font.kerning.get(k2, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                        change += adv + font.kerningAmount(k2) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
 
                                         kern = kern << 16 | showCh;
-                                        changeNext += adv + font.kerning.get(kern, 0) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                                        changeNext += adv + font.kerningAmount(kern) * sclX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                                         glyphBuffer.add(curr);
                                         if(glyphBuffer.size == 1){
                                             if(!isMono && !(showCh >= '\uE000' && showCh < '\uF800')) {
@@ -7095,7 +7683,7 @@ public class Font implements Disposable {
                         Arrays.binarySearch(spaceChars.items, 0, spaceChars.size, (char) curr) >= 0)) {
                     --j;
                 }
-                if (family != null) font = family.connected[(int) (curr >>> 16 & 15)];
+                if (family != null) font = family.connected[familyIndex(curr)];
                 if (font == null) font = this;
 
                 float change = 0f;
@@ -7106,7 +7694,7 @@ public class Font implements Disposable {
                     boolean curly = false;
                     for (int k = j + 1; k < earlier.glyphs.size; k++) {
                         curr = earlier.glyphs.get(k);
-                        if (family != null) font = family.connected[(int) (curr >>> 16 & 15)];
+                        if (family != null) font = family.connected[familyIndex(curr)];
                         if (font == null) font = this;
 
                         if(omitCurlyBraces){
@@ -7141,7 +7729,7 @@ public class Font implements Disposable {
                     boolean curly = false;
                     for (int k = j + 1; k < earlier.glyphs.size; k++) {
                         curr = earlier.glyphs.get(k);
-                        if (family != null) font = family.connected[(int) (curr >>> 16 & 15)];
+                        if (family != null) font = family.connected[familyIndex(curr)];
                         if (font == null) font = this;
                         if(omitCurlyBraces) {
                             if (curly) {
@@ -7159,14 +7747,14 @@ public class Font implements Disposable {
                         }
                         k2 = k2 << 16 | (char) curr;
                         float adv = xAdvance(font, scaleX, curr);
-                        change += adv + font.kerning.get(k2, 0) * scaleX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                        change += adv + font.kerningAmount(k2) * scaleX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                     }
                     for (int e = 0; e < ellipsis.length(); e++) {
                         // 0xFFFFFFFF81FF0000L masks to include everything but style and char
                         curr = (curr & 0xFFFFFFFF81FF0000L) | ellipsis.charAt(e);
                         k2 = k2 << 16 | (char) curr;
                         float adv = xAdvance(font, scaleX, curr);
-                        change -= adv + font.kerning.get(k2, 0) * scaleX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
+                        change -= adv + font.kerningAmount(k2) * scaleX * (isMono || (curr & SUPERSCRIPT) == 0L ? 1f : 0.5f);
                     }
                 }
                 if (earlier.width - change > appendTo.targetWidth)
@@ -7359,7 +7947,8 @@ public class Font implements Disposable {
                                 c = '\u200B';
                             }
                             innerSquareStart = -1;
-                            current = (current | c);
+                            if (c > 0xFFFF) current = withFamilyIndex(current, c >>> 16) | (c & 0xFFFF);
+                            else current = (current | c);
                         }
                     }
 
@@ -7396,7 +7985,7 @@ public class Font implements Disposable {
                             break;
                     }
                 } else if (fontChange >= 0 && family != null) {
-                    fontIndex = family.fontAliases.get(StringUtils.safeSubstring(markup, fontChange + 1, end), -1);
+                    fontIndex = family.fontAliases.get(markup, fontChange + 1, end, -1);
                     if (fontIndex == -1) {
                         fontIndex = 0;
                     } else {
@@ -7417,7 +8006,7 @@ public class Font implements Disposable {
                         scale = ((StringUtils.intFromDec(markup, sizeChange + 1, end) - 24) / 25) & 15;
                     }
                 }
-                current = (current & 0xFFFFFFFFFF00FFFFL) | (scale - 3 & 15) << 20 | (fontIndex & 15) << 16;
+                current = withFamilyIndex((current & 0xFFFFFFFFFF0FFFFFL) | (scale - 3 & 15) << 20, fontIndex);
                 i--;
             } else if (enableSquareBrackets && markup.charAt(i) == '[') {
 
@@ -7630,9 +8219,9 @@ public class Font implements Disposable {
                                 fontIndex = 0;
                                 break;
                             }
-                            fontIndex = family.fontAliases.get(StringUtils.safeSubstring(markup, i + 1, i + len), 0);
-                            font = family.connected[fontIndex];
-                            current = (current & 0xFFFFFFFFFFF0FFFFL) | (fontIndex & 15L) << 16;
+                            fontIndex = family.fontAliases.get(markup, i + 1, i + len, 0);
+                            font = family.connected[fontIndex & 31];
+                            current = withFamilyIndex(current, fontIndex);
                             break;
                         case '|':
                             // attempt to look up a known Color name with a ColorLookup
@@ -7665,6 +8254,8 @@ public class Font implements Disposable {
                     }
                     if(c == '[')
                         return (current | 2);
+                    else if (c > 0xFFFF)
+                        return withFamilyIndex(current, c >>> 16) | (c & 0xFFFF);
                     else
                         return (current | c);
                 }
@@ -7682,6 +8273,11 @@ public class Font implements Disposable {
                         ch = Category.caseDown(ch);
                     }
                 }
+                if (font.dynamicAtlas != null) font.dynamicAtlas.load((current & ALTERNATE_MODES_MASK) == SMALL_CAPS ? Category.caseUp(ch) : ch);
+                if (fallbackChain != null && family != null) {
+                    int fallback = fallbackIndex(font, (current & ALTERNATE_MODES_MASK) == SMALL_CAPS ? Category.caseUp(ch) : ch);
+                    if (fallback >= 0) return withFamilyIndex(current, fallback) | ch;
+                }
                 return (current | ch);
             }
         }
@@ -8037,8 +8633,8 @@ public class Font implements Disposable {
                             if (family == null) {
                                 break;
                             }
-                            int fontIndex = family.fontAliases.get(StringUtils.safeSubstring(markup, i + 1, i + len), 0);
-                            current = (current & 0xFFFFFFFFFFF0FFFFL) | (fontIndex & 15L) << 16;
+                            int fontIndex = family.fontAliases.get(markup, i + 1, i + len, 0);
+                            current = withFamilyIndex(current, fontIndex);
                             break;
                         case '|':
                             // attempt to look up a known Color name with a ColorLookup
@@ -8068,9 +8664,24 @@ public class Font implements Disposable {
      * @return {@code changing}, after modifications
      */
     public Layout regenerateLayout(Layout changing) {
+        return regenerateLayout(changing, 0);
+    }
+
+    /**
+     * Like {@link #regenerateLayout(Layout)}, but leaves the Lines before {@code fromLine} as they are, and only wraps
+     * the text from that Line onward again. This is only correct if the earlier Lines would wrap the same way with
+     * the new {@link Layout#getTargetWidth() targetWidth}; that is true when each of them fits in the new width, and
+     * they either ended with a newline or the width didn't grow. {@link TextraLabel} uses this so resizing a
+     * label only re-wraps the Lines that can change.
+     * @param changing a Layout that will be modified in-place
+     * @param fromLine the index of the first Line to wrap again; 0 wraps everything
+     * @return {@code changing}, after modifications
+     */
+    public Layout regenerateLayout(Layout changing, int fromLine) {
         if (changing.font == null) {
             return changing;
         }
+        changing.bumpVersion();
         if(!changing.font.equals(this)){
             changing.font = this;
         }
@@ -8079,13 +8690,24 @@ public class Font implements Disposable {
         float scaleX;
         float targetWidth = changing.getTargetWidth();
         int oldLength = changing.lines.size;
-        Line firstLine = changing.getLine(0);
-        for (int i = 1; i < oldLength; i++) {
+        fromLine = Math.max(0, Math.min(fromLine, oldLength - 1));
+        // Text inside curly braces can span Lines, so this starts over if an earlier Line could have opened a brace.
+        for (int ln = 0; ln < fromLine && omitCurlyBraces; ln++) {
+            LongArray glyphs = changing.getLine(ln).glyphs;
+            for (int i = 0; i < glyphs.size; i++) {
+                if ((char) glyphs.get(i) == '{') {
+                    fromLine = 0;
+                    break;
+                }
+            }
+        }
+        Line firstLine = changing.getLine(fromLine);
+        for (int i = fromLine + 1; i < oldLength; i++) {
             firstLine.glyphs.addAll(changing.getLine(i).glyphs);
         }
-        changing.lines.truncate(1);
+        changing.lines.truncate(fromLine + 1);
         boolean curly = false;
-        for (int ln = 0; ln < changing.lines(); ln++) {
+        for (int ln = fromLine; ln < changing.lines(); ln++) {
             Line line = changing.getLine(ln);
             line.height = 0;
             int a = changing.countGlyphsBeforeLine(ln);
@@ -8109,7 +8731,7 @@ public class Font implements Disposable {
                     }
                 }
                 if ((glyph & ALTERNATE_MODES_MASK) == SMALL_CAPS) ch = Category.caseUp(ch);
-                if (family != null) font = family.connected[(int) (glyph >>> 16 & 15)];
+                if (family != null) font = family.connected[familyIndex(glyph)];
                 if (font == null) font = this;
 
                 if (font.kerning == null) {
@@ -8233,7 +8855,7 @@ public class Font implements Disposable {
                     else
                         scaleX = font.scaleX * advance;
                     kern = kern << 16 | ch;
-                    amt = font.kerning.get(kern, 0) * scaleX;
+                    amt = font.kerningAmount(kern) * scaleX;
                     GlyphRegion tr = font.mapping.get(ch);
                     if (tr == null) continue;
                     float changedW = xAdvance(font, scaleX, glyph);
@@ -8417,15 +9039,7 @@ public class Font implements Disposable {
      * @param height the new window height; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
      */
     public void resizeDistanceField(float width, float height) {
-        if (distanceField != DistanceFieldType.STANDARD) {
-            if (Gdx.graphics.getBackBufferWidth() == 0 || Gdx.graphics.getBackBufferHeight() == 0) {
-                actualCrispness = distanceFieldCrispness;
-            } else {
-                actualCrispness = distanceFieldCrispness *
-                        Math.max(width / Gdx.graphics.getBackBufferWidth(),
-                                height / Gdx.graphics.getBackBufferHeight());
-            }
-        }
+        applyDistanceFieldZoom(distanceFieldZoom(width, height, null));
     }
 
     /**
@@ -8457,15 +9071,113 @@ public class Font implements Disposable {
      * @param viewport the current Viewport, after it has been updated using {@link Viewport#update(int, int)}
      */
     public void resizeDistanceField(float width, float height, Viewport viewport) {
+        applyDistanceFieldZoom(distanceFieldZoom(width, height, viewport));
+    }
+
+    /**
+     * Gets the multiplier that {@link #resizeDistanceField(float, float, Viewport)} applies to
+     * {@link #distanceFieldCrispness} to get {@link #actualCrispness}. It only depends on the window and viewport, not
+     * on any Font, so resizing many Fonts at once only needs to calculate it once.
+     *
+     * @param width  the new window width; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
+     * @param height the new window height; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
+     * @param viewport the current Viewport, after it has been updated using {@link Viewport#update(int, int)}; may be null
+     * @return the multiplier for {@link #distanceFieldCrispness}; 1 if the back buffer has no size yet
+     */
+    public static float distanceFieldZoom(float width, float height, Viewport viewport) {
+        if (Gdx.graphics.getBackBufferWidth() == 0 || Gdx.graphics.getBackBufferHeight() == 0) {
+            return 1f;
+        } else if (viewport == null) {
+            return Math.max(width / Gdx.graphics.getBackBufferWidth(),
+                    height / Gdx.graphics.getBackBufferHeight());
+        } else {
+            return Math.max(width * viewport.getScreenWidth() / (viewport.getWorldWidth() * Gdx.graphics.getBackBufferWidth()),
+                    height * viewport.getScreenHeight() / (viewport.getWorldHeight() * Gdx.graphics.getBackBufferHeight()));
+        }
+    }
+
+    /**
+     * Resizes the distance fields of every Font in {@code fonts}, the same way
+     * {@link #resizeDistanceField(float, float, Viewport)} does for one Font, but only calculating the change in zoom
+     * once. Fonts that don't use a distance field, and null items, are skipped. This is a good way to resize a large
+     * group of Fonts in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}, such as a set from
+     * {@link #findFonts(Actor, ObjectSet)} that you gathered once, after your UI was built.
+     *
+     * @param fonts    any Iterable of Fonts, such as an Array, ObjectSet, or {@link ObjectMap#values()}; may contain null
+     * @param width    the new window width; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
+     * @param height   the new window height; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
+     * @param viewport the current Viewport, after it has been updated using {@link Viewport#update(int, int)}; may be null
+     */
+    public static void resizeDistanceFields(Iterable<Font> fonts, float width, float height, Viewport viewport) {
+        float zoom = distanceFieldZoom(width, height, viewport);
+        for (Font font : fonts) {
+            if (font != null) font.applyDistanceFieldZoom(zoom);
+        }
+    }
+
+    private void applyDistanceFieldZoom(float zoom) {
         if (distanceField != DistanceFieldType.STANDARD) {
-            if (Gdx.graphics.getBackBufferWidth() == 0 || Gdx.graphics.getBackBufferHeight() == 0) {
-                actualCrispness = distanceFieldCrispness;
-            } else {
-                actualCrispness = distanceFieldCrispness *
-                        Math.max(width * viewport.getScreenWidth() / (viewport.getWorldWidth() * Gdx.graphics.getBackBufferWidth()),
-                                height * viewport.getScreenHeight() / (viewport.getWorldHeight() * Gdx.graphics.getBackBufferHeight()));
+            actualCrispness = distanceFieldCrispness * zoom;
+        }
+    }
+
+    /**
+     * Resizes the distance fields of every Font used by an Actor in {@code stage}, using the Stage's Viewport, so each
+     * Font is resized once no matter how many widgets use it. This finds Fonts with {@link #findFonts(Actor, ObjectSet)}
+     * each time it is called; if the Stage has many Actors and rarely changes, you can call findFonts() once and pass
+     * its result to {@link #resizeDistanceFields(Iterable, float, float, Viewport)} instead. The Stage's Viewport must
+     * have been updated with the new width and height before calling this.
+     *
+     * @param stage  a Stage whose Viewport has already been updated with {@link Viewport#update(int, int)}
+     * @param width  the new window width; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
+     * @param height the new window height; usually a parameter in {@link com.badlogic.gdx.ApplicationListener#resize(int, int)}
+     */
+    public static void resizeDistanceFields(Stage stage, float width, float height) {
+        resizeDistanceFields(findFonts(stage.getRoot(), new ObjectSet<>()), width, height, stage.getViewport());
+    }
+
+    /**
+     * Adds every Font used by {@code actor} or any of its descendants to {@code into}, along with every Font in the
+     * {@link #family} of any Font it finds. This knows about the Fonts in {@link TextraLabel} (and so
+     * {@link TypingLabel}), {@link TextraField}, {@link TextraListBox}, {@link TextraSelectBox}, and
+     * {@link TextraWindow} styles; other widgets, such as buttons, are searched through their child Actors. Fonts are
+     * compared by identity, so each Font is only added once.
+     *
+     * @param actor the Actor to search, which may be a Group such as {@link Stage#getRoot()}; may be null
+     * @param into  the ObjectSet to add Fonts to; will be modified
+     * @return {@code into}, after adding Fonts
+     */
+    public static ObjectSet<Font> findFonts(Actor actor, ObjectSet<Font> into) {
+        if (actor instanceof TextraLabel) {
+            addWithFamily(((TextraLabel) actor).getFont(), into);
+        } else if (actor instanceof TextraField) {
+            addWithFamily(((TextraField) actor).getStyle().font, into);
+        } else if (actor instanceof TextraListBox) {
+            TextraListBox<?> list = (TextraListBox<?>) actor;
+            addWithFamily(list.getStyle().font, into);
+            for (TextraLabel item : list.getItems()) {
+                addWithFamily(item.getFont(), into);
+            }
+        } else if (actor instanceof TextraSelectBox) {
+            addWithFamily(((TextraSelectBox) actor).getStyle().font, into);
+            findFonts(((TextraSelectBox) actor).getList(), into);
+        } else if (actor instanceof TextraWindow) {
+            addWithFamily(((TextraWindow) actor).getStyle().titleFont, into);
+        }
+        if (actor instanceof Group) {
+            SnapshotArray<Actor> children = ((Group) actor).getChildren();
+            for (int i = 0, n = children.size; i < n; i++) {
+                findFonts(children.get(i), into);
             }
         }
+        return into;
+    }
+
+    private static void addWithFamily(Font font, ObjectSet<Font> into) {
+        if (font == null || !into.add(font) || font.family == null) return;
+        for (Font member : font.family.connected) {
+            addWithFamily(member, into);
+        }
     }
 
     /**
@@ -8611,6 +9323,29 @@ public class Font implements Disposable {
         return (glyph & 0xFFFFFFFFFF0FFFFFL) | (0xF00000L & modeFlags);
     }
 
+    /**
+     * Given a glyph as a long, this returns the index of the Font it uses in a {@link FontFamily}, from 0 to 31
+     * inclusive. This can be used directly as an index into {@link FontFamily#connected}.
+     *
+     * @param glyph a glyph as a long, as used by {@link Layout} and {@link Line}
+     * @return the index in a FontFamily of the Font the given glyph uses
+     */
+    public static int familyIndex(long glyph) {
+        return (int) (glyph >>> 16 & 15L | glyph >>> 27 & 16L);
+    }
+
+    /**
+     * Replaces the section of glyph that stores its index in a {@link FontFamily} with the given index, which should
+     * be between 0 and 31 inclusive; only its lowest 5 bits are used.
+     *
+     * @param glyph a glyph as a long, as used by {@link Layout} and {@link Line}
+     * @param index the index in a FontFamily of the Font to use, from 0 to 31
+     * @return another long glyph that uses the specified family index
+     */
+    public static long withFamilyIndex(long glyph, int index) {
+        return (glyph & ~FAMILY_MASK) | (index & 15L) << 16 | (index & 16L) << 27;
+    }
+
     /**
      * Given a glyph as a long, this returns the char it displays. This automatically corrects the placeholder char
      * u0002 to the glyph it displays as, {@code '['}.
@@ -8649,6 +9384,7 @@ public class Font implements Disposable {
             whiteBlock.dispose();
             whiteBlock = null;
         }
+        if (dynamicAtlas != null) dynamicAtlas.detach(this);
     }
 
     /**
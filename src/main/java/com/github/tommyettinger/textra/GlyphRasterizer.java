@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.graphics.Pixmap;
+
+/**
+ * Draws single glyphs on request, for a {@link DynamicFontAtlas}. This is how a Font can show glyphs that weren't
+ * baked into a texture ahead of time; an implementation could wrap FreeType, a platform font API, or anything else
+ * that can produce a Pixmap for a char. Nothing here depends on a particular font technology, so tests can use a
+ * rasterizer that just fills rectangles.
+ */
+public interface GlyphRasterizer {
+    /**
+     * Gets the height of a line of text, in pixels. This becomes the {@link Font#cellHeight} of a Font using this.
+     * @return the line height in pixels
+     */
+    float getLineHeight();
+
+    /**
+     * Gets how far below the baseline the lowest glyphs reach, as a negative number of pixels. This becomes the
+     * {@link Font#descent} of a Font using this.
+     * @return the descent in pixels, usually negative
+     */
+    float getDescent();
+
+    /**
+     * Returns true if {@link #rasterize(int, Font.GlyphRegion)} can draw the given char. This is called once per char;
+     * chars this returns false for are remembered and not asked for again.
+     * @param c a char, as an int
+     * @return true if this can draw c
+     */
+    boolean hasGlyph(int c);
+
+    /**
+     * Draws the given char and fills in the {@link Font.GlyphRegion#offsetX}, {@link Font.GlyphRegion#offsetY},
+     * and {@link Font.GlyphRegion#xAdvance} of {@code metrics}, using the same meanings those fields have in Font.
+     * The region of {@code metrics} should not be changed. This can return null if c has metrics but no visible pixels,
+     * like a space. The pixels are copied to a texture before the next call, so the same Pixmap may be returned again
+     * (with different contents) by later calls; the caller never disposes it. RGBA8888 Pixmaps are copied directly,
+     * and other formats are converted first.
+     * <br>
+     * This may be called more than once for the same char, if its pixels were evicted from a texture; the metrics from
+     * the first call are kept.
+     *
+     * @param c a char, as an int, that {@link #hasGlyph(int)} returned true for
+     * @param metrics a GlyphRegion whose offsetX, offsetY, and xAdvance should be set
+     * @return a Pixmap holding only the glyph's pixels, or null if the glyph is blank
+     */
+    Pixmap rasterize(int c, Font.GlyphRegion metrics);
+}
@@ -21,6 +21,7 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.LongArray;
 
 /**
@@ -60,6 +61,33 @@ public class Layout {
      */
     public final FloatArray advances = new FloatArray();
 
+    /**
+     * Incremented whenever this Layout is changed in a way that could change its size; see {@link #getVersion()}.
+     */
+    protected int version = 0;
+    /**
+     * The Font that last measured this with {@link Font#calculateSize(Layout)}, or null if it hasn't been measured or
+     * the measurement was discarded.
+     */
+    protected Font measuredFont = null;
+    /**
+     * The {@link #version} this had when it was last measured.
+     */
+    protected int measuredVersion = 0;
+    /**
+     * A summary of the metrics of {@link #measuredFont} (and its family) when this was last measured, so a Font that
+     * has been scaled since then won't use the old measurement.
+     */
+    protected int measuredStamp = 0;
+    /**
+     * Two floats per Line, the width and then the height that Line had after it was last measured.
+     */
+    protected final FloatArray measuredLineSizes = new FloatArray();
+    /**
+     * One int per Line, how many glyphs that Line had when this was last measured.
+     */
+    protected final IntArray measuredLineGlyphs = new IntArray();
+
     public Layout() {
         lines.add(new Line());
     }
@@ -98,6 +126,7 @@ public class Layout {
             this.font = font;
             lines.clear();
             lines.add(new Line());
+            version++;
         }
         return this;
     }
@@ -154,6 +183,7 @@ public class Layout {
             advances.add(advance);
             offsets.add(offsetX, offsetY);
             rotations.add(rotation);
+            version++;
         }
 
         return this;
@@ -167,6 +197,7 @@ public class Layout {
      * @param newGlyph usually produced by {@link Font} to store color and style info with the char
      */
     public void set(int index, long newGlyph) {
+        version++;
         for (int i = 0, n = lines.size; i < n && index >= 0; i++) {
             LongArray glyphs = lines.get(i).glyphs;
             if (i < lines.size && index < glyphs.size) {
@@ -190,6 +221,7 @@ public class Layout {
      * @param rotation 0.0f if unchanged; added to the rotation of the glyph, in degrees
      */
     public void set(int index, long newGlyph, float scale, float advance, float offsetX, float offsetY, float rotation) {
+        version++;
         sizing.set(index << 1, scale);
         sizing.set(index << 1 | 1, scale);
         advances.set(index, advance);
@@ -223,6 +255,7 @@ public class Layout {
 
         lines.add(new Line());
         atLimit = false;
+        version++;
         return this;
     }
 
@@ -275,6 +308,7 @@ public class Layout {
             add('\n', sizing.peek(), advances.peek(), offsets.get(offsets.size - 2), offsets.peek(), rotations.peek());
         line.height = 0;
         lines.add(line);
+        version++;
         return line;
     }
 
@@ -287,6 +321,7 @@ public class Layout {
         Line line = new Line();
         line.height = 0;
         lines.add(line);
+        version++;
         return line;
     }
 
@@ -300,6 +335,7 @@ public class Layout {
         prev.glyphs.add('\n');
         line.height = 0;
         lines.insert(index + 1, line);
+        version++;
         return line;
     }
 
@@ -399,6 +435,7 @@ public class Layout {
 
     public Layout setJustification(Justify justification) {
         this.justification = justification == null ? Justify.NONE : justification;
+        version++;
         return this;
     }
 
@@ -491,7 +528,7 @@ public class Layout {
                 for (int fin = index - start - glyphCount + end; index < fin && index < glyphs.size; index++) {
                     char c = (char) glyphs.get(index);
                     if (c >= 0xE000 && c <= 0xF800) {
-                        String name = font.namesByCharCode.get(c);
+                        String name = font.imageName(glyphs.get(index));
                         if (name != null) sb.append(name);
                         else sb.append(c);
                     } else {
@@ -548,6 +585,70 @@ public class Layout {
         rotations.truncate(i);
         sizing.truncate(i << 1);
         offsets.truncate(i << 1);
+        version++;
+        return this;
+    }
+
+    /**
+     * Gets the version stamp of this Layout, which changes whenever this Layout is changed through its own methods or
+     * by {@link Font#markup(String, Layout)}, {@link Font#regenerateLayout(Layout)}, or {@link Font#justify(Layout)}.
+     * {@link Font#calculateSize(Layout)} uses this to skip measuring a Layout again when it hasn't changed.
+     * <br>
+     * If you change {@link #advances}, or the glyphs in a {@link Line}, directly, you should call {@link #bumpVersion()}
+     * afterward so the next measurement sees the change.
+     * @return the current version stamp
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Marks this Layout as changed, so that the next call to {@link Font#calculateSize(Layout)} will measure it again
+     * instead of reusing its last measurement. This only needs to be called after changing {@link #advances}, or the
+     * glyphs in a {@link Line}, directly; the methods here and in Font already call it.
+     * @return this, for chaining
+     */
+    public Layout bumpVersion() {
+        version++;
         return this;
     }
+
+    /**
+     * Stores the current width and height of each Line as the measurement for the current {@link #version}.
+     * Called by {@link Font#calculateSize(Layout)}.
+     */
+    void storeMeasurement(Font font, int stamp) {
+        measuredFont = font;
+        measuredVersion = version;
+        measuredStamp = stamp;
+        measuredLineSizes.clear();
+        measuredLineGlyphs.clear();
+        for (int i = 0, n = lines.size; i < n; i++) {
+            Line line = lines.get(i);
+            measuredLineSizes.add(line.width, line.height);
+            measuredLineGlyphs.add(line.glyphs.size);
+        }
+    }
+
+    /**
+     * If the last measurement was made by the given font, with the same metrics, on the current {@link #version}, and
+     * every Line still has as many glyphs as it did then, this restores each Line's measured width and height and
+     * returns true. Otherwise, this returns false and the Layout needs to be measured again.
+     * Called by {@link Font#calculateSize(Layout)}.
+     */
+    boolean restoreMeasurement(Font font, int stamp) {
+        if (measuredFont != font || measuredVersion != version || measuredStamp != stamp
+                || measuredLineGlyphs.size != lines.size)
+            return false;
+        for (int i = 0, n = lines.size; i < n; i++) {
+            if (lines.get(i).glyphs.size != measuredLineGlyphs.get(i)) return false;
+        }
+        float[] sizes = measuredLineSizes.items;
+        for (int i = 0, n = lines.size; i < n; i++) {
+            Line line = lines.get(i);
+            line.width = sizes[i << 1];
+            line.height = sizes[i << 1 | 1];
+        }
+        return true;
+    }
 }
@@ -398,6 +398,8 @@ public class Parser {
                         Effect.EffectBuilder eb = TypingConfig.EFFECT_START_TOKENS.get(tokenName.toUpperCase(Locale.ROOT));
                         if (eb != null) {
                             effect = eb.produce(label, params);
+                            if (effect != null)
+                                effect.groupKey = paramsString == null ? tokenName : tokenName + '=' + paramsString;
                         }
                         break;
                     }
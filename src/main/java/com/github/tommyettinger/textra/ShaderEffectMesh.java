@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.List;
+
+/**
+ * Draws a {@link Layout} with some of its {@link Effect}s evaluated on the GPU, using the shader from
+ * {@link ShaderEffects}. The glyphs are laid out once by {@link #build(Layout, List)}, which stores each glyph's quad
+ * along with the parameters of the effect that animates it; after that, drawing only needs to upload the time as a
+ * uniform, and nothing per-glyph happens on the CPU. This is meant for text that doesn't change often, but has
+ * effects that run constantly, such as a title using {@code WAVE} and {@code RAINBOW}.
+ * <br>
+ * Only effects that override {@link Effect#encodeShaderParams(int, float, float[], int)} are animated; any other
+ * effects are ignored, and glyphs they cover are drawn as they were when built. If more than one effect covers a
+ * glyph, the last one in the List is used. Effects that have a finite duration aren't animated, since they would need
+ * to fade out. Call {@link #build(Layout, List)} again whenever the text changes.
+ * <br>
+ * Because glyphs are stored in one Mesh with 16-bit indices, at most {@link #MAX_QUADS} quads can be drawn; any more
+ * are dropped. Each glyph is usually one quad, but underline, strikethrough, and some other modes add more.
+ * <br>
+ * This must be disposed when no longer needed, since it owns a Mesh and a ShaderProgram.
+ */
+public class ShaderEffectMesh implements Disposable {
+    /**
+     * How many floats each vertex uses: x, y, packed color, u, v, then the 8 floats from
+     * {@link Effect#encodeShaderParams(int, float, float[], int)}.
+     */
+    public static final int VERTEX_SIZE = 5 + ShaderEffects.PARAMS_PER_GLYPH;
+    /**
+     * The most quads this can draw, limited by 16-bit indices.
+     */
+    public static final int MAX_QUADS = 16383;
+
+    public final Font font;
+
+    /**
+     * The vertices for every quad, {@link #VERTEX_SIZE} floats per vertex and 4 vertices per quad.
+     */
+    protected final FloatArray vertices = new FloatArray(VERTEX_SIZE * 4 * 64);
+    /**
+     * The Texture used by each run of quads; run {@code i} starts at quad {@code runStarts.get(i)}.
+     */
+    protected final Array<Texture> runTextures = new Array<>(false, 4);
+    protected final IntArray runStarts = new IntArray(4);
+    protected int quadCount;
+
+    protected Mesh mesh;
+    protected ShaderProgram shader;
+    protected boolean dirty = true;
+    private final String fragmentShader;
+    private final Matrix4 combined = new Matrix4();
+    private final float[] params = new float[ShaderEffects.PARAMS_PER_GLYPH];
+    private final QuadRecorder recorder = new QuadRecorder();
+
+    /**
+     * Creates a ShaderEffectMesh that draws with the given Font, picking a fragment shader that matches the Font's
+     * {@link Font#getDistanceField() distance field type}.
+     * @param font the Font to draw with; this should be the same Font that produced any Layout this builds
+     */
+    public ShaderEffectMesh(Font font) {
+        this(font, fragmentShaderFor(font));
+    }
+
+    /**
+     * Creates a ShaderEffectMesh that draws with the given Font and fragment shader. The fragment shader must accept
+     * {@code v_color} and {@code v_texCoords} varyings and a {@code u_texture} uniform, like the ones in Font do.
+     * @param font the Font to draw with; this should be the same Font that produced any Layout this builds
+     * @param fragmentShader fragment shader source code
+     */
+    public ShaderEffectMesh(Font font, String fragmentShader) {
+        this.font = font;
+        this.fragmentShader = fragmentShader;
+    }
+
+    private static String fragmentShaderFor(Font font) {
+        switch (font.getDistanceField()) {
+            case SDF:
+                return Font.sdfFragmentShader;
+            case SDF_OUTLINE:
+                return Font.sdfBlackOutlineFragmentShader;
+            case MSDF:
+                return Font.msdfFragmentShader;
+            default:
+                return ShaderEffects.fragmentShader();
+        }
+    }
+
+    /**
+     * Builds the glyphs and effect parameters for the displayed text and active effects of a TypingLabel. The label
+     * should have finished typing, such as by calling {@link TypingLabel#skipToTheEnd()}, and its effects shouldn't
+     * also be applied on the CPU, or they will apply twice.
+     * @param label a TypingLabel that uses the same Font as this
+     * @return this, for chaining
+     */
+    public ShaderEffectMesh build(TypingLabel label) {
+        return build(label.workingLayout, label.activeEffects);
+    }
+
+    /**
+     * Lays out every glyph in {@code layout} as if by {@link Font#drawGlyphs(Batch, Layout, float, float)} at 0,0, and
+     * stores the parameters of the effect in {@code effects} that animates each glyph, if any. This doesn't need an
+     * OpenGL context unless the Font needs one to draw.
+     * @param layout a Layout produced by the same Font as this uses
+     * @param effects a List of Effects with {@link Effect#indexStart} and {@link Effect#indexEnd} referring to
+     *                glyph indices in layout, both inclusive, as TypingLabel sets them; an indexEnd of -1 means the
+     *                effect continues to the last glyph; may be null
+     * @return this, for chaining
+     */
+    public ShaderEffectMesh build(Layout layout, List<Effect> effects) {
+        vertices.clear();
+        runTextures.clear();
+        runStarts.clear();
+        quadCount = 0;
+        dirty = true;
+        if (layout == null || layout.advances.size == 0) return this;
+
+        recorder.quads.clear();
+        recorder.textures.clear();
+        float baseY = 0f;
+        int a = 0;
+        final int lastGlyph = layout.advances.size - 1;
+        for (int ln = 0, lines = layout.lines(); ln < lines; ln++) {
+            Line line = layout.getLine(ln);
+            baseY -= line.height;
+            int kern = -1;
+            float xChange = 0f, yChange = 0f;
+            boolean curly = false, initial = true;
+            for (int i = 0, n = line.glyphs.size; i < n; i++, a++) {
+                long glyph = line.glyphs.get(i);
+                char ch = (char) glyph;
+                float advance = layout.advances.get(a);
+                if (font.omitCurlyBraces) {
+                    if (curly) {
+                        if (ch == '}') {
+                            curly = false;
+                            continue;
+                        } else if (ch == '{')
+                            curly = false;
+                        else continue;
+                    } else if (ch == '{') {
+                        curly = true;
+                        continue;
+                    }
+                }
+                Font f = null;
+                if (font.family != null) f = font.family.connected[Font.familyIndex(glyph)];
+                if (f == null) f = font;
+
+                if (f.kerning != null) {
+                    kern = kern << 16 | (int) (glyph & 0xFFFF);
+                    xChange += f.kerningAmount(kern) * f.scaleX * advance;
+                }
+                if (initial) {
+                    yChange += f.cellHeight * 0.5f;
+                    yChange -= f.descent * f.scaleY * 0.5f;
+                    yChange += line.height * 0.5f;
+
+                    final Font.GlyphRegion reg = f.mapping.get((int) (glyph & 0xFFFF));
+                    if (!font.isMono && reg != null && !(ch >= '\uE000' && ch < '\uF800')) {
+                        float ox = reg.offsetX;
+                        if (Float.isNaN(ox)) ox = 0f;
+                        else ox *= f.scaleX * advance;
+                        if (ox < 0) xChange -= ox;
+                    }
+                    initial = false;
+                }
+
+                boolean animated = false;
+                if (effects != null) {
+                    for (int e = effects.size() - 1; e >= 0; e--) {
+                        Effect effect = effects.get(e);
+                        int end = effect.indexEnd >= 0 ? effect.indexEnd : lastGlyph;
+                        if (a >= effect.indexStart && a <= end
+                                && effect.encodeShaderParams(a - effect.indexStart, line.height, params, 0)) {
+                            animated = true;
+                            break;
+                        }
+                    }
+                }
+                if (!animated) {
+                    params[0] = ShaderEffects.NONE;
+                    for (int p = 1; p < params.length; p++) params[p] = 0f;
+                } else if (params[0] == ShaderEffects.RAINBOW || params[0] == ShaderEffects.GRADIENT) {
+                    // Color effects on the CPU replace the glyph's alpha, too.
+                    glyph |= 0xFE00000000L;
+                }
+
+                int before = recorder.textures.size;
+                xChange += font.drawGlyph(recorder, glyph, xChange, baseY + yChange, 0f,
+                        layout.sizing.get(a << 1), layout.sizing.get(a << 1 | 1), 0, advance);
+                for (int q = before; q < recorder.textures.size && quadCount < MAX_QUADS; q++) {
+                    addQuad(recorder.textures.get(q), recorder.quads.items, q * 20);
+                }
+            }
+        }
+        return this;
+    }
+
+    private void addQuad(Texture texture, float[] quad, int offset) {
+        if (runTextures.size == 0 || runTextures.peek() != texture) {
+            runTextures.add(texture);
+            runStarts.add(quadCount);
+        }
+        float[] v = vertices.ensureCapacity(VERTEX_SIZE * 4);
+        int idx = vertices.size;
+        for (int corner = 0; corner < 4; corner++) {
+            System.arraycopy(quad, offset + corner * 5, v, idx, 5);
+            System.arraycopy(params, 0, v, idx + 5, ShaderEffects.PARAMS_PER_GLYPH);
+            idx += VERTEX_SIZE;
+        }
+        vertices.size = idx;
+        quadCount++;
+    }
+
+    /**
+     * Gets how many quads were built by the last call to {@link #build(Layout, List)}.
+     * @return the number of quads that will be drawn
+     */
+    public int getQuadCount() {
+        return quadCount;
+    }
+
+    /**
+     * Gets the vertex data built by the last call to {@link #build(Layout, List)}, with {@link #VERTEX_SIZE} floats
+     * per vertex and 4 vertices per quad. This should not be modified.
+     * @return the vertex data that will be uploaded to the GPU
+     */
+    public FloatArray getVertices() {
+        return vertices;
+    }
+
+    private void upload() {
+        int maxVertices = Math.max(4, quadCount * 4);
+        if (mesh == null || mesh.getMaxVertices() < maxVertices) {
+            if (mesh != null) mesh.dispose();
+            mesh = new Mesh(true, maxVertices, maxVertices / 4 * 6,
+                    new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                    VertexAttribute.ColorPacked(),
+                    new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+                    new VertexAttribute(VertexAttributes.Usage.Generic, 4, ShaderEffects.EFFECT_ATTRIBUTE),
+                    new VertexAttribute(VertexAttributes.Usage.Generic, 4, ShaderEffects.EXTRA_ATTRIBUTE));
+            short[] indices = new short[maxVertices / 4 * 6];
+            for (int i = 0, j = 0; i < indices.length; i += 6, j += 4) {
+                indices[i] = (short) j;
+                indices[i + 1] = (short) (j + 1);
+                indices[i + 2] = (short) (j + 2);
+                indices[i + 3] = (short) (j + 2);
+                indices[i + 4] = (short) (j + 3);
+                indices[i + 5] = (short) j;
+            }
+            mesh.setIndices(indices);
+        }
+        mesh.setVertices(vertices.items, 0, vertices.size);
+        dirty = false;
+    }
+
+    /**
+     * Draws the built glyphs with their top-left corner at x,y, using the projection, transform, color, and blend
+     * function of {@code batch}. If batch is drawing, it is ended before this draws and begun again after, so its
+     * shader is restored.
+     * @param batch a Batch to get the projection, transform, color, and blend function from
+     * @param x the x position of the left edge of the text, as with {@link Font#drawGlyphs(Batch, Layout, float, float)}
+     * @param y the y position of the top edge of the text, as with {@link Font#drawGlyphs(Batch, Layout, float, float)}
+     * @param time the time to animate effects at, in seconds; {@link EffectSystem#getTime()} works well
+     */
+    public void draw(Batch batch, float x, float y, float time) {
+        if (quadCount == 0) return;
+        if (shader == null) {
+            shader = new ShaderProgram(ShaderEffects.vertexShader(), fragmentShader);
+            if (!shader.isCompiled())
+                throw new GdxRuntimeException("Error compiling shader: " + shader.getLog());
+        }
+        if (dirty) upload();
+        boolean drawing = batch.isDrawing();
+        if (drawing) batch.end();
+
+        combined.set(batch.getProjectionMatrix()).mul(batch.getTransformMatrix()).translate(x, y, 0f);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFuncSeparate(batch.getBlendSrcFunc(), batch.getBlendDstFunc(),
+                batch.getBlendSrcFuncAlpha(), batch.getBlendDstFuncAlpha());
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", combined);
+        shader.setUniformf("u_time", time);
+        shader.setUniformf("u_tint", batch.getColor());
+        shader.setUniformi("u_texture", 0);
+        if (font.getDistanceField() != Font.DistanceFieldType.STANDARD && shader.hasUniform("u_smoothing")) {
+            shader.setUniformf("u_smoothing", (font.getDistanceField() == Font.DistanceFieldType.MSDF ? 8f : 4f)
+                    * font.actualCrispness * Math.max(font.cellHeight / font.originalCellHeight, font.cellWidth / font.originalCellWidth));
+        }
+        Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0);
+        for (int r = 0; r < runTextures.size; r++) {
+            int start = runStarts.get(r);
+            int end = r + 1 < runStarts.size ? runStarts.get(r + 1) : quadCount;
+            Texture texture = runTextures.get(r);
+            if (texture != null) texture.bind();
+            mesh.render(shader, GL20.GL_TRIANGLES, start * 6, (end - start) * 6);
+        }
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+
+        if (drawing) batch.begin();
+    }
+
+    @Override
+    public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
+        }
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+        dirty = true;
+    }
+
+    /**
+     * A Batch that only records the quads given to {@link #draw(Texture, float[], int, int)}, which is all
+     * {@link Font#drawGlyph(Batch, long, float, float, float, float, float, int, float)} uses to draw.
+     */
+    static final class QuadRecorder implements Batch {
+        final FloatArray quads = new FloatArray(20 * 64);
+        final Array<Texture> textures = new Array<>(false, 64);
+        private final Color color = new Color(Color.WHITE);
+        private final Matrix4 projection = new Matrix4(), transform = new Matrix4();
+        private ShaderProgram shader;
+
+        @Override
+        public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            for (int i = 0; i + 20 <= count; i += 20) {
+                quads.addAll(spriteVertices, offset + i, 20);
+                textures.add(texture);
+            }
+        }
+
+        @Override
+        public Color getColor() {
+            return color;
+        }
+
+        @Override
+        public float getPackedColor() {
+            return color.toFloatBits();
+        }
+
+        @Override
+        public Matrix4 getProjectionMatrix() {
+            return projection;
+        }
+
+        @Override
+        public Matrix4 getTransformMatrix() {
+            return transform;
+        }
+
+        @Override
+        public ShaderProgram getShader() {
+            return shader;
+        }
+
+        @Override
+        public void setShader(ShaderProgram shader) {
+            this.shader = shader;
+        }
+
+        @Override public void begin() {}
+        @Override public void end() {}
+        @Override public void setColor(Color tint) {}
+        @Override public void setColor(float r, float g, float b, float a) {}
+        @Override public void setPackedColor(float packedColor) {}
+        @Override public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {}
+        @Override public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {}
+        @Override public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {}
+        @Override public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {}
+        @Override public void draw(Texture texture, float x, float y) {}
+        @Override public void draw(Texture texture, float x, float y, float width, float height) {}
+        @Override public void draw(TextureRegion region, float x, float y) {}
+        @Override public void draw(TextureRegion region, float x, float y, float width, float height) {}
+        @Override public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {}
+        @Override public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {}
+        @Override public void draw(TextureRegion region, float width, float height, Affine2 transform) {}
+        @Override public void flush() {}
+        @Override public void disableBlending() {}
+        @Override public void enableBlending() {}
+        @Override public void setBlendFunction(int srcFunc, int dstFunc) {}
+        @Override public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {}
+        @Override public int getBlendSrcFunc() { return GL20.GL_SRC_ALPHA; }
+        @Override public int getBlendDstFunc() { return GL20.GL_ONE_MINUS_SRC_ALPHA; }
+        @Override public int getBlendSrcFuncAlpha() { return GL20.GL_SRC_ALPHA; }
+        @Override public int getBlendDstFuncAlpha() { return GL20.GL_ONE_MINUS_SRC_ALPHA; }
+        @Override public void setProjectionMatrix(Matrix4 projection) {}
+        @Override public void setTransformMatrix(Matrix4 transform) {}
+        @Override public boolean isBlendingEnabled() { return true; }
+        @Override public boolean isDrawing() { return true; }
+        @Override public void dispose() {}
+    }
+}
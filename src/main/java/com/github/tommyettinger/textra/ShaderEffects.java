@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * Shader source code and a matching CPU reference implementation for evaluating some {@link Effect}s on the GPU, as
+ * used by {@link ShaderEffectMesh}. Effects that can be evaluated this way override
+ * {@link Effect#encodeShaderParams(int, float, float[], int)}; currently these are {@code WAVE}, {@code JUMP},
+ * {@code RAINBOW}, and {@code GRADIENT}, when they have no duration. Other effects, such as {@code SHAKE}, depend on
+ * random numbers or on state from previous frames, and can't be evaluated from time alone.
+ * <br>
+ * Each glyph is described by {@link #PARAMS_PER_GLYPH} floats, which become two vec4 vertex attributes:
+ * <ul>
+ *     <li>{@link #EFFECT_ATTRIBUTE}: the effect ID (such as {@link #WAVE}), the phase, the rate, and the amplitude.
+ *     The progress of the effect is {@code time * rate + phase}, which either ping-pongs between 0 and 1 or wraps
+ *     around, depending on the effect. The amplitude is in world units, and already includes the line height.</li>
+ *     <li>{@link #EXTRA_ATTRIBUTE}: four floats that depend on the effect. {@link #RAINBOW} uses saturation and
+ *     lightness; {@link #GRADIENT} uses two RGBA8888 colors, each split into two 16-bit halves.</li>
+ * </ul>
+ * The methods {@link #offsetY(float[], int, float)} and {@link #color(float[], int, float, int)} do the same math as the
+ * vertex shader, so the encoding can be checked without a GPU.
+ */
+public final class ShaderEffects {
+    private ShaderEffects() {
+    }
+
+    /**
+     * The effect ID for glyphs that aren't animated by the shader.
+     */
+    public static final int NONE = 0;
+    /**
+     * The effect ID for {@link com.github.tommyettinger.textra.effects.WaveEffect}.
+     */
+    public static final int WAVE = 1;
+    /**
+     * The effect ID for {@link com.github.tommyettinger.textra.effects.JumpEffect}.
+     */
+    public static final int JUMP = 2;
+    /**
+     * The effect ID for {@link com.github.tommyettinger.textra.effects.RainbowEffect}.
+     */
+    public static final int RAINBOW = 3;
+    /**
+     * The effect ID for {@link com.github.tommyettinger.textra.effects.GradientEffect}.
+     */
+    public static final int GRADIENT = 4;
+
+    /**
+     * How many floats {@link Effect#encodeShaderParams(int, float, float[], int)} writes per glyph.
+     */
+    public static final int PARAMS_PER_GLYPH = 8;
+
+    /**
+     * The name of the vec4 attribute holding the effect ID, phase, rate, and amplitude.
+     */
+    public static final String EFFECT_ATTRIBUTE = "a_effect";
+    /**
+     * The name of the vec4 attribute holding any extra parameters for an effect.
+     */
+    public static final String EXTRA_ATTRIBUTE = "a_effectExtra";
+
+    /**
+     * Gets the progress of the effect described by {@code params} at the given time, between 0 and 1.
+     * @param params encoded effect parameters
+     * @param offset where the parameters for one glyph start in params
+     * @param time the time, in seconds
+     * @return the progress of the effect, from 0 to 1
+     */
+    public static float progress(float[] params, int offset, float time) {
+        float p = time * params[offset + 2] + params[offset + 1];
+        int id = (int) params[offset];
+        if (id == WAVE || id == GRADIENT) {
+            p -= 2f * (float) Math.floor(p * 0.5f);
+            if (p > 1f) p = 2f - p;
+        } else {
+            p -= (float) Math.floor(p);
+        }
+        return p;
+    }
+
+    /**
+     * Does the same thing as the vertex shader to get how far the glyph with the given encoded parameters should move
+     * on y at the given time. This is 0 for effects that don't move glyphs.
+     * @param params encoded effect parameters
+     * @param offset where the parameters for one glyph start in params
+     * @param time the time, in seconds
+     * @return the y-offset of the glyph, in world units
+     */
+    public static float offsetY(float[] params, int offset, float time) {
+        int id = (int) params[offset];
+        if (id == WAVE) {
+            return params[offset + 3] * -(float) Math.cos(Math.PI * progress(params, offset, time));
+        } else if (id == JUMP) {
+            float p = progress(params, offset, time);
+            float t;
+            if (p < 0.2f) {
+                t = p / 0.2f - 1f;
+                t = 1f - t * t;
+            } else {
+                t = 1f - bounceOut((p - 0.2f) / 0.8f);
+            }
+            return params[offset + 3] * t;
+        }
+        return 0f;
+    }
+
+    /**
+     * Does the same thing as the vertex shader to get the color of the glyph with the given encoded parameters, at the
+     * given time. If the effect doesn't change color, this returns {@code rgba} unchanged.
+     * @param params encoded effect parameters
+     * @param offset where the parameters for one glyph start in params
+     * @param time the time, in seconds
+     * @param rgba the color the glyph would have without the effect, as RGBA8888
+     * @return the color of the glyph, as RGBA8888
+     */
+    public static int color(float[] params, int offset, float time, int rgba) {
+        int id = (int) params[offset];
+        if (id == RAINBOW) {
+            float p = progress(params, offset, time);
+            float s = params[offset + 4], l = params[offset + 5];
+            float v = l + s * Math.min(l, 1f - l);
+            float d = 2f * (1f - l / (v + 1e-10f));
+            return Color.rgba8888(v * (1f + (hueChannel(p) - 1f) * d),
+                    v * (1f + (hueChannel(p + 2f / 3f) - 1f) * d),
+                    v * (1f + (hueChannel(p + 1f / 3f) - 1f) * d), 1f);
+        } else if (id == GRADIENT) {
+            float p = progress(params, offset, time);
+            int s = (int) params[offset + 4] << 16 | (int) params[offset + 5];
+            int e = (int) params[offset + 6] << 16 | (int) params[offset + 7];
+            return Color.rgba8888(
+                    ((s >>> 24) + p * ((e >>> 24) - (s >>> 24))) / 255f,
+                    ((s >>> 16 & 255) + p * ((e >>> 16 & 255) - (s >>> 16 & 255))) / 255f,
+                    ((s >>> 8 & 255) + p * ((e >>> 8 & 255) - (s >>> 8 & 255))) / 255f,
+                    ((s & 255) + p * ((e & 255) - (s & 255))) / 255f);
+        }
+        return rgba;
+    }
+
+    private static float hueChannel(float h) {
+        h -= (float) Math.floor(h);
+        return Math.min(Math.max(Math.abs(h * 6f - 3f) - 1f, 0f), 1f);
+    }
+
+    /**
+     * The same as {@link com.badlogic.gdx.math.Interpolation#bounceOut}, written out without arrays, as the shader
+     * does it.
+     */
+    private static float bounceOut(float a) {
+        if (a >= 1f) return 1f;
+        a += 0.34f;
+        float w, h;
+        if (a <= 0.68f) {
+            w = 0.68f;
+            h = 1f;
+        } else if ((a -= 0.68f) <= 0.34f) {
+            w = 0.34f;
+            h = 0.26f;
+        } else if ((a -= 0.34f) <= 0.2f) {
+            w = 0.2f;
+            h = 0.11f;
+        } else if ((a -= 0.2f) <= 0.15f) {
+            w = 0.15f;
+            h = 0.03f;
+        } else {
+            w = 0.15f;
+            h = 0f;
+        }
+        a /= w;
+        float z = 4f / w * h * a;
+        return 1f - (z - z * a) * w;
+    }
+
+    /**
+     * The vertex shader used by {@link ShaderEffectMesh}. It has the same varyings as {@link Font#vertexShader}, so it
+     * can be used with any of the fragment shaders in {@link Font}, as well as {@link #fragmentShader()}. It also has
+     * a {@code u_time} uniform for the time in seconds, and a {@code u_tint} uniform that multiplies every color, like
+     * the color of a Batch would.
+     * @return vertex shader source code
+     */
+    public static String vertexShader() {
+        return    "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+                + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+                + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+                + "attribute vec4 " + EFFECT_ATTRIBUTE + ";\n"
+                + "attribute vec4 " + EXTRA_ATTRIBUTE + ";\n"
+                + "uniform mat4 u_projTrans;\n"
+                + "uniform float u_time;\n"
+                + "uniform vec4 u_tint;\n"
+                + "varying vec4 v_color;\n"
+                + "varying vec2 v_texCoords;\n"
+                + "\n"
+                + "float bounceOut(float a) {\n"
+                + "    if (a >= 1.0) return 1.0;\n"
+                + "    a += 0.34;\n"
+                + "    float w = 0.15;\n"
+                + "    float h = 0.0;\n"
+                + "    if (a <= 0.68) { w = 0.68; h = 1.0; }\n"
+                + "    else if ((a -= 0.68) <= 0.34) { w = 0.34; h = 0.26; }\n"
+                + "    else if ((a -= 0.34) <= 0.2) { w = 0.2; h = 0.11; }\n"
+                + "    else if ((a -= 0.2) <= 0.15) { w = 0.15; h = 0.03; }\n"
+                + "    a /= w;\n"
+                + "    float z = 4.0 / w * h * a;\n"
+                + "    return 1.0 - (z - z * a) * w;\n"
+                + "}\n"
+                + "\n"
+                + "vec4 unpackColor(float hi, float lo) {\n"
+                + "    return vec4(floor(hi / 256.0), mod(hi, 256.0), floor(lo / 256.0), mod(lo, 256.0)) / 255.0;\n"
+                + "}\n"
+                + "\n"
+                + "void main() {\n"
+                + "    float id = " + EFFECT_ATTRIBUTE + ".x;\n"
+                + "    float p = u_time * " + EFFECT_ATTRIBUTE + ".z + " + EFFECT_ATTRIBUTE + ".y;\n"
+                + "    vec4 pos = " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+                + "    vec4 color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+                + "    color.a = color.a * (255.0/254.0);\n"
+                + "    if (id > 0.5) {\n"
+                + "        if (id < 1.5 || (id > 3.5 && id < 4.5)) {\n"
+                + "            p = mod(p, 2.0);\n"
+                + "            if (p > 1.0) p = 2.0 - p;\n"
+                + "        } else {\n"
+                + "            p = fract(p);\n"
+                + "        }\n"
+                + "        if (id < 1.5) {\n"
+                + "            pos.y += " + EFFECT_ATTRIBUTE + ".w * -cos(3.14159265 * p);\n"
+                + "        } else if (id < 2.5) {\n"
+                + "            float t = p / 0.2 - 1.0;\n"
+                + "            t = p < 0.2 ? 1.0 - t * t : 1.0 - bounceOut((p - 0.2) / 0.8);\n"
+                + "            pos.y += " + EFFECT_ATTRIBUTE + ".w * t;\n"
+                + "        } else if (id < 3.5) {\n"
+                + "            float s = " + EXTRA_ATTRIBUTE + ".x;\n"
+                + "            float l = " + EXTRA_ATTRIBUTE + ".y;\n"
+                + "            vec3 hue = clamp(abs(fract(p + vec3(0.0, 2.0/3.0, 1.0/3.0)) * 6.0 - 3.0) - 1.0, 0.0, 1.0);\n"
+                + "            float v = l + s * min(l, 1.0 - l);\n"
+                + "            float d = 2.0 * (1.0 - l / (v + 1e-10));\n"
+                + "            color.rgb = v * mix(vec3(1.0), hue, d);\n"
+                + "        } else {\n"
+                + "            color = mix(unpackColor(" + EXTRA_ATTRIBUTE + ".x, " + EXTRA_ATTRIBUTE + ".y),\n"
+                + "                        unpackColor(" + EXTRA_ATTRIBUTE + ".z, " + EXTRA_ATTRIBUTE + ".w), p);\n"
+                + "        }\n"
+                + "    }\n"
+                + "    v_color = color * u_tint;\n"
+                + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+                + "    gl_Position = u_projTrans * pos;\n"
+                + "}\n";
+    }
+
+    /**
+     * A plain fragment shader that multiplies the vertex color by the texture color, for fonts that don't use a
+     * distance field.
+     * @return fragment shader source code
+     */
+    public static String fragmentShader() {
+        return    "#ifdef GL_ES\n"
+                + "#define LOWP lowp\n"
+                + "precision mediump float;\n"
+                + "#else\n"
+                + "#define LOWP\n"
+                + "#endif\n"
+                + "varying LOWP vec4 v_color;\n"
+                + "varying vec2 v_texCoords;\n"
+                + "uniform sampler2D u_texture;\n"
+                + "\n"
+                + "void main() {\n"
+                + "    gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n"
+                + "}\n";
+    }
+}
@@ -0,0 +1,948 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Batch} that draws into an int array of RGBA8888 pixels in memory instead of onto the screen, so text can be
+ * rendered to an image without a GPU. It can be used anywhere a SpriteBatch would be, such as with
+ * {@link Font#drawGlyphs(Batch, Layout, float, float)} or {@link TextraLabel#draw(Batch, float)}, and the result can
+ * be read with {@link #getPixels()} or copied into a Pixmap with {@link #toPixmap()} (which can then be written to a
+ * PNG with {@link com.badlogic.gdx.graphics.PixmapIO#writePNG(com.badlogic.gdx.files.FileHandle, Pixmap)}). On a
+ * headless backend, call {@link HeadlessGL20#install()} before creating any Font, so its Textures can exist, and
+ * leave {@link Font#canUseTextures} set to true.
+ * <br>
+ * Each Texture's pixels are read the first time it is drawn, from the image file it was loaded from, or from its
+ * Pixmap if it still has one. If neither is available (such as for {@link Font#whiteBlock}, which is drawn into after
+ * it is created), the Texture is treated as solid white; {@link #setPixels(Texture, Pixmap)} can give the right
+ * pixels for any Texture. Textures use bilinear filtering unless their mag filter is Nearest, and always clamp to the
+ * edge.
+ * <br>
+ * Shaders aren't run. Instead, textures that belong to an SDF, SDF_OUTLINE, or MSDF Font passed to
+ * {@link #addFont(Font)} are drawn using the same math as {@link Font#sdfFragmentShader},
+ * {@link Font#sdfBlackOutlineFragmentShader}, and {@link Font#msdfFragmentShader}; their smoothing comes from how
+ * large each glyph is drawn compared to its size in the texture, times the Font's
+ * {@link Font#distanceFieldCrispness}. Everything else is drawn like the default SpriteBatch shader does, multiplying
+ * the texture by the vertex color. Blending, when enabled, is always non-premultiplied "source over" blending, which
+ * matches the default {@code GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA} on an opaque background and also keeps alpha
+ * correct on a transparent one; the blend functions can be set, but are only stored.
+ * <br>
+ * Draw calls are recorded, and drawn when the batch is flushed or ended. By default, everything is drawn on the thread
+ * that flushes. If {@link #setThreads(int)} or the three-argument constructor allows more than one thread, the image
+ * is split into bands of rows, and bands are drawn on up to that many threads; because every band draws its quads in
+ * the order they were submitted, and no two bands share a pixel, the result is the same no matter how many threads
+ * are used. The default projection maps world coordinates to pixels with y going up, the same as a SpriteBatch
+ * filling a screen of this size; row 0 of the pixels is the top of the image, as in a Pixmap.
+ */
+public class SoftwareBatch implements Batch {
+    /**
+     * How many floats are stored for each quad: 8 for each of the 4 vertices (x, y, r, g, b, a, u, v, with x and y
+     * in pixels), then the distance field mode, the smoothing, and whether blending is enabled.
+     */
+    private static final int QUAD_SIZE = 35;
+    private static final int MODE_STANDARD = 0, MODE_SDF = 1, MODE_SDF_OUTLINE = 2, MODE_MSDF = 3;
+    /**
+     * Below this many quads in a flush, everything is drawn on the calling thread.
+     */
+    private static final int MIN_PARALLEL_QUADS = 64;
+
+    /**
+     * The width and height of the image this draws into, in pixels.
+     */
+    public final int width, height;
+    private final int[] pixels;
+
+    private float[] quads = new float[QUAD_SIZE * 128];
+    private Sampler[] samplers = new Sampler[128];
+    private int quadCount = 0;
+    private final float[] vertices = new float[20];
+    private final float[] texel = new float[4];
+
+    private final ObjectMap<Texture, Sampler> samplersByTexture = new ObjectMap<>(8);
+    private final ObjectMap<Texture, Font> distanceFieldFonts = new ObjectMap<>(8);
+
+    private final Matrix4 projectionMatrix = new Matrix4();
+    private final Matrix4 transformMatrix = new Matrix4();
+    private final Matrix4 combinedMatrix = new Matrix4();
+
+    private final Color color = new Color(1, 1, 1, 1);
+    private float colorPacked = Color.WHITE_FLOAT_BITS;
+
+    private boolean drawing = false;
+    private boolean blendingDisabled = false;
+    private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+    private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private int blendSrcFuncAlpha = GL20.GL_SRC_ALPHA;
+    private int blendDstFuncAlpha = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private ShaderProgram shader = null;
+
+    private int threads;
+    private AsyncExecutor executor;
+
+    /**
+     * Creates a SoftwareBatch drawing into a transparent image of the given size, drawing only on the thread that
+     * flushes.
+     * @param width the width of the image in pixels; must be positive
+     * @param height the height of the image in pixels; must be positive
+     */
+    public SoftwareBatch(int width, int height) {
+        this(width, height, 1);
+    }
+
+    /**
+     * Creates a SoftwareBatch drawing into a transparent image of the given size, using up to {@code threads}
+     * threads.
+     * @param width the width of the image in pixels; must be positive
+     * @param height the height of the image in pixels; must be positive
+     * @param threads the most threads to draw with; 1 or less draws only on the thread that flushes
+     */
+    public SoftwareBatch(int width, int height, int threads) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("The image size must be positive, but was " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+        this.threads = Math.max(1, threads);
+        pixels = new int[width * height];
+        projectionMatrix.setToOrtho2D(0, 0, width, height);
+        combinedMatrix.set(projectionMatrix);
+    }
+
+    /**
+     * Registers the Textures used by {@code font}, and by any Fonts in its {@link Font#family}, so that distance field
+     * Fonts are drawn with their distance field effect. This doesn't need to be called for standard Fonts, but it
+     * does no harm. If the same Texture is used by more than one distance field Font, the last one added is used.
+     * @param font a Font that will be drawn with this batch
+     * @return this, for chaining
+     */
+    public SoftwareBatch addFont(Font font) {
+        if (font == null) return this;
+        if (font.family != null) {
+            for (Font member : font.family.connected) {
+                if (member != null && member != font) addFontTextures(member);
+            }
+        }
+        addFontTextures(font);
+        return this;
+    }
+
+    private void addFontTextures(Font font) {
+        if (font.parents == null) return;
+        for (TextureRegion parent : font.parents) {
+            Texture texture = parent == null ? null : parent.getTexture();
+            if (texture == null) continue;
+            if (font.getDistanceField() == Font.DistanceFieldType.STANDARD) distanceFieldFonts.remove(texture);
+            else distanceFieldFonts.put(texture, font);
+        }
+    }
+
+    /**
+     * Sets the pixels this uses when drawing {@code texture}, copying them from {@code pixmap}. This is only needed
+     * when the Texture's own pixels can't be read, or to draw different pixels than the Texture has. If the Pixmap
+     * is a different size from the Texture, the Pixmap is stretched to cover the same texture coordinates.
+     * @param texture the Texture to draw with different pixels
+     * @param pixmap a Pixmap with the pixels to draw; it is copied, and can be disposed after this
+     * @return this, for chaining
+     */
+    public SoftwareBatch setPixels(Texture texture, Pixmap pixmap) {
+        flush();
+        samplersByTexture.put(texture, new Sampler(pixmap, texture.getMagFilter() != Texture.TextureFilter.Nearest));
+        return this;
+    }
+
+    /**
+     * Gets the pixels this has drawn, as RGBA8888 ints in rows from top to bottom; this is the array this draws
+     * into, not a copy. Anything drawn since the last {@link #flush()} or {@link #end()} isn't in it yet.
+     * @return the int array of RGBA8888 pixels, with {@link #width} times {@link #height} items
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    /**
+     * Fills the whole image with one color, and discards anything drawn but not yet flushed.
+     * @param rgba an RGBA8888 color, such as {@code 0xFFFFFFFF} for opaque white or 0 for transparent
+     * @return this, for chaining
+     */
+    public SoftwareBatch clear(int rgba) {
+        quadCount = 0;
+        Arrays.fill(pixels, rgba);
+        return this;
+    }
+
+    /**
+     * Copies the pixels drawn so far into a new RGBA8888 Pixmap, which the caller is responsible for disposing.
+     * This flushes first.
+     * @return a new Pixmap with the same size and contents as this image
+     */
+    public Pixmap toPixmap() {
+        flush();
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        ByteBuffer buffer = pixmap.getPixels();
+        for (int i = 0, b = 0; i < pixels.length; i++) {
+            int c = pixels[i];
+            buffer.put(b++, (byte) (c >>> 24));
+            buffer.put(b++, (byte) (c >>> 16));
+            buffer.put(b++, (byte) (c >>> 8));
+            buffer.put(b++, (byte) c);
+        }
+        return pixmap;
+    }
+
+    /**
+     * Gets the most threads this will draw with at once.
+     * @return the thread count, at least 1
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the most threads this will draw with at once. This flushes first.
+     * @param threads the most threads to draw with; 1 or less draws only on the thread that flushes
+     * @return this, for chaining
+     */
+    public SoftwareBatch setThreads(int threads) {
+        flush();
+        threads = Math.max(1, threads);
+        if (threads != this.threads && executor != null) {
+            executor.dispose();
+            executor = null;
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    @Override
+    public void begin() {
+        if (drawing) throw new IllegalStateException("SoftwareBatch.end must be called before begin.");
+        // Like SpriteBatch, pick up any changes made directly to the matrices from getProjectionMatrix() and others.
+        combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+        drawing = true;
+    }
+
+    @Override
+    public void end() {
+        if (!drawing) throw new IllegalStateException("SoftwareBatch.begin must be called before end.");
+        flush();
+        drawing = false;
+    }
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+        colorPacked = tint.toFloatBits();
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+        colorPacked = color.toFloatBits();
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+        colorPacked = packedColor;
+    }
+
+    @Override
+    public float getPackedColor() {
+        return colorPacked;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                     boolean flipX, boolean flipY) {
+        float invTexWidth = 1f / texture.getWidth(), invTexHeight = 1f / texture.getHeight();
+        float u = srcX * invTexWidth, v = (srcY + srcHeight) * invTexHeight;
+        float u2 = (srcX + srcWidth) * invTexWidth, v2 = srcY * invTexHeight;
+        if (flipX) {
+            float tmp = u;
+            u = u2;
+            u2 = tmp;
+        }
+        if (flipY) {
+            float tmp = v;
+            v = v2;
+            v2 = tmp;
+        }
+        transformed(texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, u, v, u, v2, u2, v2, u2, v);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+                     int srcHeight, boolean flipX, boolean flipY) {
+        float invTexWidth = 1f / texture.getWidth(), invTexHeight = 1f / texture.getHeight();
+        float u = srcX * invTexWidth, v = (srcY + srcHeight) * invTexHeight;
+        float u2 = (srcX + srcWidth) * invTexWidth, v2 = srcY * invTexHeight;
+        if (flipX) {
+            float tmp = u;
+            u = u2;
+            u2 = tmp;
+        }
+        if (flipY) {
+            float tmp = v;
+            v = v2;
+            v2 = tmp;
+        }
+        draw(texture, x, y, width, height, u, v, u2, v2);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        float invTexWidth = 1f / texture.getWidth(), invTexHeight = 1f / texture.getHeight();
+        draw(texture, x, y, srcWidth, srcHeight, srcX * invTexWidth, (srcY + srcHeight) * invTexHeight,
+                (srcX + srcWidth) * invTexWidth, srcY * invTexHeight);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        final float fx2 = x + width, fy2 = y + height;
+        quad(texture, x, y, u, v, x, fy2, u, v2, fx2, fy2, u2, v2, fx2, y, u2, v);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+        draw(texture, x, y, texture.getWidth(), texture.getHeight());
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        draw(texture, x, y, width, height, 0f, 1f, 1f, 0f);
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        if (!drawing) throw new IllegalStateException("SoftwareBatch.begin must be called before draw.");
+        for (int end = offset + count - 19; offset < end; offset += 20) {
+            add(texture, spriteVertices, offset);
+        }
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+        draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        draw(region.getTexture(), x, y, width, height, region.getU(), region.getV2(), region.getU2(), region.getV());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation) {
+        float u = region.getU(), v = region.getV2(), u2 = region.getU2(), v2 = region.getV();
+        transformed(region.getTexture(), x, y, originX, originY, width, height, scaleX, scaleY, rotation,
+                u, v, u, v2, u2, v2, u2, v);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, boolean clockwise) {
+        float u = region.getU(), v = region.getV(), u2 = region.getU2(), v2 = region.getV2();
+        if (clockwise)
+            transformed(region.getTexture(), x, y, originX, originY, width, height, scaleX, scaleY, rotation,
+                    u2, v2, u, v2, u, v, u2, v);
+        else
+            transformed(region.getTexture(), x, y, originX, originY, width, height, scaleX, scaleY, rotation,
+                    u, v, u2, v, u2, v2, u, v2);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        float u = region.getU(), v = region.getV2(), u2 = region.getU2(), v2 = region.getV();
+        quad(region.getTexture(),
+                transform.m02, transform.m12, u, v,
+                transform.m01 * height + transform.m02, transform.m11 * height + transform.m12, u, v2,
+                transform.m00 * width + transform.m01 * height + transform.m02,
+                transform.m10 * width + transform.m11 * height + transform.m12, u2, v2,
+                transform.m00 * width + transform.m02, transform.m10 * width + transform.m12, u2, v);
+    }
+
+    /**
+     * Finds the corners of a scaled and rotated rectangle the same way SpriteBatch does, then draws it with the given
+     * texture coordinates at each corner, starting at the lower left and going clockwise.
+     */
+    private void transformed(Texture texture, float x, float y, float originX, float originY, float width,
+                             float height, float scaleX, float scaleY, float rotation,
+                             float u1, float v1, float u2, float v2, float u3, float v3, float u4, float v4) {
+        final float worldOriginX = x + originX, worldOriginY = y + originY;
+        float fx = -originX, fy = -originY, fx2 = width - originX, fy2 = height - originY;
+        if (scaleX != 1 || scaleY != 1) {
+            fx *= scaleX;
+            fy *= scaleY;
+            fx2 *= scaleX;
+            fy2 *= scaleY;
+        }
+        float x1, y1, x2, y2, x3, y3, x4, y4;
+        if (rotation != 0) {
+            final float cos = MathUtils.cosDeg(rotation), sin = MathUtils.sinDeg(rotation);
+            x1 = cos * fx - sin * fy;
+            y1 = sin * fx + cos * fy;
+            x2 = cos * fx - sin * fy2;
+            y2 = sin * fx + cos * fy2;
+            x3 = cos * fx2 - sin * fy2;
+            y3 = sin * fx2 + cos * fy2;
+            x4 = x1 + (x3 - x2);
+            y4 = y3 - (y2 - y1);
+        } else {
+            x1 = fx;
+            y1 = fy;
+            x2 = fx;
+            y2 = fy2;
+            x3 = fx2;
+            y3 = fy2;
+            x4 = fx2;
+            y4 = fy;
+        }
+        quad(texture, x1 + worldOriginX, y1 + worldOriginY, u1, v1, x2 + worldOriginX, y2 + worldOriginY, u2, v2,
+                x3 + worldOriginX, y3 + worldOriginY, u3, v3, x4 + worldOriginX, y4 + worldOriginY, u4, v4);
+    }
+
+    private void quad(Texture texture, float x1, float y1, float u1, float v1, float x2, float y2, float u2, float v2,
+                      float x3, float y3, float u3, float v3, float x4, float y4, float u4, float v4) {
+        if (!drawing) throw new IllegalStateException("SoftwareBatch.begin must be called before draw.");
+        final float[] vertices = this.vertices;
+        final float color = colorPacked;
+        vertices[0] = x1;
+        vertices[1] = y1;
+        vertices[2] = color;
+        vertices[3] = u1;
+        vertices[4] = v1;
+
+        vertices[5] = x2;
+        vertices[6] = y2;
+        vertices[7] = color;
+        vertices[8] = u2;
+        vertices[9] = v2;
+
+        vertices[10] = x3;
+        vertices[11] = y3;
+        vertices[12] = color;
+        vertices[13] = u3;
+        vertices[14] = v3;
+
+        vertices[15] = x4;
+        vertices[16] = y4;
+        vertices[17] = color;
+        vertices[18] = u4;
+        vertices[19] = v4;
+        add(texture, vertices, 0);
+    }
+
+    /**
+     * Records one quad, given as 20 floats in the format {@link Font#drawVertices(Batch, Texture, float[])} uses,
+     * projecting its corners to pixels and working out how its texture should be drawn.
+     */
+    private void add(Texture texture, float[] v, int offset) {
+        if (texture == null) return;
+        Sampler sampler = samplersByTexture.get(texture);
+        if (sampler == null) {
+            sampler = Sampler.of(texture);
+            samplersByTexture.put(texture, sampler);
+        }
+        if (quadCount == samplers.length) {
+            samplers = Arrays.copyOf(samplers, quadCount << 1);
+            quads = Arrays.copyOf(quads, samplers.length * QUAD_SIZE);
+        }
+        final float[] m = combinedMatrix.val;
+        final float[] q = quads;
+        int start = quadCount * QUAD_SIZE;
+        for (int i = 0, o = start; i < 4; i++, o += 8) {
+            int s = offset + i * 5;
+            float x = v[s], y = v[s + 1];
+            float w = m[Matrix4.M30] * x + m[Matrix4.M31] * y + m[Matrix4.M33];
+            q[o] = ((m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M03]) / w + 1f) * 0.5f * width;
+            q[o + 1] = (1f - (m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M13]) / w) * 0.5f * height;
+            int c = NumberUtils.floatToIntColor(v[s + 2]);
+            q[o + 2] = (c & 255) / 255f;
+            q[o + 3] = (c >>> 8 & 255) / 255f;
+            q[o + 4] = (c >>> 16 & 255) / 255f;
+            // The default vertex shader, and all the ones Font uses, scale alpha like this.
+            q[o + 5] = Math.min(1f, (c >>> 24) / 254f);
+            q[o + 6] = v[s + 3];
+            q[o + 7] = v[s + 4];
+        }
+        int mode = MODE_STANDARD;
+        float smoothing = 0f;
+        Font font = distanceFieldFonts.get(texture);
+        if (font != null) {
+            Font.DistanceFieldType type = font.getDistanceField();
+            if (type == Font.DistanceFieldType.MSDF) mode = MODE_MSDF;
+            else if (type == Font.DistanceFieldType.SDF) mode = MODE_SDF;
+            else if (type == Font.DistanceFieldType.SDF_OUTLINE) mode = MODE_SDF_OUTLINE;
+            if (mode != MODE_STANDARD) {
+                // Font multiplies its crispness by how much it is scaled up; here, that is measured directly as
+                // pixels drawn per texel, along each side of the quad.
+                float across = texelScale(q, start, start + 24, sampler), up = texelScale(q, start, start + 8, sampler);
+                smoothing = (mode == MODE_MSDF ? 8f : 4f) * font.distanceFieldCrispness * Math.max(across, up);
+                if (smoothing <= 0f) mode = MODE_STANDARD;
+            }
+        }
+        q[start + 32] = mode;
+        q[start + 33] = smoothing;
+        q[start + 34] = blendingDisabled ? 0f : 1f;
+        samplers[quadCount++] = sampler;
+    }
+
+    /**
+     * Gets how many pixels long the edge between two recorded vertices is, divided by how many texels long it is.
+     */
+    private static float texelScale(float[] q, int from, int to, Sampler sampler) {
+        float du = (q[to + 6] - q[from + 6]) * sampler.width, dv = (q[to + 7] - q[from + 7]) * sampler.height;
+        float texels = du * du + dv * dv;
+        if (texels == 0f) return 0f;
+        float dx = q[to] - q[from], dy = q[to + 1] - q[from + 1];
+        return (float) Math.sqrt((dx * dx + dy * dy) / texels);
+    }
+
+    @Override
+    public void flush() {
+        final int count = quadCount;
+        if (count == 0) return;
+        quadCount = 0;
+        if (threads <= 1 || count < MIN_PARALLEL_QUADS || height < threads * 2) {
+            drawRows(count, 0, height, texel);
+            return;
+        }
+        if (executor == null) executor = new AsyncExecutor(threads, "SoftwareBatch");
+        int bands = Math.min(threads * 4, height);
+        Array<AsyncResult<Void>> results = new Array<>(false, bands);
+        for (int b = 0; b < bands; b++) {
+            final int top = height * b / bands, bottom = height * (b + 1) / bands;
+            results.add(executor.submit(() -> {
+                drawRows(count, top, bottom, new float[4]);
+                return null;
+            }));
+        }
+        for (AsyncResult<Void> result : results) {
+            result.get();
+        }
+    }
+
+    /**
+     * Draws the first {@code count} recorded quads, only touching rows from {@code top} inclusive to
+     * {@code bottom} exclusive. Each quad is drawn as the two triangles SpriteBatch uses, 0-1-2 and 2-3-0.
+     * {@code texel} is scratch space that no other thread is using.
+     */
+    private void drawRows(int count, int top, int bottom, float[] texel) {
+        for (int i = 0, start = 0; i < count; i++, start += QUAD_SIZE) {
+            if (!rectangle(start, top, bottom, samplers[i], texel)) {
+                triangle(start, 0, 1, 2, top, bottom, samplers[i], texel);
+                triangle(start, 2, 3, 0, top, bottom, samplers[i], texel);
+            }
+        }
+    }
+
+    /**
+     * Draws a quad the fast way if it is an upright rectangle with one color and unrotated texture coordinates, which
+     * almost every glyph is; this covers exactly the pixels its two triangles would.
+     * @return true if the quad was drawn (or is outside those rows), false if it has to be drawn as triangles
+     */
+    private boolean rectangle(int start, int top, int bottom, Sampler sampler, float[] texel) {
+        final float[] q = quads;
+        final int v1 = start + 8, v2 = start + 16, v3 = start + 24;
+        if (q[start] != q[v1] || q[v2] != q[v3] || q[start + 1] != q[v3 + 1] || q[v1 + 1] != q[v2 + 1]
+                || q[start + 6] != q[v1 + 6] || q[v2 + 6] != q[v3 + 6] || q[start + 7] != q[v3 + 7] || q[v1 + 7] != q[v2 + 7])
+            return false;
+        for (int c = 2; c < 6; c++) {
+            if (q[start + c] != q[v1 + c] || q[start + c] != q[v2 + c] || q[start + c] != q[v3 + c]) return false;
+        }
+        float left = q[start], right = q[v3], upper = q[v1 + 1], lower = q[start + 1];
+        float uLeft = q[start + 6], uRight = q[v3 + 6], vUpper = q[v1 + 7], vLower = q[start + 7];
+        if (left > right) {
+            float t = left; left = right; right = t;
+            t = uLeft; uLeft = uRight; uRight = t;
+        }
+        if (upper > lower) {
+            float t = upper; upper = lower; lower = t;
+            t = vUpper; vUpper = vLower; vLower = t;
+        }
+        if (left == right || upper == lower) return true;
+        // Pixel centers on the left or top edge are inside, and on the right or bottom edge are outside.
+        int minX = Math.max(0, (int) Math.ceil(left - 0.5f)), maxX = Math.min(width, (int) Math.ceil(right - 0.5f));
+        int minY = Math.max(top, (int) Math.ceil(upper - 0.5f)), maxY = Math.min(bottom, (int) Math.ceil(lower - 0.5f));
+        final float du = (uRight - uLeft) / (right - left), dv = (vLower - vUpper) / (lower - upper);
+        final float vr = q[start + 2], vg = q[start + 3], vb = q[start + 4], va = q[start + 5];
+        final int mode = (int) q[start + 32];
+        final float smoothing = q[start + 33];
+        final boolean blend = q[start + 34] != 0f;
+        for (int row = minY; row < maxY; row++) {
+            final float v = vUpper + (row + 0.5f - upper) * dv;
+            for (int col = minX; col < maxX; col++) {
+                sampler.sample(uLeft + (col + 0.5f - left) * du, v, texel);
+                shade(row * width + col, texel, vr, vg, vb, va, mode, smoothing, blend);
+            }
+        }
+        return true;
+    }
+
+    private static float edge(float ax, float ay, float bx, float by, float px, float py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    /**
+     * A pixel exactly on an edge belongs to only one of the two triangles sharing that edge, since they go along it
+     * in opposite directions.
+     */
+    private static boolean owns(float w, float ax, float ay, float bx, float by) {
+        return w > 0f || (w == 0f && (by > ay || (by == ay && bx < ax)));
+    }
+
+    private void triangle(int start, int ia, int ib, int ic, int top, int bottom, Sampler sampler, float[] texel) {
+        final float[] q = quads;
+        int a = start + ia * 8, b = start + ib * 8, c = start + ic * 8;
+        float ax = q[a], ay = q[a + 1], bx = q[b], by = q[b + 1], cx = q[c], cy = q[c + 1];
+        float area = edge(ax, ay, bx, by, cx, cy);
+        if (area == 0f || area != area) return;
+        if (area < 0f) {
+            int t = b;
+            b = c;
+            c = t;
+            bx = q[b];
+            by = q[b + 1];
+            cx = q[c];
+            cy = q[c + 1];
+            area = -area;
+        }
+        int minX = Math.max(0, (int) Math.floor(Math.min(ax, Math.min(bx, cx)) - 0.5f));
+        int maxX = Math.min(width - 1, (int) Math.ceil(Math.max(ax, Math.max(bx, cx)) - 0.5f));
+        int minY = Math.max(top, (int) Math.floor(Math.min(ay, Math.min(by, cy)) - 0.5f));
+        int maxY = Math.min(bottom - 1, (int) Math.ceil(Math.max(ay, Math.max(by, cy)) - 0.5f));
+        if (minX > maxX || minY > maxY) return;
+
+        final int mode = (int) q[start + 32];
+        final float smoothing = q[start + 33];
+        final boolean blend = q[start + 34] != 0f;
+        final float invArea = 1f / area;
+        for (int row = minY; row <= maxY; row++) {
+            final float py = row + 0.5f;
+            for (int col = minX; col <= maxX; col++) {
+                final float px = col + 0.5f;
+                float wa = edge(bx, by, cx, cy, px, py);
+                if (!owns(wa, bx, by, cx, cy)) continue;
+                float wb = edge(cx, cy, ax, ay, px, py);
+                if (!owns(wb, cx, cy, ax, ay)) continue;
+                float wc = edge(ax, ay, bx, by, px, py);
+                if (!owns(wc, ax, ay, bx, by)) continue;
+                wa *= invArea;
+                wb *= invArea;
+                wc *= invArea;
+                sampler.sample(wa * q[a + 6] + wb * q[b + 6] + wc * q[c + 6],
+                        wa * q[a + 7] + wb * q[b + 7] + wc * q[c + 7], texel);
+                shade(row * width + col, texel,
+                        wa * q[a + 2] + wb * q[b + 2] + wc * q[c + 2],
+                        wa * q[a + 3] + wb * q[b + 3] + wc * q[c + 3],
+                        wa * q[a + 4] + wb * q[b + 4] + wc * q[c + 4],
+                        wa * q[a + 5] + wb * q[b + 5] + wc * q[c + 5], mode, smoothing, blend);
+            }
+        }
+    }
+
+    /**
+     * Does what the fragment shader for {@code mode} would with the sampled texel and vertex color, then blends the
+     * result into the pixel at {@code index}.
+     */
+    private void shade(int index, float[] texel, float vr, float vg, float vb, float va, int mode, float smoothing,
+                       boolean blend) {
+        float sr, sg, sb, sa;
+        switch (mode) {
+            case MODE_SDF: {
+                float s = 0.4f / smoothing;
+                sa = va * smoothstep(0.5f - s, 0.5f + s, texel[3]);
+                if (blend && sa <= 0f) return;
+                sr = vr * texel[0];
+                sg = vg * texel[1];
+                sb = vb * texel[2];
+                break;
+            }
+            case MODE_SDF_OUTLINE: {
+                sa = va * smoothstep(0.0625f, 0.1625f, texel[3]);
+                if (blend && sa <= 0f) return;
+                float s = 0.4f / smoothing;
+                float outline = smoothstep(0.5f - s, 0.4f * s + 0.5f, texel[3]);
+                sr = vr * texel[0] * outline;
+                sg = vg * texel[1] * outline;
+                sb = vb * texel[2] * outline;
+                break;
+            }
+            case MODE_MSDF: {
+                float median = Math.max(Math.min(texel[0], texel[1]), Math.min(Math.max(texel[0], texel[1]), texel[2]));
+                sa = va * MathUtils.clamp(smoothing * (median - 0.5f) + 0.5f, 0f, 1f);
+                if (blend && sa <= 0f) return;
+                sr = vr;
+                sg = vg;
+                sb = vb;
+                break;
+            }
+            default:
+                sa = va * texel[3];
+                if (blend && sa <= 0f) return;
+                sr = vr * texel[0];
+                sg = vg * texel[1];
+                sb = vb * texel[2];
+        }
+        if (blend && sa < 1f) {
+            final int d = pixels[index];
+            final float da = (d & 255) / 255f, keep = da * (1f - sa), oa = sa + keep;
+            final float inv = 1f / oa;
+            sr = (sr * sa + (d >>> 24) / 255f * keep) * inv;
+            sg = (sg * sa + (d >>> 16 & 255) / 255f * keep) * inv;
+            sb = (sb * sa + (d >>> 8 & 255) / 255f * keep) * inv;
+            sa = oa;
+        }
+        pixels[index] = toByte(sr) << 24 | toByte(sg) << 16 | toByte(sb) << 8 | toByte(sa);
+    }
+
+    private static float smoothstep(float edge0, float edge1, float x) {
+        float t = MathUtils.clamp((x - edge0) / (edge1 - edge0), 0f, 1f);
+        return t * t * (3f - 2f * t);
+    }
+
+    private static int toByte(float channel) {
+        return (int) (MathUtils.clamp(channel, 0f, 1f) * 255f + 0.5f);
+    }
+
+    @Override
+    public void disableBlending() {
+        blendingDisabled = true;
+    }
+
+    @Override
+    public void enableBlending() {
+        blendingDisabled = false;
+    }
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+        setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc);
+    }
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        blendSrcFunc = srcFuncColor;
+        blendDstFunc = dstFuncColor;
+        blendSrcFuncAlpha = srcFuncAlpha;
+        blendDstFuncAlpha = dstFuncAlpha;
+    }
+
+    @Override
+    public int getBlendSrcFunc() {
+        return blendSrcFunc;
+    }
+
+    @Override
+    public int getBlendDstFunc() {
+        return blendDstFunc;
+    }
+
+    @Override
+    public int getBlendSrcFuncAlpha() {
+        return blendSrcFuncAlpha;
+    }
+
+    @Override
+    public int getBlendDstFuncAlpha() {
+        return blendDstFuncAlpha;
+    }
+
+    @Override
+    public Matrix4 getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    @Override
+    public Matrix4 getTransformMatrix() {
+        return transformMatrix;
+    }
+
+    /**
+     * Sets the projection matrix; quads already drawn keep the projection they were drawn with, so this doesn't need
+     * to flush.
+     * @param projection the new projection matrix, which is copied
+     */
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        projectionMatrix.set(projection);
+        combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+    }
+
+    /**
+     * Sets the transform matrix; quads already drawn keep the transform they were drawn with, so this doesn't need
+     * to flush.
+     * @param transform the new transform matrix, which is copied
+     */
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        transformMatrix.set(transform);
+        combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+    }
+
+    /**
+     * Stores the given shader so {@link #getShader()} can return it; shaders aren't run by this batch.
+     * @param shader any ShaderProgram, or null
+     */
+    @Override
+    public void setShader(ShaderProgram shader) {
+        this.shader = shader;
+    }
+
+    @Override
+    public ShaderProgram getShader() {
+        return shader;
+    }
+
+    @Override
+    public boolean isBlendingEnabled() {
+        return !blendingDisabled;
+    }
+
+    @Override
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    /**
+     * Stops any threads this uses and lets go of the texture pixels it read. The pixels it drew can still be read
+     * afterward.
+     */
+    @Override
+    public void dispose() {
+        quadCount = 0;
+        Arrays.fill(samplers, null);
+        if (executor != null) {
+            executor.dispose();
+            executor = null;
+        }
+        samplersByTexture.clear();
+        distanceFieldFonts.clear();
+    }
+
+    /**
+     * The pixels of one Texture as RGBA8888 ints, sampled the way a GPU samples a Texture that clamps to its edges.
+     */
+    private static final class Sampler {
+        private static final Sampler WHITE = new Sampler(new int[]{-1}, 1, 1, false);
+        private static final float INV_255 = 1f / 255f;
+
+        final int[] rgba;
+        final int width, height;
+        final boolean linear;
+
+        Sampler(int[] rgba, int width, int height, boolean linear) {
+            this.rgba = rgba;
+            this.width = width;
+            this.height = height;
+            this.linear = linear;
+        }
+
+        Sampler(Pixmap pixmap, boolean linear) {
+            this(new int[pixmap.getWidth() * pixmap.getHeight()], pixmap.getWidth(), pixmap.getHeight(), linear);
+            for (int y = 0, i = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    rgba[i++] = pixmap.getPixel(x, y);
+                }
+            }
+        }
+
+        /**
+         * Reads the pixels of {@code texture} from the file it was loaded from, or from its Pixmap if it still has
+         * one, or otherwise treats it as solid white.
+         */
+        static Sampler of(Texture texture) {
+            boolean linear = texture.getMagFilter() != Texture.TextureFilter.Nearest;
+            TextureData data = texture.getTextureData();
+            if (data instanceof FileTextureData && ((FileTextureData) data).getFileHandle() != null) {
+                Pixmap pixmap;
+                try {
+                    pixmap = new Pixmap(((FileTextureData) data).getFileHandle());
+                } catch (GdxRuntimeException ex) {
+                    return WHITE;
+                }
+                try {
+                    return new Sampler(pixmap, linear);
+                } finally {
+                    pixmap.dispose();
+                }
+            } else if (data instanceof PixmapTextureData && !data.disposePixmap()) {
+                Pixmap pixmap = data.consumePixmap();
+                if (pixmap != null && !pixmap.isDisposed()) return new Sampler(pixmap, linear);
+            }
+            return WHITE;
+        }
+
+        /**
+         * Gets the color at texture coordinates u,v, with each channel from 0 to 1, into {@code out}.
+         */
+        void sample(float u, float v, float[] out) {
+            if (!linear) {
+                int x = Math.min(width - 1, Math.max(0, (int) (u * width + 1f) - 1));
+                int y = Math.min(height - 1, Math.max(0, (int) (v * height + 1f) - 1));
+                int c = rgba[y * width + x];
+                out[0] = (c >>> 24) * INV_255;
+                out[1] = (c >>> 16 & 255) * INV_255;
+                out[2] = (c >>> 8 & 255) * INV_255;
+                out[3] = (c & 255) * INV_255;
+                return;
+            }
+            // Adding 1 before casting to int and subtracting it after is floor() for anything at least -1.
+            float fx = u * width + 0.5f, fy = v * height + 0.5f;
+            int x0 = (int) fx - 1, y0 = (int) fy - 1;
+            float tx = fx - 1 - x0, ty = fy - 1 - y0;
+            int x1 = Math.min(width - 1, Math.max(0, x0 + 1)), y1 = Math.min(height - 1, Math.max(0, y0 + 1));
+            x0 = Math.min(width - 1, Math.max(0, x0));
+            y0 = Math.min(height - 1, Math.max(0, y0));
+            final int row0 = y0 * width, row1 = y1 * width;
+            final int c00 = rgba[row0 + x0], c10 = rgba[row0 + x1], c01 = rgba[row1 + x0], c11 = rgba[row1 + x1];
+            final float w00 = (1f - tx) * (1f - ty) * INV_255, w10 = tx * (1f - ty) * INV_255;
+            final float w01 = (1f - tx) * ty * INV_255, w11 = tx * ty * INV_255;
+            out[0] = (c00 >>> 24) * w00 + (c10 >>> 24) * w10 + (c01 >>> 24) * w01 + (c11 >>> 24) * w11;
+            out[1] = (c00 >>> 16 & 255) * w00 + (c10 >>> 16 & 255) * w10 + (c01 >>> 16 & 255) * w01 + (c11 >>> 16 & 255) * w11;
+            out[2] = (c00 >>> 8 & 255) * w00 + (c10 >>> 8 & 255) * w10 + (c01 >>> 8 & 255) * w01 + (c11 >>> 8 & 255) * w11;
+            out[3] = (c00 & 255) * w00 + (c10 & 255) * w10 + (c01 & 255) * w01 + (c11 & 255) * w11;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.CharArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.github.tommyettinger.textra.utils.LZBDecompression;
+import com.github.tommyettinger.textra.utils.LzmaUtils;
+
+/**
+ * The metrics, glyph bounds, and kerning read from a Structured JSON Font (a .json, .dat, .ubj, .json.lzma, or
+ * .ubj.lzma file), stored in flat arrays and not yet tied to any texture. Both {@link Font} and
+ * {@link BitmapFontSupport.JsonFontData} build themselves from one of these, so an app that loads the same file as a
+ * Font and as a {@link BitmapFont} (as {@link FWSkin} does for BitmapFont items) only decompresses and parses it once.
+ * <br>
+ * {@link #obtain(FileHandle)} can keep these in a small cache, keyed by file type and path, but the cache is off by
+ * default, so loading a Font normally keeps nothing here once it is done. {@link FWSkin} turns it on only while it
+ * reads a skin, with {@link #holdCache()} and {@link #releaseCache()}, and everything it parsed is dropped when it is
+ * finished. {@link #setCacheLimit(int)} keeps the most recently used few files for longer, if an app wants that.
+ * {@link #parse(FileHandle)} always reads the file. The arrays here are shared by everything built from the same
+ * instance, so they should be treated as read-only.
+ */
+public final class StructuredFontData {
+    /**
+     * The "type" of the atlas, such as "msdf", "sdf", or "standard"; empty if the file didn't specify one.
+     */
+    public final String type;
+    /**
+     * The "distanceRange" of the atlas, used for the crispness of distance field fonts; defaults to 8.
+     */
+    public final float distanceRange;
+    /**
+     * The "size" of the atlas in pixels, which advances and plane bounds are multiplied by; defaults to 16.
+     */
+    public final float size;
+    /**
+     * The width and height of the atlas image, as stored in the file; both default to 2048.
+     */
+    public final int width, height;
+    /**
+     * Metrics from the file's "metrics" section, with the same defaults {@link Font} has always used.
+     */
+    public final float emSize, ascender, descender, underlineY, strikeY;
+    /**
+     * How many glyphs are stored; each array that holds glyph data has this many items (or 4 times this many, for
+     * bounds).
+     */
+    public final int glyphCount;
+    /**
+     * The Unicode code point of each glyph, or -1 if the file didn't give one.
+     */
+    public final int[] codepoints;
+    /**
+     * The advance of each glyph, as a fraction of {@link #size}.
+     */
+    public final float[] advances;
+    /**
+     * The left, bottom, right, and top plane bounds of each glyph, 4 items per glyph, as fractions of {@link #size}.
+     * These are all 0 when {@link #hasPlaneBounds} is false for a glyph.
+     */
+    public final float[] planeBounds;
+    /**
+     * The left, bottom, right, and top atlas bounds of each glyph, 4 items per glyph, in pixels with y going up.
+     * These are all 0 when {@link #hasAtlasBounds} is false for a glyph.
+     */
+    public final float[] atlasBounds;
+    /**
+     * Whether each glyph had "planeBounds" or "atlasBounds" in the file; glyphs without them (like space) are treated
+     * differently from glyphs whose bounds are all 0.
+     */
+    public final boolean[] hasPlaneBounds, hasAtlasBounds;
+    /**
+     * How many kerning pairs are stored.
+     */
+    public final int kerningCount;
+    /**
+     * The first and second code points of each kerning pair, or -1 if the file didn't give one.
+     */
+    public final int[] kerningFirst, kerningSecond;
+    /**
+     * The amount each kerning pair adjusts the advance by, in pixels.
+     */
+    public final float[] kerningAmount;
+
+    private static final OrderedMap<String, StructuredFontData> cache = new OrderedMap<>(8);
+    private static int cacheLimit = 0;
+    private static int holds = 0;
+
+    private StructuredFontData(JsonValue fnt) {
+        JsonValue atlas = fnt.get("atlas");
+        if (atlas == null) atlas = new JsonValue(JsonValue.ValueType.object);
+        type = atlas.getString("type", "");
+        distanceRange = atlas.getFloat("distanceRange", 8f);
+        size = atlas.getFloat("size", 16f);
+        width = atlas.getInt("width", 2048);
+        height = atlas.getInt("height", 2048);
+
+        JsonValue metrics = fnt.get("metrics");
+        if (metrics == null) metrics = new JsonValue(JsonValue.ValueType.object);
+        emSize = metrics.getFloat("emSize", 1f);
+        ascender = metrics.getFloat("ascender", 0.8f);
+        descender = metrics.getFloat("descender", -0.25f);
+        underlineY = metrics.getFloat("underlineY", -0.05f);
+        strikeY = metrics.getFloat("strikeY", 0.15f);
+
+        JsonValue glyphs = fnt.get("glyphs");
+        glyphCount = glyphs == null ? 0 : glyphs.size;
+        codepoints = new int[glyphCount];
+        advances = new float[glyphCount];
+        planeBounds = new float[glyphCount << 2];
+        atlasBounds = new float[glyphCount << 2];
+        hasPlaneBounds = new boolean[glyphCount];
+        hasAtlasBounds = new boolean[glyphCount];
+        int i = 0;
+        for (JsonValue current = glyphs == null ? null : glyphs.child; current != null && i < glyphCount; current = current.next, i++) {
+            codepoints[i] = current.getInt("unicode", -1);
+            advances[i] = current.getFloat("advance", 1f);
+            hasPlaneBounds[i] = readBounds(current.get("planeBounds"), planeBounds, i << 2);
+            hasAtlasBounds[i] = readBounds(current.get("atlasBounds"), atlasBounds, i << 2);
+        }
+
+        JsonValue kern = fnt.get("kerning");
+        kerningCount = kern == null ? 0 : kern.size;
+        kerningFirst = new int[kerningCount];
+        kerningSecond = new int[kerningCount];
+        kerningAmount = new float[kerningCount];
+        i = 0;
+        for (JsonValue current = kern == null ? null : kern.child; current != null && i < kerningCount; current = current.next, i++) {
+            kerningFirst[i] = current.getInt("unicode1", -1);
+            kerningSecond[i] = current.getInt("unicode2", -1);
+            kerningAmount[i] = current.getFloat("advance", 0f);
+        }
+    }
+
+    private static boolean readBounds(JsonValue bounds, float[] into, int start) {
+        if (bounds == null) return false;
+        into[start] = bounds.getFloat("left", 0f);
+        into[start + 1] = bounds.getFloat("bottom", 0f);
+        into[start + 2] = bounds.getFloat("right", 0f);
+        into[start + 3] = bounds.getFloat("top", 0f);
+        return true;
+    }
+
+    /**
+     * Reads and parses a Structured JSON Font every time, without checking or adding to the cache.
+     * @param file a .json, .dat, .ubj, .json.lzma, or .ubj.lzma file; any other extension is parsed as plain JSON
+     * @return a new StructuredFontData holding everything from {@code file} that fonts need
+     * @throws GdxRuntimeException if the file is missing, can't be parsed, or is empty
+     */
+    public static StructuredFontData parse(FileHandle file) {
+        if (!file.exists()) throw new GdxRuntimeException("Missing font file: " + file.path());
+        String ext = file.extension();
+        JsonValue fnt;
+        if ("lzma".equalsIgnoreCase(ext)) {
+            fnt = LzmaUtils.parseJson(file);
+            if (fnt == null)
+                throw new GdxRuntimeException("Unsupported file type inside compressed file: " + file.path());
+        } else if ("ubj".equalsIgnoreCase(ext)) {
+            fnt = new UBJsonReader().parse(file);
+        } else if ("dat".equalsIgnoreCase(ext)) {
+            byte[] bytes = file.readBytes();
+            CharArray chars = LZBDecompression.decompressToCharArray(bytes, 0, bytes.length);
+            fnt = new JsonReader().parse(chars.items, 0, chars.size);
+        } else {
+            fnt = new JsonReader().parse(file);
+        }
+        if (fnt == null || fnt.isEmpty()) throw new GdxRuntimeException("File is empty: " + file.path());
+        return new StructuredFontData(fnt);
+    }
+
+    /**
+     * Gets the StructuredFontData for {@code file} from the cache if it was parsed recently, or otherwise parses it
+     * with {@link #parse(FileHandle)}. If the cache is on (because of {@link #setCacheLimit(int)} or
+     * {@link #holdCache()}), a newly-parsed file is added to it, dropping the least-recently-used item if the cache is
+     * full; while the cache is held, nothing is dropped. With the cache off, which is the default, this keeps nothing.
+     * This can be called from multiple threads; two threads asking for the same file at once may both parse it, but
+     * only one result is kept.
+     * @param file a .json, .dat, .ubj, .json.lzma, or .ubj.lzma file
+     * @return the cached or newly-parsed StructuredFontData for {@code file}
+     * @throws GdxRuntimeException if the file is missing, can't be parsed, or is empty
+     */
+    public static StructuredFontData obtain(FileHandle file) {
+        String key = file.type().name() + ':' + file.path();
+        synchronized (cache) {
+            StructuredFontData data = cache.remove(key);
+            if (data != null) {
+                cache.put(key, data);
+                return data;
+            }
+        }
+        StructuredFontData data = parse(file);
+        synchronized (cache) {
+            if (cacheLimit > 0 || holds > 0) {
+                cache.remove(key);
+                while (holds == 0 && cache.size >= cacheLimit) cache.remove(cache.orderedKeys().first());
+                cache.put(key, data);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Removes everything from the cache used by {@link #obtain(FileHandle)}. Call this if a font file may have changed
+     * on disk, or to free the memory the cache uses once fonts are loaded.
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Turns the cache on until a matching call to {@link #releaseCache()}, keeping every file {@link #obtain(FileHandle)}
+     * parses in the meantime, even if the cache limit is 0. {@link FWSkin} does this while it reads a skin, so a file
+     * used by both a BitmapFont and a Font there is only parsed once. Calls can be nested.
+     */
+    public static void holdCache() {
+        synchronized (cache) {
+            holds++;
+        }
+    }
+
+    /**
+     * Undoes one call to {@link #holdCache()}. When the last hold is released, the cache is trimmed back to the cache
+     * limit, which clears it if the limit is 0 (the default).
+     */
+    public static void releaseCache() {
+        synchronized (cache) {
+            if (holds > 0 && --holds == 0) {
+                while (cache.size > cacheLimit) cache.remove(cache.orderedKeys().first());
+            }
+        }
+    }
+
+    /**
+     * Gets how many parsed files {@link #obtain(FileHandle)} keeps at most outside of {@link #holdCache()}; the
+     * default is 0, meaning the cache is off.
+     * @return the maximum number of items in the cache
+     */
+    public static int getCacheLimit() {
+        synchronized (cache) {
+            return cacheLimit;
+        }
+    }
+
+    /**
+     * Sets how many parsed files {@link #obtain(FileHandle)} keeps at most, dropping the least-recently-used items if
+     * there are more than that now (unless the cache is held). A limit of 0, the default, disables the cache, except
+     * while {@link #holdCache()} is in effect. Any other limit keeps parsed data in memory until it is dropped or
+     * {@link #clearCache()} is called.
+     * @param limit the maximum number of items in the cache; negative values are treated as 0
+     */
+    public static void setCacheLimit(int limit) {
+        synchronized (cache) {
+            cacheLimit = Math.max(0, limit);
+            while (holds == 0 && cache.size > cacheLimit) cache.remove(cache.orderedKeys().first());
+        }
+    }
+}
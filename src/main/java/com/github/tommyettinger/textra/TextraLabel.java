@@ -64,6 +64,22 @@ public class TextraLabel extends Widget {
     public Styles.LabelStyle style;
     protected boolean prefSizeInvalid = true;
     protected String defaultToken;
+    /**
+     * The width most recently given to {@link #setWidth(float)}, {@link #setSize(float, float)}, or
+     * {@link #setBounds(float, float, float, float)}, which hasn't been used to wrap {@link #layout} yet; NaN if there
+     * is none. Several size changes before the next {@link #layout()} or draw only wrap the text once.
+     */
+    protected float pendingWidth = Float.NaN;
+    /**
+     * The {@link Layout#getVersion()} of {@link #layout} just after this last wrapped it. If the version is different
+     * now, the Layout was changed some other way, and must be wrapped in full.
+     */
+    protected int wrappedVersion = -1;
+    /**
+     * A background that threw an UnsupportedOperationException when drawn with rotation, such as a TenPatch; it is
+     * drawn with the plain Drawable method from then on, so the exception is only thrown once. Null if none has.
+     */
+    protected Drawable untransformedBackground;
 
     /**
      * Creates a TextraLabel that uses the default libGDX font (lsans-15 in the current version) with white color.
@@ -349,9 +365,38 @@ public class TextraLabel extends Widget {
         layout.setJustification(justify);
     }
 
+    /**
+     * Draws {@code background} over this label's bounds, rotated around its origin if it is a
+     * {@link TransformDrawable}. Used by {@link #draw(Batch, float)} here and in {@link TypingLabel}.
+     */
+    protected void drawBackground(Batch batch, Drawable background, float originX, float originY, float rotation) {
+        // Checking the type first avoids throwing (and allocating) a ClassCastException every frame when the
+        // background is a plain Drawable.
+        if (background instanceof TransformDrawable && background != untransformedBackground) {
+            try {
+                ((TransformDrawable) background).draw(batch,
+                        getX(), getY(),             // position
+                        originX, originY,           // origin
+                        getWidth(), getHeight(),    // size
+                        1f, 1f,                     // scale
+                        rotation);                  // rotation
+                return;
+            } catch (UnsupportedOperationException itIsJustADrawable) {
+                // TenPatch drawables do not support rotation, scale, or an origin, so we can use the
+                // standard Drawable draw method and just assume people aren't trying to rotate TenPatches.
+                // Remembering it means this is only thrown once, not every frame.
+                untransformedBackground = background;
+            }
+        }
+        background.draw(batch,
+                getX(), getY(),             // position
+                getWidth(), getHeight());   // size
+    }
+
     @Override
     public void draw(Batch batch, float parentAlpha) {
         super.validate();
+        applyPendingWidth();
 
         final float rot = getRotation();
         final float originX = getOriginX();
@@ -413,21 +458,7 @@ public class TextraLabel extends Widget {
                 baseX -= sn * (background.getBottomHeight() - background.getTopHeight()) * 0.5f;
                 baseY += cs * (background.getBottomHeight() - background.getTopHeight()) * 0.5f;
             }
-            try {
-                ((TransformDrawable) background).draw(batch,
-                        getX(), getY(),             // position
-                        originX, originY,           // origin
-                        getWidth(), getHeight(),    // size
-                        1f, 1f,                     // scale
-                        rot);                       // rotation
-            } catch (UnsupportedOperationException | ClassCastException itIsJustADrawable) {
-                // TenPatch drawables do not support rotation, scale, or an origin, so we can use the
-                // standard Drawable draw method and just assume people aren't trying to rotate TenPatches.
-                // This also works in case the background is not a TransformDrawable.
-                background.draw(batch,
-                        getX(), getY(),             // position
-                        getWidth(), getHeight());   // size
-            }
+            drawBackground(batch, background, originX, originY, rot);
         }
 
         if (layout.lines.isEmpty() || parentAlpha <= 0f) return;
@@ -501,7 +532,7 @@ public class TextraLabel extends Widget {
                     }
                 }
 
-                if (font.family != null) f = font.family.connected[(int) (glyph >>> 16 & 15)];
+                if (font.family != null) f = font.family.connected[Font.familyIndex(glyph)];
                 if (f == null) f = font;
                 int even = start + i << 1, odd = even | 1;
                 float a = getAdvances().get(start + i) * getScaleX();
@@ -528,7 +559,7 @@ public class TextraLabel extends Widget {
 
                 if (f.kerning != null) {
                     kern = kern << 16 | (int) ((glyph = line.glyphs.get(i)) & 0xFFFF);
-                    float amt = f.kerning.get(kern, 0) * f.scaleX * a;
+                    float amt = f.kerningAmount(kern) * f.scaleX * a;
                     xChange += cs * amt;
                     yChange += sn * amt;
                 } else {
@@ -557,6 +588,7 @@ public class TextraLabel extends Widget {
         if (prefSizeInvalid) {
             validate();
         }
+        applyPendingWidth();
         float width = layout.getWidth();
         if(style != null && style.background != null)
             width = Math.max(width + style.background.getLeftWidth() + style.background.getRightWidth(), style.background.getMinWidth());
@@ -568,6 +600,7 @@ public class TextraLabel extends Widget {
         if (prefSizeInvalid) {
             validate();
         }
+        applyPendingWidth();
         float height = layout.getHeight();
         if(style != null && style.background != null)
                 height = Math.max(height + style.background.getBottomHeight() + style.background.getTopHeight(), style.background.getMinHeight());
@@ -617,32 +650,43 @@ public class TextraLabel extends Widget {
         return this;
     }
     
+    /**
+     * Sets the width, and wraps the text to that width the next time this is laid out or drawn.
+     * @param width the new width, in world units as a float
+     */
     @Override
     public void setWidth(float width) {
         // If the window is minimized, we have invalid dimensions and shouldn't process resizing.
         if(Gdx.graphics.getWidth() <= 0 || Gdx.graphics.getHeight() <= 0) return;
         super.setWidth(width);
-        layout.setTargetWidth(width);
-        font.regenerateLayout(layout);
+        pendingWidth = width;
         invalidateHierarchy();
     }
 
+    /**
+     * Sets the height. The text only wraps again if a Line is now wider than the target width.
+     * @param height the new height, in world units as a float
+     */
     @Override
     public void setHeight(float height) {
         // If the window is minimized, we have invalid dimensions and shouldn't process resizing.
         if(Gdx.graphics.getWidth() <= 0 || Gdx.graphics.getHeight() <= 0) return;
         super.setHeight(height);
-        font.regenerateLayout(layout);
+        if (Float.isNaN(pendingWidth)) pendingWidth = layout.getTargetWidth();
         invalidateHierarchy();
     }
 
+    /**
+     * Sets the width and height, and wraps the text to the new width the next time this is laid out or drawn.
+     * @param width the new width, in world units as a float
+     * @param height the new height, in world units as a float
+     */
     @Override
     public void setSize(float width, float height) {
         // If the window is minimized, we have invalid dimensions and shouldn't process resizing.
         if(Gdx.graphics.getWidth() <= 0 || Gdx.graphics.getHeight() <= 0) return;
         super.setSize(width, height);
-        layout.setTargetWidth(width);
-        font.regenerateLayout(layout);
+        pendingWidth = width;
         invalidateHierarchy();
     }
 
@@ -654,12 +698,57 @@ public class TextraLabel extends Widget {
         if (this.getWidth() != width || this.getHeight() != height) {
             if(Gdx.graphics.getWidth() <= 0 || Gdx.graphics.getHeight() <= 0) return;
             super.setSize(width, height);
-            layout.setTargetWidth(width);
-            font.regenerateLayout(layout);
+            pendingWidth = width;
 //            invalidateHierarchy(); // for some reason, this breaks TextraSelectBox.
         }
     }
 
+    /**
+     * If a width was set since the text was last wrapped, wraps the text to it now with {@link #rewrap(float)}.
+     * This is called by {@link #layout()}, {@link #draw(Batch, float)}, {@link #getPrefWidth()}, and
+     * {@link #getPrefHeight()}, so code that changes the size several times in a row only wraps once.
+     */
+    public void applyPendingWidth() {
+        if (Float.isNaN(pendingWidth)) return;
+        float width = pendingWidth;
+        pendingWidth = Float.NaN;
+        rewrap(width);
+    }
+
+    /**
+     * Sets the target width of {@link #layout} and wraps it again, changing as few Lines as possible. If the Layout
+     * was changed since this last wrapped it (such as by {@link #setText(String)}), everything is wrapped again.
+     * Otherwise, if the width grew, wrapping starts at the first Line that was wrapped before it ended, and nothing
+     * happens if every Line ended with a newline. If the width shrank or stayed the same, wrapping starts at the
+     * first Line that is now too wide, and nothing happens if every Line still fits.
+     * @param width the new target width, in world units
+     */
+    public void rewrap(float width) {
+        float oldWidth = layout.getTargetWidth();
+        layout.setTargetWidth(width);
+        if (layout.getVersion() != wrappedVersion || oldWidth <= 0f || width <= 0f) {
+            font.regenerateLayout(layout);
+        } else {
+            int from = firstLineToRewrap(width, width > oldWidth);
+            if (from >= 0) font.regenerateLayout(layout, from);
+        }
+        wrappedVersion = layout.getVersion();
+    }
+
+    /**
+     * Finds the first Line of {@link #layout} that could wrap differently at the given width, or -1 if none could.
+     * A Line that is wider than width must wrap again. If the width grew, a Line that was wrapped (instead of ending
+     * with a newline or being the last Line) could take words from the next Line, so it must wrap again too.
+     */
+    private int firstLineToRewrap(float width, boolean grew) {
+        for (int i = 0, n = layout.lines(); i < n; i++) {
+            Line line = layout.getLine(i);
+            if (line.width > width) return i;
+            if (grew && i < n - 1 && (line.glyphs.isEmpty() || (char) line.glyphs.peek() != '\n')) return i;
+        }
+        return -1;
+    }
+
     /**
      * This only exists so code that needs to use {@link com.badlogic.gdx.scenes.scene2d.Actor#setWidth(float)} still
      * can, even with setWidth() implemented here.
@@ -686,15 +775,18 @@ public class TextraLabel extends Widget {
         if (style != null && style.background != null) {
             width = (width - (style.background.getLeftWidth() + style.background.getRightWidth()));
         }
+        // When wrapping to a known width, that width replaces any pending one, so the text only wraps once.
+        if (wrap && width != 0f) pendingWidth = Float.NaN;
+        else applyPendingWidth();
         float originalHeight = layout.getHeight();
         float actualWidth = font.calculateSize(layout);
 
         if (wrap) {
-            if (width == 0 || layout.getTargetWidth() != width || actualWidth > width) {
-                if (width != 0f)
-                    layout.setTargetWidth(width);
+            if (width == 0) {
                 font.regenerateLayout(layout);
-
+                wrappedVersion = layout.getVersion();
+            } else if (layout.getTargetWidth() != width || actualWidth > width) {
+                rewrap(width);
 // We do not want to call invalidateHierarchy() here! It would force regeneration every frame.
             }
 
@@ -906,7 +998,7 @@ public class TextraLabel extends Widget {
                 for (int fin = index - start - glyphCount + end; index < fin && index < glyphs.size; index++) {
                     char c = (char) glyphs.get(index);
                     if (c >= '\uE000' && c <= '\uF800') {
-                        String name = font.namesByCharCode.get(c);
+                        String name = font.imageName(glyphs.get(index));
                         if (name != null) sb.append(name);
                         else sb.append(c);
                     } else {
@@ -57,6 +57,29 @@ public class TypingConfig {
      */
     public static int CHAR_LIMIT_PER_FRAME = -1;
 
+    /**
+     * If true, effects that support it (such as {@code WAVE}, {@code JUMP}, and {@code RAINBOW}) will be evaluated
+     * using the shared clock in {@link EffectSystem}, so identical effects in different {@link TypingLabel}s only
+     * calculate their per-glyph curves once per frame, and stay in sync with each other. Default value is
+     * {@code false}, which gives each effect its own clock, starting when that effect starts.
+     */
+    public static boolean USE_EFFECT_SYSTEM = false;
+
+    /**
+     * If true, some effects (such as {@code WIND} and {@code OCEAN}) will use baked
+     * {@link com.github.tommyettinger.textra.utils.LookupTable}s for their noise functions, instead of
+     * calculating them exactly for every glyph on every frame. This is faster, especially on mobile CPUs, but slightly
+     * less accurate. Default value is {@code false}.
+     */
+    public static boolean USE_LOOKUP_TABLES = false;
+
+    /**
+     * How many samples per unit of input are taken for the lookup tables used when {@link #USE_LOOKUP_TABLES} is true.
+     * Each table is baked the first time it is needed, so this must be set before any effect uses one.
+     * Default value is {@code 32}.
+     */
+    public static int LOOKUP_TABLE_RESOLUTION = 32;
+
     /**
      * Default color for the {@code CLEARCOLOR} token. Can be overridden by {@link TypingLabel#getClearColor()}.
      */
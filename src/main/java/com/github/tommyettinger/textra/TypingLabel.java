@@ -25,7 +25,6 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
-import com.badlogic.gdx.scenes.scene2d.utils.TransformDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.LongArray;
@@ -63,6 +62,12 @@ public class TypingLabel extends TextraLabel {
     /// --- Members --- ///
     ///////////////////////
 
+    /**
+     * The parts of a glyph that {@link Font#calculateSize(Layout)} reads: the char, the family index, the script
+     * (superscript, subscript, or midscript), and the alternate mode, which can be small caps.
+     */
+    private static final long SIZING_BITS = 0xFFFFL | Font.FAMILY_MASK | Font.SUPERSCRIPT | Font.ALTERNATE_MODES_MASK;
+
     // Collections
     private final ObjectMap<String, String> variables = new ObjectMap<>();
     final ArrayList<TokenEntry> tokenEntries = new ArrayList<>();
@@ -137,6 +142,16 @@ public class TypingLabel extends TextraLabel {
     private boolean ignoringEvents = false;
     private boolean ignoringEffects = false;
     private boolean onStage = false;
+    /**
+     * True when {@link #workingLayout} may have changed in a way that requires its per-glyph data to be copied again
+     * from {@link #layout} and its size to be recalculated. This is set by {@link #invalidate()}.
+     */
+    private boolean workingLayoutDirty = true;
+    /**
+     * The {@link Effect#channels} written to by effects during the last call to {@link #subAct(float)}; only these
+     * need to be reset from {@link #layout} during the next call.
+     */
+    private int dirtyChannels = Effect.ALL_CHANNELS;
 
     ////////////////////////////
     /// --- Constructors --- ///
@@ -364,6 +379,7 @@ public class TypingLabel extends TextraLabel {
         final boolean hasEnded = this.hasEnded();
         newText = Parser.handleBracketMinusMarkup(newText);
         font.markup(newText, layout.clear().setJustification(defaultJustify));
+        workingLayoutDirty = true;
 
 //        int glyphCount = layout.countGlyphs();
 //        layout.offsets.setSize(glyphCount + glyphCount);
@@ -440,6 +456,19 @@ public class TypingLabel extends TextraLabel {
     public void regenerateLayout() {
         font.regenerateLayout(workingLayout);
         font.calculateSize(workingLayout);
+        workingLayoutDirty = true;
+    }
+
+    /**
+     * Invalidates this label's layout, and also marks the working layout as needing its per-glyph data to be reset
+     * from {@link #layout} on the next {@link #act(float)}. If you change the {@link Layout#offsets},
+     * {@link Layout#sizing}, {@link Layout#rotations}, or {@link Layout#advances} of {@link #layout} directly, you
+     * should call this afterward so the change shows up even if this label has finished typing and has no effects.
+     */
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        workingLayoutDirty = true;
     }
 
     ////////////////////////////
@@ -624,6 +653,7 @@ public class TypingLabel extends TextraLabel {
         first.width = first.height = 0;
         workingLayout.lines.clear();
         workingLayout.lines.add(first);
+        workingLayout.bumpVersion();
         activeEffects.clear();
 
         // Reset state
@@ -776,6 +806,8 @@ public class TypingLabel extends TextraLabel {
     @Override
     public void act(float delta) {
         super.act(delta);
+        if (TypingConfig.USE_EFFECT_SYSTEM)
+            EffectSystem.advance(delta);
         subAct(delta);
     }
 
@@ -800,18 +832,39 @@ public class TypingLabel extends TextraLabel {
                 processCharProgression();
             }
         }
+
+        // A finished label without effects, that hasn't changed since the last frame, has nothing to do here.
+        if (!workingLayoutDirty && dirtyChannels == 0 && (ignoringEffects || activeEffects.isEmpty()))
+            return;
+
         int glyphCount = layout.countGlyphs();
+        if (workingLayoutDirty || getAdvances().size != glyphCount)
+            dirtyChannels = Effect.ALL_CHANNELS;
 
-        getOffsets().setSize(glyphCount + glyphCount);
-        System.arraycopy(layout.offsets.items, 0, workingLayout.offsets.items, 0, glyphCount + glyphCount);
-        getSizing().setSize(glyphCount + glyphCount);
-        System.arraycopy(layout.sizing.items, 0, workingLayout.sizing.items, 0, glyphCount + glyphCount);
-        getRotations().setSize(glyphCount);
-        System.arraycopy(layout.rotations.items, 0, workingLayout.rotations.items, 0, glyphCount);
-        getAdvances().setSize(glyphCount);
-        System.arraycopy(layout.advances.items, 0, workingLayout.advances.items, 0, glyphCount);
+        if ((dirtyChannels & Effect.OFFSETS) != 0) {
+            getOffsets().setSize(glyphCount + glyphCount);
+            System.arraycopy(layout.offsets.items, 0, workingLayout.offsets.items, 0, glyphCount + glyphCount);
+        }
+        if ((dirtyChannels & Effect.SIZING) != 0) {
+            getSizing().setSize(glyphCount + glyphCount);
+            System.arraycopy(layout.sizing.items, 0, workingLayout.sizing.items, 0, glyphCount + glyphCount);
+        }
+        if ((dirtyChannels & Effect.ROTATIONS) != 0) {
+            getRotations().setSize(glyphCount);
+            System.arraycopy(layout.rotations.items, 0, workingLayout.rotations.items, 0, glyphCount);
+        }
+        if ((dirtyChannels & Effect.ADVANCES) != 0) {
+            getAdvances().setSize(glyphCount);
+            System.arraycopy(layout.advances.items, 0, workingLayout.advances.items, 0, glyphCount);
+            workingLayout.bumpVersion();
+        }
+        dirtyChannels = 0;
 
-        font.calculateSize(workingLayout);
+        // Line sizes only depend on the glyphs and the advances from layout, not on changes made by effects.
+        if (workingLayoutDirty) {
+            font.calculateSize(workingLayout);
+            workingLayoutDirty = false;
+        }
 
         // do we want this instead?
 //        int iLay = 0, iWork = 0;
@@ -842,12 +895,30 @@ public class TypingLabel extends TextraLabel {
                 }
 
                 // Apply effect to glyph
+                dirtyChannels |= effect.channels;
+                if (TypingConfig.USE_EFFECT_SYSTEM && effect.groupKey != null && effect.isShareable()) {
+                    // The curve is evaluated once per frame for every effect with the same groupKey.
+                    int last = Math.min(Math.min(glyphCharIndex, end), glyphCount - 1);
+                    if (last < Math.max(0, start)) continue;
+                    float[] values = EffectSystem.evaluate(effect, last - effect.indexStart + 1);
+                    float fadeout = effect.calculateFadeout();
+                    for (int j = Math.max(0, start); j <= last; j++) {
+                        long glyph = getInLayout(workingLayout, j);
+                        if (glyph == 0xFFFFFFL) break; // invalid char
+                        effect.applyEvaluated(glyph, j - effect.indexStart, j, values[j - effect.indexStart], fadeout);
+                    }
+                    continue;
+                }
                 for (int j = Math.max(0, start); j <= glyphCharIndex && j <= end && j < glyphCount; j++) {
                     long glyph = getInLayout(workingLayout, j);
                     if (glyph == 0xFFFFFFL) break; // invalid char
                     effect.apply(glyph, j, delta);
                 }
             }
+            // Effects write to the working layout directly, so its last measurement can't be reused if they could have
+            // changed glyphs or advances.
+            if ((dirtyChannels & (Effect.ADVANCES | Effect.GLYPHS)) != 0)
+                workingLayout.bumpVersion();
         }
     }
 
@@ -1227,21 +1298,7 @@ public class TypingLabel extends TextraLabel {
                 baseX -= sn * (background.getBottomHeight() - background.getTopHeight()) * 0.5f;
                 baseY += cs * (background.getBottomHeight() - background.getTopHeight()) * 0.5f;
             }
-            try {
-                ((TransformDrawable) background).draw(batch,
-                        getX(), getY(),             // position
-                        originX, originY,           // origin
-                        getWidth(), getHeight(),    // size
-                        1f, 1f,                     // scale
-                        rot);                       // rotation
-            } catch (UnsupportedOperationException | ClassCastException itIsJustADrawable) {
-                // TenPatch drawables do not support rotation, scale, or an origin, so we can use the
-                // standard Drawable draw method and just assume people aren't trying to rotate TenPatches.
-                // This also works in case the background is not a TransformDrawable.
-                background.draw(batch,
-                        getX(), getY(),             // position
-                        getWidth(), getHeight());   // size
-            }
+            drawBackground(batch, background, originX, originY, rot);
         }
 
         if (layout.lines.isEmpty() || parentAlpha <= 0f) return;
@@ -1325,7 +1382,7 @@ public class TypingLabel extends TextraLabel {
                         if (gi > end) break SELECTION_LINE;
                         long glyph = line.glyphs.get(i);
                         char ch = (char) glyph;
-                        if (font.family != null) f = font.family.connected[(int) (glyph >>> 16 & 15)];
+                        if (font.family != null) f = font.family.connected[Font.familyIndex(glyph)];
                         if (f == null) f = font;
                         float descent = f.descent * f.scaleY * getScaleY();
 
@@ -1378,7 +1435,7 @@ public class TypingLabel extends TextraLabel {
 
                         if (f.kerning != null) {
                             kern = kern << 16 | (ch & 0xFFFF);
-                            float amt = f.kerning.get(kern, 0) * f.scaleX * a;
+                            float amt = f.kerningAmount(kern) * f.scaleX * a;
                             xChange += cs * amt;
                             yChange += sn * amt;
                         } else {
@@ -1475,7 +1532,7 @@ public class TypingLabel extends TextraLabel {
                 if (gi > end) break EACH_LINE;
                 long glyph = line.glyphs.get(i);
                 char ch = (char) glyph;
-                if (font.family != null) f = font.family.connected[(int) (glyph >>> 16 & 15)];
+                if (font.family != null) f = font.family.connected[Font.familyIndex(glyph)];
                 if (f == null) f = font;
 //                float descent = f.descent * f.scaleY * getScaleY();
 
@@ -1525,7 +1582,7 @@ public class TypingLabel extends TextraLabel {
 
                 if (f.kerning != null) {
                     kern = kern << 16 | (int) ((glyph = line.glyphs.get(i)) & 0xFFFF);
-                    float amt = f.kerning.get(kern, 0) * f.scaleX * a;
+                    float amt = f.kerningAmount(kern) * f.scaleX * a;
                     xChange += cs * amt;
                     yChange += sn * amt;
                 } else {
@@ -1759,7 +1816,7 @@ public class TypingLabel extends TextraLabel {
                 for (int fin = index - start - glyphCount + end; index < fin && index < glyphs.size; index++) {
                     char c = (char) glyphs.get(index);
                     if (c >= '\uE000' && c <= '\uF800') {
-                        String name = font.namesByCharCode.get(c);
+                        String name = font.imageName(glyphs.get(index));
                         if (name != null) sb.append(name);
                         else sb.append(c);
                     } else {
@@ -1862,6 +1919,7 @@ public class TypingLabel extends TextraLabel {
     }
 
     public void setInLayout(Layout layout, int index, long newGlyph) {
+        layout.bumpVersion();
         for (int i = 0, n = layout.lines(); i < n && index >= 0; i++) {
             LongArray glyphs = layout.getLine(i).glyphs;
             if (index < glyphs.size) {
@@ -1873,6 +1931,7 @@ public class TypingLabel extends TextraLabel {
     }
 
     public void insertInLayout(Layout layout, int index, long newGlyph) {
+        layout.bumpVersion();
         for (int i = 0, n = layout.lines(); i < n && index >= 0; i++) {
             LongArray glyphs = layout.getLine(i).glyphs;
             if (index <= glyphs.size) {
@@ -1884,6 +1943,7 @@ public class TypingLabel extends TextraLabel {
     }
 
     public void insertInLayout(Layout layout, int index, CharSequence text) {
+        layout.bumpVersion();
         long current = (Integer.reverseBytes(NumberUtils.floatToIntBits(layout.baseColor)) & -2L) << 32;
         for (int i = 0, n = layout.lines(); i < n && index >= 0; i++) {
             LongArray glyphs = layout.getLine(i).glyphs;
@@ -1906,10 +1966,20 @@ public class TypingLabel extends TextraLabel {
         }
     }
 
+    /**
+     * Replaces the glyph at the given global index in the working layout. Effects call this on every glyph they touch,
+     * often every frame, so this only marks the working layout as changed (with {@link Layout#bumpVersion()}) when
+     * the char or one of the style bits that can change its width is different. Changing only the color, or a style
+     * like underline, doesn't make the layout measure itself again.
+     * @param index the global glyph index, counting across all Lines
+     * @param newGlyph the glyph to put at that index, as a long with color, style, and char data
+     */
     public void setInWorkingLayout(int index, long newGlyph) {
         for (int i = 0, n = workingLayout.lines(); i < n && index >= 0; i++) {
             LongArray glyphs = workingLayout.getLine(i).glyphs;
             if (i < workingLayout.lines() && index < glyphs.size) {
+                if (((glyphs.get(index) ^ newGlyph) & SIZING_BITS) != 0L)
+                    workingLayout.bumpVersion();
                 glyphs.set(index, newGlyph);
                 return;
             } else
@@ -45,6 +45,7 @@ public class AttentionEffect extends Effect {
 
     public AttentionEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = SIZING;
         label.trackingInput = true;
 
         // Spread
@@ -54,6 +54,7 @@ public class BlinkEffect extends Effect {
 
     public BlinkEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
 
         // Color 1 or Alpha 1
         if (params.length > 0) {
@@ -61,6 +61,7 @@ public class CannonEffect extends Effect {
 
     public CannonEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING;
 
         // Initial Stretch
         if (params.length > 0) {
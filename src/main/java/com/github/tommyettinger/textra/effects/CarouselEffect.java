@@ -47,6 +47,7 @@ public class CarouselEffect extends Effect {
 
     public CarouselEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING;
 
         // Frequency
         if (params.length > 0) {
@@ -45,6 +45,7 @@ public class CrowdEffect extends Effect {
 
     public CrowdEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = ROTATIONS;
 
         // Rotation Amount
         if (params.length > 0) {
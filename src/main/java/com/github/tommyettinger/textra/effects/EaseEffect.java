@@ -52,6 +52,7 @@ public class EaseEffect extends Effect {
 
     public EaseEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
@@ -48,6 +48,7 @@ public class EmergeEffect extends Effect {
 
     public EmergeEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING;
 
         // Speed
         if (params.length > 0) {
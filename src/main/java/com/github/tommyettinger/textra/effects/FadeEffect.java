@@ -54,6 +54,7 @@ public class FadeEffect extends Effect {
 
     public FadeEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
 
         // Color 1 or Alpha 1
         if (params.length > 0) {
@@ -16,7 +16,9 @@
 
 package com.github.tommyettinger.textra.effects;
 
+import com.badlogic.gdx.utils.NumberUtils;
 import com.github.tommyettinger.textra.Effect;
+import com.github.tommyettinger.textra.ShaderEffects;
 import com.github.tommyettinger.textra.TypingLabel;
 import com.github.tommyettinger.textra.utils.ColorUtils;
 
@@ -50,6 +52,7 @@ public class GradientEffect extends Effect {
 
     public GradientEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
 
         // Color 1
         if (params.length > 0) {
@@ -86,4 +89,44 @@ public class GradientEffect extends Effect {
                 (glyph & 0xFFFFFFFFL) | (long) ColorUtils.lerpColors(this.color1, this.color2, progress) << 32);
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    /**
+     * Stores each color as a packed float, as {@link com.badlogic.gdx.graphics.Color#toFloatBits()} would produce,
+     * so it can be kept in a float array.
+     */
+    @Override
+    protected void evaluate(float time, float[] values, int start, int end) {
+        float distanceMod = (1f / distance) * (1f - DEFAULT_DISTANCE);
+        float frequencyMod = (1f / frequency) * DEFAULT_FREQUENCY;
+        for (int i = start; i < end; i++) {
+            float progress = calculateProgress(time, frequencyMod, distanceMod * i, true);
+            values[i] = NumberUtils.intToFloatColor(Integer.reverseBytes(ColorUtils.lerpColors(this.color1, this.color2, progress)));
+        }
+    }
+
+    @Override
+    protected void applyEvaluated(long glyph, int localIndex, int globalIndex, float value, float fadeout) {
+        label.setInWorkingLayout(globalIndex, (glyph & 0xFFFFFFFFL) | (long) Integer.reverseBytes(NumberUtils.floatToIntColor(value)) << 32);
+    }
+
+    @Override
+    public boolean encodeShaderParams(int localIndex, float lineHeight, float[] params, int offset) {
+        if (duration != Float.POSITIVE_INFINITY) return false;
+        float distanceMod = (1f / distance) * (1f - DEFAULT_DISTANCE);
+        float frequencyMod = (1f / frequency) * DEFAULT_FREQUENCY;
+        params[offset] = ShaderEffects.GRADIENT;
+        params[offset + 1] = distanceMod * localIndex;
+        params[offset + 2] = 1f / frequencyMod;
+        params[offset + 3] = 0f;
+        // Each color is split into two 16-bit halves, which floats can store exactly.
+        params[offset + 4] = color1 >>> 16;
+        params[offset + 5] = color1 & 0xFFFF;
+        params[offset + 6] = color2 >>> 16;
+        params[offset + 7] = color2 & 0xFFFF;
+        return true;
+    }
 }
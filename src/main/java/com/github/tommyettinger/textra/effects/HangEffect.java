@@ -50,6 +50,7 @@ public class HangEffect extends Effect {
 
     public HangEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
@@ -47,6 +47,7 @@ public class HeartbeatEffect extends Effect {
 
     public HeartbeatEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING;
 
         // Expansion
         if (params.length > 0) {
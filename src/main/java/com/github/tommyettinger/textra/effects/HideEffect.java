@@ -60,6 +60,7 @@ public class HideEffect extends Effect {
 
     public HideEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
         label.trackingInput = true;
 
         // Color 1 or Alpha 1
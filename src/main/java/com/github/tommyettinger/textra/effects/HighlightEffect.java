@@ -60,6 +60,7 @@ public class HighlightEffect extends Effect {
 
     public HighlightEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
         label.trackingInput = true;
 
         // Base color
@@ -38,6 +38,7 @@ import com.github.tommyettinger.textra.TypingLabel;
 public class InstantEffect extends Effect {
     public InstantEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = NO_CHANNELS;
     }
 
     @Override
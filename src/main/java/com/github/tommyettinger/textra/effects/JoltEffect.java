@@ -61,6 +61,7 @@ public class JoltEffect extends Effect {
 
     public JoltEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | GLYPHS;
 
         // Shake Distance
         if (params.length > 0) {
@@ -18,6 +18,7 @@ package com.github.tommyettinger.textra.effects;
 
 import com.badlogic.gdx.math.Interpolation;
 import com.github.tommyettinger.textra.Effect;
+import com.github.tommyettinger.textra.ShaderEffects;
 import com.github.tommyettinger.textra.TypingLabel;
 
 /**
@@ -50,6 +51,7 @@ public class JumpEffect extends Effect {
 
     public JumpEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Jump Height
         if (params.length > 0) {
@@ -98,4 +100,43 @@ public class JumpEffect extends Effect {
         label.getOffsets().incr(globalIndex << 1 | 1, y);
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    protected void evaluate(float time, float[] values, int start, int end) {
+        float progressModifier = (1f / speed) * DEFAULT_SPEED;
+        float normalFrequency = (1f / frequency) * DEFAULT_FREQUENCY;
+        float split = 0.2f;
+        for (int i = start; i < end; i++) {
+            float progress = calculateProgress(time, progressModifier, -i / normalFrequency, false);
+            float interpolation;
+            if (progress < split) {
+                interpolation = Interpolation.pow2Out.apply(0, 1, progress / split);
+            } else {
+                interpolation = Interpolation.bounceOut.apply(1, 0, (progress - split) / (1f - split));
+            }
+            values[i] = jumpHeight * interpolation * DEFAULT_JUMP_HEIGHT;
+        }
+    }
+
+    @Override
+    protected void applyEvaluated(long glyph, int localIndex, int globalIndex, float value, float fadeout) {
+        label.getOffsets().incr(globalIndex << 1 | 1, label.getLineHeight(globalIndex) * value * fadeout);
+    }
+
+    @Override
+    public boolean encodeShaderParams(int localIndex, float lineHeight, float[] params, int offset) {
+        if (duration != Float.POSITIVE_INFINITY) return false;
+        float progressModifier = (1f / speed) * DEFAULT_SPEED;
+        float normalFrequency = (1f / frequency) * DEFAULT_FREQUENCY;
+        params[offset] = ShaderEffects.JUMP;
+        params[offset + 1] = -localIndex / normalFrequency;
+        params[offset + 2] = 1f / progressModifier;
+        params[offset + 3] = lineHeight * jumpHeight * DEFAULT_JUMP_HEIGHT;
+        params[offset + 4] = params[offset + 5] = params[offset + 6] = params[offset + 7] = 0f;
+        return true;
+    }
 }
@@ -46,6 +46,7 @@ public class LinkEffect extends Effect {
 
     public LinkEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = NO_CHANNELS;
         label.trackingInput = true;
 
         // URL
@@ -54,6 +54,7 @@ public class MeetEffect extends Effect {
 
     public MeetEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
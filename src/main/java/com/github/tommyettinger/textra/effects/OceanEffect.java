@@ -17,8 +17,10 @@
 package com.github.tommyettinger.textra.effects;
 
 import com.github.tommyettinger.textra.Effect;
+import com.github.tommyettinger.textra.TypingConfig;
 import com.github.tommyettinger.textra.TypingLabel;
 import com.github.tommyettinger.textra.utils.ColorUtils;
+import com.github.tommyettinger.textra.utils.LookupTable;
 import com.github.tommyettinger.textra.utils.NoiseUtils;
 
 /**
@@ -46,6 +48,8 @@ public class OceanEffect extends Effect {
     private static final float DEFAULT_DISTANCE = 0.975f;
     private static final float DEFAULT_FREQUENCY = 2f;
 
+    private static LookupTable hueTable, lightnessTable;
+
     private float distance = 1; // How extensive the color change effect should be.
     private float frequency = 0.25f; // How frequently the color pattern should move through the text.
     private float hue = 0.5f; // Color hue; this is the middle of the hue range, and it can go up by 0.15 or down by 0.15 at most
@@ -54,6 +58,7 @@ public class OceanEffect extends Effect {
 
     public OceanEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
 
         // Distance
         if (params.length > 0) {
@@ -88,9 +93,22 @@ public class OceanEffect extends Effect {
         float frequencyMod = (1f / frequency) * DEFAULT_FREQUENCY;
         float progress = calculateProgress(frequencyMod, distanceMod * localIndex, false);
 
+        float hueNoise, lightnessNoise;
+        if (TypingConfig.USE_LOOKUP_TABLES) {
+            if (hueTable == null) {
+                hueTable = NoiseUtils.bakeOctaveNoise1D(12345, 0f, 5f, TypingConfig.LOOKUP_TABLE_RESOLUTION, false);
+                lightnessTable = NoiseUtils.bakeNoise1D(-123456789, 0f, 4f, TypingConfig.LOOKUP_TABLE_RESOLUTION, false);
+            }
+            hueNoise = hueTable.get(progress * 5f);
+            lightnessNoise = lightnessTable.get(progress * 3f + progress * progress);
+        } else {
+            hueNoise = NoiseUtils.octaveNoise1D(progress * 5f, 12345);
+            lightnessNoise = NoiseUtils.noise1D(progress * 3f + progress * progress, -123456789);
+        }
+
         label.setInWorkingLayout(globalIndex, (glyph & 0xFFFFFFFFL) |
-                (long) ColorUtils.hsl2rgb(NoiseUtils.octaveNoise1D(progress * 5f, 12345) * 0.15f + hue, saturation,
-                        0.15f - Math.abs(NoiseUtils.noise1D(progress * 3f + progress * progress, -123456789)) * 0.3f + lightness, 1f) << 32);
+                (long) ColorUtils.hsl2rgb(hueNoise * 0.15f + hue, saturation,
+                        0.15f - Math.abs(lightnessNoise) * 0.3f + lightness, 1f) << 32);
     }
 
 }
@@ -50,6 +50,7 @@ public class PinchEffect extends Effect {
 
     public PinchEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING;
 
         // Squeeze strength
         if (params.length > 0) {
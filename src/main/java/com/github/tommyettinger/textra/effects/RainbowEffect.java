@@ -16,7 +16,9 @@
 
 package com.github.tommyettinger.textra.effects;
 
+import com.badlogic.gdx.utils.NumberUtils;
 import com.github.tommyettinger.textra.Effect;
+import com.github.tommyettinger.textra.ShaderEffects;
 import com.github.tommyettinger.textra.TypingLabel;
 import com.github.tommyettinger.textra.utils.ColorUtils;
 
@@ -52,6 +54,7 @@ public class RainbowEffect extends Effect {
 
     public RainbowEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
 
         // Distance
         if (params.length > 0) {
@@ -84,4 +87,42 @@ public class RainbowEffect extends Effect {
         label.setInWorkingLayout(globalIndex, (glyph & 0xFFFFFFFFL) | (long) ColorUtils.hsl2rgb(progress, saturation, lightness, 1f) << 32);
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    /**
+     * Stores each color as a packed float, as {@link com.badlogic.gdx.graphics.Color#toFloatBits()} would produce,
+     * so it can be kept in a float array.
+     */
+    @Override
+    protected void evaluate(float time, float[] values, int start, int end) {
+        float distanceMod = (1f / distance) * (1f - DEFAULT_DISTANCE);
+        float frequencyMod = (1f / frequency) * DEFAULT_FREQUENCY;
+        for (int i = start; i < end; i++) {
+            float progress = calculateProgress(time, frequencyMod, distanceMod * i, false);
+            values[i] = NumberUtils.intToFloatColor(Integer.reverseBytes(ColorUtils.hsl2rgb(progress, saturation, lightness, 1f)));
+        }
+    }
+
+    @Override
+    protected void applyEvaluated(long glyph, int localIndex, int globalIndex, float value, float fadeout) {
+        label.setInWorkingLayout(globalIndex, (glyph & 0xFFFFFFFFL) | (long) Integer.reverseBytes(NumberUtils.floatToIntColor(value)) << 32);
+    }
+
+    @Override
+    public boolean encodeShaderParams(int localIndex, float lineHeight, float[] params, int offset) {
+        if (duration != Float.POSITIVE_INFINITY) return false;
+        float distanceMod = (1f / distance) * (1f - DEFAULT_DISTANCE);
+        float frequencyMod = (1f / frequency) * DEFAULT_FREQUENCY;
+        params[offset] = ShaderEffects.RAINBOW;
+        params[offset + 1] = distanceMod * localIndex;
+        params[offset + 2] = 1f / frequencyMod;
+        params[offset + 3] = 0f;
+        params[offset + 4] = saturation;
+        params[offset + 5] = lightness;
+        params[offset + 6] = params[offset + 7] = 0f;
+        return true;
+    }
 }
@@ -39,6 +39,7 @@ public class RotateEffect extends Effect {
 
     public RotateEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = ROTATIONS;
 
         // Size X (and Y)
         if (params.length > 0) {
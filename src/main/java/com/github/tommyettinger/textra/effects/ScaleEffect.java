@@ -45,6 +45,7 @@ public class ScaleEffect extends Effect {
 
     public ScaleEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING | ADVANCES;
 
         // Size X (and Y)
         if (params.length > 0) {
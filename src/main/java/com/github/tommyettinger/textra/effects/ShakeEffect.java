@@ -51,6 +51,7 @@ public class ShakeEffect extends Effect {
 
     public ShakeEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
@@ -49,6 +49,7 @@ public class ShootEffect extends Effect {
 
     public ShootEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
 
         // Underline
         if (params.length > 0) {
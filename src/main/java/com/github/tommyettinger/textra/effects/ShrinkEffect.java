@@ -51,6 +51,7 @@ public class ShrinkEffect extends Effect {
 
     public ShrinkEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = SIZING;
 
         // Expansion
         if (params.length > 0) {
@@ -52,6 +52,7 @@ public class SickEffect extends Effect {
 
     public SickEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
@@ -61,6 +61,7 @@ public class SlamEffect extends Effect {
 
     public SlamEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Hang Time
         if (params.length > 0) {
@@ -52,6 +52,7 @@ public class SlideEffect extends Effect {
 
     public SlideEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
@@ -47,6 +47,7 @@ public class SlipEffect extends Effect {
 
     public SlipEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Expansion Amount
         if (params.length > 0) {
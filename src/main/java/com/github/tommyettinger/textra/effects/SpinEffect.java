@@ -50,6 +50,7 @@ public class SpinEffect extends Effect {
 
     public SpinEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = ROTATIONS;
 
         // Extent
         if (params.length > 0) {
@@ -50,6 +50,7 @@ public class SpiralEffect extends Effect {
 
     public SpiralEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
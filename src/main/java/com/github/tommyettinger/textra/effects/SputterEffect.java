@@ -49,6 +49,7 @@ public class SputterEffect extends Effect {
 
     public SputterEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = SIZING;
 
         // x size change
         if (params.length > 0) {
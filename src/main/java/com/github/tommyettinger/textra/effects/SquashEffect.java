@@ -49,6 +49,7 @@ public class SquashEffect extends Effect {
 
     public SquashEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | SIZING;
 
         // Speed
         if (params.length > 0) {
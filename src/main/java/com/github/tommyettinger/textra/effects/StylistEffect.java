@@ -90,6 +90,7 @@ public class StylistEffect extends Effect {
 
     public StylistEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = GLYPHS;
         label.trackingInput = true;
 
         // Bold
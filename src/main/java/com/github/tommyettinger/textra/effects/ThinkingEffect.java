@@ -55,6 +55,7 @@ public class ThinkingEffect extends Effect {
 
     public ThinkingEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS | GLYPHS;
 
         // Distance
         if (params.length > 0) {
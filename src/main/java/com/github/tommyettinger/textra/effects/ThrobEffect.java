@@ -57,6 +57,7 @@ public class ThrobEffect extends Effect {
 
     public ThrobEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
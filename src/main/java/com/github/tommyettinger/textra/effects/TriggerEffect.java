@@ -44,6 +44,7 @@ public class TriggerEffect extends Effect {
 
     public TriggerEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = NO_CHANNELS;
         label.trackingInput = true;
 
         // Event name
@@ -18,6 +18,7 @@ package com.github.tommyettinger.textra.effects;
 
 import com.badlogic.gdx.math.Interpolation;
 import com.github.tommyettinger.textra.Effect;
+import com.github.tommyettinger.textra.ShaderEffects;
 import com.github.tommyettinger.textra.TypingLabel;
 
 /**
@@ -50,6 +51,7 @@ public class WaveEffect extends Effect {
 
     public WaveEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
@@ -91,4 +93,36 @@ public class WaveEffect extends Effect {
         label.getOffsets().incr(globalIndex << 1 | 1, y);
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    protected void evaluate(float time, float[] values, int start, int end) {
+        float progressModifier = (1f / speed) * DEFAULT_SPEED;
+        float normalFrequency = (1f / frequency) * DEFAULT_FREQUENCY;
+        for (int i = start; i < end; i++) {
+            float progress = calculateProgress(time, progressModifier, i / normalFrequency, true);
+            values[i] = distance * Interpolation.sine.apply(-1, 1, progress) * DEFAULT_DISTANCE;
+        }
+    }
+
+    @Override
+    protected void applyEvaluated(long glyph, int localIndex, int globalIndex, float value, float fadeout) {
+        label.getOffsets().incr(globalIndex << 1 | 1, label.getLineHeight(globalIndex) * value * fadeout);
+    }
+
+    @Override
+    public boolean encodeShaderParams(int localIndex, float lineHeight, float[] params, int offset) {
+        if (duration != Float.POSITIVE_INFINITY) return false;
+        float progressModifier = (1f / speed) * DEFAULT_SPEED;
+        float normalFrequency = (1f / frequency) * DEFAULT_FREQUENCY;
+        params[offset] = ShaderEffects.WAVE;
+        params[offset + 1] = localIndex / normalFrequency;
+        params[offset + 2] = 1f / progressModifier;
+        params[offset + 3] = lineHeight * distance * DEFAULT_DISTANCE;
+        params[offset + 4] = params[offset + 5] = params[offset + 6] = params[offset + 7] = 0f;
+        return true;
+    }
 }
@@ -17,7 +17,9 @@
 package com.github.tommyettinger.textra.effects;
 
 import com.github.tommyettinger.textra.Effect;
+import com.github.tommyettinger.textra.TypingConfig;
 import com.github.tommyettinger.textra.TypingLabel;
+import com.github.tommyettinger.textra.utils.LookupTable;
 import com.github.tommyettinger.textra.utils.NoiseUtils;
 
 /**
@@ -48,6 +50,8 @@ public class WindEffect extends Effect {
     private static final float DISTANCE_Y_RATIO = 1.0f;
     private static final float IDEAL_DELTA = 60f;
 
+    private static LookupTable noiseTableX, noiseTableY;
+
     private float noiseCursorX = 0;
     private float noiseCursorY = 0;
 
@@ -58,6 +62,7 @@ public class WindEffect extends Effect {
 
     public WindEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance X
         if (params.length > 0) {
@@ -105,8 +110,18 @@ public class WindEffect extends Effect {
 
         // Calculate noise
         float indexOffset = localIndex * 0.05f * spacing;
-        float noiseX = NoiseUtils.octaveNoise1D(noiseCursorX + indexOffset, 123);
-        float noiseY = NoiseUtils.octaveNoise1D(noiseCursorY + indexOffset, -4321);
+        float noiseX, noiseY;
+        if (TypingConfig.USE_LOOKUP_TABLES) {
+            if (noiseTableX == null) {
+                noiseTableX = NoiseUtils.bakeOctaveNoise1D(123, 0f, 256f, TypingConfig.LOOKUP_TABLE_RESOLUTION, true);
+                noiseTableY = NoiseUtils.bakeOctaveNoise1D(-4321, 0f, 256f, TypingConfig.LOOKUP_TABLE_RESOLUTION, true);
+            }
+            noiseX = noiseTableX.get(noiseCursorX + indexOffset);
+            noiseY = noiseTableY.get(noiseCursorY + indexOffset);
+        } else {
+            noiseX = NoiseUtils.octaveNoise1D(noiseCursorX + indexOffset, 123);
+            noiseY = NoiseUtils.octaveNoise1D(noiseCursorY + indexOffset, -4321);
+        }
 
         // Calculate offset
         float lineHeight = label.getLineHeight(globalIndex);
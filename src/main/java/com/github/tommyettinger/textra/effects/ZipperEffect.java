@@ -52,6 +52,7 @@ public class ZipperEffect extends Effect {
 
     public ZipperEffect(TypingLabel label, String[] params) {
         super(label);
+        channels = OFFSETS;
 
         // Distance
         if (params.length > 0) {
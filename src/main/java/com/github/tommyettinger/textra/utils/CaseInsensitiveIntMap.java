@@ -61,6 +61,19 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 	protected transient Values values1, values2;
 	protected transient Keys keys1, keys2;
 
+	/**
+	 * Remembers the table positions of keys recently found by {@link #get(CharSequence, int, int, int)}, indexed by a
+	 * cheap function of each key's first char and length; each item is a position plus 1, or 0 if unused. Positions
+	 * are always checked against the key text before they are used, so this never needs to be cleared.
+	 */
+	private transient int[] recent;
+
+	/**
+	 * Counts changes to the keys or values, so a cache built from this map (such as the emoji trie a Font keeps) can
+	 * tell when it is out of date.
+	 */
+	private transient int version;
+
 	/**
 	 * Used to establish the size of a hash table.
 	 * The table size will always be a power of two, and should be the next power of two that is at least equal
@@ -156,6 +169,7 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 	}
 
 	public void put (String key, int value) {
+		version++;
 		int i = locateKey(key);
 		if (i >= 0) { // Existing key was found.
 			valueTable[i] = value;
@@ -169,6 +183,7 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 
 	/** Returns the old value associated with the specified key, or the specified default value. */
 	public int put (String key, int value, int defaultValue) {
+		version++;
 		int i = locateKey(key);
 		if (i >= 0) { // Existing key was found.
 			int oldValue = valueTable[i];
@@ -222,9 +237,58 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 		return i < 0 ? defaultValue : valueTable[i];
 	}
 
+	/**
+	 * Returns the value for the key that is the section of {@code text} from {@code start} inclusive to {@code end}
+	 * exclusive, or the default value if that key is not in the map. This doesn't create a substring, and it remembers
+	 * where recently-found keys are in the table, so looking up the same few keys over and over (as markup does with
+	 * font names) usually only needs to compare the section of text with one key, without hashing it.
+	 *
+	 * @param text         a CharSequence containing a key; if null, this returns defaultValue
+	 * @param start        the first index in text of the key, inclusive
+	 * @param end          the last index in text of the key, exclusive
+	 * @param defaultValue returned if the key is not found
+	 * @return the value for the key, or defaultValue if it isn't present
+	 */
+	public int get (CharSequence text, int start, int end, int defaultValue) {
+		if (text == null) return defaultValue;
+		start = Math.max(0, start);
+		end = Math.min(text.length(), end);
+		final int len = Math.max(0, end - start);
+		if (recent == null) recent = new int[32];
+		// Any bucket works, since positions are checked; this tries to keep names like "Serif1" and "Serif2" apart.
+		final int bucket = (len == 0 ? 0 : (text.charAt(start) | 32) * 31 + (text.charAt(end - 1) | 32) * 7 + len) & 31;
+		final String[] keyTable = this.keyTable;
+		final int known = recent[bucket] - 1;
+		if (known >= 0 && known < keyTable.length && regionEqualsIgnoreCase(keyTable[known], text, start, len))
+			return valueTable[known];
+		for (int i = hashCodeIgnoreCase(text, start, start + len, mask) & mask;; i = i + 1 & mask) {
+			String other = keyTable[i];
+			if (other == null) return defaultValue;
+			if (regionEqualsIgnoreCase(other, text, start, len)) {
+				recent[bucket] = i + 1;
+				return valueTable[i];
+			}
+		}
+	}
+
+	/**
+	 * Compares key with a section of text the same way {@link String#equalsIgnoreCase(String)} compares two Strings.
+	 */
+	private static boolean regionEqualsIgnoreCase (String key, CharSequence text, int start, int len) {
+		if (key == null || key.length() != len) return false;
+		for (int i = 0; i < len; i++) {
+			char a = key.charAt(i), b = text.charAt(start + i);
+			if (a == b) continue;
+			char ua = Character.toUpperCase(a), ub = Character.toUpperCase(b);
+			if (ua != ub && Character.toLowerCase(ua) != Character.toLowerCase(ub)) return false;
+		}
+		return true;
+	}
+
 	/** Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
 	 * put into the map and defaultValue is returned. */
 	public int getAndIncrement (String key, int defaultValue, int increment) {
+		version++;
 		int i = locateKey(key);
 		if (i >= 0) { // Existing key was found.
 			int oldValue = valueTable[i];
@@ -242,6 +306,7 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 	public int remove (String key, int defaultValue) {
 		int i = locateKey(key);
 		if (i < 0) return defaultValue;
+		version++;
 		String[] keyTable = this.keyTable;
 		int[] valueTable = this.valueTable;
 		int oldValue = valueTable[i];
@@ -260,6 +325,15 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 		return oldValue;
 	}
 
+	/**
+	 * Gets a number that changes whenever this map may have been changed. Two calls return the same number only if
+	 * nothing could have changed the contents in between.
+	 * @return the current version of this map's contents
+	 */
+	public int getVersion () {
+		return version;
+	}
+
 	/** Returns true if the map has one or more items. */
 	public boolean notEmpty () {
 		return size > 0;
@@ -286,12 +360,14 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 			clear();
 			return;
 		}
+		version++;
 		size = 0;
 		resize(tableSize);
 	}
 
 	public void clear () {
 		if (size == 0) return;
+		version++;
 		size = 0;
 		Arrays.fill(keyTable, null);
 	}
@@ -529,6 +605,7 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 			}
 			keyTable[i] = null;
 			map.size--;
+			map.version++;
 			if (i != currentIndex) --nextIndex;
 			currentIndex = -1;
 		}
@@ -672,4 +749,23 @@ public class CaseInsensitiveIntMap implements Iterable<CaseInsensitiveIntMap.Ent
 		}
 		return seed^(seed<<27|seed>>> 5)^(seed<< 9|seed>>>23);
 	}
+
+	/**
+	 * Gets the same hash as {@link #hashCodeIgnoreCase(CharSequence, int)} would for the section of {@code data}
+	 * from {@code start} inclusive to {@code end} exclusive, without creating a substring. The bounds must be valid.
+	 *
+	 * @param data  a non-null CharSequence; often a String, but this has no trouble with a StringBuilder
+	 * @param start the first index to hash, inclusive
+	 * @param end   the last index to hash, exclusive
+	 * @param seed  any int; must be the same between calls if two equivalent values for {@code data} must be the same
+	 * @return an int hashCode; quality should be similarly good across any bits
+	 */
+	public static int hashCodeIgnoreCase (final CharSequence data, final int start, final int end, int seed) {
+		if(data == null) return 0;
+		seed ^= end - start;
+		for (int p = start; p < end; p++) {
+			seed = Compatibility.imul(-594347645, seed + Category.caseUp(data.charAt(p)));
+		}
+		return seed^(seed<<27|seed>>> 5)^(seed<< 9|seed>>>23);
+	}
 }
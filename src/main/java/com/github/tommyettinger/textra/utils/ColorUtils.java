@@ -21,8 +21,8 @@ import com.badlogic.gdx.graphics.Colors;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.NumberUtils;
-import regexodus.Matcher;
-import regexodus.Pattern;
+
+import java.util.Arrays;
 
 import static com.github.tommyettinger.textra.utils.Palette.NAMED;
 
@@ -554,11 +554,51 @@ public class ColorUtils {
     }
 
     private static final IntArray mixing = new IntArray(8);
-    private static final Pattern nonTermPattern = Pattern.compile("[^a-zA-Z0-9_]+");
-    private static final Matcher nonTermMatcher = nonTermPattern.matcher();
     private static float lightness = 0f;
     private static float saturation = 0f;
 
+    /**
+     * How many descriptions {@link #describe(String, int, int)} remembers; must be a power of two.
+     */
+    private static final int DESCRIPTION_CACHE_SIZE = 512;
+
+    /**
+     * A color description and the color it parsed to. The fields are final so a Description can be read from the cache
+     * by any thread without locking.
+     */
+    private static final class Description {
+        final String text;
+        final int rgba;
+        /**
+         * The size of {@link Palette#NAMED} when this was parsed; if a color has been added since, this is stale.
+         */
+        final int names;
+
+        Description(String text, int rgba, int names) {
+            this.text = text;
+            this.rgba = rgba;
+            this.names = names;
+        }
+    }
+
+    private static final Description[] descriptions = new Description[DESCRIPTION_CACHE_SIZE];
+    /**
+     * Each term that was looked up in {@link Palette#NAMED}, kept so the same term doesn't need a new String each time.
+     */
+    private static final String[] terms = new String[256];
+
+    /**
+     * Forgets every color description that {@link #describe(String, int, int)} has parsed. Adding a color with
+     * {@link Palette#addColor(String, int)} (or any other way that changes the size of {@link Palette#NAMED}) already
+     * makes older descriptions get parsed again, so this only needs to be called after changing the color for a name
+     * that was already in {@link Palette#NAMED}.
+     */
+    public static void clearDescriptionCache() {
+        synchronized (mixing) {
+            Arrays.fill(descriptions, null);
+        }
+    }
+
     /**
      * Parses a color description and returns the approximate color it describes, as an RGBA8888 int color.
      * Color descriptions consist of one or more alphabetical words, separated by non-alphanumeric characters (typically
@@ -639,6 +679,10 @@ public class ColorUtils {
      * Examples of valid descriptions include "blue", "dark green", "DULLER RED", "peach pink", "indigo purple mauve",
      * "lightest, richer apricot-olive", "BRIGHT GOLD", "palest cyan blue", "Deep fern black", "weakmost celery",
      * "LIGHTMOST rich MAROON 2 indigo 3", "red:3 orange", and "dark deep (blue 7) (cyan 3)".
+     * <br>
+     * The last 512 or so descriptions parsed are remembered, so describing the same text again (as markup does for each
+     * color tag) only has to hash and compare its chars. This is safe to call from multiple threads. If you change the
+     * color for a name already in {@link Palette#NAMED}, call {@link #clearDescriptionCache()}.
      * @param description a color description, as a String matching the above format
      * @return an RGBA8888 int color as described
      */
@@ -647,28 +691,43 @@ public class ColorUtils {
         endIndex = Math.min(endIndex, description.length());
         if(endIndex <= beginIndex) return 256;
 
+        final int len = endIndex - beginIndex;
+        int h = len;
+        for (int i = beginIndex; i < endIndex; i++) {
+            h = h * 31 + description.charAt(i);
+        }
+        h = (h ^ h >>> 16) * 0x45D9F3B;
+        final int slot = (h ^ h >>> 16) & (DESCRIPTION_CACHE_SIZE - 1);
+        Description known = descriptions[slot];
+        if (known != null && known.names == NAMED.size && known.text.length() == len
+                && known.text.regionMatches(0, description, beginIndex, len))
+            return known.rgba;
+
+        synchronized (mixing) {
+            final int rgba = parse(description, beginIndex, endIndex);
+            descriptions[slot] = new Description(len == description.length() ? description
+                    : description.substring(beginIndex, endIndex), rgba, NAMED.size);
+            return rgba;
+        }
+    }
+
+    /**
+     * Does the work for {@link #describe(String, int, int)} without checking its cache. Terms are runs of ASCII
+     * letters, digits, and underscores; everything else separates terms. Only called while holding the lock on
+     * {@link #mixing}, because the parsing state is shared.
+     */
+    private static int parse(final String description, final int beginIndex, final int endIndex) {
         lightness = 0f;
         saturation = 0f;
         mixing.clear();
 
-        int index = beginIndex;
-        Matcher m = nonTermMatcher;
-        m.setTarget(description, beginIndex, endIndex - beginIndex);
-
-        // Add segments before each match found
-        while(m.find()) {
-            if (m.start() + beginIndex > index)
-                process(description.substring(index, m.start() + beginIndex));
-            index = m.end() + beginIndex;
+        for (int i = beginIndex; i < endIndex; ) {
+            while (i < endIndex && !isTermChar(description.charAt(i))) i++;
+            final int start = i;
+            while (i < endIndex && isTermChar(description.charAt(i))) i++;
+            if (i > start) process(description, start, i);
         }
 
-        // If no match was found, return this
-        if (index == 0)
-            process(description);
-
-        // Add remaining segment
-        process(description.substring(index, endIndex));
-
         if(mixing.size < 2) return 256;
         int result = unevenMix(mixing.items, 0, mixing.size);
         if(result == 256) return result;
@@ -682,13 +741,33 @@ public class ColorUtils {
         return result;
     }
 
-    private static void process(final String term) {
-        if (term == null || term.isEmpty()) return;
-        final int len = term.length();
-        switch (term.charAt(0)) {
+    private static boolean isTermChar(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Gets the term from start (inclusive) to end (exclusive) in description as a String, reusing an equal String from
+     * an earlier call if there is one, so looking up familiar color names doesn't allocate.
+     */
+    private static String term(final String description, final int start, final int end) {
+        final int len = end - start;
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = h * 31 + description.charAt(i);
+        }
+        final int slot = (h ^ h >>> 8 ^ h >>> 16) & (terms.length - 1);
+        String term = terms[slot];
+        if (term == null || term.length() != len || !term.regionMatches(0, description, start, len))
+            terms[slot] = term = description.substring(start, end);
+        return term;
+    }
+
+    private static void process(final String description, final int start, final int end) {
+        final int len = end - start;
+        switch (description.charAt(start)) {
             case 'L':
             case 'l':
-                if (len > 2 && (term.charAt(2) == 'g' || term.charAt(2) == 'G')) { // light
+                if (len > 2 && (description.charAt(start + 2) == 'g' || description.charAt(start + 2) == 'G')) { // light
                     switch (len) {
                         case 9:
                             lightness += 0.20f;
@@ -701,12 +780,12 @@ public class ColorUtils {
                             break;
                     }
                 } else {
-                    mixing.add(NAMED.get(term, 256), 1);
+                    mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 }
                 break;
             case 'B':
             case 'b':
-                if (len > 3 && (term.charAt(3) == 'g' || term.charAt(3) == 'G')) { // bright
+                if (len > 3 && (description.charAt(start + 3) == 'g' || description.charAt(start + 3) == 'G')) { // bright
                     switch (len) {
                         case 10:
                             lightness += 0.20f;
@@ -723,12 +802,12 @@ public class ColorUtils {
                             break;
                     }
                 } else {
-                    mixing.add(NAMED.get(term, 256), 1);
+                    mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 }
                 break;
             case 'P':
             case 'p':
-                if (len > 2 && (term.charAt(2) == 'l' || term.charAt(2) == 'L')) { // pale
+                if (len > 2 && (description.charAt(start + 2) == 'l' || description.charAt(start + 2) == 'L')) { // pale
                     switch (len) {
                         case 8: // palemost
                         case 7: // palerer
@@ -746,12 +825,12 @@ public class ColorUtils {
                             break;
                     }
                 } else {
-                    mixing.add(NAMED.get(term, 256), 1);
+                    mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 }
                 break;
             case 'W':
             case 'w':
-                if (len > 3 && (term.charAt(3) == 'k' || term.charAt(3) == 'K')) { // weak
+                if (len > 3 && (description.charAt(start + 3) == 'k' || description.charAt(start + 3) == 'K')) { // weak
                     switch (len) {
                         case 8:
                             lightness -= 0.20f;
@@ -768,12 +847,12 @@ public class ColorUtils {
                             break;
                     }
                 } else {
-                    mixing.add(NAMED.get(term, 256), 1);
+                    mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 }
                 break;
             case 'R':
             case 'r':
-                if (len > 1 && (term.charAt(1) == 'i' || term.charAt(1) == 'I')) { // rich
+                if (len > 1 && (description.charAt(start + 1) == 'i' || description.charAt(start + 1) == 'I')) { // rich
                     switch (len) {
                         case 8:
                             saturation += 0.200f;
@@ -786,12 +865,12 @@ public class ColorUtils {
                             break;
                     }
                 } else {
-                    mixing.add(NAMED.get(term, 256), 1);
+                    mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 }
                 break;
             case 'D':
             case 'd':
-                if (len > 1 && (term.charAt(1) == 'a' || term.charAt(1) == 'A')) { // dark
+                if (len > 1 && (description.charAt(start + 1) == 'a' || description.charAt(start + 1) == 'A')) { // dark
                     switch (len) {
                         case 8:
                             lightness -= 0.20f;
@@ -803,7 +882,7 @@ public class ColorUtils {
                             lightness -= 0.20f;
                             break;
                     }
-                } else if (len > 1 && (term.charAt(1) == 'u' || term.charAt(1) == 'U')) { // dull
+                } else if (len > 1 && (description.charAt(start + 1) == 'u' || description.charAt(start + 1) == 'U')) { // dull
                     switch (len) {
                         case 8:
                             saturation -= 0.200f;
@@ -815,7 +894,7 @@ public class ColorUtils {
                             saturation -= 0.200f;
                             break;
                     }
-                } else if (len > 3 && (term.charAt(3) == 'p' || term.charAt(3) == 'P')) { // deep
+                } else if (len > 3 && (description.charAt(start + 3) == 'p' || description.charAt(start + 3) == 'P')) { // deep
                     switch (len) {
                         case 8:
                             lightness -= 0.20f;
@@ -832,7 +911,7 @@ public class ColorUtils {
                             break;
                     }
                 } else {
-                    mixing.add(NAMED.get(term, 256), 1);
+                    mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 }
                 break;
             case '0':
@@ -846,10 +925,10 @@ public class ColorUtils {
             case '8':
             case '9':
                 if(mixing.size >= 2)
-                    mixing.set((mixing.size & -2) - 1, StringUtils.intFromDec(term, 0, term.length()));
+                    mixing.set((mixing.size & -2) - 1, StringUtils.intFromDec(description, start, end));
                 break;
             default:
-                mixing.add(NAMED.get(term, 256), 1);
+                mixing.add(NAMED.get(term(description, start, end), 256), 1);
                 break;
         }
     }
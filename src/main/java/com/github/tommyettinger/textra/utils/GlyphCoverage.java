@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra.utils;
+
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.Arrays;
+
+/**
+ * A read-only set of the chars a Font can show, stored as one bit per char. The bits are kept in pages of 256 chars,
+ * and pages with no chars in them are shared, so a Font that only covers a few scripts needs only a few hundred bytes.
+ * Checking whether a char is covered takes two array reads and a shift, with no hashing.
+ * <br>
+ * A GlyphCoverage doesn't change if the mapping it was built from changes later. Font rebuilds its coverage when
+ * its mapping changes size, in {@code Font.getCoverage()}.
+ */
+public final class GlyphCoverage {
+    private static final long[] EMPTY_PAGE = new long[4];
+
+    private final long[][] pages;
+    /**
+     * How many chars this covers.
+     */
+    public final int size;
+
+    private GlyphCoverage(long[][] pages, int size) {
+        this.pages = pages;
+        this.size = size;
+    }
+
+    /**
+     * Returns true if this covers the given char. Only the lowest 16 bits of {@code c} are used.
+     * @param c a char, or an int in the char range
+     * @return true if the Font this was built for has a glyph for c
+     */
+    public boolean contains(int c) {
+        return (pages[c >>> 8 & 255][c >>> 6 & 3] >>> c & 1L) != 0L;
+    }
+
+    /**
+     * Builds a GlyphCoverage for every key in {@code mapping} that has a non-null value and is in the char range.
+     * @param mapping a Font's mapping, or any IntMap keyed by char
+     * @return a new GlyphCoverage for mapping's keys
+     */
+    public static GlyphCoverage of(IntMap<?> mapping) {
+        long[][] pages = new long[256][];
+        Arrays.fill(pages, EMPTY_PAGE);
+        int size = 0;
+        for (IntMap.Entry<?> e : mapping) {
+            int c = e.key;
+            if (e.value == null || c < 0 || c > 0xFFFF) continue;
+            long[] page = pages[c >>> 8];
+            if (page == EMPTY_PAGE) pages[c >>> 8] = page = new long[4];
+            long bit = 1L << c;
+            if ((page[c >>> 6 & 3] & bit) == 0L) {
+                page[c >>> 6 & 3] |= bit;
+                size++;
+            }
+        }
+        return new GlyphCoverage(pages, size);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra.utils;
+
+import com.badlogic.gdx.utils.IntFloatMap;
+
+/**
+ * An {@link IntFloatMap} that counts how many times it may have been changed, so a {@link KerningTable} built from it
+ * can tell when it is out of date. This is what Font uses for its {@code kerning} field; it behaves exactly like an
+ * IntFloatMap otherwise. Every method that can change the contents increments {@link #getVersion()}, and so does
+ * getting an iterator, since iterators can remove entries.
+ */
+public class KerningMap extends IntFloatMap {
+    private int version;
+
+    public KerningMap() {
+        super();
+    }
+
+    public KerningMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    public KerningMap(int initialCapacity, float loadFactor) {
+        super(initialCapacity, loadFactor);
+    }
+
+    public KerningMap(IntFloatMap map) {
+        super(map);
+    }
+
+    /**
+     * Gets a number that changes whenever this map may have been changed. Two calls return the same number only if
+     * nothing could have changed the contents in between.
+     * @return the current version of this map's contents
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void put(int key, float value) {
+        version++;
+        super.put(key, value);
+    }
+
+    @Override
+    public float put(int key, float value, float defaultValue) {
+        version++;
+        return super.put(key, value, defaultValue);
+    }
+
+    @Override
+    public void putMissing(int key, float value) {
+        version++;
+        super.putMissing(key, value);
+    }
+
+    @Override
+    public float putMissing(int key, float value, float defaultValue) {
+        version++;
+        return super.putMissing(key, value, defaultValue);
+    }
+
+    @Override
+    public void putAll(IntFloatMap map) {
+        version++;
+        super.putAll(map);
+    }
+
+    @Override
+    public float getAndIncrement(int key, float defaultValue, float increment) {
+        version++;
+        return super.getAndIncrement(key, defaultValue, increment);
+    }
+
+    @Override
+    public float remove(int key, float defaultValue) {
+        version++;
+        return super.remove(key, defaultValue);
+    }
+
+    @Override
+    public void clear(int maximumCapacity) {
+        version++;
+        super.clear(maximumCapacity);
+    }
+
+    @Override
+    public void clear() {
+        version++;
+        super.clear();
+    }
+
+    @Override
+    public Entries entries() {
+        version++;
+        return super.entries();
+    }
+
+    @Override
+    public Values values() {
+        version++;
+        return super.values();
+    }
+
+    @Override
+    public Keys keys() {
+        version++;
+        return super.keys();
+    }
+}
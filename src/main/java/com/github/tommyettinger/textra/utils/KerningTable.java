@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra.utils;
+
+import com.badlogic.gdx.utils.IntFloatMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+/**
+ * A read-only, class-based form of a Font's kerning pairs, similar to the class-based kerning tables in OpenType.
+ * Every char that appears first in some kerning pair is given a left class, and every char that appears second is
+ * given a right class; chars that kern identically against every other char share a class. The kerning amount for a
+ * pair is then one read from a dense table of left classes by right classes. Chars that are never kerned are in class
+ * 0 on both sides, which always has an amount of 0.
+ * <br>
+ * Looking up a pair here takes three array reads from the char-to-class pages and one from the amount table, with no
+ * hashing, probing, or branching, which is faster than {@link IntFloatMap#get(int, float)} for fonts with many pairs.
+ * Pairs use the same format as the keys of {@code Font.kerning}, with the first char in the upper 16 bits and the second
+ * char in the lower 16 bits.
+ * <br>
+ * A KerningTable doesn't change if the map it was built from is changed later, so it must be rebuilt after changing
+ * that map. Font does this in {@code Font.updateKerningTable()}.
+ */
+public final class KerningTable {
+    /**
+     * The largest number of cells (left classes times right classes) a table can have; {@link #of(IntFloatMap)} returns
+     * null if a font's kerning would need more than this.
+     */
+    public static final int MAX_CELLS = 1 << 20;
+
+    private static final short[] EMPTY_PAGE = new short[256];
+
+    private final short[][] leftPages, rightPages;
+    private final float[] amounts;
+    /**
+     * How many distinct left classes this has, including class 0.
+     */
+    public final int leftClasses;
+    /**
+     * How many distinct right classes this has, including class 0.
+     */
+    public final int rightClasses;
+
+    private KerningTable(short[][] leftPages, short[][] rightPages, float[] amounts, int leftClasses, int rightClasses) {
+        this.leftPages = leftPages;
+        this.rightPages = rightPages;
+        this.amounts = amounts;
+        this.leftClasses = leftClasses;
+        this.rightClasses = rightClasses;
+    }
+
+    /**
+     * Gets the kerning amount for the given pair, or 0 if the pair isn't kerned. The pair has the first char in its upper
+     * 16 bits and the second char in its lower 16 bits, as produced by {@code Font.kerningPair(char, char)}.
+     * @param pair a kerning pair, with the first char in the upper 16 bits and the second in the lower 16 bits
+     * @return the kerning amount for that pair, in the font's units, or 0 if the pair isn't kerned
+     */
+    public float get(int pair) {
+        return amounts[(leftPages[pair >>> 24][pair >>> 16 & 255] & 0xFFFF) * rightClasses
+                + (rightPages[pair >>> 8 & 255][pair & 255] & 0xFFFF)];
+    }
+
+    /**
+     * Gets the kerning amount between the given chars, or 0 if they aren't kerned.
+     * @param first the earlier char
+     * @param second the later char
+     * @return the kerning amount for that pair, in the font's units, or 0 if the pair isn't kerned
+     */
+    public float get(char first, char second) {
+        return get(first << 16 | second);
+    }
+
+    /**
+     * Gets how many floats the amount table holds, which is {@link #leftClasses} times {@link #rightClasses}.
+     * @return the number of cells in the amount table
+     */
+    public int cells() {
+        return amounts.length;
+    }
+
+    /**
+     * Builds a KerningTable from a map of kerning pairs to amounts, in the format used by {@code Font.kerning}. Pairs
+     * with an amount of 0 are ignored. This returns null if {@code kerning} is null or has no non-zero pairs, or if the
+     * table would need more than {@link #MAX_CELLS} cells; in those cases, the map should be used as-is.
+     * @param kerning a map from kerning pairs to amounts; may be null
+     * @return a new KerningTable with the same amounts as kerning, or null if one couldn't or shouldn't be made
+     */
+    public static KerningTable of(IntFloatMap kerning) {
+        if (kerning == null || kerning.size == 0) return null;
+        // First, group the second chars by the column of amounts they get from every first char.
+        IntMap<LongArray> bySecond = new IntMap<>(256);
+        for (IntFloatMap.Entry e : kerning) {
+            if (e.value == 0f) continue;
+            int second = e.key & 0xFFFF;
+            LongArray column = bySecond.get(second);
+            if (column == null) bySecond.put(second, column = new LongArray(8));
+            column.add((long) (e.key >>> 16) << 32 | (NumberUtils.floatToRawIntBits(e.value) & 0xFFFFFFFFL));
+        }
+        if (bySecond.size == 0) return null;
+        short[][] rightPages = emptyPages();
+        int rightClasses = assignClasses(bySecond, rightPages);
+        if (rightClasses < 0) return null;
+
+        // Then, group the first chars by the row of amounts they get against every right class.
+        IntMap<LongArray> byFirst = new IntMap<>(256);
+        for (IntFloatMap.Entry e : kerning) {
+            if (e.value == 0f) continue;
+            int first = e.key >>> 16;
+            LongArray row = byFirst.get(first);
+            if (row == null) byFirst.put(first, row = new LongArray(8));
+            row.add((long) classOf(rightPages, e.key & 0xFFFF) << 32 | (NumberUtils.floatToRawIntBits(e.value) & 0xFFFFFFFFL));
+        }
+        short[][] leftPages = emptyPages();
+        int leftClasses = assignClasses(byFirst, leftPages);
+        if (leftClasses < 0 || (long) leftClasses * rightClasses > MAX_CELLS) return null;
+
+        float[] amounts = new float[leftClasses * rightClasses];
+        for (IntFloatMap.Entry e : kerning) {
+            if (e.value == 0f) continue;
+            amounts[classOf(leftPages, e.key >>> 16) * rightClasses + classOf(rightPages, e.key & 0xFFFF)] = e.value;
+        }
+        return new KerningTable(leftPages, rightPages, amounts, leftClasses, rightClasses);
+    }
+
+    private static short[][] emptyPages() {
+        short[][] pages = new short[256][];
+        Arrays.fill(pages, EMPTY_PAGE);
+        return pages;
+    }
+
+    private static int classOf(short[][] pages, int c) {
+        return pages[c >>> 8][c & 255] & 0xFFFF;
+    }
+
+    /**
+     * Gives each char in {@code groups} a class, starting at 1, so that chars with identical (sorted, de-duplicated)
+     * entries share a class. Classes are written into pages, allocating pages as needed.
+     * @return the number of classes, including class 0, or -1 if there would be more than 65536
+     */
+    private static int assignClasses(IntMap<LongArray> groups, short[][] pages) {
+        ObjectIntMap<Signature> classes = new ObjectIntMap<>(groups.size);
+        int count = 1;
+        for (IntMap.Entry<LongArray> e : groups) {
+            LongArray entries = e.value;
+            entries.sort();
+            int size = 0;
+            for (int i = 0; i < entries.size; i++) {
+                if (size == 0 || entries.items[size - 1] != entries.items[i])
+                    entries.items[size++] = entries.items[i];
+            }
+            Signature signature = new Signature(Arrays.copyOf(entries.items, size));
+            int cls = classes.get(signature, 0);
+            if (cls == 0) {
+                if (count > 0xFFFF) return -1;
+                classes.put(signature, cls = count++);
+            }
+            short[] page = pages[e.key >>> 8];
+            if (page == EMPTY_PAGE) pages[e.key >>> 8] = page = new short[256];
+            page[e.key & 255] = (short) cls;
+        }
+        return count;
+    }
+
+    private static final class Signature {
+        final long[] items;
+        final int hash;
+
+        Signature(long[] items) {
+            this.items = items;
+            this.hash = Arrays.hashCode(items);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature && Arrays.equals(items, ((Signature) o).items);
+        }
+    }
+}
@@ -18,13 +18,14 @@ package com.github.tommyettinger.textra.utils;
 
 import com.badlogic.gdx.utils.ByteArray;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 
 /**
  * Compresses Strings to byte arrays using a type of LZ-compression.
  * This is the counterpart to {@link LZBDecompression}.
  * <br>
+ * The dictionary is kept as a trie of primitive arrays, so compressing doesn't create a String for each char.
+ * <br>
  * This is loosely based on LZ-String.
  * The LZ-String algorithm was formulated by <a href="https://github.com/pieroxy/lz-string">pieroxy</a>.
  * This was loosely based on a port/optimization attempt on another port (to Java),
@@ -55,205 +56,182 @@ public final class LZBCompression {
     public static ByteArray compressToByteArray(String uncompressedStr) {
         if (uncompressedStr == null) return null;
         if (uncompressedStr.isEmpty()) return new ByteArray(0);
-        final int bitsPerChar = 8;
-        int i, value;
-        HashMap<String, Integer> context_dictionary = new HashMap<>(1024, 0.5f);
-        HashSet<String> context_dictionaryToCreate = new HashSet<>(1024, 0.5f);
-        String context_c;
-        String context_wc;
-        String context_w = "";
-        int context_enlargeIn = 2; // Compensate for the first entry which should not count
-        int context_dictSize = 3;
-        int context_numBits = 2;
-        ByteArray context_data = new ByteArray(uncompressedStr.length() >>> 1);
-        byte context_data_val = 0;
-        int context_data_position = 0;
-        int ii, ucl = uncompressedStr.length();
+        final int ucl = uncompressedStr.length();
+        final BitWriter out = new BitWriter(new ByteArray(ucl >>> 1));
+        final Trie dictionary = new Trie(Math.min(ucl, 1 << 14));
+        int enlargeIn = 2; // Compensate for the first entry which should not count
+        int numBits = 2;
+        // w is the trie node for the longest known phrase ending here; node 0 is the empty phrase.
+        int w = 0;
+        char wFirst = 0;
 
-        for (ii = 0; ii < ucl; ii++) {
-            context_c = String.valueOf(uncompressedStr.charAt(ii));
-            if (!context_dictionary.containsKey(context_c)) {
-                context_dictionary.put(context_c, context_dictSize++);
-                context_dictionaryToCreate.add(context_c);
+        for (int ii = 0; ii < ucl; ii++) {
+            final char c = uncompressedStr.charAt(ii);
+            int single = dictionary.child(0, c);
+            if (single < 0) {
+                single = dictionary.add(0, c);
+                dictionary.pending[single] = true;
             }
 
-            context_wc = context_w + context_c;
-            if (context_dictionary.containsKey(context_wc)) {
-                context_w = context_wc;
+            final int wc = w == 0 ? single : dictionary.child(w, c);
+            if (wc >= 0) {
+                if (w == 0) wFirst = c;
+                w = wc;
             } else {
-                if (context_dictionaryToCreate.contains(context_w)) {
-                    if ((value = context_w.charAt(0)) < 256) {
-                        for (i = 0; i < context_numBits; i++) {
-                            context_data_val = (byte)(context_data_val << 1);
-                            if (context_data_position == bitsPerChar - 1) {
-                                context_data_position = 0;
-                                context_data.add(context_data_val);
-                                context_data_val = 0;
-                            } else {
-                                context_data_position++;
-                            }
-                        }
-                        for (i = 0; i < 8; i++) {
-                            context_data_val = (byte)(context_data_val << 1 | (value & 1));
-                            if (context_data_position == bitsPerChar - 1) {
-                                context_data_position = 0;
-                                context_data.add(context_data_val);
-                                context_data_val = 0;
-                            } else {
-                                context_data_position++;
-                            }
-                            value >>>= 1;
-                        }
-                    } else {
-                        value = 1;
-                        for (i = 0; i < context_numBits; i++) {
-                            context_data_val = (byte)((context_data_val << 1) | value);
-                            if (context_data_position == bitsPerChar - 1) {
-                                context_data_position = 0;
-                                context_data.add(context_data_val);
-                                context_data_val = 0;
-                            } else {
-                                context_data_position++;
-                            }
-                            value = 0;
-                        }
-                        value = context_w.charAt(0);
-                        for (i = 0; i < 16; i++) {
-                            context_data_val = (byte)((context_data_val << 1) | (value & 1));
-                            if (context_data_position == bitsPerChar - 1) {
-                                context_data_position = 0;
-                                context_data.add(context_data_val);
-                                context_data_val = 0;
-                            } else {
-                                context_data_position++;
-                            }
-                            value >>>= 1;
-                        }
-                    }
-                    context_enlargeIn--;
-                    if (context_enlargeIn == 0) {
-                        context_enlargeIn = 1 << context_numBits++;
+                if (dictionary.pending[w]) {
+                    writeLiteral(out, wFirst, numBits);
+                    enlargeIn--;
+                    if (enlargeIn == 0) {
+                        enlargeIn = 1 << numBits++;
                     }
-                    context_dictionaryToCreate.remove(context_w);
+                    dictionary.pending[w] = false;
                 } else {
-                    value = context_dictionary.get(context_w);
-                    for (i = 0; i < context_numBits; i++) {
-                        context_data_val = (byte)((context_data_val << 1) | (value & 1));
-                        if (context_data_position == bitsPerChar - 1) {
-                            context_data_position = 0;
-                            context_data.add(context_data_val);
-                            context_data_val = 0;
-                        } else {
-                            context_data_position++;
-                        }
-                        value >>>= 1;
-                    }
-
+                    out.write(Trie.code(w), numBits);
                 }
-                context_enlargeIn--;
-                if (context_enlargeIn == 0) {
-                    context_enlargeIn = 1 << context_numBits++;
+                enlargeIn--;
+                if (enlargeIn == 0) {
+                    enlargeIn = 1 << numBits++;
                 }
                 // Add wc to the dictionary.
-                context_dictionary.put(context_wc, context_dictSize++);
-                context_w = context_c;
+                dictionary.add(w, c);
+                w = single;
+                wFirst = c;
             }
         }
 
         // Output the code for w.
-        if (!context_w.isEmpty()) {
-            if (context_dictionaryToCreate.contains(context_w)) {
-                if (context_w.charAt(0) < 256) {
-                    for (i = 0; i < context_numBits; i++) {
-                        context_data_val = (byte)(context_data_val << 1);
-                        if (context_data_position == bitsPerChar - 1) {
-                            context_data_position = 0;
-                            context_data.add(context_data_val);
-                            context_data_val = 0;
-                        } else {
-                            context_data_position++;
-                        }
-                    }
-                    value = context_w.charAt(0);
-                    for (i = 0; i < 8; i++) {
-                        context_data_val = (byte)((context_data_val << 1) | (value & 1));
-                        if (context_data_position == bitsPerChar - 1) {
-                            context_data_position = 0;
-                            context_data.add(context_data_val);
-                            context_data_val = 0;
-                        } else {
-                            context_data_position++;
-                        }
-                        value >>>= 1;
-                    }
-                } else {
-                    value = 1;
-                    for (i = 0; i < context_numBits; i++) {
-                        context_data_val = (byte)((context_data_val << 1) | value);
-                        if (context_data_position == bitsPerChar - 1) {
-                            context_data_position = 0;
-                            context_data.add(context_data_val);
-                            context_data_val = 0;
-                        } else {
-                            context_data_position++;
-                        }
-                        value = 0;
-                    }
-                    value = context_w.charAt(0);
-                    for (i = 0; i < 16; i++) {
-                        context_data_val = (byte)((context_data_val << 1) | (value & 1));
-                        if (context_data_position == bitsPerChar - 1) {
-                            context_data_position = 0;
-                            context_data.add(context_data_val);
-                            context_data_val = 0;
-                        } else {
-                            context_data_position++;
-                        }
-                        value >>>= 1;
-                    }
-                }
-
-                context_dictionaryToCreate.remove(context_w);
+        if (w != 0) {
+            if (dictionary.pending[w]) {
+                writeLiteral(out, wFirst, numBits);
             } else {
-                value = context_dictionary.get(context_w);
-                for (i = 0; i < context_numBits; i++) {
-                    context_data_val = (byte)((context_data_val << 1) | (value & 1));
-                    if (context_data_position == bitsPerChar - 1) {
-                        context_data_position = 0;
-                        context_data.add(context_data_val);
-                        context_data_val = 0;
-                    } else {
-                        context_data_position++;
-                    }
-                    value >>>= 1;
-                }
-
+                out.write(Trie.code(w), numBits);
             }
         }
 
         // Mark the end of the stream
-        value = 2;
-        for (i = 0; i < context_numBits; i++) {
-            context_data_val = (byte)((context_data_val << 1) | (value & 1));
-            if (context_data_position == bitsPerChar - 1) {
-                context_data_position = 0;
-                context_data.add(context_data_val);
-                context_data_val = 0;
-            } else {
-                context_data_position++;
+        out.write(2, numBits);
+
+        // Flush the last char
+        out.flush();
+        return out.data;
+    }
+
+    /**
+     * Writes a char that isn't in the dictionary yet: a code of 0 followed by 8 bits if the char fits in a byte, or a
+     * code of 1 followed by 16 bits otherwise.
+     */
+    private static void writeLiteral(BitWriter out, char c, int numBits) {
+        if (c < 256) {
+            out.write(0, numBits);
+            out.write(c, 8);
+        } else {
+            out.write(1, numBits);
+            out.write(c, 16);
+        }
+    }
+
+    /**
+     * Packs values into bytes, writing each value's low bit first and filling each byte from its high bit down. Each
+     * value has its bits reversed and is added to a buffer all at once, and whole bytes are taken from the buffer.
+     */
+    private static final class BitWriter {
+        final ByteArray data;
+        private long buffer = 0L;
+        private int count = 0;
+
+        BitWriter(ByteArray data) {
+            this.data = data;
+        }
+
+        void write(int value, int bits) {
+            buffer = buffer << bits | (Integer.reverse(value) >>> 32 - bits);
+            count += bits;
+            while (count >= 8) {
+                count -= 8;
+                data.add((byte) (buffer >>> count));
             }
-            value >>>= 1;
         }
 
-        // Flush the last char
-        while (true) {
-            context_data_val = (byte)(context_data_val << 1);
-            if (context_data_position == bitsPerChar - 1) {
-                context_data.add(context_data_val);
-                break;
-            } else
-                context_data_position++;
+        void flush() {
+            // Always adds a byte, even if no bits are waiting, as the original format did.
+            data.add((byte) (buffer << 8 - count));
+        }
+    }
+
+    /**
+     * The LZ dictionary as a trie: each node is a phrase, and its children are that phrase with one more char. Node 0
+     * is the empty phrase, and its children are the single chars. Nodes are numbered in the order they are added, so a
+     * node's code in the compressed data is just its number plus 2 (codes 0 to 2 are reserved). Children are found in
+     * an open-addressing hash table keyed by the parent node and the char, so no Strings are made.
+     */
+    private static final class Trie {
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size = 0;
+        /**
+         * For single-char nodes, true until that char has been written out once as a literal.
+         */
+        boolean[] pending;
+        private int nodes = 1;
+
+        Trie(int expected) {
+            int capacity = 1 << -Integer.numberOfLeadingZeros(Math.max(expected, 64) * 2 - 1);
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            pending = new boolean[Math.max(expected, 64)];
+        }
+
+        static int code(int node) {
+            return node + 2;
+        }
+
+        private static long key(int parent, char c) {
+            return (long) (parent + 1) << 16 | c;
+        }
+
+        private static int place(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32 ^ h) & mask;
+        }
+
+        int child(int parent, char c) {
+            final long k = key(parent, c);
+            for (int i = place(k, mask); ; i = i + 1 & mask) {
+                final long found = keys[i];
+                if (found == k) return values[i];
+                if (found == 0L) return -1;
+            }
+        }
+
+        int add(int parent, char c) {
+            if (size * 2 >= mask) resize();
+            final long k = key(parent, c);
+            int i = place(k, mask);
+            while (keys[i] != 0L) i = i + 1 & mask;
+            keys[i] = k;
+            final int node = nodes++;
+            values[i] = node;
+            size++;
+            if (node >= pending.length) pending = Arrays.copyOf(pending, pending.length << 1);
+            return node;
+        }
+
+        private void resize() {
+            final long[] oldKeys = keys;
+            final int[] oldValues = values;
+            keys = new long[oldKeys.length << 1];
+            values = new int[oldKeys.length << 1];
+            mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                final long k = oldKeys[j];
+                if (k == 0L) continue;
+                int i = place(k, mask);
+                while (keys[i] != 0L) i = i + 1 & mask;
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
         }
-        return context_data;
     }
 }
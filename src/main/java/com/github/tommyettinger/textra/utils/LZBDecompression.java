@@ -17,13 +17,17 @@
 package com.github.tommyettinger.textra.utils;
 
 import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.CharArray;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Decompresses byte arrays to Strings using a type of LZ-compression.
  * This is the counterpart to {@link LZBCompression}.
  * <br>
+ * Dictionary entries are kept as positions in the decompressed chars, so decompressing doesn't create a String for
+ * each entry.
+ * <br>
  * This is loosely based on LZ-String.
  * The LZ-String algorithm was formulated by <a href="https://github.com/pieroxy/lz-string">pieroxy</a>.
  * This was loosely based on a port/optimization attempt on another port (to Java),
@@ -60,132 +64,71 @@ public final class LZBDecompression {
      * @return the String that was originally given to be compressed
      */
     public static String decompressFromBytes(byte[] compressedBytes, int offset, int length) {
+        CharArray chars = decompressToCharArray(compressedBytes, offset, length);
+        return chars == null ? null : new String(chars.items, 0, chars.size);
+    }
+
+    /**
+     * Decompresses a byte array compressed with LZB, getting the chars of the original String back in a libGDX
+     * CharArray. This avoids copying the chars into a String, which is useful when they will be parsed right away, as
+     * by {@link com.badlogic.gdx.utils.JsonReader#parse(char[], int, int)}. The CharArray's {@code items} may be
+     * longer than its {@code size}.
+     * @param compressedBytes a byte array compressed with LZB
+     * @param offset where to start reading in compressedBytes
+     * @param length how many bytes to read from compressedBytes
+     * @return a CharArray holding the chars that were originally given to be compressed, or null if compressedBytes is null
+     */
+    public static CharArray decompressToCharArray(byte[] compressedBytes, int offset, int length) {
         if(compressedBytes == null)
             return null;
         if(length <= 0)
-            return "";
-        final int resetValue = 128;
-        ArrayList<String> dictionary = new ArrayList<>(256);
-        int enlargeIn = 4, dictSize = 4, numBits = 3, position = resetValue, index = offset+1, resb, maxpower, power;
-        String entry, w, c;
-        StringBuilder res = new StringBuilder(length);
-        char bits;
-        int val = compressedBytes[offset];
-
-        for (char i = 0; i < 3; i++) {
-            dictionary.add(String.valueOf(i));
-        }
+            return new CharArray(0);
+        final BitReader in = new BitReader(compressedBytes, offset);
+        // Every dictionary entry after the first three (which are only placeholders) is a run of chars already in the
+        // output, so an entry is stored as the start and length of that run.
+        int[] starts = new int[256], lengths = new int[256];
+        int enlargeIn = 4, dictSize = 4, numBits = 3;
+        char[] res = new char[Math.max(length, 16)];
+        int size = 0;
 
-        bits = 0;
-        maxpower = 2;
-        power = 0;
-        while (power != maxpower) {
-            resb = val & position;
-            position >>>= 1;
-            if (position == 0) {
-                position = resetValue;
-                val = compressedBytes[index++];
-            }
-            bits |= (resb != 0 ? 1 << power : 0);
-            power++;
-        }
-
-        switch (bits) {
+        switch (in.read(2)) {
             case 0:
-                bits = 0;
-                maxpower = 8;
-                power = 0;
-                while (power != maxpower) {
-                    resb = val & position;
-                    position >>>= 1;
-                    if (position == 0) {
-                        position = resetValue;
-                        val = compressedBytes[index++];
-                    }
-                    bits |= (resb != 0 ? 1 << power : 0);
-                    power++;
-                }
-                c = String.valueOf(bits);
+                res[size++] = (char) in.read(8);
                 break;
             case 1:
-                bits = 0;
-                maxpower = 16;
-                power = 0;
-                while (power != maxpower) {
-                    resb = val & position;
-                    position >>>= 1;
-                    if (position == 0) {
-                        position = resetValue;
-                        val = compressedBytes[index++];
-                    }
-                    bits |= (resb != 0 ? 1 << power : 0);
-                    power++;
-                }
-                c = String.valueOf(bits);
+                res[size++] = (char) in.read(16);
                 break;
             default:
-                return "";
+                return new CharArray(0);
         }
-        dictionary.add(c);
-        w = c;
-        res.append(w);
+        starts[3] = 0;
+        lengths[3] = 1;
+        int wStart = 0, wLength = 1;
         while (true) {
-            if (index - offset > length) {
-                return "";
-            }
-            int cc = 0;
-            maxpower = numBits;
-            power = 0;
-            while (power != maxpower) {
-                resb = val & position;
-                position >>>= 1;
-                if (position == 0) {
-                    position = resetValue;
-                    val = compressedBytes[index++];
-                }
-                cc |= (resb != 0 ? 1 << power : 0);
-                power++;
+            if (in.index - offset > length) {
+                return new CharArray(0);
             }
+            int cc = in.read(numBits);
             switch (cc) {
                 case 0:
-                    bits = 0;
-                    maxpower = 8;
-                    power = 0;
-                    while (power != maxpower) {
-                        resb = val & position;
-                        position >>>= 1;
-                        if (position == 0) {
-                            position = resetValue;
-                            val = compressedBytes[index++];
-                        }
-                        bits |= (resb != 0 ? 1 << power : 0);
-                        power++;
-                    }
-
-                    dictionary.add(String.valueOf(bits));
-                    cc = dictSize++;
-                    enlargeIn--;
-                    break;
                 case 1:
-                    bits = 0;
-                    maxpower = 16;
-                    power = 0;
-                    while (power != maxpower) {
-                        resb = val & position;
-                        position >>>= 1;
-                        if (position == 0) {
-                            position = resetValue;
-                            val = compressedBytes[index++];
-                        }
-                        bits |= (resb != 0 ? 1 << power : 0);
-                        power++;
+                    if (size == res.length) res = Arrays.copyOf(res, size << 1);
+                    res[size] = (char) in.read(cc == 0 ? 8 : 16);
+                    if (dictSize == starts.length) {
+                        starts = Arrays.copyOf(starts, dictSize << 1);
+                        lengths = Arrays.copyOf(lengths, dictSize << 1);
                     }
-                    dictionary.add(String.valueOf(bits));
+                    // The literal is written where it will be read as the entry below.
+                    starts[dictSize] = size;
+                    lengths[dictSize] = 1;
                     cc = dictSize++;
                     enlargeIn--;
                     break;
                 case 2:
-                    return res.toString();
+                    CharArray result = new CharArray(0);
+                    result.items = res;
+                    result.size = size;
+                    return result;
             }
 
             if (enlargeIn == 0) {
@@ -193,23 +136,39 @@ public final class LZBDecompression {
                 numBits++;
             }
 
-            if (cc < dictionary.size() && dictionary.get(cc) != null) {
-                entry = dictionary.get(cc);
+            final int entryStart, entryLength;
+            if (cc < dictSize && cc >= 3) {
+                entryStart = starts[cc];
+                entryLength = lengths[cc];
+            } else if (cc == dictSize) {
+                entryStart = wStart;
+                entryLength = wLength + 1;
             } else {
-                if (cc == dictSize) {
-                    entry = w + w.charAt(0);
-                } else {
-                    return "";
+                return new CharArray(0);
+            }
+            if (size + entryLength > res.length) res = Arrays.copyOf(res, Math.max(size + entryLength, res.length << 1));
+            if (entryStart + entryLength <= size) {
+                System.arraycopy(res, entryStart, res, size, entryLength);
+            } else {
+                // When cc == dictSize, the entry's last char is the one this writes first, so copy one at a time.
+                for (int i = 0; i < entryLength; i++) {
+                    res[size + i] = res[entryStart + i];
                 }
             }
-            res.append(entry);
 
-            // Add w+entry[0] to the dictionary.
-            dictionary.add(w + entry.charAt(0));
+            // Add w+entry[0] to the dictionary; those chars are next to each other in the output.
+            if (dictSize == starts.length) {
+                starts = Arrays.copyOf(starts, dictSize << 1);
+                lengths = Arrays.copyOf(lengths, dictSize << 1);
+            }
+            starts[dictSize] = wStart;
+            lengths[dictSize] = wLength + 1;
             dictSize++;
             enlargeIn--;
 
-            w = entry;
+            wStart = size;
+            wLength = entryLength;
+            size += entryLength;
 
             if (enlargeIn == 0) {
                 enlargeIn = 1 << numBits;
@@ -218,4 +177,41 @@ public final class LZBDecompression {
 
         }
     }
+
+    /**
+     * Reads values packed by {@link LZBCompression}, where each byte is read from its high bit down and each value's
+     * low bit comes first. Bytes are loaded into a 64-bit buffer ahead of time, so a value can be taken in one step and
+     * then have its bits reversed.
+     */
+    private static final class BitReader {
+        private final byte[] bytes;
+        private int next;
+        private long buffer = 0L;
+        private int available = 0;
+        /**
+         * Where the original bit-by-bit reader would be: one past the byte holding the next unread bit.
+         */
+        int index;
+
+        BitReader(byte[] bytes, int offset) {
+            this.bytes = bytes;
+            next = offset;
+            index = offset + 1;
+        }
+
+        int read(int bits) {
+            if (available < bits) {
+                // Past the end of the array, zeros are read; the caller stops when index passes its length.
+                while (available <= 56) {
+                    buffer = buffer << 8 | (next < bytes.length ? bytes[next] & 255 : 0);
+                    next++;
+                    available += 8;
+                }
+            }
+            available -= bits;
+            index = next + 1 - (available + 7 >>> 3);
+            final int taken = (int) (buffer >>> available) & (1 << bits) - 1;
+            return Integer.reverse(taken) >>> 32 - bits;
+        }
+    }
 }
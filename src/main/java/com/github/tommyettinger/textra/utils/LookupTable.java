@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra.utils;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * A baked approximation of a float-to-float function, sampled at evenly-spaced points over a range and linearly
+ * interpolated between those samples. This is meant for functions that are called per-glyph, per-frame by effects,
+ * such as {@link NoiseUtils#octaveNoise1D(float, int)} with a fixed seed, or an {@link Interpolation}. Getting a value
+ * from a LookupTable costs one floor, two array reads, and one lerp, no matter how expensive the original function is.
+ * <br>
+ * A LookupTable can either clamp inputs to its range, or be periodic and wrap inputs around. Noise functions are not
+ * periodic on their own, so a periodic table crossfades the end of its range into the start of its range, which avoids
+ * any sudden jump where the input wraps around. Values near the end of a periodic table will differ from the original
+ * function because of this crossfade.
+ * <br>
+ * You can compare a table to its original function with {@code LookupTableBenchmark} in the tests.
+ */
+public class LookupTable {
+    /**
+     * Any function that takes a float and returns a float. {@link Interpolation#apply(float)} can be used as this via
+     * a method reference, such as {@code Interpolation.pow2Out::apply}.
+     */
+    public interface FloatFunction {
+        float apply(float x);
+    }
+
+    /**
+     * The sampled values; there is one more sample than {@link #resolution} times the range size, so the end of the
+     * range is included.
+     */
+    public final float[] samples;
+    /**
+     * The start of the sampled range, inclusive.
+     */
+    public final float start;
+    /**
+     * The end of the sampled range, inclusive.
+     */
+    public final float end;
+    /**
+     * How many samples are taken per unit of input.
+     */
+    public final float resolution;
+    /**
+     * If true, inputs outside the range wrap around; if false, they are clamped.
+     */
+    public final boolean periodic;
+
+    /**
+     * Samples {@code function} over the range from {@code start} to {@code end}, taking {@code resolution} samples
+     * per unit of input.
+     *
+     * @param function   the function to approximate
+     * @param start      the start of the range to sample, inclusive
+     * @param end        the end of the range to sample, inclusive; must be greater than start
+     * @param resolution how many samples to take per unit of input; higher is more accurate but uses more memory
+     * @param periodic   if true, inputs outside the range wrap around and the end is crossfaded into the start; if
+     *                   false, inputs outside the range are clamped
+     */
+    public LookupTable(FloatFunction function, float start, float end, float resolution, boolean periodic) {
+        this.start = start;
+        this.end = end;
+        this.resolution = resolution;
+        this.periodic = periodic;
+        final int size = Math.max(1, (int) Math.ceil((end - start) * resolution));
+        samples = new float[size + 1];
+        final float step = (end - start) / size;
+        for (int i = 0; i <= size; i++) {
+            samples[i] = function.apply(start + i * step);
+        }
+        if (periodic) {
+            // Crossfade the last part of the range toward the values just before the start, so wrapping is smooth.
+            final float range = end - start;
+            final int fade = Math.max(1, Math.min(size >> 2, (int) resolution));
+            for (int i = size - fade; i <= size; i++) {
+                float t = (i - (size - fade)) / (float) fade;
+                samples[i] += (function.apply(start + i * step - range) - samples[i]) * t;
+            }
+        }
+    }
+
+    /**
+     * Gets the approximate value of the sampled function at {@code x}, using linear interpolation between the two
+     * closest samples. If this table is periodic, x can be any finite float; otherwise it is clamped to the range.
+     *
+     * @param x the input to the function
+     * @return the approximate value of the function at x
+     */
+    public float get(float x) {
+        final int size = samples.length - 1;
+        float pos = (x - start) * (size / (end - start));
+        if (periodic) {
+            pos %= size;
+            if (pos < 0f) pos += size;
+        } else if (pos <= 0f) {
+            return samples[0];
+        } else if (pos >= size) {
+            return samples[size];
+        }
+        final int i = (int) pos;
+        if (i >= size) return samples[size];
+        final float a = samples[i];
+        return a + (samples[i + 1] - a) * (pos - i);
+    }
+
+    /**
+     * Creates a table for an {@link Interpolation}, sampled over the range 0 to 1 and clamped outside it.
+     *
+     * @param interpolation an Interpolation, such as {@link Interpolation#pow2Out}
+     * @param resolution    how many samples to take between 0 and 1
+     * @return a new LookupTable approximating interpolation
+     */
+    public static LookupTable of(Interpolation interpolation, int resolution) {
+        return new LookupTable(interpolation::apply, 0f, 1f, resolution, false);
+    }
+}
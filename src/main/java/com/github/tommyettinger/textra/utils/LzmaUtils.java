@@ -2,10 +2,18 @@ package com.github.tommyettinger.textra.utils;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonReader;
 import com.badlogic.gdx.utils.compression.Lzma;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 
 /**
  * Simple static utilities to make using {@link Lzma the LZMA compression in libGDX} easier.
@@ -50,4 +58,51 @@ public final class LzmaUtils {
             throw new GdxRuntimeException("Compression failed! " + input + " could not be compressed to " + output, e);
         }
     }
+
+    /**
+     * Parses a ".json.lzma" or ".ubj.lzma" file. The whole file is decompressed into one byte buffer first, sized from
+     * the length stored in the LZMA header so it doesn't need to grow. A ".ubj.lzma" file is parsed straight from that
+     * buffer. A ".json.lzma" file is decoded from UTF-8 into one char array and parsed from that, which skips the
+     * String of the whole file (and the copy of that String's chars) that parsing a String would make.
+     * @param input a FileHandle whose name ends in ".json.lzma" or ".ubj.lzma" (case-insensitive)
+     * @return the parsed JsonValue, or null if the name doesn't end in ".json.lzma" or ".ubj.lzma"
+     * @throws GdxRuntimeException if the file can't be read or the compressed data is corrupt
+     */
+    public static JsonValue parseJson(FileHandle input) {
+        final String name = input.name();
+        final boolean json = name.length() > 10 && ".json.lzma".equalsIgnoreCase(name.substring(name.length() - 10));
+        if (!json && !(name.length() > 9 && ".ubj.lzma".equalsIgnoreCase(name.substring(name.length() - 9))))
+            return null;
+        BufferedInputStream is = null;
+        try {
+            is = input.read(4096);
+            // The header is 5 bytes of coder properties, then the decompressed size as a little-endian long.
+            is.mark(13);
+            long size = 0L;
+            for (int i = 0; i < 13; i++) {
+                int b = is.read();
+                if (b < 0) throw new IOException("Truncated LZMA header");
+                if (i >= 5) size |= (long) b << (i - 5 << 3);
+            }
+            is.reset();
+            StreamUtils.OptimizedByteArrayOutputStream bytes = new StreamUtils.OptimizedByteArrayOutputStream(
+                    size < 0L || size > Integer.MAX_VALUE - 8 ? 4096 : Math.max((int) size, 16));
+            Lzma.decompress(is, bytes);
+            ByteArrayInputStream decompressed = new ByteArrayInputStream(bytes.getBuffer(), 0, bytes.size());
+            if (!json)
+                return new UBJsonReader().parse(decompressed);
+            // UTF-8 never has more chars than bytes, so this is always big enough.
+            char[] chars = new char[bytes.size()];
+            Reader reader = new InputStreamReader(decompressed, "UTF-8");
+            int length = 0, read;
+            while (length < chars.length && (read = reader.read(chars, length, chars.length - length)) > 0) {
+                length += read;
+            }
+            return new JsonReader().parse(chars, 0, length);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading compressed file: " + input.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(is);
+        }
+    }
 }
@@ -126,6 +126,53 @@ public class NoiseUtils {
         return bicubicNoise1D(x, seed) * 0.6666667f + bicubicNoise1D(x * 1.9f, ~seed) * 0.33333333f;
     }
 
+    /**
+     * Bakes {@link #noise1D(float, int)} with the given seed into a {@link LookupTable}, sampled from {@code start} to
+     * {@code end}. This is only worth doing if the same seed will be used many times, such as by an effect that uses a
+     * constant seed for every glyph.
+     *
+     * @param seed       the seed to use for every sample
+     * @param start      the start of the range to sample, inclusive
+     * @param end        the end of the range to sample, inclusive
+     * @param resolution how many samples to take per unit of x
+     * @param periodic   if true, the table wraps around outside its range; if false, it clamps
+     * @return a new LookupTable approximating noise1D with the given seed
+     */
+    public static LookupTable bakeNoise1D(final int seed, float start, float end, int resolution, boolean periodic) {
+        return new LookupTable(x -> noise1D(x, seed), start, end, resolution, periodic);
+    }
+
+    /**
+     * Bakes {@link #octaveNoise1D(float, int)} with the given seed into a {@link LookupTable}, sampled from
+     * {@code start} to {@code end}. This is only worth doing if the same seed will be used many times, such as by an
+     * effect that uses a constant seed for every glyph.
+     *
+     * @param seed       the seed to use for every sample
+     * @param start      the start of the range to sample, inclusive
+     * @param end        the end of the range to sample, inclusive
+     * @param resolution how many samples to take per unit of x
+     * @param periodic   if true, the table wraps around outside its range; if false, it clamps
+     * @return a new LookupTable approximating octaveNoise1D with the given seed
+     */
+    public static LookupTable bakeOctaveNoise1D(final int seed, float start, float end, int resolution, boolean periodic) {
+        return new LookupTable(x -> octaveNoise1D(x, seed), start, end, resolution, periodic);
+    }
+
+    /**
+     * Bakes {@link #bicubicNoise1D(float, int)} with the given seed into a {@link LookupTable}, sampled from
+     * {@code start} to {@code end}.
+     *
+     * @param seed       the seed to use for every sample
+     * @param start      the start of the range to sample, inclusive
+     * @param end        the end of the range to sample, inclusive
+     * @param resolution how many samples to take per unit of x
+     * @param periodic   if true, the table wraps around outside its range; if false, it clamps
+     * @return a new LookupTable approximating bicubicNoise1D with the given seed
+     */
+    public static LookupTable bakeBicubicNoise1D(final int seed, float start, float end, int resolution, boolean periodic) {
+        return new LookupTable(x -> bicubicNoise1D(x, seed), start, end, resolution, periodic);
+    }
+
     /**
      * A standard <a href="https://en.wikipedia.org/wiki/Triangle_wave">triangle wave</a> with a period of 1 and a range
      * of -1 to 1 (both inclusive). Every integer input given to this will produce -1 as its output. Every input that is
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.textra.utils;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Places rectangles one at a time in a fixed-size area, using the skyline bottom-left method. The packer only tracks
+ * the top edge of everything placed so far (the "skyline"), as a list of horizontal segments, and puts each new
+ * rectangle where its top edge would be lowest. This is fast and works well for glyphs, which are added one at a time
+ * and tend to be similar in height. Space under the skyline that is left empty can't be reused until
+ * {@link #reset()} is called.
+ * <br>
+ * This only does the arithmetic; it doesn't touch any textures, so it can be used without a graphics context.
+ */
+public final class SkylinePacker {
+    /**
+     * The width of the area rectangles are placed in.
+     */
+    public final int width;
+    /**
+     * The height of the area rectangles are placed in.
+     */
+    public final int height;
+    /**
+     * How many empty pixels to leave to the right of and above each rectangle.
+     */
+    public final int padding;
+
+    /**
+     * Each segment of the skyline uses three items: its left x, its top y, and its width. Segments are sorted by x and
+     * together cover the whole width.
+     */
+    private final IntArray skyline = new IntArray(96);
+    private int usedArea;
+
+    /**
+     * Creates a SkylinePacker for an area with the given size.
+     * @param width the width of the area, at least 1 and less than 65536
+     * @param height the height of the area, at least 1 and less than 65536
+     * @param padding how many empty pixels to leave to the right of and above each rectangle; may be 0
+     */
+    public SkylinePacker(int width, int height, int padding) {
+        if (width <= 0 || height <= 0 || width > 0xFFFF || height > 0xFFFF)
+            throw new IllegalArgumentException("SkylinePacker size must be between 1 and 65535, but was " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+        this.padding = Math.max(padding, 0);
+        reset();
+    }
+
+    /**
+     * Removes every rectangle, so the whole area is empty again.
+     */
+    public void reset() {
+        skyline.clear();
+        skyline.add(0, 0, width);
+        usedArea = 0;
+    }
+
+    /**
+     * Finds a place for a rectangle with the given size and marks it as used. The result holds the x position in its
+     * upper 16 bits and the y position in its lower 16 bits; use {@link #x(int)} and {@link #y(int)} to read them.
+     * If the rectangle doesn't fit anywhere, this returns -1 and changes nothing.
+     *
+     * @param w the width of the rectangle, not counting padding
+     * @param h the height of the rectangle, not counting padding
+     * @return the packed position as {@code x << 16 | y}, or -1 if there is no room
+     */
+    public int pack(int w, int h) {
+        if (w <= 0 || h <= 0) return -1;
+        final int pw = w + padding, ph = h + padding;
+        final int[] items = skyline.items;
+        final int n = skyline.size;
+        int bestIndex = -1, bestY = Integer.MAX_VALUE, bestWaste = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i += 3) {
+            int x = items[i];
+            if (x + pw > width) break;
+            // The rectangle rests on the highest segment it spans.
+            int y = 0, remaining = pw, waste = 0;
+            for (int j = i; remaining > 0; j += 3) {
+                y = Math.max(y, items[j + 1]);
+                remaining -= items[j + 2];
+            }
+            if (y + ph > height) continue;
+            remaining = pw;
+            for (int j = i; remaining > 0; j += 3) {
+                waste += (y - items[j + 1]) * Math.min(remaining, items[j + 2]);
+                remaining -= items[j + 2];
+            }
+            if (y < bestY || (y == bestY && waste < bestWaste)) {
+                bestIndex = i;
+                bestY = y;
+                bestWaste = waste;
+            }
+        }
+        if (bestIndex < 0) return -1;
+        final int x = items[bestIndex];
+        // Replace the covered segments with one segment for the new top edge, keeping any uncovered remainder.
+        int end = x + pw, j = bestIndex;
+        while (j < skyline.size && skyline.items[j] < end) {
+            int segEnd = skyline.items[j] + skyline.items[j + 2];
+            if (segEnd > end) {
+                skyline.items[j + 2] = segEnd - end;
+                skyline.items[j] = end;
+                break;
+            }
+            skyline.removeRange(j, j + 2);
+        }
+        skyline.insert(bestIndex, x);
+        skyline.insert(bestIndex + 1, bestY + ph);
+        skyline.insert(bestIndex + 2, pw);
+        merge();
+        usedArea += w * h;
+        return x << 16 | bestY;
+    }
+
+    private void merge() {
+        int[] items = skyline.items;
+        for (int i = 0; i + 3 < skyline.size; ) {
+            if (items[i + 1] == items[i + 4]) {
+                items[i + 2] += items[i + 5];
+                skyline.removeRange(i + 3, i + 5);
+            } else {
+                i += 3;
+            }
+        }
+    }
+
+    /**
+     * Gets how much of the area is covered by rectangles, not counting padding or empty space under the skyline.
+     * @return a fraction from 0 to 1
+     */
+    public float occupancy() {
+        return usedArea / ((float) width * height);
+    }
+
+    /**
+     * Gets the x position from a result of {@link #pack(int, int)}.
+     * @param packed a result of pack() that was not -1
+     * @return the x position of the left edge of the packed rectangle
+     */
+    public static int x(int packed) {
+        return packed >>> 16;
+    }
+
+    /**
+     * Gets the y position from a result of {@link #pack(int, int)}.
+     * @param packed a result of pack() that was not -1
+     * @return the y position of the top edge of the packed rectangle, with y increasing downward like in a Pixmap
+     */
+    public static int y(int packed) {
+        return packed & 0xFFFF;
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TransformDrawable;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that a frame of {@link Widget#act(float)} and {@link Widget#draw(com.badlogic.gdx.graphics.g2d.Batch, float)}
+ * allocates nothing once a {@link TextraLabel} or {@link TypingLabel} has settled, using the per-thread allocation
+ * counter that HotSpot JVMs provide. Labels are drawn into a Batch that only records vertices, and a stand-in GL20 that
+ * does nothing is installed so the Font's Texture can be created, so no GPU is needed.
+ * <br>
+ * The allocation counter isn't exact for tiny amounts on every JVM, so each check runs many frames and reports the
+ * average; anything above zero is a failure.
+ */
+public class AllocationTest extends ApplicationAdapter {
+    private static final int WARMUP_FRAMES = 20000;
+    private static final int MEASURED_FRAMES = 5000;
+    private static final float DELTA = 1f / 60f;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new AllocationTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("This JVM can't count allocated bytes per thread; skipping.");
+            Gdx.app.exit();
+            return;
+        }
+        HeadlessGL20.install();
+        Font font = KnownFonts.getAStarry().scaleHeightTo(24f);
+
+        check("TextraLabel", new TextraLabel("Hello, [*]world[*]! This [RED]is[] a [/]static[/] label.", font));
+
+        // BaseDrawable is not a TransformDrawable, so this is drawn without rotation.
+        TextraLabel framed = new TextraLabel("A label with a plain background.", font);
+        framed.style.background = new BaseDrawable();
+        check("TextraLabel, background", framed);
+
+        // TenPatch drawables are TransformDrawables that throw when drawn with rotation; that should happen once, not
+        // every frame.
+        TextraLabel tenPatch = new TextraLabel("A label with a TenPatch-like background.", font);
+        tenPatch.style.background = new TenPatchLike();
+        check("TextraLabel, TenPatch background", tenPatch);
+
+        TypingLabel typingTenPatch = new TypingLabel("A {WAVE}typing{ENDWAVE} label with a TenPatch-like background.", font);
+        typingTenPatch.style.background = new TenPatchLike();
+        typingTenPatch.skipToTheEnd();
+        check("TypingLabel, TenPatch background", typingTenPatch);
+
+        TypingLabel plain = new TypingLabel("Plain text that has finished typing.", font);
+        plain.skipToTheEnd();
+        check("TypingLabel, idle", plain);
+
+        TypingLabel animated = new TypingLabel("{WAVE}Waving{ENDWAVE}, {RAINBOW}colorful{ENDRAINBOW}, and {JUMP}jumping{ENDJUMP} text.", font);
+        animated.skipToTheEnd();
+        check("TypingLabel, effects", animated);
+
+        TypingLabel mixed = new TypingLabel("{SHAKE}Shaking{ENDSHAKE} and {GRADIENT}shaded{ENDGRADIENT} and {WIND}windy{ENDWIND}.", font);
+        mixed.skipToTheEnd();
+        check("TypingLabel, more effects", mixed);
+
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private void check(String name, Widget label) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        ShaderEffectMesh.QuadRecorder batch = new ShaderEffectMesh.QuadRecorder();
+        label.setSize(400f, 100f);
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame(label, batch);
+        }
+        long before = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            frame(label, batch);
+        }
+        long allocated = bean.getThreadAllocatedBytes(thread) - before;
+        double perFrame = allocated / (double) MEASURED_FRAMES;
+        boolean ok = perFrame < 1.0;
+        System.out.printf("%-34s %10.2f bytes/frame, %d quads/frame %s%n", name, perFrame,
+                batch.textures.size, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+
+    /**
+     * Acts like a TenPatchDrawable from the TenPatch library, which can't be drawn with rotation, scale, or an origin.
+     */
+    private static class TenPatchLike extends BaseDrawable implements TransformDrawable {
+        @Override
+        public void draw(Batch batch, float x, float y, float originX, float originY, float width, float height,
+                         float scaleX, float scaleY, float rotation) {
+            throw new UnsupportedOperationException("TenPatch does not support rotation, scale, or an origin.");
+        }
+    }
+
+    private static void frame(Widget label, ShaderEffectMesh.QuadRecorder batch) {
+        batch.quads.clear();
+        batch.textures.clear();
+        label.act(DELTA);
+        label.draw(batch, 1f);
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Texture;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Checks that {@link BlockGrid} draws the same pixels as {@link Font#drawBlocks(com.badlogic.gdx.graphics.g2d.Batch,
+ * int[][], float, float)} for a map-like grid of colors, before and after changing some cells, and with a projection
+ * that only shows part of the grid. It then counts the quads each one sends to the Batch for a 200x100 grid, and times
+ * drawing that grid each frame, both when nothing changed and when a few rows changed. This runs with a headless
+ * backend, using {@link SoftwareBatch} to draw. Run it from the project root.
+ */
+public class BlockGridTest extends ApplicationAdapter {
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new BlockGridTest(), new HeadlessApplicationConfiguration());
+    }
+
+    /**
+     * A SoftwareBatch that only copies the vertices it is given and counts quads, the way a SpriteBatch would take
+     * them, so timing doesn't include drawing pixels. It is never begun, since it never draws.
+     */
+    private static class CountingBatch extends SoftwareBatch {
+        final float[] buffer = new float[20 * 8191];
+        int quads = 0, calls = 0, filled = 0;
+
+        CountingBatch() {
+            super(1, 1);
+            // Shows all of a 200x100 grid of 8x16 cells, so nothing is culled.
+            getProjectionMatrix().setToOrtho2D(0f, 0f, 1600f, 1600f);
+        }
+
+        @Override
+        public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            calls++;
+            quads += count / 20;
+            while (count > 0) {
+                int n = Math.min(count, buffer.length - filled);
+                System.arraycopy(spriteVertices, offset, buffer, filled, n);
+                filled = (filled + n) % buffer.length;
+                offset += n;
+                count -= n;
+            }
+        }
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        if (!Gdx.files.local("knownFonts/IBM-8x16-standard.json.lzma").exists()
+                && !Gdx.files.local("knownFonts/IBM-8x16-standard.dat").exists()) {
+            System.out.println("Font files not found; run this from the project root.");
+            Gdx.app.exit();
+            return;
+        }
+        KnownFonts.setAssetPrefix("knownFonts/");
+        Font font = KnownFonts.getIBM8x16();
+        Random random = new Random(123);
+
+        int[][] colors = map(100, 50, random);
+        BlockGrid grid = new BlockGrid(colors);
+        check("the grid starts with the same pixels", Arrays.equals(render(font, colors, null), render(font, null, grid)));
+
+        for (int i = 0; i < 40; i++) {
+            int x = random.nextInt(100), y = random.nextInt(50), color = random.nextInt() | 255;
+            colors[x][y] = color;
+            grid.set(x, y, color);
+        }
+        colors[7][3] = 0;
+        grid.colors[3 * grid.width + 7] = 0;
+        grid.markDirty(3);
+        check("changed cells are drawn again", Arrays.equals(render(font, colors, null), render(font, null, grid)));
+
+        SoftwareBatch part = new SoftwareBatch(800, 800);
+        part.getProjectionMatrix().setToOrtho2D(200f, 300f, 400f, 400f);
+        part.begin();
+        grid.draw(part, font, 0f, 0f);
+        part.end();
+        int culled = grid.getQuadsDrawn();
+        SoftwareBatch whole = new SoftwareBatch(800, 800);
+        whole.getProjectionMatrix().setToOrtho2D(200f, 300f, 400f, 400f);
+        whole.begin();
+        font.drawBlocks(whole, colors, 0f, 0f);
+        whole.end();
+        grid.draw(new CountingBatch(), font, 0f, 0f);
+        check("culling keeps what is shown", Arrays.equals(part.getPixels(), whole.getPixels())
+                && culled > 0 && culled < grid.getQuadsDrawn() / 2);
+        part.dispose();
+        whole.dispose();
+
+        time(font, random);
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    /**
+     * Makes a map-like grid of colors: rooms of one floor color surrounded by walls, with some cells left empty and
+     * some scattered single cells of other colors, indexed [x][y].
+     */
+    private static int[][] map(int width, int height, Random random) {
+        int[][] colors = new int[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int room = (x / 12) * 31 + (y / 9) * 17;
+                boolean wall = x % 12 == 0 || y % 9 == 0;
+                colors[x][y] = room % 7 == 0 ? 0 : wall ? 0x404050FF : 0x806040FF + (room % 5 << 16);
+                if (random.nextInt(40) == 0) colors[x][y] = random.nextInt() | 255;
+            }
+        }
+        return colors;
+    }
+
+    private static int[] render(Font font, int[][] colors, BlockGrid grid) {
+        SoftwareBatch batch = new SoftwareBatch(800, 800);
+        batch.begin();
+        if (grid == null) font.drawBlocks(batch, colors, 0f, 0f);
+        else grid.draw(batch, font, 0f, 0f);
+        batch.end();
+        batch.dispose();
+        return batch.getPixels();
+    }
+
+    private static void time(Font font, Random random) {
+        int[][] colors = map(200, 100, random);
+        BlockGrid grid = new BlockGrid(colors);
+        CountingBatch blocks = new CountingBatch(), merged = new CountingBatch();
+        font.drawBlocks(blocks, colors, 0f, 0f);
+        grid.draw(merged, font, 0f, 0f);
+        System.out.printf("200x100 grid: drawBlocks sends %d quads in %d calls, BlockGrid sends %d quads in %d calls%n",
+                blocks.quads, blocks.calls, merged.quads, merged.calls);
+
+        final int frames = 2000;
+        long[] times = new long[3];
+        for (int f = -frames; f < frames; f++) {
+            // A few cells change near one spot each frame, as when something moves around a map.
+            int cx = 20 + (f & 127), cy = 20 + (f >>> 3 & 63);
+            for (int i = 0; i < 12; i++) {
+                int x = cx + random.nextInt(7), y = cy + random.nextInt(5), color = random.nextInt() | 255;
+                colors[x][y] = color;
+                grid.set(x, y, color);
+            }
+            long t0 = System.nanoTime();
+            font.drawBlocks(blocks, colors, 0f, 0f);
+            long t1 = System.nanoTime();
+            grid.draw(merged, font, 0f, 0f);
+            long t2 = System.nanoTime();
+            grid.draw(merged, font, 0f, 0f);
+            long t3 = System.nanoTime();
+            if (f >= 0) {
+                times[0] += t1 - t0;
+                times[1] += t2 - t1;
+                times[2] += t3 - t2;
+            }
+        }
+        System.out.printf("per frame: drawBlocks %8.2f us, BlockGrid with a few rows changed %8.2f us, unchanged %8.2f us%n",
+                times[0] / 1e3 / frames, times[1] / 1e3 / frames, times[2] / 1e3 / frames);
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.tommyettinger.textra;
+
+import com.github.tommyettinger.textra.utils.ColorUtils;
+import com.github.tommyettinger.textra.utils.Palette;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that {@link ColorUtils#describe(String, int, int)} gives the same colors whether or not a description was
+ * already cached, including when it is called from several threads at once and after {@link Palette#addColor(String,
+ * int)}, and that describing a cached color doesn't allocate. It also times describing the color tags in a chat log,
+ * parsing each one every time and using the cache. This doesn't need a graphics context.
+ */
+public class ColorDescribeTest {
+    private static final String[] DESCRIPTIONS = {
+            "blue", "dark green", "DULLER RED", "peach pink", "indigo purple mauve", "lightest, richer apricot-olive",
+            "BRIGHT GOLD", "palest cyan blue", "Deep fern black", "weakmost celery", "LIGHTMOST rich MAROON 2 indigo 3",
+            "red:3 orange", "dark deep (blue 7) (cyan 3)", "light red", "dull teal", "nonsense", "light", "red red blue",
+    };
+    private static int failures = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] expected = new int[DESCRIPTIONS.length];
+        boolean same = true;
+        for (int i = 0; i < DESCRIPTIONS.length; i++) {
+            ColorUtils.clearDescriptionCache();
+            expected[i] = ColorUtils.describe(DESCRIPTIONS[i]);
+            same &= ColorUtils.describe(DESCRIPTIONS[i]) == expected[i];
+            String framed = "[" + DESCRIPTIONS[i] + "]";
+            same &= ColorUtils.describe(framed, 1, framed.length() - 1) == expected[i];
+        }
+        check("cached colors match parsed ones", same);
+        check("one name is its own color", ColorUtils.describe("black") == Palette.black
+                && ColorUtils.describe("[salmon]", 1, 7) == Palette.salmon && ColorUtils.describe("salmon pink", 0, 6) == Palette.salmon);
+        check("unknown names are 256", ColorUtils.describe("nonsense") == 256 && ColorUtils.describe("  ") == 256);
+
+        check("a new name is seen after it is added", ColorUtils.describe("zorblax") == 256
+                & Palette.addColor("zorblax", 0x12345678) & ColorUtils.describe("zorblax") == 0x12345678);
+
+        final AtomicInteger wrong = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int r = 0; r < 20000; r++) {
+                    int i = (r + offset) % DESCRIPTIONS.length;
+                    if (r % 97 == 0) ColorUtils.clearDescriptionCache();
+                    if (ColorUtils.describe(DESCRIPTIONS[i]) != expected[i]) wrong.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        check("threads all see the right colors", wrong.get() == 0);
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long id = Thread.currentThread().getId();
+            int sink = 0;
+            for (int r = 0; r < 100000; r++) sink += ColorUtils.describe(DESCRIPTIONS[r % DESCRIPTIONS.length]);
+            long before = bean.getThreadAllocatedBytes(id);
+            for (int r = 0; r < 100000; r++) sink += ColorUtils.describe(DESCRIPTIONS[r % DESCRIPTIONS.length]);
+            long allocated = bean.getThreadAllocatedBytes(id) - before;
+            System.out.println("allocated " + allocated + " bytes for 100000 cached descriptions (sink " + sink + ")");
+            check("cached descriptions don't allocate", allocated < 1000);
+        }
+
+        time();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+    }
+
+    private static void time() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("[light red]Ashe[] says: [dull teal]meet at the [BRIGHT GOLD]fountain[][] at noon. ");
+        }
+        String chat = sb.toString();
+        int[] starts = new int[600], ends = new int[600];
+        int tags = 0;
+        for (int i = chat.indexOf('['); i >= 0 && tags < starts.length; i = chat.indexOf('[', i + 1)) {
+            int end = chat.indexOf(']', i);
+            if (end > i + 1) {
+                starts[tags] = i + 1;
+                ends[tags++] = end;
+            }
+        }
+        final int rounds = 300;
+        int sink = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (int t = 0; t < tags; t++) {
+                ColorUtils.clearDescriptionCache();
+                sink += ColorUtils.describe(chat, starts[t], ends[t]);
+                sink += ColorUtils.describe(chat, starts[t], ends[t]);
+            }
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int t = 0; t < tags; t++) {
+                ColorUtils.clearDescriptionCache();
+                sink += ColorUtils.describe(chat, starts[t], ends[t]);
+            }
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int t = 0; t < tags; t++) {
+                sink += ColorUtils.describe(chat, starts[t], ends[t]);
+            }
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("%d color tags: parsed each time %8.2f us, cached %8.2f us (sink %d)%n",
+                tags, (t1 - t0) / 1000.0 / rounds, (t2 - t1) / 1000.0 / rounds, sink);
+    }
+
+    private static void check(String name, boolean ok) {
+        System.out.printf("%-40s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
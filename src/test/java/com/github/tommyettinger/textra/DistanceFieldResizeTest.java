@@ -0,0 +1,128 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+
+/**
+ * Checks that {@link Font#findFonts(com.badlogic.gdx.scenes.scene2d.Actor, ObjectSet)} finds each Font used in a
+ * Stage once, including Fonts that are only reachable through a FontFamily, and that
+ * {@link Font#resizeDistanceFields(Stage, float, float)} gives every distance field Font the same crispness that
+ * calling {@link Font#resizeDistanceField(float, float, com.badlogic.gdx.utils.viewport.Viewport)} on it would. It
+ * then times resizing a Stage with thousands of labels using dozens of SDF Fonts, once per label and once per Font.
+ * This runs with a headless backend, with graphics that report an 800x600 back buffer. Run it from the project root.
+ */
+public class DistanceFieldResizeTest extends ApplicationAdapter {
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new DistanceFieldResizeTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public int getBackBufferWidth() {
+                return 800;
+            }
+
+            @Override
+            public int getBackBufferHeight() {
+                return 600;
+            }
+        };
+        if (!Gdx.files.local("knownFonts/Gentium-sdf.json.lzma").exists()) {
+            System.out.println("Font files not found; run this from the project root.");
+            Gdx.app.exit();
+            return;
+        }
+        KnownFonts.setAssetPrefix("knownFonts/");
+        Font standard = KnownFonts.getGentium();
+        Font sdf = KnownFonts.getGentium(Font.DistanceFieldType.SDF).setCrispness(1.5f);
+        Font msdf = KnownFonts.getGentium(Font.DistanceFieldType.MSDF);
+        Font onlyInFamily = KnownFonts.getFont(KnownFonts.BITTER, Font.DistanceFieldType.SDF);
+        sdf.setFamily(new Font.FontFamily(new String[]{"Gentium", "Bitter"}, new Font[]{sdf, onlyInFamily}));
+
+        Stage stage = new Stage(new FitViewport(400, 300), new SoftwareBatch(800, 600));
+        Table table = new Table();
+        table.add(new TextraLabel("SDF", sdf)).row();
+        table.add(new TypingLabel("[@Bitter]Family", sdf)).row();
+        table.add(new TextraButton("Standard", new Styles.TextButtonStyle(null, null, null, standard))).row();
+        stage.addActor(table);
+        stage.addActor(new TextraLabel("MSDF", msdf));
+        stage.addActor(new TextraWindow("Window", new Styles.WindowStyle(msdf, Color.WHITE, null)));
+
+        ObjectSet<Font> found = Font.findFonts(stage.getRoot(), new ObjectSet<>());
+        Font buttonFont = ((TextraButton) table.getCells().get(2).getActor()).getTextraLabel().getFont();
+        check("each Font is found once", found.contains(sdf) && found.contains(msdf) && found.contains(onlyInFamily)
+                && found.contains(buttonFont));
+
+        stage.getViewport().update(800, 600, true);
+        Font.resizeDistanceFields(stage, 800, 600);
+        float[] bulk = {sdf.actualCrispness, msdf.actualCrispness, onlyInFamily.actualCrispness, buttonFont.actualCrispness};
+        sdf.actualCrispness = msdf.actualCrispness = onlyInFamily.actualCrispness = -1f;
+        for (Font font : new Font[]{sdf, msdf, onlyInFamily}) {
+            font.resizeDistanceField(800, 600, stage.getViewport());
+        }
+        check("Stage resizing matches resizing each Font", bulk[0] == sdf.actualCrispness
+                && bulk[1] == msdf.actualCrispness && bulk[2] == onlyInFamily.actualCrispness && bulk[0] == 3f);
+        check("standard Fonts are left alone", bulk[3] == buttonFont.actualCrispness);
+
+        time(sdf);
+        stage.dispose();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private static void time(Font sdf) {
+        Stage stage = new Stage(new FitViewport(400, 300), new SoftwareBatch(800, 600));
+        Array<TextraLabel> labels = new Array<>();
+        Font[] fonts = new Font[40];
+        for (int i = 0; i < fonts.length; i++) {
+            fonts[i] = new Font(sdf).scaleHeightTo(16 + i);
+        }
+        for (int i = 0; i < 4000; i++) {
+            TextraLabel label = new TextraLabel("label " + i, fonts[i % fonts.length]);
+            labels.add(label);
+            stage.addActor(label);
+        }
+        ObjectSet<Font> found = Font.findFonts(stage.getRoot(), new ObjectSet<>());
+        final int rounds = 2000;
+        long perLabel = 0, perStage = 0, perFont = 0;
+        for (int r = -rounds; r < rounds; r++) {
+            int w = 600 + (r & 255), h = 400 + (r & 127);
+            long t0 = System.nanoTime();
+            for (TextraLabel label : labels) {
+                label.getFont().resizeDistanceField(w, h, stage.getViewport());
+            }
+            long t1 = System.nanoTime();
+            Font.resizeDistanceFields(stage, w, h);
+            long t2 = System.nanoTime();
+            Font.resizeDistanceFields(found, w, h, stage.getViewport());
+            long t3 = System.nanoTime();
+            if (r >= 0) {
+                perLabel += t1 - t0;
+                perStage += t2 - t1;
+                perFont += t3 - t2;
+            }
+        }
+        System.out.printf("resizing %d labels using %d Fonts: once per label %8.2f us, Stage search %8.2f us, found Fonts %8.2f us%n",
+                labels.size, found.size, perLabel / 1e3 / rounds, perStage / 1e3 / rounds, perFont / 1e3 / rounds);
+        stage.dispose();
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.LongArray;
+import com.github.tommyettinger.textra.utils.SkylinePacker;
+
+import java.util.Random;
+
+/**
+ * Checks {@link SkylinePacker} and {@link DynamicFontAtlas} with a fake {@link GlyphRasterizer} that fills a rectangle
+ * whose size depends on the char. Glyphs should be loaded once by markup, keep their metrics after their pixels are
+ * evicted, be drawn again when an evicted glyph is used, and never be evicted from a page used in the current frame.
+ * Copies of a Font should see glyphs moved by the original. This runs with a headless backend, so no GPU is needed; a
+ * stand-in GL20 that does nothing is installed so page Textures can be created, and glyphs are drawn into a Batch that
+ * only records vertices.
+ */
+public class DynamicAtlasTest extends ApplicationAdapter {
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new DynamicAtlasTest(), new HeadlessApplicationConfiguration());
+    }
+
+    /**
+     * Draws every char except those in the Runic block as a solid rectangle, 4 to 11 pixels wide and 12 tall.
+     */
+    static class FakeRasterizer implements GlyphRasterizer {
+        int hasGlyphCalls = 0;
+        private Pixmap last;
+
+        @Override
+        public float getLineHeight() {
+            return 16f;
+        }
+
+        @Override
+        public float getDescent() {
+            return -3f;
+        }
+
+        @Override
+        public boolean hasGlyph(int c) {
+            hasGlyphCalls++;
+            return c < 0x16A0 || c > 0x16FF;
+        }
+
+        static int width(int c) {
+            return 4 + (c * 7 & 7);
+        }
+
+        @Override
+        public Pixmap rasterize(int c, Font.GlyphRegion metrics) {
+            metrics.offsetX = 1f;
+            metrics.offsetY = -3f;
+            metrics.xAdvance = width(c) + 2f;
+            if (c == ' ') return null;
+            if (last != null) last.dispose();
+            last = new Pixmap(width(c), 12, Pixmap.Format.RGBA8888);
+            last.setColor(c * 0x9E3779B9 | 0xFF);
+            last.fill();
+            return last;
+        }
+    }
+
+    /**
+     * Uses a frame counter the test controls, since the headless backend's frame ID doesn't advance in create().
+     */
+    static class SteppedAtlas extends DynamicFontAtlas {
+        long frame = 0L;
+
+        SteppedAtlas(GlyphRasterizer rasterizer, int size, int maxPages) {
+            super(rasterizer, size, size, maxPages, 1);
+        }
+
+        @Override
+        protected long currentFrame() {
+            return frame;
+        }
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        packer();
+
+        FakeRasterizer rasterizer = new FakeRasterizer();
+        SteppedAtlas atlas = new SteppedAtlas(rasterizer, 128, 2);
+        Font font = new Font(atlas);
+        check("ASCII is loaded up front", atlas.getGlyphCount() == 95 && font.mapping.get('A').xAdvance == FakeRasterizer.width('A') + 2f);
+        check("cell metrics come from the rasterizer", font.cellHeight == 16f && font.descent == -3f
+                && font.cellWidth == 13f && !font.isMono);
+
+        // 300 CJK chars need more room than two 128x128 pages have.
+        StringBuilder cjk = new StringBuilder(300);
+        for (int i = 0; i < 300; i++) cjk.append((char) (0x4E00 + i * 3));
+        String text = cjk.toString();
+        int before = atlas.getRasterizeCount();
+        Layout layout = new Layout(font);
+        font.markup(text, layout);
+        check("markup loads each new char once", atlas.getRasterizeCount() - before == 300);
+        float width = layout.getWidth();
+        float expected = 0f;
+        for (int i = 0; i < text.length(); i++) expected += FakeRasterizer.width(text.charAt(i)) + 2f;
+        check("measured from rasterized metrics", Math.abs(width - expected) < 0.01f);
+        font.markup(text, layout.clear());
+        check("markup again doesn't rasterize", atlas.getRasterizeCount() - before == 300);
+        check("all loaded in one frame, so no eviction", atlas.getEvictionCount() == 0 && atlas.getPageCount() > atlas.maxPages);
+
+        // Each later frame draws only a few chars, so old pages can be cleared and reused.
+        int pagesBefore = atlas.getPageCount();
+        ShaderEffectMesh.QuadRecorder batch = new ShaderEffectMesh.QuadRecorder();
+        for (int f = 0; f < 40; f++) {
+            atlas.frame++;
+            Layout small = new Layout(font);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 40; i++) sb.append((char) (0x5000 + f * 40 + i));
+            font.markup(sb.toString(), small);
+            font.drawGlyphs(batch, small, 0f, 0f);
+        }
+        check("cold pages are evicted instead of adding more", atlas.getEvictionCount() > 0
+                && atlas.getPageCount() == pagesBefore);
+
+        // Glyphs from the first frame were evicted, but their metrics weren't.
+        char first = text.charAt(0);
+        check("first glyph was evicted", !atlas.isResident(first));
+        Layout again = new Layout(font);
+        font.markup(text, again);
+        check("evicted glyphs measure the same", again.getWidth() == width);
+
+        Font copy = new Font(font);
+        check("copy shares the atlas", copy.dynamicAtlas == atlas && copy.mapping != font.mapping
+                && copy.mapping.get(first) == font.mapping.get(first));
+
+        atlas.frame++;
+        int rasterized = atlas.getRasterizeCount();
+        batch.quads.clear();
+        batch.textures.clear();
+        Layout one = new Layout(font);
+        font.markup(String.valueOf(first), one);
+        font.drawGlyphs(batch, one, 0f, 0f);
+        Font.GlyphRegion region = font.mapping.get(first);
+        check("drawing an evicted glyph rasterizes it again", atlas.isResident(first)
+                && atlas.getRasterizeCount() == rasterized + 1 && region.getRegionWidth() == FakeRasterizer.width(first)
+                && region.getRegionHeight() == 12);
+        check("it is drawn from a page texture", batch.textures.size == 1 && isPage(atlas, batch.textures.first()));
+        Font.GlyphRegion copied = copy.mapping.get(first);
+        check("the copy sees the new position", copied.getTexture() == region.getTexture()
+                && copied.getU() == region.getU() && copied.getV() == region.getV());
+
+        // Everything drawn in one frame stays resident, even if that needs extra pages.
+        atlas.frame++;
+        Layout big = new Layout(font);
+        font.markup(text, big);
+        font.drawGlyphs(batch, big, 0f, 0f);
+        boolean allResident = true;
+        for (int i = 0; i < text.length(); i++) allResident &= atlas.isResident(text.charAt(i));
+        check("a frame never evicts its own glyphs", allResident);
+
+        int calls = rasterizer.hasGlyphCalls;
+        Layout runes = new Layout(font);
+        font.markup("ᚠᚢᚦ", runes);
+        font.markup("ᚠᚢᚦ", runes.clear());
+        check("missing chars are only checked once", rasterizer.hasGlyphCalls == calls + 3 && !font.mapping.containsKey('ᚠ'));
+
+        check("escaped square bracket", font.markup("[[", new Layout(font)).getWidth() == FakeRasterizer.width('[') + 2f);
+        check("solid block isn't rasterized", !atlas.isResident('█') && font.mapping.get('█').getTexture() == font.whiteBlock);
+
+        time(font, atlas, text);
+        copy.dispose();
+        font.dispose();
+        atlas.dispose();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private void packer() {
+        SkylinePacker packer = new SkylinePacker(64, 64, 0);
+        int count = 0;
+        while (packer.pack(16, 16) != -1) count++;
+        check("packs a full grid of squares", count == 16 && packer.occupancy() == 1f);
+        check("rejects what doesn't fit", packer.pack(1, 1) == -1 && new SkylinePacker(8, 8, 0).pack(9, 2) == -1);
+
+        Random random = new Random(123);
+        packer = new SkylinePacker(256, 256, 1);
+        boolean[] used = new boolean[256 * 256];
+        boolean overlap = false, inBounds = true;
+        int placed = 0;
+        for (int i = 0; i < 2000; i++) {
+            int w = 3 + random.nextInt(14), h = 8 + random.nextInt(8);
+            int packed = packer.pack(w, h);
+            if (packed == -1) continue;
+            placed++;
+            int x = SkylinePacker.x(packed), y = SkylinePacker.y(packed);
+            inBounds &= x + w <= 256 && y + h <= 256;
+            for (int py = y; py < y + h && py < 256; py++) {
+                for (int px = x; px < x + w && px < 256; px++) {
+                    overlap |= used[py * 256 + px];
+                    used[py * 256 + px] = true;
+                }
+            }
+        }
+        System.out.printf("Packed %d random rectangles, occupancy %.3f%n", placed, packer.occupancy());
+        check("random rectangles don't overlap", !overlap && inBounds && packer.occupancy() > 0.6f);
+        packer.reset();
+        check("reset empties the area", packer.occupancy() == 0f && packer.pack(255, 255) == 0);
+    }
+
+    private static boolean isPage(DynamicFontAtlas atlas, Object texture) {
+        for (int i = 0; i < atlas.getPageCount(); i++) {
+            if (atlas.getPage(i) == texture) return true;
+        }
+        return false;
+    }
+
+    private static void time(Font font, SteppedAtlas atlas, String text) {
+        Layout layout = new Layout(font);
+        font.markup(text.substring(0, 100), layout);
+        ShaderEffectMesh.QuadRecorder batch = new ShaderEffectMesh.QuadRecorder();
+        final int rounds = 2000;
+        LongArray glyphs = layout.getLine(0).glyphs;
+        for (int r = 0; r < rounds; r++) {
+            atlas.frame++;
+            font.drawGlyphs(batch, layout, 0f, 0f);
+            batch.quads.clear();
+            batch.textures.clear();
+        }
+        int rasterized = atlas.getRasterizeCount();
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            atlas.frame++;
+            font.drawGlyphs(batch, layout, 0f, 0f);
+            batch.quads.clear();
+            batch.textures.clear();
+        }
+        long t1 = System.nanoTime();
+        System.out.printf("drawing %d resident glyphs: %8.2f us per frame, %d rasterized while timing%n",
+                glyphs.size, (t1 - t0) / 1000.0 / rounds, atlas.getRasterizeCount() - rasterized);
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-48s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
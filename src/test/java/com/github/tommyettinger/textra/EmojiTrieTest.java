@@ -0,0 +1,123 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.github.tommyettinger.textra.utils.CaseInsensitiveIntMap;
+import regexodus.Replacer;
+
+/**
+ * Checks that {@link EmojiProcessor#process(Font, CharSequence)}, which uses a {@link EmojiProcessor.Trie}, replaces
+ * emoji the same way as the older regex-based {@link EmojiProcessor#getReplacer(Font)}, including ZWJ sequences,
+ * skin tones, and emoji whose names are prefixes of other names. Only the names in Twemoji.atlas are needed, so this
+ * builds a {@link Font#nameLookup} from them without loading the emoji texture. It also checks that the Trie cached in
+ * a Font is rebuilt when nameLookup changes, and times both paths. This runs with a headless backend, so no GPU is
+ * needed; a stand-in GL20 that does nothing is installed so the Font's Texture can be created. Run this from the
+ * knownFonts folder with UTF-8 as the default charset ({@code -Dfile.encoding=UTF-8}), since that is what the atlas is
+ * read with.
+ */
+public class EmojiTrieTest extends ApplicationAdapter {
+    private static final int ROUNDS = 2000;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new EmojiTrieTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Font font = KnownFonts.getGentium();
+        TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(Gdx.files.local("Twemoji.atlas"), Gdx.files.local("."), false);
+        CaseInsensitiveIntMap lookup = new CaseInsensitiveIntMap(data.getRegions().size, 0.5f);
+        char next = '\uE000';
+        for (TextureAtlas.TextureAtlasData.Region region : data.getRegions()) {
+            if (!lookup.containsKey(region.name)) lookup.put(region.name, next++);
+        }
+        font.nameLookup = lookup;
+        Replacer replacer = EmojiProcessor.getReplacer(font);
+
+        // Every emoji name the regex replaces in full should become the same single char either way.
+        StringBuilder all = new StringBuilder(lookup.size * 8);
+        int names = 0, same = 0;
+        for (CaseInsensitiveIntMap.Entry e : new CaseInsensitiveIntMap.Entries(lookup)) {
+            String byRegex = replacer.replace(e.key);
+            if (byRegex.length() != 1 || byRegex.charAt(0) == '?' || byRegex.equals(e.key)) continue;
+            names++;
+            if (byRegex.equals(EmojiProcessor.process(font, e.key))) same++;
+            all.append(e.key).append(' ');
+        }
+        System.out.println(same + " of " + names + " emoji names matched the regex path.");
+        check("each emoji name matches regex", names > 3000 && same == names);
+        check("all names in one text", replacer.replace(all).equals(EmojiProcessor.process(font, all)));
+
+        String family = "👨‍👩‍👧‍👦";
+        String familyPrefix = "👨‍👩‍👧";
+        String man = "👨";
+        check("ZWJ family", same(font, replacer, "a" + family + "b", 3));
+        check("ZWJ family prefix", same(font, replacer, familyPrefix + "!", 2));
+        check("ZWJ family then man", same(font, replacer, family + man, 2));
+        check("ZWJ flag sequences", same(font, replacer,
+                "🏳️‍🌈 🏳️ 🏳️‍⚧️", 5));
+        check("skin tones", same(font, replacer,
+                "👍🏽👍👍🏿👍🏻", 4));
+        check("prefix names", same(font, replacer,
+                "❤️‍🔥❤️❤️‍🩹", 3));
+        check("plain text unchanged", EmojiProcessor.process(font, "Hello, world!").equals("Hello, world!"));
+
+        // The Trie is cached in the Font, and rebuilt when nameLookup is changed or replaced.
+        EmojiProcessor.Trie trie = EmojiProcessor.getTrie(font);
+        check("trie is cached", trie == EmojiProcessor.getTrie(font));
+        int heart = lookup.get("❤️", -1);
+        lookup.put("❤️", '\uF000');
+        check("put rebuilds", trie != EmojiProcessor.getTrie(font)
+                && EmojiProcessor.process(font, "❤️").equals("\uF000"));
+        lookup.put("❤️", heart);
+        trie = EmojiProcessor.getTrie(font);
+        lookup.remove(family, -1);
+        check("remove rebuilds", trie != EmojiProcessor.getTrie(font)
+                && EmojiProcessor.process(font, family).equals(EmojiProcessor.process(font, familyPrefix) + "\u200D" + EmojiProcessor.process(font, "👦")));
+        font.nameLookup = new CaseInsensitiveIntMap(lookup);
+        check("replacing nameLookup rebuilds", trie != EmojiProcessor.getTrie(font));
+        font.nameLookup = null;
+        check("no nameLookup", EmojiProcessor.getTrie(font) == null && EmojiProcessor.process(font, family).equals(family));
+        font.nameLookup = lookup;
+
+        String text = "Text with 👍🏽 and " + family + " and ❤️‍🔥 in it, and more plain text to skip.";
+        StringBuilder sb = new StringBuilder(128);
+        int sink = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            sink += replacer.replace(text).length();
+            sb.setLength(0);
+            sink += EmojiProcessor.process(font, text, sb).length();
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += replacer.replace(text).length();
+        long t1 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            sb.setLength(0);
+            sink += EmojiProcessor.process(font, text, sb).length();
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("replace: regex %8.2f us, trie %8.2f us (sink %d)%n",
+                (t1 - t0) / 1000.0 / ROUNDS, (t2 - t1) / 1000.0 / ROUNDS, sink);
+
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    /**
+     * True if the trie and the regex give the same result for text, and that result has the expected length.
+     */
+    private static boolean same(Font font, Replacer replacer, String text, int expectedLength) {
+        String byTrie = EmojiProcessor.process(font, text);
+        return byTrie.equals(replacer.replace(text)) && byTrie.length() == expectedLength && byTrie.indexOf('?') < 0;
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-40s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
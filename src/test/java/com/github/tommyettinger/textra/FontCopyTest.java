@@ -0,0 +1,130 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that Fonts made with {@link Font#Font(Font)} share GlyphRegions with the Font they copied only until one of
+ * them changes its glyphs, so changing one (with {@link Font#fitCell(float, float, boolean)}, a direct change after
+ * {@link Font#unshareGlyphs()} or {@link Font#unshareGlyph(int)}, or putting a new glyph in its mapping) never changes
+ * the other, and that changing a copy from {@link KnownFonts} in all those ways leaves the cached Font unchanged. It then times making
+ * scaled copies of a KnownFonts font, and how much each copy allocates, compared to copying every glyph (which is
+ * what copies did before). This runs with a headless backend; a stand-in GL20 that does nothing is installed so the
+ * Font's Texture can be created.
+ */
+public class FontCopyTest extends ApplicationAdapter {
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new FontCopyTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Font original = KnownFonts.getGentium();
+        String before = describe(original);
+        Font copy = new Font(original).scaleHeightTo(40f);
+        check("a copy starts with the same glyphs", copy.mapping.get('A') == original.mapping.get('A')
+                && describe(copy).equals(before));
+
+        copy.fitCell(30f, 40f, true);
+        check("fitCell on a copy leaves the original alone", describe(original).equals(before)
+                && copy.mapping.get('A') != original.mapping.get('A') && copy.mapping.get('A').xAdvance * copy.scaleX == 30f);
+        check("aliased glyphs stay aliased", copy.mapping.get('\r') == copy.mapping.get(' ')
+                && copy.defaultValue == copy.mapping.get(' '));
+
+        Font second = new Font(original);
+        original.fitCell(original.cellWidth * 2f, original.cellHeight, false);
+        check("fitCell on the original leaves copies alone", describe(second).equals(before)
+                && !describe(original).equals(before));
+
+        Font third = new Font(second);
+        third.mapping.put('\b', new Font.GlyphRegion(third.mapping.get(' '), 0f, 0f, -10f));
+        third.unshareGlyphs().mapping.get('Q').xAdvance = 1f;
+        check("putting or editing glyphs only changes that copy", !second.mapping.containsKey('\b')
+                && describe(second).equals(before) && third.mapping.get('Q').xAdvance == 1f);
+
+        second.setSharing(true);
+        Font sharer = new Font(second);
+        sharer.fitCell(12f, 20f, false);
+        check("sharing copies still share changes", second.mapping == sharer.mapping
+                && second.mapping.get('Q').xAdvance * second.scaleX == 12f
+                && KnownFonts.getGentium().mapping.get('Q').xAdvance != second.mapping.get('Q').xAdvance);
+
+        String known = describe(KnownFonts.getGentium());
+        Font mutated = KnownFonts.getGentium().scale(2f).adjustLineHeight(1.5f).adjustCellWidth(0.8f);
+        Font.GlyphRegion a = mutated.unshareGlyph('A');
+        a.offsetX += 5f;
+        a.xAdvance = 50f;
+        mutated.unshareGlyph(' ').xAdvance = 3f;
+        mutated.addSpacingGlyph('\t', 40f);
+        boolean perGlyph = mutated.unshareGlyph('A') == a && mutated.mapping.get('\r') == mutated.mapping.get(' ')
+                && mutated.mapping.get('B') == KnownFonts.getGentium().mapping.get('B');
+        mutated.fitCell(20f, 30f, true);
+        mutated.setSharing(true);
+        Font unshared = new Font(mutated).setSharing(false);
+        unshared.unshareGlyph('B').xAdvance = 7f;
+        check("changing a KnownFonts copy keeps the cache", perGlyph && describe(KnownFonts.getGentium()).equals(known)
+                && mutated.mapping.get('A').xAdvance != KnownFonts.getGentium().mapping.get('A').xAdvance
+                && mutated.mapping.get('B').xAdvance != 7f);
+
+        time(KnownFonts.getGentium());
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    /**
+     * Gets every glyph's metrics and region as one String, so two Fonts' glyphs can be compared.
+     */
+    private static String describe(Font font) {
+        StringBuilder sb = new StringBuilder(font.mapping.size * 40);
+        for (int c = 0; c <= 0xFFFF; c++) {
+            Font.GlyphRegion g = font.mapping.get(c);
+            if (g == null) continue;
+            sb.append(c).append(':').append(g.offsetX).append(',').append(g.offsetY).append(',').append(g.xAdvance)
+                    .append(',').append(g.getRegionX()).append(',').append(g.getRegionY()).append(';');
+        }
+        return sb.toString();
+    }
+
+    private static void time(Font font) {
+        final int rounds = 2000;
+        float sink = 0f;
+        for (int r = 0; r < rounds; r++) {
+            sink += new Font(font).scaleHeightTo(r % 40 + 10).cellWidth;
+            sink += new Font(font).unshareGlyphs().scaleHeightTo(r % 40 + 10).cellWidth;
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += new Font(font).unshareGlyphs().scaleHeightTo(r % 40 + 10).cellWidth;
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += new Font(font).scaleHeightTo(r % 40 + 10).cellWidth;
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("copying a %d-glyph Font: copying every glyph %8.2f us, sharing glyphs %8.2f us (sink %f)%n",
+                font.mapping.size, (t1 - t0) / 1e3 / rounds, (t2 - t1) / 1e3 / rounds, sink);
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long id = Thread.currentThread().getId();
+            long a0 = bean.getThreadAllocatedBytes(id);
+            Font eager = new Font(font).unshareGlyphs();
+            long a1 = bean.getThreadAllocatedBytes(id);
+            Font shared = new Font(font);
+            long a2 = bean.getThreadAllocatedBytes(id);
+            System.out.printf("allocated per copy: copying every glyph %d bytes, sharing glyphs %d bytes (%d %d)%n",
+                    a1 - a0, a2 - a1, eager.mapping.size, shared.mapping.size);
+        }
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-48s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * Checks {@link Font#fallbackChain}: text in several scripts is marked up with A-Starry, which only has a few
+ * scripts, falling back to DejaVu Sans and then Gentium. Each glyph should use the first Font in that order that has
+ * its char, and the result should match marking up the same text with explicit [@Name] switches. This also times
+ * markup with and without the chain. This runs with a headless backend, so no GPU is needed; a stand-in GL20 that
+ * does nothing is installed so each Font's Texture can be created.
+ */
+public class FontFallbackTest extends ApplicationAdapter {
+    private static final String TEXT = "Hello, Ωμέγα and Привет! Ǆ ǅ ǆ ⅓ ∑ ≈ ∞ ¿Qué? Ærøskøbing. Ѣ Ѳ ✓ ☂";
+    private static final int ROUNDS = 4000;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new FontFallbackTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Font starry = KnownFonts.getAStarry().scaleHeightTo(24f);
+        Font sans = KnownFonts.getDejaVuSans().scaleHeightTo(24f);
+        Font gentium = KnownFonts.getGentium().scaleHeightTo(24f);
+        Font.FontFamily family = new Font.FontFamily(new String[]{"Starry", "Sans", "Gentium"},
+                new Font[]{starry, sans, gentium});
+        for (Font f : family.connected) if (f != null) f.setFamily(family);
+
+        check("coverage matches mapping", coverageMatches(starry) && coverageMatches(sans) && coverageMatches(gentium));
+
+        // What each char should use, found the slow way, and the same text with explicit switches.
+        StringBuilder explicit = new StringBuilder(TEXT.length() * 4);
+        int[] expected = new int[TEXT.length()];
+        int previous = 0;
+        for (int i = 0; i < TEXT.length(); i++) {
+            char c = TEXT.charAt(i);
+            int index = starry.mapping.containsKey(c) ? 0 : sans.mapping.containsKey(c) ? 1 : gentium.mapping.containsKey(c) ? 2 : 0;
+            expected[i] = index;
+            if (index != previous) explicit.append("[@").append(index).append(']');
+            explicit.append(c);
+            previous = index;
+        }
+
+        starry.setFallbackChain("Sans", "Gentium");
+        check("chain set by name", starry.fallbackChain != null && starry.fallbackChain.length == 2
+                && starry.fallbackChain[0] == 1 && starry.fallbackChain[1] == 2);
+        Layout automatic = starry.markup(TEXT, new Layout(starry));
+        LongArray glyphs = automatic.getLine(0).glyphs;
+        boolean indicesMatch = glyphs.size == TEXT.length();
+        int fellBack = 0;
+        for (int i = 0; indicesMatch && i < glyphs.size; i++) {
+            indicesMatch = Font.familyIndex(glyphs.get(i)) == expected[i];
+            if (expected[i] != 0) fellBack++;
+        }
+        System.out.println(fellBack + " of " + TEXT.length() + " chars fell back to another font.");
+        check("each glyph uses the first font with it", indicesMatch && fellBack > 0);
+
+        starry.fallbackChain = null;
+        Layout manual = starry.markup(explicit.toString(), new Layout(starry));
+        check("same as explicit [@Name] markup", sameGlyphs(automatic, manual)
+                && automatic.getWidth() == manual.getWidth() && automatic.getHeight() == manual.getHeight());
+        starry.setFallbackChain("Sans", "Gentium");
+        for (String script : new String[]{"[^]", "[.]", "[=]"}) {
+            Layout scripted = starry.markup(script + TEXT, new Layout(starry));
+            starry.fallbackChain = null;
+            Layout scriptedManual = starry.markup(script + explicit, new Layout(starry));
+            starry.setFallbackChain("Sans", "Gentium");
+            check("same as explicit with " + script, sameGlyphs(scripted, scriptedManual)
+                    && scripted.getWidth() == scriptedManual.getWidth() && scripted.getHeight() == scriptedManual.getHeight()
+                    && scripted.getWidth() < automatic.getWidth());
+        }
+        // A taller fallback font should make the line taller, as it does with explicit switches.
+        sans.scaleHeightTo(36f);
+        Layout tall = starry.markup(TEXT, new Layout(starry));
+        starry.fallbackChain = null;
+        Layout tallManual = starry.markup(explicit.toString(), new Layout(starry));
+        check("line height uses the fallback font", tall.getLine(0).height == tallManual.getLine(0).height
+                && tall.getLine(0).height >= sans.cellHeight);
+        sans.scaleHeightTo(24f);
+        check("no chain means no fallback", Font.familyIndex(starry.markupGlyph("Ω")) == 0);
+        starry.setFallbackChain(2, 1);
+        check("markupGlyph falls back", Font.familyIndex(starry.markupGlyph("Ω")) == (gentium.mapping.containsKey('Ω') ? 2 : 1));
+        check("[@Name] still works with a chain", Font.familyIndex(starry.markupGlyph("[@Sans]A")) == 1);
+
+        starry.setFallbackChain("Sans", "Gentium");
+        Layout layout = new Layout(starry);
+        float sink = 0f;
+        for (int r = 0; r < ROUNDS; r++) {
+            starry.fallbackChain = r % 2 == 0 ? new int[]{1, 2} : null;
+            sink += starry.markup(TEXT, layout.clear()).getWidth();
+        }
+        starry.fallbackChain = null;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += starry.markup(TEXT, layout.clear()).getWidth();
+        long t1 = System.nanoTime();
+        starry.setFallbackChain("Sans", "Gentium");
+        for (int r = 0; r < ROUNDS; r++) sink += starry.markup(TEXT, layout.clear()).getWidth();
+        long t2 = System.nanoTime();
+        System.out.printf("markup: no chain %8.2f us, with chain %8.2f us (sink %f)%n",
+                (t1 - t0) / 1000.0 / ROUNDS, (t2 - t1) / 1000.0 / ROUNDS, sink);
+
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private static boolean coverageMatches(Font font) {
+        for (int c = 0; c <= 0xFFFF; c++) {
+            if (font.getCoverage().contains(c) != (font.mapping.get(c) != null)) return false;
+        }
+        return true;
+    }
+
+    private static boolean sameGlyphs(Layout a, Layout b) {
+        if (a.lines() != b.lines()) return false;
+        for (int i = 0; i < a.lines(); i++) {
+            LongArray ga = a.getLine(i).glyphs, gb = b.getLine(i).glyphs;
+            if (ga.size != gb.size) return false;
+            for (int j = 0; j < ga.size; j++) {
+                if (ga.get(j) != gb.get(j)) return false;
+            }
+        }
+        return true;
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-40s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * Adds an atlas with more images than fit in a Font's private use area, and checks that the extra images go on
+ * {@link Font#imagePages} and can still be looked up, marked up, measured, named, drawn, copied, and scaled. The first
+ * 6144 images use one Texture and the rest use another, so drawing can tell which page an image came from. This runs
+ * with a headless backend, so no GPU is needed; a stand-in GL20 that does nothing is installed so Textures can be
+ * created, and glyphs are drawn into a Batch that only records vertices.
+ */
+public class ImagePagesTest extends ApplicationAdapter {
+    private static final int IMAGES = 7000;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new ImagePagesTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Pixmap pixmap = new Pixmap(16, 16, Pixmap.Format.RGBA8888);
+        Texture first = new Texture(pixmap), second = new Texture(pixmap);
+        pixmap.dispose();
+        TextureAtlas atlas = new TextureAtlas();
+        for (int i = 0; i < IMAGES; i++) {
+            Texture t = i < 6144 ? first : second;
+            atlas.addRegion("img" + i, t, i % 128 * 8, i / 128 % 48 * 8, 8, 8);
+            // An emoji name for the same region, like the Twemoji atlas has.
+            if (i == 10 || i == 6500)
+                atlas.addRegion(i == 10 ? "😀" : "🦜", t, i % 128 * 8, i / 128 % 48 * 8, 8, 8);
+        }
+
+        Font font = KnownFonts.getAStarry().scaleHeightTo(24f);
+        font.addAtlas(atlas);
+        check("one image page was made", font.imagePages != null && font.imagePages.size == 1);
+        check("the page is in the family", font.family != null && font.family.connected[0] == font
+                && font.family.connected[1] == font.imagePages.first());
+        check("img0 is the first PUA char", font.atlasLookup("img0") == 0xE000);
+        check("img6143 is the last PUA char", font.atlasLookup("img6143") == 0xF7FF);
+        check("img6144 starts the page", font.atlasLookup("img6144") == (1 << 16 | 0xE000));
+        check("the parrot emoji is on the page", font.atlasLookup("🦜") == font.atlasLookup("img6500"));
+
+        Layout onMain = new Layout(font), onPage = new Layout(font);
+        font.markup("a[+img10]b", onMain);
+        font.markup("a[+img6500]b", onPage);
+        long mainGlyph = onMain.getLine(0).glyphs.get(1), pageGlyph = onPage.getLine(0).glyphs.get(1);
+        check("main image glyph", (mainGlyph & 0xFFFFF) == (0xE000 + 10));
+        check("page image glyph", (pageGlyph & 0xFFFFF) == (1 << 16 | 0xE000 + 6500 - 6144));
+        check("same width on either page", onMain.getWidth() == onPage.getWidth() && onPage.getWidth() > 0f);
+        // The emoji name is preferred over a plain-text name for the same region.
+        check("name of a page image", "🦜".equals(font.imageName(pageGlyph)));
+        check("substring of a page image", "a🦜b".equals(onPage.appendSubstringInto(new StringBuilder(), 0, 3).toString()));
+        check("markupGlyph of a page image", (font.markupGlyph("[+img6999]") & 0xFFFFF) == (1 << 16 | 0xE000 + 6999 - 6144));
+
+        ShaderEffectMesh.QuadRecorder batch = new ShaderEffectMesh.QuadRecorder();
+        font.drawGlyphs(batch, onMain, 0f, 0f);
+        check("main image drawn from the first texture", batch.textures.contains(first, true) && !batch.textures.contains(second, true));
+        batch.quads.clear();
+        batch.textures.clear();
+        font.drawGlyphs(batch, onPage, 0f, 0f);
+        check("page image drawn from the second texture", batch.textures.contains(second, true) && !batch.textures.contains(first, true));
+
+        String processed = EmojiProcessor.process(font, "Hi 😀 and 🦜!");
+        check("emoji processing", processed.equals("Hi " + (char) 0xE00A + " and [+🦜]!"));
+
+        Font copy = new Font(font);
+        check("copy has its own page", copy.imagePages != null && copy.imagePages.size == 1
+                && copy.imagePages.first() != font.imagePages.first() && copy.family.connected[1] == copy.imagePages.first());
+        Layout copied = new Layout(copy);
+        copy.markup("a[+img6500]b", copied);
+        check("copy measures a page image the same", copied.getWidth() == onPage.getWidth());
+
+        font.scale(2f, 2f);
+        check("scaling reaches the page", font.imagePages.first().cellHeight == font.cellHeight
+                && font.imagePages.first().scaleX == font.scaleX);
+        font.markup("a[+img10]b", onMain.clear());
+        font.markup("a[+img6500]b", onPage.clear());
+        check("same width on either page after scaling", onMain.getWidth() == onPage.getWidth());
+        check("the copy wasn't scaled", copy.imagePages.first().cellHeight == copy.cellHeight);
+
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.IntFloatMap;
+import com.github.tommyettinger.textra.utils.KerningTable;
+
+/**
+ * Compares looking up kerning in {@link Font#kerningTable} to looking it up in {@link Font#kerning}, for a few fonts
+ * with many kerning pairs. It checks that every pair gets the same amount either way, then times raw lookups over the
+ * pairs in some sample text, and times {@link Font#markup(String, Layout)} on that text with and without the table.
+ * Last, it checks that changing the kerning map is seen by the next lookup, in the Font and in a copy sharing it.
+ * This runs with a headless backend, so no GPU is needed; a stand-in GL20 that does nothing is installed so each Font's
+ * Texture can be created.
+ */
+public class KerningBenchmark extends ApplicationAdapter {
+    private static final String TEXT = "AVATAR Wavy Yoke, \"Tyrannosaurus\" LTD. -- Fjord, TV, We'll try: P.J. "
+            + "Vogel's raw yellow gravy, AWAY with Kerning! [*]To[*] be Lowly; [/]or[/] Æther. Paw, Twät, "
+            + "Ta, Te, To, Tu, Ty, Va, Ve, Vo, Wa, We, Wo, Ya, Ye, Yo, LT, LV, LW, LY, FA, PA, r., y., f', Га "
+            + "То Го Θά Τά";
+    private static final int LOOKUP_ROUNDS = 20000;
+    private static final int MARKUP_ROUNDS = 4000;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new KerningBenchmark(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        compare(KnownFonts.getDejaVuSans());
+        compare(KnownFonts.getDejaVuSerif());
+        compare(KnownFonts.getGentium());
+        Gdx.app.exit();
+    }
+
+    private static void compare(Font font) {
+        IntFloatMap map = font.kerning;
+        KerningTable table = font.kerningTable;
+        if (map == null || table == null) {
+            System.out.println(font.name + ": kerning " + (map == null ? "is missing" : "could not be made into a table"));
+            return;
+        }
+        int mismatches = 0;
+        for (IntFloatMap.Entry e : map) {
+            if (table.get(e.key) != e.value) mismatches++;
+        }
+        int[] pairs = new int[TEXT.length() - 1];
+        int kerned = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = font.kerningPair(TEXT.charAt(i), TEXT.charAt(i + 1));
+            if (table.get(pairs[i]) != map.get(pairs[i], 0f)) mismatches++;
+            if (table.get(pairs[i]) != 0f) kerned++;
+        }
+        System.out.printf("%s: %d pairs in %d x %d classes (%d cells), %d of %d sample pairs kerned, %s%n",
+                font.name, map.size, table.leftClasses, table.rightClasses, table.cells(), kerned, pairs.length,
+                mismatches == 0 ? "all amounts match" : mismatches + " MISMATCHES");
+
+        float sink = 0f;
+        for (int r = 0; r < LOOKUP_ROUNDS; r++) {
+            for (int pair : pairs) sink += map.get(pair, 0f) + table.get(pair);
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < LOOKUP_ROUNDS; r++) {
+            for (int pair : pairs) sink += map.get(pair, 0f);
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < LOOKUP_ROUNDS; r++) {
+            for (int pair : pairs) sink += table.get(pair);
+        }
+        long t2 = System.nanoTime();
+        double calls = (double) LOOKUP_ROUNDS * pairs.length;
+        System.out.printf("  lookup: map %6.2f ns/pair, table %6.2f ns/pair (sink %f)%n",
+                (t1 - t0) / calls, (t2 - t1) / calls, sink);
+
+        Layout layout = new Layout();
+        layout.setTargetWidth(font.cellWidth * 30f);
+        String markup = "[%?blacken]" + TEXT;
+        for (int r = 0; r < MARKUP_ROUNDS; r++) {
+            font.kerningTable = r % 2 == 0 ? table : null;
+            font.markup(markup, layout.clear());
+        }
+        font.kerningTable = null;
+        long m0 = System.nanoTime();
+        for (int r = 0; r < MARKUP_ROUNDS; r++) font.markup(markup, layout.clear());
+        long m1 = System.nanoTime();
+        float mapWidth = layout.getWidth();
+        font.kerningTable = table;
+        for (int r = 0; r < MARKUP_ROUNDS; r++) font.markup(markup, layout.clear());
+        long m2 = System.nanoTime();
+        System.out.printf("  markup: map %8.2f us/layout, table %8.2f us/layout, widths %s%n",
+                (m1 - m0) / 1000.0 / MARKUP_ROUNDS, (m2 - m1) / 1000.0 / MARKUP_ROUNDS,
+                mapWidth == layout.getWidth() ? "match" : "DIFFER (" + mapWidth + " vs. " + layout.getWidth() + ")");
+
+        // The map decides the amounts; the table must follow every change to it, including in copies.
+        int pair = font.kerningPair('A', 'V');
+        float before = font.kerningAmount(pair);
+        Font copy = new Font(font);
+        font.kerning.put(pair, before + 5f);
+        boolean seen = font.kerningAmount(pair) == before + 5f && copy.kerningAmount(pair) == before;
+        font.kerning.remove(pair, 0f);
+        seen &= font.kerningAmount(pair) == 0f;
+        font.setSharing(true);
+        Font sharer = new Font(font);
+        sharer.kerningAmount(pair);
+        font.kerning.put(pair, 7f);
+        seen &= sharer.kerningAmount(pair) == 7f && font.kerningTable != null;
+        System.out.println("  edits to the kerning map " + (seen ? "are seen" : "are MISSED"));
+    }
+}
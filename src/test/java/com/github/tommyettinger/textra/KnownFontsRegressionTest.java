@@ -0,0 +1,362 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Version;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.OrderedSet;
+import com.github.tommyettinger.textra.Font.DistanceFieldType;
+
+import java.util.Arrays;
+
+/**
+ * A headless regression suite over every font in {@link KnownFonts}, with every distance field type it has files for.
+ * Each font lays out the same markup, once unwrapped and once wrapped to a target width, and draws the wrapped Layout
+ * with {@link SoftwareBatch}. The glyphs, sizes and positions in the Layout are hashed, and so are the drawn pixels;
+ * both hashes are compared with the golden file src/test/resources/golden/known-fonts.json , so any change to how a
+ * font lays out or looks fails its check. The time to mark up, wrap and draw each font is written to a JSON report
+ * in build/known-fonts/report.json , and the markup and wrap times are compared with a timing baseline, by default
+ * build/known-fonts/timing-baseline.json . Timings only mean something on the machine that made them, so the baseline
+ * isn't committed; it is only written when asked for, with {@code update} or {@code update-timing}. If it is missing,
+ * timings aren't checked, and the run says so in a warning at the start and the end. The run fails if the total
+ * markup and wrap time of all fonts checked got more than 1.5x slower, or if one font got 1.5x slower and also at
+ * least 0.1 ms slower; smaller slowdowns in one font are only noted, because times that short are noisy. A run with
+ * failures exits with status 1.
+ * <br>
+ * Run it from the project root. Arguments, all optional:
+ * <ul>
+ *     <li>{@code update} writes the golden file and the timing baseline from this run instead of checking them,</li>
+ *     <li>{@code update-timing} writes only the timing baseline from this run, and still checks the golden file,</li>
+ *     <li>{@code baseline=path/to/baseline.json} reads (and writes) the timing baseline at another path,</li>
+ *     <li>{@code threshold=2.0} changes how much slower a font can get before it fails,</li>
+ *     <li>{@code only=Gentium,Bitter} only checks fonts whose names contain one of the given Strings.</li>
+ * </ul>
+ */
+public class KnownFontsRegressionTest extends ApplicationAdapter {
+    private static final String CORPUS = "[BLACK]The quick brown fox jumps over the lazy dog; [*]bold[*], [/]oblique[/], "
+            + "[*][/]both[ ], [_]underlined[_] and [~]struck through[~].\n"
+            + "[RED]Red[BLACK], [#2040C0]hex blue[BLACK], [darker green]described green[BLACK]; "
+            + "[%50]small [%150]large[%] [.]sub[.] [=]mid[=] [^]super[^] [?small caps]Small Caps[?] [;]title case[,]LOWER[ ]\n"
+            + "Digits 0123456789, punctuation !?\"#$%&'()*+-/:<=>@\\^`{|}~, accents ÀÉÎÕÜ àéîõü ß Ææ Œœ,\n"
+            + "a long line that should wrap several times when the Layout has a target width, to test wrapping words.";
+    private static final String GOLDEN = "src/test/resources/golden/known-fonts.json";
+    private static final String REPORT = "build/known-fonts/report.json";
+    private static final String DEFAULT_BASELINE = "build/known-fonts/timing-baseline.json";
+    private static final int WIDTH = 512, HEIGHT = 384, SAMPLES = 31, REPEATS = 32;
+    private static final double MIN_SLOWDOWN_MS = 0.1;
+
+    private final boolean update, updateTiming;
+    private final float threshold;
+    private final String[] only;
+    private final String baselinePath;
+    private int failures = 0;
+    private double totalMs = 0.0, totalBeforeMs = 0.0;
+
+    public KnownFontsRegressionTest(boolean update, boolean updateTiming, float threshold, String[] only,
+                                    String baselinePath) {
+        this.update = update;
+        this.updateTiming = update || updateTiming;
+        this.threshold = threshold;
+        this.only = only;
+        this.baselinePath = baselinePath;
+    }
+
+    public static void main(String[] args) {
+        boolean update = false, updateTiming = false;
+        float threshold = 1.5f;
+        String[] only = null;
+        String baselinePath = DEFAULT_BASELINE;
+        for (String arg : args) {
+            if (arg.equals("update")) update = true;
+            else if (arg.equals("update-timing")) updateTiming = true;
+            else if (arg.startsWith("baseline=")) baselinePath = arg.substring(9);
+            else if (arg.startsWith("threshold=")) threshold = Float.parseFloat(arg.substring(10));
+            else if (arg.startsWith("only=")) only = arg.substring(5).split(",");
+            else System.out.println("Unknown argument: " + arg);
+        }
+        new HeadlessApplication(new KnownFontsRegressionTest(update, updateTiming, threshold, only, baselinePath), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        if (!Gdx.files.local("knownFonts/Gentium-standard.json.lzma").exists()) {
+            System.out.println("Font files not found; run this from the project root.");
+            Gdx.app.exit();
+            return;
+        }
+        KnownFonts.setAssetPrefix("knownFonts/");
+        FileHandle goldenFile = Gdx.files.local(GOLDEN), baselineFile = new FileHandle(baselinePath);
+        OrderedMap<String, JsonValue> golden = read(goldenFile), baseline = read(baselineFile);
+        if (!update && golden.isEmpty())
+            System.out.println("No golden file at " + GOLDEN + "; hashes aren't checked. Run with update to write one.");
+        final boolean noBaseline = !updateTiming && baseline.isEmpty();
+        if (noBaseline) warnNoBaseline();
+
+        // Lets the JIT compile markup and wrapping first, so the first fonts checked aren't timed as much slower.
+        Font warm = KnownFonts.getFont(KnownFonts.GENTIUM);
+        Layout warmLayout = new Layout(warm).setTargetWidth(WIDTH - 16);
+        for (long end = System.nanoTime() + 2_000_000_000L; System.nanoTime() < end; ) {
+            time(warm, warmLayout, CORPUS);
+        }
+
+        JsonValue fonts = new JsonValue(JsonValue.ValueType.array);
+        run(KnownFonts.STANDARD_NAMES, DistanceFieldType.STANDARD, golden, baseline, fonts);
+        run(KnownFonts.SDF_NAMES, DistanceFieldType.SDF, golden, baseline, fonts);
+        run(KnownFonts.SDF_NAMES, DistanceFieldType.SDF_OUTLINE, golden, baseline, fonts);
+        run(KnownFonts.MSDF_NAMES, DistanceFieldType.MSDF, golden, baseline, fonts);
+        if (!updateTiming && totalBeforeMs > 0.0) {
+            boolean regressed = totalMs > totalBeforeMs * threshold;
+            if (regressed) failures++;
+            System.out.printf("total markup and wrap time %.3f ms, was %.3f ms  %s%n", totalMs, totalBeforeMs,
+                    regressed ? "FAILED" : "ok");
+        }
+
+        JsonValue report = new JsonValue(JsonValue.ValueType.object);
+        report.addChild("gdxVersion", new JsonValue(Version.VERSION));
+        report.addChild("javaVersion", new JsonValue(System.getProperty("java.version")));
+        report.addChild("threshold", new JsonValue(threshold));
+        report.addChild("failures", new JsonValue(failures));
+        report.addChild("totalMs", new JsonValue(round(totalMs)));
+        report.addChild("baselineTotalMs", new JsonValue(round(totalBeforeMs)));
+        report.addChild("fonts", fonts);
+        Gdx.files.local(REPORT).writeString(report.prettyPrint(JsonWriter.OutputType.json, 120), false, "UTF-8");
+        if (updateTiming) {
+            write(baselineFile, baseline, fonts, false);
+            System.out.println("Wrote the timing baseline to " + baselinePath);
+        }
+        if (update) {
+            write(goldenFile, golden, fonts, true);
+            System.out.println("Wrote the golden file to " + GOLDEN);
+        }
+        System.out.println("Wrote the report to " + REPORT);
+        if (noBaseline) warnNoBaseline();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+        if (failures != 0) System.exit(1);
+    }
+
+    private void run(OrderedSet<String> names, DistanceFieldType type, OrderedMap<String, JsonValue> golden,
+                     OrderedMap<String, JsonValue> baseline, JsonValue fonts) {
+        for (String name : names.orderedItems()) {
+            if (!selected(name)) continue;
+            String key = name + "/" + type.name();
+            Font font;
+            try {
+                font = KnownFonts.getFont(name, type);
+            } catch (GdxRuntimeException ex) {
+                // Not every font has files for every distance field type; that's only a problem if it used to.
+                if (golden.containsKey(key)) {
+                    failures++;
+                    System.out.printf("%-44s FAILED: can't be loaded any more%n", key);
+                }
+                continue;
+            }
+            Layout plain = new Layout(font), wrapped = new Layout(font).setTargetWidth(WIDTH - 16);
+            plain.setBaseColor(Color.BLACK);
+            wrapped.setBaseColor(Color.BLACK);
+            font.markup(CORPUS, plain);
+            font.markup(CORPUS, wrapped);
+            String layoutHash = hex(hash(wrapped, hash(plain, 0L)));
+
+            SoftwareBatch batch = new SoftwareBatch(WIDTH, HEIGHT).addFont(font);
+            draw(batch, font, wrapped);
+            String pixelHash = hex(hash(batch.getPixels()));
+
+            double markupMs = time(font, plain, CORPUS);
+            double wrapMs = time(font, wrapped, CORPUS);
+            double drawMs = time(batch, font, wrapped);
+            batch.dispose();
+
+            StringBuilder problems = new StringBuilder(), notes = new StringBuilder();
+            JsonValue expected = golden.get(key);
+            if (!update && expected != null) {
+                if (!layoutHash.equals(expected.getString("layoutHash", "")))
+                    problems.append(" layout changed (was ").append(expected.getInt("lines", 0)).append(" lines, ")
+                            .append(expected.getFloat("width", 0f)).append(" wide; now ").append(wrapped.lines())
+                            .append(" lines, ").append(wrapped.getWidth()).append(" wide);");
+                if (!pixelHash.equals(expected.getString("pixelHash", "")))
+                    problems.append(" pixels changed;");
+            }
+            JsonValue before = baseline.get(key);
+            if (!updateTiming && before != null) {
+                slower(problems, notes, "markup", markupMs, before.getDouble("markupMs", markupMs));
+                slower(problems, notes, "wrap", wrapMs, before.getDouble("wrapMs", wrapMs));
+                totalMs += markupMs + wrapMs;
+                totalBeforeMs += before.getDouble("markupMs", markupMs) + before.getDouble("wrapMs", wrapMs);
+            }
+            String status = problems.length() != 0 ? "FAILED:" + problems + notes : notes.length() != 0 ? "noted:" + notes : "ok";
+
+            JsonValue entry = new JsonValue(JsonValue.ValueType.object);
+            entry.addChild("font", new JsonValue(key));
+            entry.addChild("glyphs", new JsonValue(wrapped.countGlyphs()));
+            entry.addChild("lines", new JsonValue(wrapped.lines()));
+            entry.addChild("width", new JsonValue(wrapped.getWidth()));
+            entry.addChild("height", new JsonValue(wrapped.getHeight()));
+            entry.addChild("layoutHash", new JsonValue(layoutHash));
+            entry.addChild("pixelHash", new JsonValue(pixelHash));
+            entry.addChild("markupMs", new JsonValue(round(markupMs)));
+            entry.addChild("wrapMs", new JsonValue(round(wrapMs)));
+            entry.addChild("drawMs", new JsonValue(round(drawMs)));
+            entry.addChild("status", new JsonValue(status));
+            fonts.addChild(entry);
+            if (problems.length() != 0) failures++;
+            System.out.printf("%-44s markup %7.3f ms, wrap %7.3f ms, draw %8.3f ms  %s%n", key, markupMs, wrapMs, drawMs,
+                    status);
+        }
+    }
+
+    private void warnNoBaseline() {
+        System.out.println("****************************************************************************************");
+        System.out.println("WARNING: no timing baseline at " + baselinePath + ", so timings are NOT checked.");
+        System.out.println("Run with update-timing (or update) on this machine to write one, or pass baseline=path.");
+        System.out.println("****************************************************************************************");
+    }
+
+    private boolean selected(String name) {
+        if (only == null) return true;
+        for (String part : only) {
+            if (name.contains(part)) return true;
+        }
+        return false;
+    }
+
+    private void slower(StringBuilder problems, StringBuilder notes, String what, double now, double before) {
+        if (now > before * threshold)
+            (now - before > MIN_SLOWDOWN_MS ? problems : notes)
+                    .append(String.format(" %s took %.3f ms, was %.3f ms;", what, now, before));
+    }
+
+    private static void draw(SoftwareBatch batch, Font font, Layout layout) {
+        batch.clear(0xFFFFFFFF);
+        batch.begin();
+        font.drawGlyphs(batch, layout, 8f, HEIGHT - 8f);
+        batch.end();
+    }
+
+    /**
+     * Gets the time, in milliseconds, to mark up {@code text} into {@code layout}, which keeps its target width. This
+     * uses the fastest of several samples, because garbage collection and other threads only ever make a sample slower,
+     * and the fastest is what stays the same from run to run.
+     */
+    private static double time(Font font, Layout layout, String text) {
+        System.gc();
+        long best = Long.MAX_VALUE;
+        for (int s = -SAMPLES; s < SAMPLES; s++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < REPEATS; r++) {
+                font.markup(text, layout.clear());
+            }
+            if (s >= 0) best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6 / REPEATS;
+    }
+
+    /**
+     * Gets the median time, in milliseconds, to draw {@code layout} into {@code batch}, including the flush.
+     */
+    private static double time(SoftwareBatch batch, Font font, Layout layout) {
+        long[] times = new long[5];
+        for (int s = 0; s < times.length; s++) {
+            long start = System.nanoTime();
+            draw(batch, font, layout);
+            times[s] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[times.length >>> 1] / 1e6;
+    }
+
+    private static long hash(Layout layout, long h) {
+        h = mix(h, layout.lines());
+        for (int i = 0, n = layout.lines(); i < n; i++) {
+            Line line = layout.getLine(i);
+            h = mix(h, Float.floatToIntBits(line.width));
+            h = mix(h, Float.floatToIntBits(line.height));
+            for (int g = 0; g < line.glyphs.size; g++) {
+                h = mix(h, line.glyphs.get(g));
+            }
+        }
+        h = hash(layout.advances, h);
+        h = hash(layout.offsets, h);
+        h = hash(layout.sizing, h);
+        return hash(layout.rotations, h);
+    }
+
+    private static long hash(FloatArray floats, long h) {
+        h = mix(h, floats.size);
+        for (int i = 0; i < floats.size; i++) {
+            h = mix(h, Float.floatToIntBits(floats.get(i)));
+        }
+        return h;
+    }
+
+    private static long hash(int[] pixels) {
+        long h = pixels.length;
+        for (int p : pixels) {
+            h = mix(h, p);
+        }
+        return h;
+    }
+
+    private static long mix(long h, long v) {
+        h = (h ^ v) * 0xF1357AEA2E62A9C5L;
+        return h ^ h >>> 29;
+    }
+
+    private static String hex(long h) {
+        String s = Long.toHexString(h);
+        return "0000000000000000".substring(s.length()) + s;
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 1e4) / 1e4;
+    }
+
+    /**
+     * Reads a report written by this suite into a map from "name/TYPE" to that font's entry, or an empty map if the
+     * file doesn't exist.
+     */
+    private static OrderedMap<String, JsonValue> read(FileHandle file) {
+        OrderedMap<String, JsonValue> map = new OrderedMap<>();
+        if (!file.exists()) return map;
+        JsonValue fonts = new JsonReader().parse(file).get("fonts");
+        for (JsonValue entry = fonts == null ? null : fonts.child; entry != null; entry = entry.next) {
+            map.put(entry.getString("font"), entry);
+        }
+        return map;
+    }
+
+    /**
+     * Writes the entries in {@code previous} to {@code file}, replacing any with the same font as an entry in
+     * {@code fonts} and adding the rest, so a run limited with {@code only=} keeps the other fonts' entries. If
+     * {@code hashesOnly} is true, this leaves out the timings and status, which only matter on one machine.
+     */
+    private static void write(FileHandle file, OrderedMap<String, JsonValue> previous, JsonValue fonts, boolean hashesOnly) {
+        for (JsonValue entry = fonts.child; entry != null; entry = entry.next) {
+            previous.put(entry.getString("font"), entry);
+        }
+        JsonValue all = new JsonValue(JsonValue.ValueType.array);
+        for (JsonValue entry : previous.values()) {
+            JsonValue copy = new JsonValue(JsonValue.ValueType.object);
+            for (JsonValue field = entry.child; field != null; field = field.next) {
+                if (hashesOnly && (field.name.endsWith("Ms") || field.name.equals("status"))) continue;
+                copy.addChild(field.name, field.isString() ? new JsonValue(field.asString())
+                        : field.isLong() ? new JsonValue(field.asLong()) : new JsonValue(field.asDouble()));
+            }
+            all.addChild(copy);
+        }
+        JsonValue root = new JsonValue(JsonValue.ValueType.object);
+        root.addChild("gdxVersion", new JsonValue(Version.VERSION));
+        root.addChild("fonts", all);
+        file.writeString(root.prettyPrint(JsonWriter.OutputType.json, 120), false, "UTF-8");
+    }
+}
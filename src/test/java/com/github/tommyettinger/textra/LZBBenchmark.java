@@ -0,0 +1,89 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.github.tommyettinger.textra.utils.LZBCompression;
+import com.github.tommyettinger.textra.utils.LZBDecompression;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Checks that {@link LZBCompression} and {@link LZBDecompression} round-trip the .dat fonts in the test resources
+ * byte-for-byte (so the format hasn't changed), and round-trip random text with small and large alphabets, including
+ * chars above 255. It then prints how many chars per second each direction handles on the largest .dat font. This
+ * doesn't need a graphics context; run it from the project root so the test resources can be found.
+ */
+public class LZBBenchmark {
+    private static final String[] FILES = {
+            "src/test/resources/Inter-standard.dat",
+            "src/test/resources/experimental/Gentium-standard.dat",
+            "src/test/resources/experimental/Grenze-standard.dat",
+            "src/test/resources/experimental/Grenze-sdf.dat",
+            "src/test/resources/experimental/Grenze-msdf.dat",
+    };
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        String largest = "";
+        boolean exact = true;
+        for (String name : FILES) {
+            FileHandle file = new FileHandle(name);
+            if (!file.exists()) {
+                System.out.println("Missing " + name + "; run this from the project root.");
+                continue;
+            }
+            byte[] bytes = file.readBytes();
+            String text = LZBDecompression.decompressFromBytes(bytes);
+            exact &= text.startsWith("{") && Arrays.equals(bytes, LZBCompression.compressToBytes(text));
+            if (text.length() > largest.length()) largest = text;
+        }
+        check("existing .dat files are reproduced exactly", exact && !largest.isEmpty());
+
+        Random random = new Random(123);
+        boolean same = roundTrips("") && roundTrips("a") && roundTrips("一") && roundTrips("aaaaaaaaaaaaaaaaaaaa");
+        for (int i = 0; i < 300; i++) {
+            int alphabet = i % 3 == 0 ? 1 + random.nextInt(0xFFFF) : 1 + random.nextInt(40);
+            char base = i % 3 == 0 ? 0 : 'a';
+            char[] chars = new char[random.nextInt(5000)];
+            for (int j = 0; j < chars.length; j++) chars[j] = (char) (base + random.nextInt(alphabet));
+            same &= roundTrips(new String(chars));
+        }
+        check("random text round-trips", same);
+        check("garbage input gives an empty String", LZBDecompression.decompressFromBytes(new byte[]{-1, -1, -1}).isEmpty());
+
+        if (!largest.isEmpty()) time(largest);
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+    }
+
+    private static boolean roundTrips(String text) {
+        return text.equals(LZBDecompression.decompressFromBytes(LZBCompression.compressToBytes(text)));
+    }
+
+    private static void time(String text) {
+        final int rounds = 20;
+        byte[] compressed = LZBCompression.compressToBytes(text);
+        long sink = 0L;
+        for (int r = 0; r < rounds; r++) {
+            sink += LZBCompression.compressToByteArray(text).size;
+            sink += LZBDecompression.decompressFromBytes(compressed).length();
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += LZBCompression.compressToByteArray(text).size;
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += LZBDecompression.decompressFromBytes(compressed).length();
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("%d chars to %d bytes: compress %7.2f ms (%6.1f Mchar/s), decompress %7.2f ms (%6.1f Mchar/s) (sink %d)%n",
+                text.length(), compressed.length,
+                (t1 - t0) / 1e6 / rounds, text.length() * 1e3 * rounds / (t1 - t0),
+                (t2 - t1) / 1e6 / rounds, text.length() * 1e3 * rounds / (t2 - t1), sink);
+    }
+
+    private static void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.LongArray;
+import com.github.tommyettinger.textra.utils.StringUtils;
+
+/**
+ * Builds a {@link Font.FontFamily} with more than 16 members, and checks that markup can switch to each of them, that
+ * glyphs keep the right family index through {@code []} undo, that measuring and {@link Font#markupGlyph(String)} use
+ * the right member, and that image pages still find an empty slot past 16. It also times resolving [@Name] tags with
+ * {@link com.github.tommyettinger.textra.utils.CaseInsensitiveIntMap#get(CharSequence, int, int, int)} against the
+ * substring lookup markup used before. This runs with a headless backend, so no GPU is needed; a stand-in GL20 that
+ * does nothing is installed so each Font's Texture can be created.
+ */
+public class LargeFontFamilyTest extends ApplicationAdapter {
+    private static final int MEMBERS = 24;
+    private static final int ROUNDS = 200000;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new LargeFontFamilyTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Font base = KnownFonts.getAStarry().scaleHeightTo(20f);
+        Font[] fonts = new Font[MEMBERS];
+        for (int i = 0; i < MEMBERS; i++) {
+            // Each member is a different size, so measuring shows which one was used.
+            fonts[i] = new Font(base).setName("Member" + i).scale(1f + i * 0.125f, 1f + i * 0.125f);
+        }
+        Font.FontFamily family = new Font.FontFamily(fonts);
+        for (Font f : fonts) f.setFamily(family);
+        Font font = fonts[0];
+
+        check("aliases past 16", family.fontAliases.get("member20", -1) == 20 && family.fontAliases.get("23", -1) == 23);
+        for (int i = 0; i < MEMBERS; i++) {
+            Layout layout = new Layout(font);
+            font.markup("[@Member" + i + "]W", layout);
+            long glyph = layout.getLine(0).glyphs.get(0);
+            Layout alone = new Layout(fonts[i]);
+            fonts[i].markup("W", alone);
+            if (Font.familyIndex(glyph) != i || layout.getWidth() != alone.getWidth()) {
+                check("switch to member " + i, false);
+            }
+        }
+        check("switch to every member", failures == 0);
+
+        Layout layout = new Layout(font);
+        font.markup("a[@Member19]b[@Member5]c[]d[]e", layout);
+        LongArray glyphs = layout.getLine(0).glyphs;
+        check("undo restores the family index", Font.familyIndex(glyphs.get(0)) == 0 && Font.familyIndex(glyphs.get(1)) == 19
+                && Font.familyIndex(glyphs.get(2)) == 5 && Font.familyIndex(glyphs.get(3)) == 19
+                && Font.familyIndex(glyphs.get(4)) == 0);
+        check("curly brace switch", Font.familyIndex(font.markupGlyph("{@Member22}Q")) == 22);
+        check("square bracket switch", Font.familyIndex(font.markupGlyph("[@Member17]Q")) == 17);
+        check("static markupGlyph switch", Font.familyIndex(Font.markupGlyph('Q', "[@Member30]", null, family)) == 0
+                && Font.familyIndex(Font.markupGlyph('Q', "[@Member18]", null, family)) == 18);
+        check("style bits are untouched", (font.markupGlyph("[*][@Member31]Q") & Font.BOLD) != 0L
+                && Font.familyIndex(Font.withFamilyIndex(Font.BOLD, 31)) == 31
+                && (Font.withFamilyIndex(Font.BOLD | Font.OBLIQUE, 31) & ~Font.FAMILY_MASK) == (Font.BOLD | Font.OBLIQUE));
+
+        Layout copied = new Layout(font);
+        font.markup("[@Member21]Hello", copied);
+        check("measuring a member past 16", copied.getWidth() == fonts[21].markup("Hello", new Layout(fonts[21])).getWidth());
+
+        Pixmap pixmap = new Pixmap(8, 8, Pixmap.Format.RGBA8888);
+        Texture texture = new Texture(pixmap);
+        pixmap.dispose();
+        TextureAtlas atlas = new TextureAtlas();
+        for (int i = 0; i < 6200; i++) {
+            atlas.addRegion("img" + i, texture, i % 128 * 8, i / 128 * 8, 8, 8);
+        }
+        font.addAtlas(atlas);
+        check("image page goes in the first empty slot", font.imagePages != null && family.connected[MEMBERS] == font.imagePages.first());
+        Layout images = new Layout(font);
+        font.markup("[+img6199]", images);
+        long image = images.getLine(0).glyphs.get(0);
+        check("image on a page past 16", Font.familyIndex(image) == MEMBERS && (char) image == 0xE000 + 6199 - 6144
+                && images.getWidth() > 0f);
+
+        time(family);
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private void time(Font.FontFamily family) {
+        String text = "[@Member3]a[@Member17]b[@Member22]c[@Member0]d[@Member9]e";
+        int[] starts = {2, 13, 25, 37, 48}, ends = {9, 21, 33, 44, 55};
+        long sink = 0L;
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < starts.length; i++) {
+                sink += family.fontAliases.get(StringUtils.safeSubstring(text, starts[i], ends[i]), -1);
+                sink += family.fontAliases.get(text, starts[i], ends[i], -1);
+            }
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < starts.length; i++) {
+                sink += family.fontAliases.get(StringUtils.safeSubstring(text, starts[i], ends[i]), -1);
+            }
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < starts.length; i++) {
+                sink += family.fontAliases.get(text, starts[i], ends[i], -1);
+            }
+        }
+        long t2 = System.nanoTime();
+        double calls = (double) ROUNDS * starts.length;
+        check("range lookups match", family.fontAliases.get(text, 13, 21, -1) == 17);
+        System.out.printf("alias lookup: substring %6.2f ns, range %6.2f ns (sink %d)%n",
+                (t1 - t0) / calls, (t2 - t1) / calls, sink);
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-40s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.util.Random;
+
+/**
+ * Resizes wrapping {@link TextraLabel}s many times, and checks that after each resize the label's Layout has the same
+ * Lines as wrapping a copy of its previous Layout in full, as {@link Font#regenerateLayout(Layout)} always did. It
+ * also checks that growing a label whose Lines all end in newlines doesn't wrap it at all, and that several size
+ * changes before a layout pass only wrap once. Last, it times a simulated window-resize drag over many labels. This
+ * runs with a headless backend, so no GPU is needed; a stand-in GL20 that does nothing is installed so each Font's
+ * Texture can be created, and a stand-in Graphics reports a window size so labels don't act minimized.
+ */
+public class LazyRewrapTest extends ApplicationAdapter {
+    private static final String PARAGRAPHS = "The caravan left Westmarch at dawn, carrying salt, iron, and letters for "
+            + "the garrison at Highfold. By noon the road had turned to mud.\nThe drivers argued about whether to wait "
+            + "out the rain or press on toward the river crossing, where the water ran high and brown.\n\nQuest "
+            + "updated: find the missing courier before nightfall. Supercalifragilisticexpialidociously long words "
+            + "need to break too.";
+    private static final String SHORT_LINES = "Sword\nShield\nPotion of Healing\nRope (50 ft)\nLantern";
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new LazyRewrapTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public int getWidth() {
+                return 1280;
+            }
+
+            @Override
+            public int getHeight() {
+                return 720;
+            }
+        };
+        Font font = KnownFonts.getDejaVuSans().scaleHeightTo(20f);
+        Styles.LabelStyle style = new Styles.LabelStyle(font, null);
+
+        TextraLabel label = new TextraLabel(PARAGRAPHS, style, font, 400f);
+        label.setWrap(true);
+        label.setWidth(400f);
+        label.validate();
+        Random random = new Random(1234);
+        boolean same = true;
+        float width = 400f;
+        for (int step = 0; step < 400 && same; step++) {
+            width = Math.max(40f, Math.min(900f, width + (random.nextFloat() - 0.5f) * (step % 10 == 0 ? 500f : 60f)));
+            if (step % 7 == 0) width = Math.round(width); // sometimes return to an earlier width exactly
+            Layout expected = new Layout(label.layout);
+            expected.setTargetWidth(width);
+            font.regenerateLayout(expected);
+            label.setWidth(width);
+            label.validate();
+            same = sameLines(label.layout, expected);
+            if (!same) System.out.println("  lines differ at step " + step + ", width " + width);
+        }
+        check("same lines as wrapping everything", same);
+
+        TextraLabel list = new TextraLabel(SHORT_LINES, style, font, 300f);
+        list.setWrap(true);
+        list.setWidth(300f);
+        list.validate();
+        int version = list.layout.getVersion();
+        list.setWidth(350f);
+        list.validate();
+        list.setWidth(600f);
+        list.validate();
+        check("growing with no wrapped lines does nothing", list.layout.getVersion() == version && list.layout.lines() == 5);
+        list.setWidth(60f);
+        list.validate();
+        check("shrinking still wraps", list.layout.getVersion() != version && list.layout.lines() > 5);
+
+        // A twin label wrapped straight to the last width shows how much the version changes for one re-wrap.
+        TextraLabel twin = new TextraLabel(PARAGRAPHS, style, font, 400f);
+        twin.setWrap(true);
+        twin.setWidth(width);
+        twin.validate();
+        int twinVersion = twin.layout.getVersion();
+        twin.rewrap(250f);
+        version = label.layout.getVersion();
+        label.setWidth(333f);
+        label.setSize(517f, 200f);
+        label.setWidth(250f);
+        check("size changes wait for layout", label.layout.getVersion() == version);
+        label.validate();
+        check("several size changes wrap once", label.layout.getVersion() - version == twin.layout.getVersion() - twinVersion
+                && label.layout.getTargetWidth() == 250f && sameLines(label.layout, twin.layout));
+
+        time(font, style);
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private static boolean sameLines(Layout a, Layout b) {
+        if (a.lines() != b.lines()) return false;
+        for (int i = 0; i < a.lines(); i++) {
+            LongArray ga = a.getLine(i).glyphs, gb = b.getLine(i).glyphs;
+            if (ga.size != gb.size || a.getLine(i).width != b.getLine(i).width) return false;
+            for (int j = 0; j < ga.size; j++) {
+                if (ga.get(j) != gb.get(j)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void time(Font font, Styles.LabelStyle style) {
+        final int labels = 40, frames = 200;
+        TextraLabel[] all = new TextraLabel[labels];
+        for (int i = 0; i < labels; i++) {
+            all[i] = new TextraLabel(PARAGRAPHS, style, font, 500f);
+            all[i].setWrap(true);
+            all[i].setWidth(500f);
+            all[i].validate();
+        }
+        float sink = 0f;
+        // Each frame of the drag sets a size twice, as a Table does when it sizes and then positions a cell.
+        long t0 = System.nanoTime();
+        for (int f = 0; f < frames; f++) {
+            float w = 300f + (f * 3 % 400);
+            for (TextraLabel label : all) {
+                label.layout.setTargetWidth(w);
+                font.regenerateLayout(label.layout);
+                font.regenerateLayout(label.layout);
+                font.regenerateLayout(label.layout);
+                sink += label.layout.getHeight();
+            }
+        }
+        long t1 = System.nanoTime();
+        for (int f = 0; f < frames; f++) {
+            float w = 300f + (f * 3 % 400);
+            for (TextraLabel label : all) {
+                label.setWidth(w);
+                label.setBounds(0f, 0f, w, 200f);
+                label.validate();
+                sink += label.layout.getHeight();
+            }
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("resize drag, %d labels: full wrapping each time %8.2f us per frame, lazy %8.2f us per frame (sink %f)%n",
+                labels, (t1 - t0) / 1000.0 / frames, (t2 - t1) / 1000.0 / frames, sink);
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.github.tommyettinger.textra.utils.LookupTable;
+import com.github.tommyettinger.textra.utils.NoiseUtils;
+
+/**
+ * Compares {@link LookupTable}s to the exact functions they approximate, printing the maximum and mean error and the
+ * time per call for each. This doesn't need a graphics context.
+ */
+public class LookupTableBenchmark {
+    private static final int CALLS = 1 << 22;
+
+    public static void main(String[] args) {
+        int resolution = TypingConfig.LOOKUP_TABLE_RESOLUTION;
+        compare("octaveNoise1D", x -> NoiseUtils.octaveNoise1D(x, 12345),
+                NoiseUtils.bakeOctaveNoise1D(12345, 0f, 5f, resolution, false), 0f, 5f);
+        compare("noise1D", x -> NoiseUtils.noise1D(x, -123456789),
+                NoiseUtils.bakeNoise1D(-123456789, 0f, 4f, resolution, false), 0f, 4f);
+        // Periodic tables differ from the original near the end of their range, so only the part before the crossfade
+        // is compared here.
+        compare("octaveNoise1D, periodic", x -> NoiseUtils.octaveNoise1D(x, 123),
+                NoiseUtils.bakeOctaveNoise1D(123, 0f, 256f, resolution, true), 0f, 255f);
+        compare("pow2Out", Interpolation.pow2Out::apply, LookupTable.of(Interpolation.pow2Out, resolution), 0f, 1f);
+        compare("pow2In", Interpolation.pow2In::apply, LookupTable.of(Interpolation.pow2In, resolution), 0f, 1f);
+    }
+
+    private static void compare(String name, LookupTable.FloatFunction exact, LookupTable table, float start, float end) {
+        final float step = (end - start) / CALLS;
+        double maxError = 0.0, totalError = 0.0;
+        for (int i = 0; i < CALLS; i++) {
+            float x = start + i * step;
+            double error = Math.abs(exact.apply(x) - table.get(x));
+            maxError = Math.max(maxError, error);
+            totalError += error;
+        }
+        float sink = 0f;
+        // warm up both paths before timing either
+        for (int i = 0; i < CALLS; i++) {
+            float x = start + i * step;
+            sink += exact.apply(x) + table.get(x);
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += exact.apply(start + i * step);
+        }
+        long t1 = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += table.get(start + i * step);
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("%-24s max error %.6f, mean error %.8f, exact %6.2f ns/call, table %6.2f ns/call (%d samples, sink %f)%n",
+                name, maxError, totalError / CALLS, (t1 - t0) / (double) CALLS, (t2 - t1) / (double) CALLS,
+                table.samples.length, sink);
+    }
+}
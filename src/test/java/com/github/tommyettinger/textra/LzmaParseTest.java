@@ -0,0 +1,115 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonWriter;
+import com.badlogic.gdx.utils.compression.Lzma;
+import com.github.tommyettinger.textra.utils.LzmaUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that {@link LzmaUtils#parseJson(FileHandle)} gives the same JsonValue as decompressing everything and parsing
+ * a String (the old way fonts were loaded), for every .json.lzma font in knownFonts and for a .ubj.lzma file, and
+ * prints how long each way takes and how much each allocates for the largest font. This doesn't need a graphics
+ * context; run it from the project root so knownFonts can be found.
+ */
+public class LzmaParseTest {
+    private static int failures = 0;
+
+    public static void main(String[] args) throws IOException {
+        FileHandle[] files = new FileHandle("knownFonts").list(".lzma");
+        if (files.length == 0) {
+            System.out.println("No .lzma files found; run this from the project root.");
+            return;
+        }
+        FileHandle largest = files[0];
+        boolean same = true;
+        for (FileHandle file : files) {
+            if (file.length() > largest.length()) largest = file;
+            same &= oldParse(file).toJson(JsonWriter.OutputType.minimal)
+                    .equals(LzmaUtils.parseJson(file).toJson(JsonWriter.OutputType.minimal));
+        }
+        check("all " + files.length + " fonts parse the same", same);
+
+        JsonValue oldJson = oldParse(largest);
+        ByteArrayOutputStream ubj = new ByteArrayOutputStream();
+        UBJsonWriter writer = new UBJsonWriter(ubj);
+        writer.value(oldJson);
+        writer.close();
+        FileHandle temp = FileHandle.tempFile("textra");
+        FileHandle ubjFile = temp.sibling(temp.nameWithoutExtension() + ".ubj.lzma");
+        ubjFile.writeBytes(compress(ubj.toByteArray()), false);
+        JsonValue ubjJson = LzmaUtils.parseJson(ubjFile);
+        check(".ubj.lzma parses the same", ubjJson != null && oldJson.toJson(JsonWriter.OutputType.minimal)
+                .equals(ubjJson.toJson(JsonWriter.OutputType.minimal)));
+        ubjFile.delete();
+        temp.delete();
+        check("other names give null", LzmaUtils.parseJson(new FileHandle("knownFonts/Gentium-License.txt")) == null);
+
+        time(largest);
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Lzma.compress(new ByteArrayInputStream(data), out);
+        return out.toByteArray();
+    }
+
+    private static void time(FileHandle file) throws IOException {
+        final int rounds = 10;
+        long sink = 0L;
+        for (int r = 0; r < 3; r++) {
+            sink += oldParse(file).size + LzmaUtils.parseJson(file).size;
+        }
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += oldParse(file).size;
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            sink += LzmaUtils.parseJson(file).size;
+        }
+        long t2 = System.nanoTime();
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long id = Thread.currentThread().getId();
+            long a0 = bean.getThreadAllocatedBytes(id);
+            sink += oldParse(file).size;
+            long a1 = bean.getThreadAllocatedBytes(id);
+            sink += LzmaUtils.parseJson(file).size;
+            long a2 = bean.getThreadAllocatedBytes(id);
+            System.out.printf("allocated while loading: parse a String %.1f MB, parseJson %.1f MB%n",
+                    (a1 - a0) / 1e6, (a2 - a1) / 1e6);
+        }
+        System.out.printf("%s: parse a String %7.2f ms, parseJson %7.2f ms (sink %d)%n",
+                file.name(), (t1 - t0) / 1e6 / rounds, (t2 - t1) / 1e6 / rounds, sink);
+    }
+
+    /**
+     * How Font and BitmapFontSupport loaded .json.lzma files before they used {@link LzmaUtils#parseJson(FileHandle)}.
+     */
+    private static JsonValue oldParse(FileHandle file) throws IOException {
+        InputStream in = file.read(4096);
+        StreamUtils.OptimizedByteArrayOutputStream out = new StreamUtils.OptimizedByteArrayOutputStream(4096);
+        try {
+            Lzma.decompress(in, out);
+            return new JsonReader().parse(out.toString("UTF-8"));
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    private static void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
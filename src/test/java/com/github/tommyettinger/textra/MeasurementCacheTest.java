@@ -0,0 +1,112 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Checks that {@link Font#calculateSize(Layout)} gives the same sizes when it reuses a Layout's last measurement as
+ * when it measures a fresh copy, after each of several changes to the Layout or its Font, and times repeated
+ * measurements of an unchanged Layout against measurements that can't use the cache. This runs with a headless
+ * backend, so no GPU is needed; a stand-in GL20 that does nothing is installed so the Font's Texture can be created.
+ */
+public class MeasurementCacheTest extends ApplicationAdapter {
+    private static final int ROUNDS = 20000;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new MeasurementCacheTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        Font font = KnownFonts.getAStarry().scaleHeightTo(24f);
+        Layout layout = new Layout(font);
+        layout.setTargetWidth(300f);
+        font.markup("The [*]quick[*] brown fox jumps over the [%150]lazy[%] dog, again and again and again.", layout);
+        check("after markup", font, layout);
+        check("unchanged", font, layout);
+
+        layout.setTargetWidth(180f);
+        font.regenerateLayout(layout);
+        check("after regenerateLayout", font, layout);
+
+        layout.set(0, (layout.getLine(0).glyphs.get(0) & 0xFFFFFFFFFFFF0000L) | 'W');
+        check("after set", font, layout);
+
+        layout.advances.set(3, 2f);
+        layout.bumpVersion();
+        check("after changing advances", font, layout);
+
+        font.scale(1.5f, 1.5f);
+        check("after scaling the font", font, layout);
+
+        layout.getLine(0).width = -1f;
+        check("after a line width was overwritten", font, layout);
+
+        layout.setJustification(Justify.SPACES_ON_ALL_LINES);
+        font.justify(layout);
+        check("after justify", font, layout);
+
+        font.markup(" More text on the end.", layout);
+        check("after more markup", font, layout);
+
+        Font kerned = KnownFonts.getDejaVuSans().scaleHeightTo(24f);
+        Layout kernedLayout = new Layout(kerned);
+        kerned.markup("AVAST, Wayfarer; To the ford!", kernedLayout);
+        check("kerned font", kerned, kernedLayout);
+        kerned.kerning.put('A' << 16 | 'V', -20f);
+        check("after editing kerning", kerned, kernedLayout);
+
+        TypingLabel label = new TypingLabel("The quick brown fox", font);
+        label.skipToTheEnd();
+        Layout working = label.getWorkingLayout();
+        int version = working.getVersion();
+        long glyph = working.getLine(0).glyphs.get(1);
+        label.setInWorkingLayout(1, (glyph & 0xFFFFFFFFL) | 0xFF0000FEL << 32);
+        label.setInWorkingLayout(1, glyph | Font.UNDERLINE);
+        boolean kept = working.getVersion() == version;
+        label.setInWorkingLayout(1, glyph | Font.SUPERSCRIPT);
+        System.out.printf("%-36s %s%n", "setInWorkingLayout bumps only on size",
+                kept && working.getVersion() != version ? "ok" : "FAILED");
+        if (!kept || working.getVersion() == version) failures++;
+
+        time(font, layout);
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private void check(String name, Font font, Layout layout) {
+        Layout fresh = new Layout(layout);
+        float cachedWidth = font.calculateSize(layout);
+        float freshWidth = font.calculateSize(fresh);
+        boolean ok = cachedWidth == freshWidth && layout.getHeight() == fresh.getHeight()
+                && layout.lines() == fresh.lines();
+        for (int i = 0; ok && i < layout.lines(); i++) {
+            ok = layout.getLine(i).width == fresh.getLine(i).width && layout.getLine(i).height == fresh.getLine(i).height;
+        }
+        System.out.printf("%-36s width %8.3f, height %8.3f %s%n", name, cachedWidth, layout.getHeight(),
+                ok ? "ok" : "FAILED (fresh width " + freshWidth + ", height " + fresh.getHeight() + ")");
+        if (!ok) failures++;
+    }
+
+    private static void time(Font font, Layout layout) {
+        float sink = 0f;
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += font.calculateSize(layout.bumpVersion()) + font.calculateSize(layout);
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += font.calculateSize(layout.bumpVersion());
+        }
+        long t1 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += font.calculateSize(layout);
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("calculateSize: measured %8.1f ns, cached %8.1f ns, for %d glyphs (sink %f)%n",
+                (t1 - t0) / (double) ROUNDS, (t2 - t1) / (double) ROUNDS, layout.countGlyphs(), sink);
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.github.tommyettinger.textra.effects.GradientEffect;
+import com.github.tommyettinger.textra.effects.JumpEffect;
+import com.github.tommyettinger.textra.effects.RainbowEffect;
+import com.github.tommyettinger.textra.effects.WaveEffect;
+
+/**
+ * Checks that the parameters {@link ShaderEffects} encodes for each effect, when evaluated the same way the vertex
+ * shader evaluates them, match what the effects calculate on the CPU. It also builds a {@link ShaderEffectMesh} from
+ * TypingLabels with closed and unclosed effect tags, and checks that its quads are where
+ * {@link Font#drawGlyphs(com.badlogic.gdx.graphics.g2d.Batch, Layout, float, float)} puts them and that the right
+ * glyphs are animated. This runs with a headless backend, so no GPU is needed; a stand-in GL20 that does nothing is
+ * installed so the Font's Texture can be created.
+ */
+public class ShaderEffectsTest extends ApplicationAdapter {
+    private static final float[] TIMES = {0f, 0.125f, 0.37f, 1.9f, 12.25f, 333.3f};
+    private static final float LINE_HEIGHT = 24f;
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new ShaderEffectsTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        String[] none = {};
+        checkOffsets("WAVE", new WaveEffect(null, none));
+        checkOffsets("WAVE=2;0.5;3", new WaveEffect(null, new String[]{"2", "0.5", "3"}));
+        checkOffsets("JUMP", new JumpEffect(null, none));
+        checkOffsets("JUMP=1.5;2;0.75", new JumpEffect(null, new String[]{"1.5", "2", "0.75"}));
+        checkColors("RAINBOW", new RainbowEffect(null, none));
+        checkColors("RAINBOW=2;3;0.8;0.6", new RainbowEffect(null, new String[]{"2", "3", "0.8", "0.6"}));
+        checkColors("GRADIENT", new GradientEffect(null, none));
+        checkMesh();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private void checkOffsets(String key, Effect effect) {
+        effect.groupKey = key;
+        float[] params = new float[ShaderEffects.PARAMS_PER_GLYPH];
+        double maxError = 0.0;
+        for (float time : TIMES) {
+            EffectSystem.clear();
+            EffectSystem.update(time);
+            float[] values = EffectSystem.evaluate(effect, 40);
+            for (int i = 0; i < 40; i++) {
+                if (!effect.encodeShaderParams(i, LINE_HEIGHT, params, 0)) {
+                    fail(key + " could not be encoded");
+                    return;
+                }
+                maxError = Math.max(maxError, Math.abs(values[i] * LINE_HEIGHT - ShaderEffects.offsetY(params, 0, time)));
+            }
+        }
+        report(key, maxError, 0.01);
+    }
+
+    private void checkColors(String key, Effect effect) {
+        effect.groupKey = key;
+        float[] params = new float[ShaderEffects.PARAMS_PER_GLYPH];
+        int maxError = 0;
+        for (float time : TIMES) {
+            EffectSystem.clear();
+            EffectSystem.update(time);
+            float[] values = EffectSystem.evaluate(effect, 40);
+            for (int i = 0; i < 40; i++) {
+                if (!effect.encodeShaderParams(i, LINE_HEIGHT, params, 0)) {
+                    fail(key + " could not be encoded");
+                    return;
+                }
+                int cpu = Integer.reverseBytes(NumberUtils.floatToIntColor(values[i]));
+                int gpu = ShaderEffects.color(params, 0, time, 0);
+                for (int shift = 8; shift < 32; shift += 8) {
+                    maxError = Math.max(maxError, Math.abs((cpu >>> shift & 255) - (gpu >>> shift & 255)));
+                }
+            }
+        }
+        report(key, maxError, 2);
+    }
+
+    private void checkMesh() {
+        HeadlessGL20.install();
+        Font font = KnownFonts.getAStarry().scaleHeightTo(LINE_HEIGHT);
+
+        // A closed tag animates every glyph from the start tag up to and including the last one before the end tag.
+        TypingLabel closed = new TypingLabel("{WAVE}Hello{ENDWAVE}, [*]shader[*] world!", font);
+        closed.skipToTheEnd();
+        Layout layout = closed.workingLayout;
+        ShaderEffectMesh mesh = new ShaderEffectMesh(font).build(closed);
+        ShaderEffectMesh.QuadRecorder reference = new ShaderEffectMesh.QuadRecorder();
+        font.drawGlyphs(reference, layout, 0f, 0f);
+
+        if (reference.textures.size != mesh.getQuadCount()) {
+            fail("mesh has " + mesh.getQuadCount() + " quads, but drawGlyphs drew " + reference.textures.size);
+            return;
+        }
+        FloatArray vertices = mesh.getVertices();
+        float[] params = new float[ShaderEffects.PARAMS_PER_GLYPH];
+        double maxError = 0.0;
+        for (int q = 0; q < mesh.getQuadCount(); q++) {
+            int base = q * 4 * ShaderEffectMesh.VERTEX_SIZE;
+            for (int corner = 0; corner < 4; corner++) {
+                int v = base + corner * ShaderEffectMesh.VERTEX_SIZE;
+                int r = q * 20 + corner * 5;
+                maxError = Math.max(maxError, Math.abs(vertices.items[v] - reference.quads.items[r]));
+                maxError = Math.max(maxError, Math.abs(vertices.items[v + 1] - reference.quads.items[r + 1]));
+            }
+        }
+        report("mesh positions", maxError, 0.001);
+        int animated = countAnimated(mesh, ShaderEffects.WAVE);
+        if (animated != 5) fail("expected 5 quads animated by a closed WAVE, found " + animated);
+
+        // Each animated quad should move exactly as far as WaveEffect moves the glyph at that local index.
+        Effect wave = closed.activeEffects.get(0);
+        float[] encoded = new float[ShaderEffects.PARAMS_PER_GLYPH];
+        maxError = 0.0;
+        for (float time : TIMES) {
+            EffectSystem.clear();
+            EffectSystem.update(time);
+            float[] values = EffectSystem.evaluate(wave, 5);
+            for (int i = 0; i < 5; i++) {
+                System.arraycopy(vertices.items, i * 4 * ShaderEffectMesh.VERTEX_SIZE + 5, params, 0, params.length);
+                wave.encodeShaderParams(i, layout.getLine(0).height, encoded, 0);
+                for (int p = 0; p < params.length; p++) {
+                    if (params[p] != encoded[p]) fail("quad " + i + " has param " + p + " = " + params[p] + ", expected " + encoded[p]);
+                }
+                maxError = Math.max(maxError, Math.abs(values[i] * layout.getLine(0).height - ShaderEffects.offsetY(params, 0, time)));
+            }
+        }
+        report("mesh WAVE offsets", maxError, 0.01);
+
+        // A tag that is never closed keeps an indexEnd of -1, and animates everything after it.
+        TypingLabel open = new TypingLabel("{WAVE}Hello world", font);
+        open.skipToTheEnd();
+        ShaderEffectMesh openMesh = new ShaderEffectMesh(font).build(open);
+        animated = countAnimated(openMesh, ShaderEffects.WAVE);
+        if (open.activeEffects.get(0).indexEnd != -1) fail("an unclosed WAVE should have indexEnd -1");
+        if (animated == 0 || animated != openMesh.getQuadCount())
+            fail("expected all " + openMesh.getQuadCount() + " quads animated by an unclosed WAVE, found " + animated);
+    }
+
+    private static int countAnimated(ShaderEffectMesh mesh, int type) {
+        FloatArray vertices = mesh.getVertices();
+        int animated = 0;
+        for (int q = 0; q < mesh.getQuadCount(); q++) {
+            if (vertices.items[q * 4 * ShaderEffectMesh.VERTEX_SIZE + 5] == type) animated++;
+        }
+        return animated;
+    }
+
+    private void report(String name, double maxError, double tolerance) {
+        boolean ok = maxError <= tolerance;
+        System.out.printf("%-24s max error %.6f %s%n", name, maxError, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+
+    private void fail(String message) {
+        System.out.println("FAILED: " + message);
+        failures++;
+    }
+}
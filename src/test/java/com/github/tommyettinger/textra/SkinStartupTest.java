@@ -0,0 +1,105 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Arrays;
+
+/**
+ * Times loading each of the skin JSON files in the test resources with {@link FWSkin}, starting each load with nothing
+ * in the {@link StructuredFontData} cache. It also checks that the shadeui skin, which has three BitmapFont items using
+ * the same font file at different sizes, shares one glyph mapping between their Fonts while still giving each Font its
+ * own size, and that disposing a skin with shared Fonts works. This runs with a headless backend; a stand-in GL20 that
+ * does nothing is installed so Textures can be created. Run it from src/test/resources .
+ */
+public class SkinStartupTest extends ApplicationAdapter {
+    private static final String[] SKINS = {
+            "uiskin.json", "uiskin2.json", "uiskin3.json", "uiskin4.json", "uiskinDarker.json",
+            "shadeui/uiskin.json", "shadeui/standard/uiskin-standard.json", "expeeui/expee-ui.json",
+    };
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new SkinStartupTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        if (!Gdx.files.internal("shadeui/uiskin.json").exists()) {
+            System.out.println("Skin files not found; run this from src/test/resources.");
+            Gdx.app.exit();
+            return;
+        }
+
+        FWSkin shade = new FWSkin(Gdx.files.internal("shadeui/uiskin.json"));
+        String[] names = {"font-button", "font-label", "font-title"};
+        float[] sizes = {16f, 13f, 27f};
+        boolean shared = true, sized = true;
+        Font first = shade.get(names[0], Font.class);
+        for (int i = 0; i < names.length; i++) {
+            Font font = shade.get(names[i], Font.class);
+            BitmapFont bitmapFont = shade.getFont(names[i]);
+            shared &= font.mapping == first.mapping && (i == 0 || font != first);
+            float expected = sizes[i] * bitmapFont.getLineHeight() / bitmapFont.getCapHeight();
+            sized &= Math.abs(font.cellHeight - expected) < 0.001f
+                    && Math.abs(font.cellWidth / font.cellHeight - first.cellWidth / first.cellHeight) < 0.001f;
+        }
+        check("Fonts from one file share their mapping", shared);
+        check("each shared Font keeps its own size", sized);
+        check("Styles use the skin's Fonts", shade.get("default", Styles.LabelStyle.class).font
+                == shade.get("font-label", Font.class));
+        boolean disposed = true;
+        try {
+            shade.dispose();
+        } catch (RuntimeException ex) {
+            disposed = false;
+        }
+        check("a skin with shared Fonts can be disposed", disposed);
+
+        for (String name : SKINS) {
+            time(Gdx.files.internal(name));
+        }
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private static void time(FileHandle skinFile) {
+        if (!skinFile.exists()) {
+            System.out.println("Missing " + skinFile.path());
+            return;
+        }
+        try {
+            new FWSkin(skinFile).dispose();
+        } catch (RuntimeException ex) {
+            // Some skins use fonts from elsewhere in the project, or need FreeType.
+            System.out.printf("%-40s can't be loaded from here, skipping%n", skinFile.path());
+            return;
+        }
+        final int rounds = 15;
+        long[] times = new long[rounds];
+        int fonts = 0;
+        for (int r = -3; r < rounds; r++) {
+            StructuredFontData.clearCache();
+            long start = System.nanoTime();
+            FWSkin skin = new FWSkin(skinFile);
+            long end = System.nanoTime();
+            if (r >= 0) times[r] = end - start;
+            ObjectMap<String, Font> all = skin.getAll(Font.class);
+            if (all != null) fonts = all.size;
+            skin.dispose();
+        }
+        Arrays.sort(times);
+        System.out.printf("%-40s %2d Fonts, median load %8.2f ms%n", skinFile.path(), fonts, times[rounds / 2] / 1e6);
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-44s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
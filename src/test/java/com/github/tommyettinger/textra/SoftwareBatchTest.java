@@ -0,0 +1,143 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+
+import java.util.Arrays;
+
+/**
+ * Renders text with {@link SoftwareBatch} on a headless backend, with {@link HeadlessGL20} standing in for OpenGL.
+ * Checks that standard and MSDF Fonts both produce dark pixels only where their Layout is, that a
+ * {@link TextraLabel} can be drawn, that drawing the same text again gives the same pixels on one thread or on
+ * several, and that the image survives a round trip through a PNG file. It then times drawing a paragraph on one
+ * thread and on as many as there are processors. Run it
+ * from the project root; it writes SoftwareBatchTest-standard.png and SoftwareBatchTest-msdf.png to a temporary
+ * folder and prints where.
+ */
+public class SoftwareBatchTest extends ApplicationAdapter {
+    private static final String TEXT = "[BLACK]Software [*]rendering[*] of [/]TextraTypist[/] text, [RED]in color[BLACK], "
+            + "with no GPU at all!\nSecond line: 0123456789 ÀÉÎÕÜ àéîõü";
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new SoftwareBatchTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        if (!Gdx.files.local("knownFonts/Gentium-standard.json.lzma").exists()) {
+            System.out.println("Font files not found; run this from the project root.");
+            Gdx.app.exit();
+            return;
+        }
+        KnownFonts.setAssetPrefix("knownFonts/");
+        FileHandle dir = FileHandle.tempDirectory("textra-software");
+
+        Font standard = KnownFonts.getGentium().scaleHeightTo(32f);
+        Font msdf = KnownFonts.getGentium(Font.DistanceFieldType.MSDF).scaleHeightTo(32f);
+        int[] plain = render(standard, dir.child("SoftwareBatchTest-standard.png"), 1);
+        int[] sharp = render(msdf, dir.child("SoftwareBatchTest-msdf.png"), 1);
+        System.out.println("Wrote images to " + dir.path());
+        check("drawing again gives the same pixels", Arrays.equals(plain, render(standard, null, 1))
+                && Arrays.equals(sharp, render(msdf, null, 1)));
+        check("4 threads give the same pixels as 1", Arrays.equals(plain, render(standard, null, 4))
+                && Arrays.equals(sharp, render(msdf, null, 4)));
+
+        Pixmap read = new Pixmap(dir.child("SoftwareBatchTest-standard.png"));
+        boolean same = read.getWidth() == 640 && read.getHeight() == 120;
+        for (int y = 0; same && y < 120; y++) {
+            for (int x = 0; x < 640; x++) {
+                same &= read.getPixel(x, y) == plain[y * 640 + x];
+            }
+        }
+        read.dispose();
+        check("the PNG holds the same pixels", same);
+
+        SoftwareBatch batch = new SoftwareBatch(400, 100);
+        batch.clear(0xFFFFFFFF);
+        TextraLabel label = new TextraLabel("[RED]Label[BLACK] text", standard);
+        label.setPosition(10f, 20f);
+        label.pack();
+        batch.begin();
+        label.draw(batch, 1f);
+        batch.end();
+        int red = 0;
+        for (int c : batch.getPixels()) {
+            if ((c >>> 24) > 200 && (c >>> 16 & 255) < 60 && (c >>> 8 & 255) < 60) red++;
+        }
+        check("a TextraLabel draws its colors", red > 50);
+        batch.dispose();
+
+        time(standard, 1);
+        time(standard, Math.max(2, Runtime.getRuntime().availableProcessors()));
+        dir.deleteDirectory();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private int[] render(Font font, FileHandle png, int threads) {
+        Layout layout = font.markup(TEXT, new Layout(font));
+        SoftwareBatch batch = new SoftwareBatch(640, 120, threads).addFont(font);
+        batch.clear(0xFFFFFFFF);
+        batch.begin();
+        font.drawGlyphs(batch, layout, 10f, 100f);
+        batch.end();
+        int[] pixels = batch.getPixels();
+        if (png != null) {
+            int dark = 0, outside = 0, partial = 0, left = 640, right = 0;
+            for (int y = 0, i = 0; y < 120; y++) {
+                for (int x = 0; x < 640; x++, i++) {
+                    int g = pixels[i] >>> 16 & 255;
+                    if (g < 128) {
+                        dark++;
+                        left = Math.min(left, x);
+                        right = Math.max(right, x);
+                        if (x < 10 || x > 10 + layout.getWidth() + 2) outside++;
+                    }
+                    if (g > 20 && g < 235) partial++;
+                }
+            }
+            String name = font.getDistanceField().name();
+            check(name + " text is drawn", dark > 2000);
+            check(name + " text stays inside its layout", outside == 0 && left < 14 && right > 500);
+            System.out.printf("%-8s %6d dark pixels, %5d partly covered, from x=%d to x=%d%n", name, dark, partial, left, right);
+            Pixmap pixmap = batch.toPixmap();
+            PixmapIO.writePNG(png, pixmap);
+            pixmap.dispose();
+        }
+        batch.dispose();
+        return pixels;
+    }
+
+    private static void time(Font font, int threads) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            sb.append("[BLACK]The quick brown fox jumps over the lazy dog, [BLUE]again and again[BLACK], line ")
+                    .append(i).append(".\n");
+        }
+        Layout layout = font.markup(sb.toString(), new Layout(font));
+        SoftwareBatch batch = new SoftwareBatch(1024, 512, threads);
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < 30; r++) {
+            batch.clear(0xFFFFFFFF);
+            long start = System.nanoTime();
+            batch.begin();
+            font.drawGlyphs(batch, layout, 8f, 500f);
+            batch.end();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("drawing %d glyphs into 1024x512 on %d thread(s): %8.3f ms%n", layout.countGlyphs(), threads, best / 1e6);
+        batch.dispose();
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-48s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.tommyettinger.textra;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Checks that {@link StructuredFontData#obtain(FileHandle)} keeps nothing by default, shares one parsed copy of a font
+ * file between loads when its cache is on or held, drops the least-recently-used file when its cache is full, and
+ * that Fonts and BitmapFonts from a skin (which holds the cache while it loads) are the same as ones loaded on their
+ * own. It then loads a skin whose BitmapFont and Font use the same file, and prints how long that takes compared to
+ * loading the BitmapFont and Font separately. This runs with a headless backend;
+ * a stand-in GL20 that does nothing is installed so Textures can be created. Run it from the project root.
+ */
+public class StructuredFontDataTest extends ApplicationAdapter {
+    private int failures = 0;
+
+    public static void main(String[] args) {
+        new HeadlessApplication(new StructuredFontDataTest(), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        HeadlessGL20.install();
+        FileHandle gentium = new FileHandle("knownFonts/Gentium-standard.json.lzma");
+        FileHandle inter = new FileHandle("src/test/resources/Inter-standard.dat");
+        FileHandle starry = new FileHandle("knownFonts/A-Starry-standard.json.lzma");
+        if (!gentium.exists() || !inter.exists()) {
+            System.out.println("Font files not found; run this from the project root.");
+            Gdx.app.exit();
+            return;
+        }
+
+        check("the cache is off by default", StructuredFontData.getCacheLimit() == 0
+                && StructuredFontData.obtain(gentium) != StructuredFontData.obtain(gentium));
+        loadFont(gentium);
+        check("loading a Font keeps nothing", StructuredFontData.obtain(gentium) != StructuredFontData.obtain(gentium));
+        StructuredFontData.holdCache();
+        StructuredFontData held = StructuredFontData.obtain(gentium);
+        StructuredFontData.holdCache();
+        StructuredFontData.releaseCache();
+        boolean kept = StructuredFontData.obtain(gentium) == held;
+        StructuredFontData.releaseCache();
+        check("a held cache keeps files until released", kept && StructuredFontData.obtain(gentium) != held);
+
+        StructuredFontData.setCacheLimit(8);
+        StructuredFontData first = StructuredFontData.obtain(gentium);
+        check("the same file is parsed once", first == StructuredFontData.obtain(gentium)
+                && first == StructuredFontData.obtain(new FileHandle(gentium.path())));
+        check("parse() always reads the file", StructuredFontData.parse(gentium) != first);
+        StructuredFontData parsed = StructuredFontData.parse(inter);
+        check(".dat data has glyphs", parsed.glyphCount > 100 && parsed.planeBounds.length == parsed.glyphCount * 4
+                && parsed.codepoints[parsed.glyphCount - 1] > 0);
+
+        StructuredFontData.setCacheLimit(2);
+        StructuredFontData.obtain(inter);
+        StructuredFontData.obtain(gentium);
+        StructuredFontData.obtain(starry);
+        check("a full cache drops the least-recently-used file", StructuredFontData.obtain(gentium) == first
+                && StructuredFontData.obtain(inter) != parsed);
+        StructuredFontData.setCacheLimit(0);
+        check("a limit of 0 turns the cache off", StructuredFontData.obtain(gentium) != StructuredFontData.obtain(gentium));
+        StructuredFontData.clearCache();
+
+        FileHandle dir = FileHandle.tempDirectory("textra");
+        gentium.copyTo(dir);
+        gentium.sibling("Gentium-standard.png").copyTo(dir);
+        FileHandle skinFile = dir.child("skin.json");
+        skinFile.writeString("{\n" +
+                "  com.badlogic.gdx.graphics.g2d.BitmapFont: { default-font: { file: Gentium-standard.json.lzma } },\n" +
+                "  com.github.tommyettinger.textra.Font: { gentium: { file: Gentium-standard.json.lzma } }\n" +
+                "}\n", false);
+
+        FWSkin skin = new FWSkin(skinFile);
+        check("a skin leaves nothing cached", StructuredFontData.obtain(gentium) != StructuredFontData.obtain(gentium));
+        Font font = loadFont(dir.child("Gentium-standard.json.lzma"));
+        BitmapFont bitmapFont = BitmapFontSupport.loadStructuredJson(dir.child("Gentium-standard.json.lzma"),
+                "Gentium-standard.png");
+        check("a skin's Fonts match ones loaded alone", sameFont(skin.get("gentium", Font.class), font)
+                && sameFont(skin.get("default-font", Font.class), font));
+        check("a skin's BitmapFonts match ones loaded alone", sameBitmapFont(skin.getFont("default-font"), bitmapFont));
+        skin.dispose();
+        font.dispose();
+        bitmapFont.dispose();
+
+        time(skinFile);
+        dir.deleteDirectory();
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks FAILED.");
+        Gdx.app.exit();
+    }
+
+    private static Font loadFont(FileHandle file) {
+        return new Font(file, new TextureRegion(new Texture(file.sibling("Gentium-standard.png"))), true);
+    }
+
+    private static boolean sameFont(Font a, Font b) {
+        if (a.cellWidth != b.cellWidth || a.cellHeight != b.cellHeight || a.mapping.size != b.mapping.size
+                || a.isMono != b.isMono || a.getDistanceField() != b.getDistanceField())
+            return false;
+        for (int c : new int[]{' ', 'A', 'g', '[', 2, '\n', 0x2500, '█', 'é'}) {
+            Font.GlyphRegion ga = a.mapping.get(c), gb = b.mapping.get(c);
+            if (ga == null || gb == null) {
+                if (ga != gb) return false;
+                continue;
+            }
+            if (ga.xAdvance != gb.xAdvance || Float.compare(ga.offsetX, gb.offsetX) != 0 || ga.offsetY != gb.offsetY
+                    || ga.getRegionX() != gb.getRegionX() || ga.getRegionY() != gb.getRegionY()
+                    || ga.getRegionWidth() != gb.getRegionWidth() || ga.getRegionHeight() != gb.getRegionHeight())
+                return false;
+        }
+        return a.kerning == null ? b.kerning == null : b.kerning != null && a.kerning.size == b.kerning.size
+                && a.kerning.get('A' << 16 | 'V', 0f) == b.kerning.get('A' << 16 | 'V', 0f);
+    }
+
+    private static boolean sameBitmapFont(BitmapFont a, BitmapFont b) {
+        BitmapFont.BitmapFontData da = a.getData(), db = b.getData();
+        if (da.lineHeight != db.lineHeight || da.capHeight != db.capHeight || da.ascent != db.ascent
+                || da.xHeight != db.xHeight || da.spaceXadvance != db.spaceXadvance)
+            return false;
+        for (char c : new char[]{' ', 'A', 'g', '[', 'é'}) {
+            BitmapFont.Glyph ga = da.getGlyph(c), gb = db.getGlyph(c);
+            if (ga.xadvance != gb.xadvance || ga.xoffset != gb.xoffset || ga.yoffset != gb.yoffset
+                    || ga.srcX != gb.srcX || ga.srcY != gb.srcY || ga.width != gb.width || ga.height != gb.height
+                    || ga.getKerning('V') != gb.getKerning('V'))
+                return false;
+        }
+        return true;
+    }
+
+    private static void time(FileHandle skinFile) {
+        final int rounds = 10;
+        for (int r = 0; r < 3; r++) {
+            new FWSkin(skinFile).dispose();
+        }
+        FileHandle fontFile = skinFile.sibling("Gentium-standard.json.lzma");
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            // Nothing is cached here, so the file is parsed once for each.
+            loadFont(fontFile).dispose();
+            BitmapFontSupport.loadStructuredJson(fontFile, "Gentium-standard.png").dispose();
+        }
+        long t1 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            // The skin holds the cache while it loads, so this only shares the parse within one skin.
+            new FWSkin(skinFile).dispose();
+        }
+        long t2 = System.nanoTime();
+        System.out.printf("a BitmapFont and a Font from one file: loaded alone %7.2f ms, in one skin %7.2f ms%n",
+                (t1 - t0) / 1e6 / rounds, (t2 - t1) / 1e6 / rounds);
+    }
+
+    private void check(String name, boolean ok) {
+        System.out.printf("%-52s %s%n", name, ok ? "ok" : "FAILED");
+        if (!ok) failures++;
+    }
+}